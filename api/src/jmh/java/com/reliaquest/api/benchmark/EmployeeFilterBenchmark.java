@@ -0,0 +1,81 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.HeapEmployeeSnapshot;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.query.EmployeeQueryEngine;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the columnar {@link EmployeeQueryEngine} with filtering a stream of cached employees, for the query
+ * "employees over 40 earning more than 200k with title Engineer". Columns are built on the first invocation of a
+ * snapshot version, so the steady state measured here is the scan alone.
+ * <p>
+ * Run with {@code ./gradlew api:jmh}; add {@code -prof perfasm} to the JMH arguments to confirm the kernels are
+ * vectorized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EmployeeFilterBenchmark {
+
+    private static final List<String> TITLES = List.of("Engineer", "Manager", "Designer", "Analyst", "Director");
+
+    private static final String FILTER = "age > 40 and salary > 200000 and title = 'Engineer'";
+
+    @Param({"100000", "1000000"})
+    private int employees;
+
+    private EmployeeSnapshot snapshot;
+    private EmployeeQueryEngine employeeQueryEngine;
+
+    @Setup
+    public void setUp() {
+        final var random = new Random(42);
+        snapshot = HeapEmployeeSnapshot.of(
+                1L,
+                IntStream.range(0, employees)
+                        .mapToObj(i -> {
+                            Employee employee = new Employee();
+                            employee.setId(String.valueOf(i));
+                            employee.setName("Employee " + i);
+                            employee.setSalary(1 + random.nextInt(300000));
+                            employee.setAge(16 + random.nextInt(60));
+                            employee.setTitle(TITLES.get(random.nextInt(TITLES.size())));
+                            return employee;
+                        })
+                        .toList());
+        employeeQueryEngine = new EmployeeQueryEngine();
+    }
+
+    @Benchmark
+    public List<Employee> streamFilter() {
+        return snapshot.stream()
+                .filter(employee -> employee.getAge() != null && employee.getAge() > 40)
+                .filter(employee -> employee.getSalary() != null && employee.getSalary() > 200000)
+                .filter(employee -> "Engineer".equals(employee.getTitle()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Employee> columnarFilter() {
+        return employeeQueryEngine.query(FILTER, snapshot);
+    }
+}
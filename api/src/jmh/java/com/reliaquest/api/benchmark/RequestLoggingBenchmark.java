@@ -0,0 +1,143 @@
+package com.reliaquest.api.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.joran.spi.JoranException;
+import com.reliaquest.api.logging.RequestEventLog;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures what logging a handled request costs the request thread, with logging configured from the application's
+ * logback-spring.xml and the console it writes to redirected to a file:
+ * <ul>
+ *     <li>{@code synchronousAppender}: the previous setup, an INFO line per request written to the console appender on
+ *     the request thread.
+ *     <li>{@code asyncAppender}: the same line through the root logger's {@link AsyncAppender}.
+ *     <li>{@code requestEventLog}: a {@link RequestEventLog} event, unsampled, written by its consumer thread through
+ *     the synchronous appender its logger is configured with.
+ * </ul>
+ * Run with {@code ./gradlew api:jmh}. Both asynchronous paths shed events once their consumer falls behind, which
+ * this synthetic load provokes; the {@code recorded} and {@code dropped} counters reported with
+ * {@code requestEventLog} show how many events the {@link RequestEventLog} kept and wrote, while the
+ * {@link AsyncAppender} drops silently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(4)
+public class RequestLoggingBenchmark {
+
+    private static final String CONSOLE_APPENDER = "CONSOLE";
+
+    private Path logFile;
+    private PrintStream console;
+    private PrintStream standardOut;
+    private LoggerContext context;
+    private Logger synchronousLogger;
+    private Logger asyncLogger;
+    private RequestEventLog requestEventLog;
+
+    @Setup
+    public void setUp() throws IOException, JoranException {
+        logFile = Files.createTempFile("request-logging", ".log");
+        standardOut = System.out;
+        console = new PrintStream(new BufferedOutputStream(Files.newOutputStream(logFile)), false);
+        System.setOut(console);
+
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        configurator.doConfigure(RequestLoggingBenchmark.class.getResource("/logback-spring.xml"));
+
+        Appender<ILoggingEvent> consoleAppender =
+                context.getLogger(RequestEventLog.class).getAppender(CONSOLE_APPENDER);
+        synchronousLogger = logger(context, "benchmark.synchronous", consoleAppender);
+        asyncLogger = LoggerFactory.getLogger("benchmark.async");
+
+        requestEventLog = new RequestEventLog(8192, "", 1.0, 60_000);
+        requestEventLog.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException, IOException {
+        requestEventLog.stop();
+        context.stop();
+        System.setOut(standardOut);
+        console.close();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void synchronousAppender() {
+        synchronousLogger.info("\"Received request for employee by id\" employeeId=\"{}\"", "4a3a170b");
+    }
+
+    @Benchmark
+    public void asyncAppender() {
+        asyncLogger.info("\"Received request for employee by id\" employeeId=\"{}\"", "4a3a170b");
+    }
+
+    @Benchmark
+    public boolean requestEventLog(EventCounters counters) {
+        boolean recorded = requestEventLog.record("getEmployeeById", "GET", 200, 125_000);
+        if (recorded) {
+            counters.recorded++;
+        } else {
+            counters.dropped++;
+        }
+        return recorded;
+    }
+
+    /**
+     * Events the {@link RequestEventLog} accepted or dropped, summed over the threads of each iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EventCounters {
+
+        public long recorded;
+        public long dropped;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+        public void reset() {
+            recorded = 0;
+            dropped = 0;
+        }
+    }
+
+    private static Logger logger(LoggerContext context, String name, Appender<ILoggingEvent> appender) {
+        ch.qos.logback.classic.Logger logger = context.getLogger(name);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
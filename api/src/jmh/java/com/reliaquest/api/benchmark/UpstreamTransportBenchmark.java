@@ -0,0 +1,201 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.client.Http2Client;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the upstream transports under many concurrent {@code getMockEmployeeById} calls: {@code http1} is
+ * {@link Client.Default}, {@code http2} the {@link Http2Client} multiplexing over h2c. The upstream is an embedded
+ * Tomcat configured like the mock server, with h2c enabled and a fixed delay per request, behind a relay that counts
+ * the connections opened to it. Sample time mode reports the latency percentiles; average time mode also reports the
+ * connections opened during each iteration as the {@code connections} counter, which JMH only supports in that mode.
+ * <p>
+ * Run with {@code ./gradlew api:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SampleTime, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(32)
+public class UpstreamTransportBenchmark {
+
+    private static final String EMPLOYEE = "{\"data\":{\"id\":\"%s\",\"employee_name\":\"Jane Doe\","
+            + "\"employee_salary\":100000,\"employee_age\":40,\"employee_title\":\"Engineer\","
+            + "\"employee_email\":\"jane@company.com\"},\"status\":\"Successfully processed request.\"}";
+
+    @Param({"http1", "http2"})
+    private String transport;
+
+    @Param({"5"})
+    private int upstreamDelayMillis;
+
+    private Tomcat tomcat;
+    private ServerSocket relay;
+    private ExecutorService relayThreads;
+    private final AtomicInteger connections = new AtomicInteger();
+    private Client client;
+    private String baseUrl;
+    private final Request.Options options = new Request.Options();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("upstream-transport").toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        connector.addUpgradeProtocol(new Http2Protocol());
+        tomcat.setConnector(connector);
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "employee", new EmployeeServlet(upstreamDelayMillis));
+        context.addServletMappingDecoded("/api/v1/employee/*", "employee");
+        tomcat.start();
+
+        relayThreads = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "connection-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relay = new ServerSocket(0, 1024, InetAddress.getLoopbackAddress());
+        int upstreamPort = connector.getLocalPort();
+        relayThreads.execute(() -> accept(upstreamPort));
+        baseUrl = "http://localhost:" + relay.getLocalPort() + "/api/v1/employee/";
+
+        client = "http2".equals(transport) ? new Http2Client(Duration.ofSeconds(10)) : new Client.Default(null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        relay.close();
+        relayThreads.shutdownNow();
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Benchmark
+    public int getMockEmployeeById(ConnectionCounters counters) throws IOException {
+        Request request = Request.create(
+                Request.HttpMethod.GET,
+                baseUrl + UUID.randomUUID(),
+                Map.of(),
+                null,
+                StandardCharsets.UTF_8,
+                null);
+        try (Response response = client.execute(request, options);
+                InputStream body = response.body().asInputStream()) {
+            return body.readAllBytes().length;
+        } finally {
+            if (connections.get() > 0) {
+                counters.connections += connections.getAndSet(0);
+            }
+        }
+    }
+
+    /**
+     * Upstream connections opened, each claimed by whichever thread sees it first so the sum over threads counts it
+     * once.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ConnectionCounters {
+
+        public long connections;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            connections = 0;
+        }
+    }
+
+    private void accept(int upstreamPort) {
+        while (!relay.isClosed()) {
+            try {
+                Socket downstream = relay.accept();
+                Socket upstream = new Socket(InetAddress.getLoopbackAddress(), upstreamPort);
+                connections.incrementAndGet();
+                relayThreads.execute(() -> pump(downstream, upstream));
+                relayThreads.execute(() -> pump(upstream, downstream));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private static void pump(Socket from, Socket to) {
+        try (InputStream in = from.getInputStream();
+                OutputStream out = to.getOutputStream()) {
+            in.transferTo(out);
+        } catch (IOException ignored) {
+            // Either side closing ends the relay for this connection.
+        } finally {
+            try {
+                from.close();
+                to.close();
+            } catch (IOException ignored) {
+                // Already closed.
+            }
+        }
+    }
+
+    private static class EmployeeServlet extends HttpServlet {
+
+        private final int delayMillis;
+
+        EmployeeServlet(int delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = EMPLOYEE.formatted(request.getPathInfo().substring(1)).getBytes(StandardCharsets.UTF_8);
+            response.setContentType("application/json");
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.api.bus;
+
+import com.reliaquest.api.dto.EmployeeUpdateDTO;
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link EmployeeUpdateDTO}s between api instances. Delivery is best effort: an instance that misses an
+ * update catches up on its next cache refresh.
+ */
+public interface EmployeeUpdateBus {
+
+    /**
+     * Sends an update to every instance on the bus, possibly including this one.
+     *
+     * @param update the update, stamped with its origin.
+     */
+    void publish(EmployeeUpdateDTO update);
+
+    /**
+     * Registers a subscriber for updates received from the bus.
+     *
+     * @param subscriber called with each update, on a thread owned by the bus.
+     */
+    void subscribe(Consumer<EmployeeUpdateDTO> subscriber);
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.api.bus;
+
+import com.reliaquest.api.dto.EmployeeUpdateDTO;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers updates to subscribers in this process, on the publishing thread. With a single instance this only loops
+ * its own updates back; tests share one bus between several instances.
+ */
+public class LoopbackEmployeeUpdateBus implements EmployeeUpdateBus {
+
+    private final List<Consumer<EmployeeUpdateDTO>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(EmployeeUpdateDTO update) {
+        subscribers.forEach(subscriber -> subscriber.accept(update));
+    }
+
+    @Override
+    public void subscribe(Consumer<EmployeeUpdateDTO> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
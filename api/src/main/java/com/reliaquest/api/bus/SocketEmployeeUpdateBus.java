@@ -0,0 +1,115 @@
+package com.reliaquest.api.bus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeUpdateDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends updates as JSON datagrams to a fixed list of peers and receives theirs on a local UDP port. Datagrams may be
+ * lost, which peers recover from on their next refresh. An update too large for one datagram is sent without its
+ * changes, so peers fetch them upstream instead.
+ */
+public class SocketEmployeeUpdateBus implements EmployeeUpdateBus {
+
+    private static final Logger log = LoggerFactory.getLogger(SocketEmployeeUpdateBus.class);
+
+    static final int MAX_DATAGRAM_BYTES = 65_507;
+
+    private final ObjectMapper objectMapper;
+
+    private final InetSocketAddress bindAddress;
+
+    private final List<InetSocketAddress> peers;
+
+    private final List<Consumer<EmployeeUpdateDTO>> subscribers = new CopyOnWriteArrayList<>();
+
+    private DatagramChannel channel;
+
+    public SocketEmployeeUpdateBus(
+            ObjectMapper objectMapper, InetSocketAddress bindAddress, List<InetSocketAddress> peers) {
+        this.objectMapper = objectMapper;
+        this.bindAddress = bindAddress;
+        this.peers = peers;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        channel = DatagramChannel.open().bind(bindAddress);
+        Thread receiver = new Thread(this::receive, "employee-update-bus");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("\"Started employee update bus\" address=\"{}\" peers=\"{}\"", channel.getLocalAddress(), peers);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * @return the address peers send updates to.
+     * @throws IOException if the bus is not started.
+     */
+    public InetSocketAddress localAddress() throws IOException {
+        return (InetSocketAddress) channel.getLocalAddress();
+    }
+
+    @Override
+    public void publish(EmployeeUpdateDTO update) {
+        try {
+            byte[] datagram = objectMapper.writeValueAsBytes(update);
+            if (datagram.length > MAX_DATAGRAM_BYTES) {
+                datagram = objectMapper.writeValueAsBytes(update.withoutChanges());
+            }
+            for (InetSocketAddress peer : peers) {
+                try {
+                    channel.send(ByteBuffer.wrap(datagram), peer);
+                } catch (IOException e) {
+                    log.warn(
+                            "\"Could not send employee update\" peer=\"{}\" errorMessage=\"{}\"", peer, e.getMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.error("\"Could not encode employee update\" version=\"{}\"", update.version(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<EmployeeUpdateDTO> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM_BYTES);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                channel.receive(buffer);
+                buffer.flip();
+                EmployeeUpdateDTO update =
+                        objectMapper.readValue(buffer.array(), 0, buffer.limit(), EmployeeUpdateDTO.class);
+                subscribers.forEach(subscriber -> subscriber.accept(update));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                log.warn("\"Dropped employee update\" errorMessage=\"{}\"", e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("\"Employee update subscriber failed\"", e);
+            }
+        }
+    }
+}
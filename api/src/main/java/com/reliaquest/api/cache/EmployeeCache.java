@@ -0,0 +1,99 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local copy of the upstream employee data. Readers always see a complete {@link EmployeeSnapshot}; writers build
+ * the next snapshot aside and swap it in, so a whole batch of changes becomes visible at once. Snapshots are kept in
+ * the configured {@link EmployeeStorage}.
+ */
+@Component
+public class EmployeeCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeCache.class);
+
+    private final AtomicReference<EmployeeSnapshot> snapshot = new AtomicReference<>();
+
+    private final EmployeeStorage storage;
+
+    public EmployeeCache(@Value("${employee.cache.storage:HEAP}") EmployeeStorage storage) {
+        this.storage = storage;
+    }
+
+    public EmployeeStorage storage() {
+        return storage;
+    }
+
+    /**
+     * Gets the current snapshot.
+     *
+     * @return the current snapshot, or empty if the cache has not been populated yet.
+     */
+    public Optional<EmployeeSnapshot> snapshot() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    public boolean isReady() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * Replaces the cached data with a full snapshot.
+     *
+     * @param version the upstream dataset version of the employees.
+     * @param employees every upstream employee.
+     */
+    public synchronized void replace(long version, Collection<Employee> employees) {
+        EmployeeSnapshot replacement = storage.snapshot(version, employees);
+        snapshot.set(replacement);
+        log.info("\"Replaced employee cache\" version=\"{}\" size=\"{}\"", version, replacement.size());
+    }
+
+    /**
+     * Populates the cache only if it is still empty, e.g. from a persisted snapshot while the first upstream
+     * refresh may already have completed.
+     *
+     * @param initial the snapshot to start from.
+     * @return true if the cache was populated from the given snapshot.
+     */
+    public synchronized boolean initialize(EmployeeSnapshot initial) {
+        if (!snapshot.compareAndSet(null, initial)) {
+            return false;
+        }
+        log.info("\"Initialized employee cache\" version=\"{}\" size=\"{}\"", initial.version(), initial.size());
+        return true;
+    }
+
+    /**
+     * Applies changes on top of the current snapshot. Changes at or below the cached version are skipped, so
+     * applying the same change twice is harmless.
+     *
+     * @param version the upstream dataset version once every change is applied.
+     * @param changes the changes to apply, oldest first.
+     * @return false if the cache has not been populated yet and the changes could not be applied.
+     */
+    public synchronized boolean apply(long version, List<EmployeeChange> changes) {
+        EmployeeSnapshot current = snapshot.get();
+        if (current == null) {
+            return false;
+        }
+        if (version <= current.version()) {
+            return true;
+        }
+        List<EmployeeChange> newer = changes.stream()
+                .filter(change -> change.version() > current.version())
+                .toList();
+        snapshot.set(current.apply(version, newer));
+        log.debug("\"Applied employee changes\" version=\"{}\" changes=\"{}\"", version, changes.size());
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.api.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the instance out of service until the {@link EmployeeCache} holds data, whether restored from disk or
+ * fetched upstream. Included in the readiness group so traffic is only routed once reads can be answered. When the
+ * cache is disabled every read goes upstream and the instance is always ready.
+ */
+@Component
+public class EmployeeCacheHealthIndicator implements HealthIndicator {
+
+    private final EmployeeCache employeeCache;
+
+    private final boolean enabled;
+
+    public EmployeeCacheHealthIndicator(
+            EmployeeCache employeeCache, @Value("${employee.cache.enabled:false}") boolean enabled) {
+        this.employeeCache = employeeCache;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Health health() {
+        if (!enabled) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        return employeeCache
+                .snapshot()
+                .map(snapshot -> Health.up()
+                        .withDetail("version", snapshot.version())
+                        .withDetail("employees", snapshot.size())
+                        .build())
+                .orElseGet(() -> Health.outOfService().build());
+    }
+}
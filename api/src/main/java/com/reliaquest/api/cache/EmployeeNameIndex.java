@@ -0,0 +1,53 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Names of employees the api has seen upstream outside the {@link EmployeeCache}, by id. The upstream deletes
+ * employees by name only, so this lets an id be resolved without downloading the employee list again. The index is
+ * cleared rather than evicted once full, as every entry can be looked up upstream again.
+ */
+@Component
+public class EmployeeNameIndex {
+
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    public EmployeeNameIndex(@Value("${employee.name-index.max-size:100000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Remembers the employee's name, if it has both an id and a name.
+     *
+     * @param employee an employee as returned by the upstream.
+     * @return the same employee.
+     */
+    public Employee record(Employee employee) {
+        if (employee.getId() != null && employee.getName() != null) {
+            if (names.size() >= maxSize) {
+                names.clear();
+            }
+            names.put(employee.getId(), employee.getName());
+        }
+        return employee;
+    }
+
+    public Optional<String> find(String id) {
+        return Optional.ofNullable(names.get(id));
+    }
+
+    public void remove(String id) {
+        names.remove(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
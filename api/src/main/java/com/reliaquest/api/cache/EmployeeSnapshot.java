@@ -0,0 +1,76 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.statistics.SalaryStatistics;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * An immutable view of the upstream employees at a given dataset version. Aggregations live on the snapshot so each
+ * {@link EmployeeStorage} can answer them from its own representation.
+ */
+public interface EmployeeSnapshot {
+
+    /**
+     * @return the upstream dataset version this snapshot reflects.
+     */
+    long version();
+
+    int size();
+
+    Optional<Employee> findById(String id);
+
+    /**
+     * @return every employee, in upstream order.
+     */
+    Stream<Employee> stream();
+
+    /**
+     * @return positional access to the employees, in the order of {@link #stream()}.
+     */
+    IntFunction<Employee> byPosition();
+
+    /**
+     * @return the highest salary, or empty if no employee has one. Read from the {@link #salaryStatistics()} rather
+     *     than scanned.
+     */
+    default Optional<Integer> highestSalary() {
+        SalaryStatistics salaryStatistics = salaryStatistics();
+        return salaryStatistics.isEmpty() ? Optional.empty() : Optional.of(salaryStatistics.max());
+    }
+
+    /**
+     * @param limit the maximum number of names to return.
+     * @return the names of the highest earners, highest first.
+     */
+    List<String> topEarnerNames(int limit);
+
+    /**
+     * @param fragment the lower case fragment to look for.
+     * @return employees whose lower cased name contains the fragment, in upstream order.
+     */
+    List<Employee> searchByName(String fragment);
+
+    /**
+     * @return salary aggregates, maintained as the snapshot is built rather than computed on read.
+     */
+    SalaryStatistics salaryStatistics();
+
+    /**
+     * Builds the snapshot that results from applying changes on top of this one.
+     *
+     * @param version the upstream dataset version once every change is applied.
+     * @param changes the changes to apply, oldest first, all newer than this snapshot.
+     * @return the next snapshot.
+     */
+    EmployeeSnapshot apply(long version, List<EmployeeChange> changes);
+
+    /**
+     * @return this snapshot in the {@link EmployeeSnapshotFile} layout, positioned at zero.
+     */
+    ByteBuffer encode();
+}
@@ -0,0 +1,218 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Compact binary layout for persisting an {@link EmployeeSnapshot}, also used as the in-memory representation of an
+ * {@link OffHeapEmployeeSnapshot}.
+ *
+ * <pre>
+ * header  : magic (int) | format (int) | dataset version (long) | record count (int) | string arena bytes (int)
+ * records : salary (int) | age (int) | id, name, title, email as (arena offset (int), byte length (int))
+ * arena   : UTF-8 bytes of every string
+ * </pre>
+ *
+ * Records are fixed width so any employee can be located without scanning. Missing numbers are stored as
+ * {@link #NULL_INT} and missing strings with a length of {@code -1}. Files are written to a temporary sibling and
+ * moved into place, so a reader never observes a partially written snapshot.
+ */
+public final class EmployeeSnapshotFile {
+
+    public static final int MAGIC = 0x52514553;
+
+    public static final int FORMAT = 1;
+
+    public static final int HEADER_BYTES = 24;
+
+    public static final int RECORD_BYTES = 40;
+
+    public static final int NULL_INT = Integer.MIN_VALUE;
+
+    private EmployeeSnapshotFile() {}
+
+    /**
+     * Writes the snapshot to the given path, replacing any existing file.
+     *
+     * @param path the destination file.
+     * @param snapshot the snapshot to persist.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, EmployeeSnapshot snapshot) throws IOException {
+        ByteBuffer buffer = snapshot.encode();
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-maps a snapshot file.
+     *
+     * @param path the snapshot file.
+     * @return a read-only buffer over the whole file, positioned at zero.
+     * @throws IOException if the file cannot be mapped or is not a snapshot in this format.
+     */
+    public static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            validate(buffer);
+            return buffer;
+        }
+    }
+
+    /**
+     * Memory-maps a snapshot file and materializes its employees on the heap.
+     *
+     * @param path the snapshot file.
+     * @return the persisted snapshot.
+     * @throws IOException if the file cannot be read or is not a snapshot in this format.
+     */
+    public static EmployeeSnapshot read(Path path) throws IOException {
+        ByteBuffer buffer = map(path);
+        int count = count(buffer);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(decode(buffer, i));
+        }
+        return HeapEmployeeSnapshot.of(version(buffer), employees);
+    }
+
+    public static long version(ByteBuffer buffer) {
+        return buffer.getLong(8);
+    }
+
+    public static int count(ByteBuffer buffer) {
+        return buffer.getInt(16);
+    }
+
+    public static int arenaBytes(ByteBuffer buffer) {
+        return buffer.getInt(20);
+    }
+
+    public static int recordOffset(int index) {
+        return HEADER_BYTES + index * RECORD_BYTES;
+    }
+
+    public static int arenaOffset(ByteBuffer buffer) {
+        return recordOffset(count(buffer));
+    }
+
+    /**
+     * Reads the string referenced at the given position of a record.
+     *
+     * @param buffer a mapped snapshot.
+     * @param index the record index.
+     * @param field the byte offset of the string reference within the record.
+     * @return the string, or null if it was not set.
+     */
+    public static String string(ByteBuffer buffer, int index, int field) {
+        int reference = recordOffset(index) + field;
+        int length = buffer.getInt(reference + 4);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(arenaOffset(buffer) + buffer.getInt(reference), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static Employee decode(ByteBuffer buffer, int index) {
+        int record = recordOffset(index);
+        Employee employee = new Employee();
+        employee.setSalary(nullable(buffer.getInt(record)));
+        employee.setAge(nullable(buffer.getInt(record + 4)));
+        employee.setId(string(buffer, index, 8));
+        employee.setName(string(buffer, index, 16));
+        employee.setTitle(string(buffer, index, 24));
+        employee.setEmail(string(buffer, index, 32));
+        return employee;
+    }
+
+    /**
+     * Encodes employees into a buffer in this layout.
+     *
+     * @param version the dataset version to record in the header.
+     * @param employees the employees, in record order.
+     * @param allocator allocates the buffer for the given number of bytes, e.g. on or off the heap.
+     * @return the encoded snapshot, positioned at zero.
+     */
+    public static ByteBuffer encode(long version, Collection<Employee> employees, IntFunction<ByteBuffer> allocator) {
+        ByteArrayOutputStream arena = new ByteArrayOutputStream();
+        ByteBuffer records = ByteBuffer.allocate(employees.size() * RECORD_BYTES);
+        employees.forEach(employee -> putRecord(records, arena, 0, employee));
+        ByteBuffer buffer = allocator.apply(HEADER_BYTES + records.capacity() + arena.size());
+        putHeader(buffer, version, employees.size(), arena.size());
+        return buffer.put(records.flip()).put(arena.toByteArray()).flip();
+    }
+
+    /**
+     * Writes the header at the current position of the buffer.
+     */
+    public static void putHeader(ByteBuffer buffer, long version, int count, int arenaBytes) {
+        buffer.putInt(MAGIC).putInt(FORMAT).putLong(version).putInt(count).putInt(arenaBytes);
+    }
+
+    /**
+     * Appends a record and its strings.
+     *
+     * @param records receives the fixed width record.
+     * @param arena receives the UTF-8 bytes of the strings.
+     * @param arenaBase the arena offset at which {@code arena} will eventually be placed.
+     * @param employee the employee to encode.
+     */
+    public static void putRecord(ByteBuffer records, ByteArrayOutputStream arena, int arenaBase, Employee employee) {
+        records.putInt(orNull(employee.getSalary()));
+        records.putInt(orNull(employee.getAge()));
+        putString(records, arena, arenaBase, employee.getId());
+        putString(records, arena, arenaBase, employee.getName());
+        putString(records, arena, arenaBase, employee.getTitle());
+        putString(records, arena, arenaBase, employee.getEmail());
+    }
+
+    private static void putString(ByteBuffer records, ByteArrayOutputStream arena, int arenaBase, String value) {
+        if (value == null) {
+            records.putInt(0).putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        records.putInt(arenaBase + arena.size()).putInt(bytes.length);
+        arena.writeBytes(bytes);
+    }
+
+    private static void validate(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+            throw new IOException("Not an employee snapshot file");
+        }
+        long expectedBytes = HEADER_BYTES + (long) count(buffer) * RECORD_BYTES + arenaBytes(buffer);
+        if (count(buffer) < 0 || buffer.limit() != expectedBytes) {
+            throw new IOException("Truncated employee snapshot file");
+        }
+    }
+
+    private static int orNull(Integer value) {
+        return value == null ? NULL_INT : value;
+    }
+
+    private static Integer nullable(int value) {
+        return value == NULL_INT ? null : value;
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Where the {@link EmployeeCache} keeps its employees, selected with {@code employee.cache.storage}.
+ */
+public enum EmployeeStorage {
+
+    /**
+     * {@link Employee} objects on the Java heap. Cheapest to read for small datasets.
+     */
+    HEAP {
+        @Override
+        public EmployeeSnapshot snapshot(long version, Collection<Employee> employees) {
+            return HeapEmployeeSnapshot.of(version, employees);
+        }
+
+        @Override
+        public EmployeeSnapshot load(Path path) throws IOException {
+            return EmployeeSnapshotFile.read(path);
+        }
+    },
+
+    /**
+     * Fixed width records outside the Java heap, see {@link OffHeapEmployeeSnapshot}. Keeps garbage collection pauses
+     * flat for datasets of millions of employees, and serves a persisted snapshot straight from the mapped file.
+     */
+    OFF_HEAP {
+        @Override
+        public EmployeeSnapshot snapshot(long version, Collection<Employee> employees) {
+            return OffHeapEmployeeSnapshot.of(version, employees);
+        }
+
+        @Override
+        public EmployeeSnapshot load(Path path) throws IOException {
+            return OffHeapEmployeeSnapshot.wrap(EmployeeSnapshotFile.map(path));
+        }
+    };
+
+    public abstract EmployeeSnapshot snapshot(long version, Collection<Employee> employees);
+
+    /**
+     * Loads a persisted {@link EmployeeSnapshotFile}.
+     *
+     * @param path the snapshot file.
+     * @return the persisted snapshot.
+     * @throws IOException if the file cannot be read or is not a snapshot in this format.
+     */
+    public abstract EmployeeSnapshot load(Path path) throws IOException;
+}
@@ -0,0 +1,224 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.statistics.SalaryStatistics;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An {@link EmployeeSnapshot} holding {@link Employee} objects on the heap.
+ * <p>
+ * Like {@link OffHeapEmployeeSnapshot}, applying changes does not copy every employee. Snapshots share the employees
+ * of the one they were applied to and keep the changes made since as hidden ids plus replaced and appended employees,
+ * folded into a new map once they exceed roughly the square root of the employee count.
+ */
+public final class HeapEmployeeSnapshot implements EmployeeSnapshot {
+
+    private static final int MIN_PENDING_CHANGES = 256;
+
+    private final long version;
+
+    private final Map<String, Employee> employees;
+
+    private final Pending pending;
+
+    private final int size;
+
+    private final SalaryStatistics salaryStatistics;
+
+    private HeapEmployeeSnapshot(
+            long version,
+            Map<String, Employee> employees,
+            Pending pending,
+            Function<HeapEmployeeSnapshot, SalaryStatistics> salaryStatistics) {
+        this.version = version;
+        this.employees = employees;
+        this.pending = pending;
+        this.size = employees.size() - pending.hidden().size() + pending.replaced().size() + pending.appended().size();
+        this.salaryStatistics = salaryStatistics.apply(this);
+    }
+
+    public static HeapEmployeeSnapshot of(long version, Collection<Employee> employees) {
+        Map<String, Employee> employeesById = new LinkedHashMap<>();
+        employees.forEach(employee -> employeesById.put(employee.getId(), employee));
+        return new HeapEmployeeSnapshot(
+                version,
+                Collections.unmodifiableMap(employeesById),
+                Pending.NONE,
+                snapshot -> SalaryStatistics.of(salaries(snapshot.stream())));
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public Optional<Employee> findById(String id) {
+        Employee appended = pending.appended().get(id);
+        if (appended != null) {
+            return Optional.of(appended);
+        }
+        if (pending.hidden().contains(id)) {
+            return Optional.ofNullable(pending.replaced().get(id));
+        }
+        return Optional.ofNullable(employees.get(id));
+    }
+
+    @Override
+    public Stream<Employee> stream() {
+        return stream(employees, pending);
+    }
+
+    @Override
+    public IntFunction<Employee> byPosition() {
+        Employee[] rows = stream().toArray(Employee[]::new);
+        return position -> rows[position];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<String> topEarnerNames(int limit) {
+        int capacity = Math.min(limit, size);
+        Employee[] employees = new Employee[capacity];
+        int filled = 0;
+        for (Iterator<Employee> iterator = stream().iterator(); capacity > 0 && iterator.hasNext(); ) {
+            Employee employee = iterator.next();
+            Integer salary = employee.getSalary();
+            if (salary == null || (filled == capacity && salary <= employees[capacity - 1].getSalary())) {
+                continue;
+            }
+            int position = filled < capacity ? filled++ : capacity - 1;
+            while (position > 0 && employees[position - 1].getSalary() < salary) {
+                employees[position] = employees[position - 1];
+                position--;
+            }
+            employees[position] = employee;
+        }
+        List<String> names = new ArrayList<>(filled);
+        for (int i = 0; i < filled; i++) {
+            names.add(employees[i].getName());
+        }
+        return names;
+    }
+
+    @Override
+    public List<Employee> searchByName(String fragment) {
+        return stream().filter(employee ->
+                        employee.getName() != null && employee.getName().toLowerCase().contains(fragment))
+                .toList();
+    }
+
+    @Override
+    public SalaryStatistics salaryStatistics() {
+        return salaryStatistics;
+    }
+
+    @Override
+    public HeapEmployeeSnapshot apply(long version, List<EmployeeChange> changes) {
+        Set<String> hidden = new HashSet<>(pending.hidden());
+        Map<String, Employee> replaced = new HashMap<>(pending.replaced());
+        Map<String, Employee> appended = new LinkedHashMap<>(pending.appended());
+        List<Employee> removed = new ArrayList<>();
+        List<Employee> added = new ArrayList<>();
+        for (EmployeeChange change : changes) {
+            Employee employee = change.employee();
+            String id = employee.getId();
+            boolean create = change.type() == EmployeeChange.Type.CREATED;
+            boolean removedEmployee = hidden.contains(id) && !replaced.containsKey(id);
+            Employee previous;
+            if (!employees.containsKey(id) || removedEmployee || appended.containsKey(id)) {
+                previous = create ? appended.put(id, employee) : appended.remove(id);
+            } else {
+                previous = hidden.add(id) ? employees.get(id) : replaced.get(id);
+                if (create) {
+                    replaced.put(id, employee);
+                } else {
+                    replaced.remove(id);
+                }
+            }
+            if (previous != null) {
+                removed.add(previous);
+            }
+            if (create) {
+                added.add(employee);
+            }
+        }
+
+        Pending next = new Pending(hidden, replaced, appended);
+        Function<HeapEmployeeSnapshot, SalaryStatistics> nextStatistics =
+                snapshot -> salaryStatistics.apply(
+                        salaries(removed.stream()).toArray(),
+                        salaries(added.stream()).toArray(),
+                        () -> salaries(snapshot.stream()));
+        if (next.changes() <= Math.max(MIN_PENDING_CHANGES, (int) Math.sqrt(employees.size()))) {
+            return new HeapEmployeeSnapshot(version, employees, next, nextStatistics);
+        }
+        Map<String, Employee> folded = new LinkedHashMap<>();
+        stream(employees, next).forEach(employee -> folded.put(employee.getId(), employee));
+        return new HeapEmployeeSnapshot(version, Collections.unmodifiableMap(folded), Pending.NONE, nextStatistics);
+    }
+
+    @Override
+    public ByteBuffer encode() {
+        Collection<Employee> rows = pending.isEmpty() ? employees.values() : stream().toList();
+        return EmployeeSnapshotFile.encode(version, rows, ByteBuffer::allocate);
+    }
+
+    private static Stream<Employee> stream(Map<String, Employee> employees, Pending pending) {
+        if (pending.isEmpty()) {
+            return employees.values().stream();
+        }
+        return Stream.concat(
+                employees.values().stream()
+                        .map(employee -> pending.hidden().contains(employee.getId())
+                                ? pending.replaced().get(employee.getId())
+                                : employee)
+                        .filter(Objects::nonNull),
+                pending.appended().values().stream());
+    }
+
+    private static IntStream salaries(Stream<Employee> employees) {
+        return employees.map(Employee::getSalary).filter(Objects::nonNull).mapToInt(Integer::intValue);
+    }
+
+    /**
+     * Changes applied since the employees were last folded.
+     *
+     * @param hidden ids of removed or replaced employees.
+     * @param replaced the current employee of each replaced id.
+     * @param appended employees that are not in the folded map, in upstream order.
+     */
+    private record Pending(Set<String> hidden, Map<String, Employee> replaced, Map<String, Employee> appended) {
+
+        static final Pending NONE = new Pending(Set.of(), Map.of(), Map.of());
+
+        boolean isEmpty() {
+            return changes() == 0;
+        }
+
+        int changes() {
+            return hidden.size() + appended.size();
+        }
+    }
+}
@@ -0,0 +1,541 @@
+package com.reliaquest.api.cache;
+
+import static com.reliaquest.api.cache.EmployeeSnapshotFile.NULL_INT;
+import static com.reliaquest.api.cache.EmployeeSnapshotFile.RECORD_BYTES;
+import static com.reliaquest.api.cache.EmployeeSnapshotFile.recordOffset;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.statistics.SalaryStatistics;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An {@link EmployeeSnapshot} kept outside the Java heap, in the {@link EmployeeSnapshotFile} layout, so a
+ * multi-million employee dataset costs the garbage collector a handful of objects instead of several per employee.
+ * The buffer is either allocated directly or mapped straight from a persisted snapshot file.
+ * <p>
+ * Aggregations scan the fixed width records in place and only decode the strings they return. Ids are located through
+ * an open addressing table, also off heap, holding {@code record index + 1} per slot.
+ * <p>
+ * Applying changes does not copy the records. Snapshots share the records and id table of the one they were applied
+ * to and keep the changes made since on the heap, as records hidden by index plus replaced and appended employees.
+ * Once those exceed roughly the square root of the record count they are folded into a new buffer, which balances
+ * copying the pending changes on every apply against copying every record on every fold. A fold also compacts the
+ * string arena once more than half of it belongs to removed or replaced employees.
+ */
+public final class OffHeapEmployeeSnapshot implements EmployeeSnapshot {
+
+    private static final int SALARY = 0;
+
+    private static final int AGE = 4;
+
+    private static final int ID = 8;
+
+    private static final int NAME = 16;
+
+    private static final int TITLE = 24;
+
+    private static final int EMAIL = 32;
+
+    private static final int MIN_PENDING_CHANGES = 256;
+
+    private static final double MAX_DEAD_ARENA_SHARE = 0.5;
+
+    private final Records records;
+
+    private final ByteBuffer buffer;
+
+    private final long version;
+
+    private final Pending pending;
+
+    private final int size;
+
+    private final SalaryStatistics salaryStatistics;
+
+    private OffHeapEmployeeSnapshot(
+            Records records,
+            long version,
+            Pending pending,
+            Function<OffHeapEmployeeSnapshot, SalaryStatistics> salaryStatistics) {
+        this.records = records;
+        this.buffer = records.buffer;
+        this.version = version;
+        this.pending = pending;
+        this.size = records.count - pending.hidden().length + pending.replaced().size() + pending.appended().size();
+        this.salaryStatistics = salaryStatistics.apply(this);
+    }
+
+    public static OffHeapEmployeeSnapshot of(long version, Collection<Employee> employees) {
+        Map<String, Employee> employeesById = new LinkedHashMap<>();
+        employees.forEach(employee -> employeesById.put(employee.getId(), employee));
+        return wrap(EmployeeSnapshotFile.encode(version, employeesById.values(), ByteBuffer::allocateDirect));
+    }
+
+    /**
+     * Serves a snapshot from an existing buffer without copying it, e.g. one returned by
+     * {@link EmployeeSnapshotFile#map}.
+     *
+     * @param buffer a buffer in the {@link EmployeeSnapshotFile} layout, with unique ids.
+     * @return the snapshot.
+     */
+    public static OffHeapEmployeeSnapshot wrap(ByteBuffer buffer) {
+        return new OffHeapEmployeeSnapshot(
+                new Records(buffer),
+                EmployeeSnapshotFile.version(buffer),
+                Pending.NONE,
+                snapshot -> SalaryStatistics.of(snapshot.salaries()));
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Optional<Employee> findById(String id) {
+        Employee appended = pending.appended().get(id);
+        if (appended != null) {
+            return Optional.of(appended);
+        }
+        int index = records.indexOf(id);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        if (Arrays.binarySearch(pending.hidden(), index) >= 0) {
+            return Optional.ofNullable(pending.replaced().get(index));
+        }
+        return Optional.of(EmployeeSnapshotFile.decode(buffer, index));
+    }
+
+    @Override
+    public Stream<Employee> stream() {
+        if (pending.isEmpty()) {
+            return IntStream.range(0, records.count).mapToObj(index -> EmployeeSnapshotFile.decode(buffer, index));
+        }
+        return Stream.concat(
+                IntStream.range(0, records.count).filter(this::isLive).mapToObj(this::employeeAt),
+                pending.appended().values().stream());
+    }
+
+    @Override
+    public IntFunction<Employee> byPosition() {
+        if (pending.isEmpty()) {
+            return position -> EmployeeSnapshotFile.decode(buffer, position);
+        }
+        int[] indexes = IntStream.range(0, records.count).filter(this::isLive).toArray();
+        List<Employee> appended = List.copyOf(pending.appended().values());
+        return position ->
+                position < indexes.length ? employeeAt(indexes[position]) : appended.get(position - indexes.length);
+    }
+
+    /**
+     * Visits every employee through a single reused {@link EmployeeView}, without materializing any of them.
+     *
+     * @param action invoked once per employee, in upstream order. The view must not be kept after it returns.
+     */
+    public void forEach(Consumer<EmployeeView> action) {
+        for (EmployeeView view = new EmployeeView(); view.advance(); ) {
+            action.accept(view);
+        }
+    }
+
+    @Override
+    public List<String> topEarnerNames(int limit) {
+        int capacity = Math.min(limit, size);
+        int[] indexes = new int[capacity];
+        Employee[] employees = new Employee[capacity];
+        int[] salaries = new int[capacity];
+        int filled = 0;
+        for (EmployeeView view = new EmployeeView(); capacity > 0 && view.advance(); ) {
+            int salary = view.salary();
+            if (salary == NULL_INT || (filled == capacity && salary <= salaries[capacity - 1])) {
+                continue;
+            }
+            int position = filled < capacity ? filled++ : capacity - 1;
+            while (position > 0 && salaries[position - 1] < salary) {
+                salaries[position] = salaries[position - 1];
+                indexes[position] = indexes[position - 1];
+                employees[position] = employees[position - 1];
+                position--;
+            }
+            salaries[position] = salary;
+            indexes[position] = view.index;
+            employees[position] = view.employee;
+        }
+        List<String> names = new ArrayList<>(filled);
+        for (int i = 0; i < filled; i++) {
+            names.add(
+                    employees[i] == null
+                            ? EmployeeSnapshotFile.string(buffer, indexes[i], NAME)
+                            : employees[i].getName());
+        }
+        return names;
+    }
+
+    @Override
+    public List<Employee> searchByName(String fragment) {
+        List<Employee> matches = new ArrayList<>();
+        for (EmployeeView view = new EmployeeView(); view.advance(); ) {
+            String name = view.name();
+            if (name != null && name.toLowerCase().contains(fragment)) {
+                matches.add(view.toEmployee());
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public SalaryStatistics salaryStatistics() {
+        return salaryStatistics;
+    }
+
+    @Override
+    public OffHeapEmployeeSnapshot apply(long version, List<EmployeeChange> changes) {
+        Set<Integer> hidden = new HashSet<>();
+        Arrays.stream(pending.hidden()).forEach(hidden::add);
+        Map<Integer, Employee> replaced = new HashMap<>(pending.replaced());
+        Map<String, Employee> appended = new LinkedHashMap<>(pending.appended());
+        IntStream.Builder removedSalaries = IntStream.builder();
+        IntStream.Builder addedSalaries = IntStream.builder();
+        for (EmployeeChange change : changes) {
+            Employee employee = change.employee();
+            boolean create = change.type() == EmployeeChange.Type.CREATED;
+            int existing = records.indexOf(employee.getId());
+            boolean removedRecord = hidden.contains(existing) && !replaced.containsKey(existing);
+            if (existing < 0 || removedRecord || appended.containsKey(employee.getId())) {
+                Employee previous =
+                        create ? appended.put(employee.getId(), employee) : appended.remove(employee.getId());
+                if (previous != null) {
+                    removedSalaries.add(salaryOf(previous));
+                }
+            } else {
+                removedSalaries.add(
+                        hidden.add(existing)
+                                ? buffer.getInt(recordOffset(existing) + SALARY)
+                                : salaryOf(replaced.get(existing)));
+                if (create) {
+                    replaced.put(existing, employee);
+                } else {
+                    replaced.remove(existing);
+                }
+            }
+            if (create) {
+                addedSalaries.add(salaryOf(employee));
+            }
+        }
+
+        Pending next = new Pending(hidden.stream().mapToInt(Integer::intValue).sorted().toArray(), replaced, appended);
+        Function<OffHeapEmployeeSnapshot, SalaryStatistics> nextStatistics =
+                snapshot -> salaryStatistics.apply(
+                        removedSalaries.build().filter(salary -> salary != NULL_INT).toArray(),
+                        addedSalaries.build().filter(salary -> salary != NULL_INT).toArray(),
+                        snapshot::salaries);
+        if (next.changes() <= Math.max(MIN_PENDING_CHANGES, (int) Math.sqrt(records.count))) {
+            return new OffHeapEmployeeSnapshot(records, version, next, nextStatistics);
+        }
+        return new OffHeapEmployeeSnapshot(
+                new Records(records.fold(version, next)), version, Pending.NONE, nextStatistics);
+    }
+
+    @Override
+    public ByteBuffer encode() {
+        if (pending.isEmpty()) {
+            return buffer.duplicate().clear();
+        }
+        return records.fold(version, pending);
+    }
+
+    private boolean isLive(int index) {
+        return Arrays.binarySearch(pending.hidden(), index) < 0 || pending.replaced().containsKey(index);
+    }
+
+    private Employee employeeAt(int index) {
+        Employee replacement = pending.replaced().get(index);
+        return replacement != null ? replacement : EmployeeSnapshotFile.decode(buffer, index);
+    }
+
+    private IntStream salaries() {
+        IntStream.Builder salaries = IntStream.builder();
+        for (EmployeeView view = new EmployeeView(); view.advance(); ) {
+            if (view.salary() != NULL_INT) {
+                salaries.add(view.salary());
+            }
+        }
+        return salaries.build();
+    }
+
+    private static int salaryOf(Employee employee) {
+        return employee.getSalary() == null ? NULL_INT : employee.getSalary();
+    }
+
+    private static int hash(ByteBuffer bytes, int offset, int length) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (bytes.get(offset + i) & 0xff)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Changes applied since the records were last folded, all on the heap.
+     *
+     * @param hidden indexes of removed or replaced records, ascending.
+     * @param replaced the current employee of each replaced record, by index.
+     * @param appended employees that are not in the records, in upstream order.
+     */
+    private record Pending(int[] hidden, Map<Integer, Employee> replaced, Map<String, Employee> appended) {
+
+        static final Pending NONE = new Pending(new int[0], Map.of(), Map.of());
+
+        boolean isEmpty() {
+            return changes() == 0;
+        }
+
+        int changes() {
+            return hidden.length + appended.size();
+        }
+    }
+
+    /**
+     * A buffer in the {@link EmployeeSnapshotFile} layout and the id table over it, shared by every snapshot applied
+     * on top of it until the next fold.
+     */
+    private static final class Records {
+
+        private final ByteBuffer buffer;
+
+        private final int count;
+
+        private final int arenaOffset;
+
+        private final int arenaBytes;
+
+        private final long deadArenaBytes;
+
+        private final IntBuffer idSlots;
+
+        private final int slotMask;
+
+        private Records(ByteBuffer buffer) {
+            this.buffer = buffer.asReadOnlyBuffer();
+            this.count = EmployeeSnapshotFile.count(buffer);
+            this.arenaOffset = EmployeeSnapshotFile.arenaOffset(buffer);
+            this.arenaBytes = EmployeeSnapshotFile.arenaBytes(buffer);
+            int slots = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+            this.idSlots = ByteBuffer.allocateDirect(slots * Integer.BYTES).asIntBuffer();
+            this.slotMask = slots - 1;
+            long liveArenaBytes = 0;
+            for (int i = 0; i < count; i++) {
+                liveArenaBytes += stringBytes(i);
+                int reference = recordOffset(i) + ID;
+                int length = buffer.getInt(reference + 4);
+                if (length < 0) {
+                    continue;
+                }
+                int slot = hash(buffer, arenaOffset + buffer.getInt(reference), length) & slotMask;
+                while (idSlots.get(slot) != 0) {
+                    slot = (slot + 1) & slotMask;
+                }
+                idSlots.put(slot, i + 1);
+            }
+            this.deadArenaBytes = arenaBytes - liveArenaBytes;
+        }
+
+        private int indexOf(String id) {
+            if (id == null) {
+                return -1;
+            }
+            ByteBuffer key = ByteBuffer.wrap(id.getBytes(StandardCharsets.UTF_8));
+            int length = key.limit();
+            int slot = hash(key, 0, length) & slotMask;
+            for (int entry = idSlots.get(slot); entry != 0; entry = idSlots.get(slot)) {
+                int reference = recordOffset(entry - 1) + ID;
+                if (buffer.getInt(reference + 4) == length
+                        && buffer.slice(arenaOffset + buffer.getInt(reference), length).equals(key)) {
+                    return entry - 1;
+                }
+                slot = (slot + 1) & slotMask;
+            }
+            return -1;
+        }
+
+        /**
+         * @return the arena bytes the strings of a record occupy.
+         */
+        private int stringBytes(int index) {
+            int bytes = 0;
+            for (int field = ID; field <= EMAIL; field += 8) {
+                bytes += Math.max(0, buffer.getInt(recordOffset(index) + field + 4));
+            }
+            return bytes;
+        }
+
+        /**
+         * Copies the surviving records and the pending changes into a new buffer, in upstream order. The arena is
+         * copied whole unless more than {@link #MAX_DEAD_ARENA_SHARE} of it would be unreferenced, in which case only
+         * the strings of surviving records are copied and their references rewritten.
+         */
+        private ByteBuffer fold(long version, Pending pending) {
+            int[] hidden = pending.hidden();
+            long deadBytes = deadArenaBytes;
+            for (int index : hidden) {
+                deadBytes += stringBytes(index);
+            }
+            boolean compact = deadBytes > arenaBytes * MAX_DEAD_ARENA_SHARE;
+            int keptArenaBytes = compact ? (int) (arenaBytes - deadBytes) : arenaBytes;
+
+            ByteArrayOutputStream addedArena = new ByteArrayOutputStream();
+            Map<Integer, ByteBuffer> replacedRecords = new HashMap<>();
+            pending.replaced().forEach((index, employee) -> {
+                ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+                EmployeeSnapshotFile.putRecord(record, addedArena, keptArenaBytes, employee);
+                replacedRecords.put(index, record);
+            });
+            ByteBuffer appendedRecords = ByteBuffer.allocate(pending.appended().size() * RECORD_BYTES);
+            pending.appended()
+                    .values()
+                    .forEach(employee ->
+                            EmployeeSnapshotFile.putRecord(appendedRecords, addedArena, keptArenaBytes, employee));
+
+            int nextCount = count - hidden.length + replacedRecords.size() + pending.appended().size();
+            int nextArenaOffset = recordOffset(nextCount);
+            ByteBuffer next = ByteBuffer.allocateDirect(nextArenaOffset + keptArenaBytes + addedArena.size());
+            EmployeeSnapshotFile.putHeader(next, version, nextCount, keptArenaBytes + addedArena.size());
+            int position = next.position();
+            int arenaPosition = nextArenaOffset;
+            for (int i = 0, h = 0; i < count; i++) {
+                if (h < hidden.length && hidden[h] == i) {
+                    h++;
+                    ByteBuffer replacement = replacedRecords.get(i);
+                    if (replacement != null) {
+                        next.put(position, replacement, 0, RECORD_BYTES);
+                        position += RECORD_BYTES;
+                    }
+                    continue;
+                }
+                next.put(position, buffer, recordOffset(i), RECORD_BYTES);
+                for (int field = ID; compact && field <= EMAIL; field += 8) {
+                    int length = next.getInt(position + field + 4);
+                    if (length >= 0) {
+                        next.put(arenaPosition, buffer, arenaOffset + next.getInt(position + field), length);
+                        next.putInt(position + field, arenaPosition - nextArenaOffset);
+                        arenaPosition += length;
+                    }
+                }
+                position += RECORD_BYTES;
+            }
+            next.put(position, appendedRecords, 0, appendedRecords.capacity());
+            if (!compact) {
+                next.put(nextArenaOffset, buffer, arenaOffset, arenaBytes);
+            }
+            next.put(nextArenaOffset + keptArenaBytes, addedArena.toByteArray());
+            return next.clear();
+        }
+    }
+
+    /**
+     * Flyweight over one employee of the snapshot. Numbers of folded records are read in place and their strings
+     * decoded on access; employees changed since the last fold are read from their objects.
+     */
+    public final class EmployeeView {
+
+        private int next;
+
+        private int nextHidden;
+
+        private Iterator<Employee> appended;
+
+        private int index;
+
+        private Employee employee;
+
+        /**
+         * Moves to the next employee in upstream order.
+         *
+         * @return false once every employee was visited.
+         */
+        private boolean advance() {
+            int[] hidden = pending.hidden();
+            while (next < records.count) {
+                index = next++;
+                if (nextHidden < hidden.length && hidden[nextHidden] == index) {
+                    nextHidden++;
+                    employee = pending.replaced().get(index);
+                    if (employee != null) {
+                        return true;
+                    }
+                } else {
+                    employee = null;
+                    return true;
+                }
+            }
+            if (appended == null) {
+                appended = pending.appended().values().iterator();
+            }
+            employee = appended.hasNext() ? appended.next() : null;
+            return employee != null;
+        }
+
+        /**
+         * @return the salary, or {@link EmployeeSnapshotFile#NULL_INT} if it was not set.
+         */
+        public int salary() {
+            return employee == null ? buffer.getInt(recordOffset(index) + SALARY) : salaryOf(employee);
+        }
+
+        /**
+         * @return the age, or {@link EmployeeSnapshotFile#NULL_INT} if it was not set.
+         */
+        public int age() {
+            if (employee == null) {
+                return buffer.getInt(recordOffset(index) + AGE);
+            }
+            return employee.getAge() == null ? NULL_INT : employee.getAge();
+        }
+
+        public String id() {
+            return employee == null ? EmployeeSnapshotFile.string(buffer, index, ID) : employee.getId();
+        }
+
+        public String name() {
+            return employee == null ? EmployeeSnapshotFile.string(buffer, index, NAME) : employee.getName();
+        }
+
+        public String title() {
+            return employee == null ? EmployeeSnapshotFile.string(buffer, index, TITLE) : employee.getTitle();
+        }
+
+        public String email() {
+            return employee == null ? EmployeeSnapshotFile.string(buffer, index, EMAIL) : employee.getEmail();
+        }
+
+        public Employee toEmployee() {
+            return employee == null ? EmployeeSnapshotFile.decode(buffer, index) : employee;
+        }
+    }
+}
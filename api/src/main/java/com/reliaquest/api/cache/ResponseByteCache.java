@@ -0,0 +1,111 @@
+package com.reliaquest.api.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serialized responses, raw and gzip-compressed, keyed by endpoint and valid for one {@link EmployeeCache} version.
+ * Storing a response for a newer version evicts every response of an older one, and a response that would take the
+ * cache over its byte limit is not stored.
+ */
+@Component
+public class ResponseByteCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseByteCache.class);
+
+    private final long maxBytes;
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+
+    private long bytes;
+
+    public ResponseByteCache(@Value("${employee.response-cache.max-bytes:16777216}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @param key the endpoint the response was served by.
+     * @param version the current dataset version.
+     * @return the response stored for the version, or empty if there is none.
+     */
+    public Optional<CachedResponse> find(String key, long version) {
+        CachedResponse entry = entries.get(key);
+        if (entry == null || entry.version() != version) {
+            if (entry != null && entry.version() < version) {
+                evict(key, entry);
+            }
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    /**
+     * Stores a response, compressing it once here so that serving it compressed costs nothing.
+     *
+     * @param key the endpoint the response was served by.
+     * @param version the dataset version the response was built from.
+     * @param contentType the content type of the response.
+     * @param body the serialized response.
+     */
+    public synchronized void store(String key, long version, String contentType, byte[] body) {
+        entries.forEach((staleKey, stale) -> {
+            if (stale.version() < version) {
+                evict(staleKey, stale);
+            }
+        });
+        CachedResponse previous = entries.get(key);
+        if (previous != null && previous.version() > version) {
+            return;
+        }
+        CachedResponse entry = new CachedResponse(version, contentType, body, gzip(body));
+        long after = bytes - (previous != null ? previous.size() : 0) + entry.size();
+        if (after > maxBytes) {
+            log.debug("\"Response too large to cache\" key=\"{}\" bytes=\"{}\"", key, entry.size());
+            return;
+        }
+        entries.put(key, entry);
+        bytes = after;
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    private synchronized void evict(String key, CachedResponse entry) {
+        if (entries.remove(key, entry)) {
+            bytes -= entry.size();
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * @param version the dataset version the response was built from.
+     * @param contentType the content type of the response.
+     * @param body the serialized response.
+     * @param gzipped the serialized response, gzip-compressed.
+     */
+    public record CachedResponse(long version, String contentType, byte[] body, byte[] gzipped) {
+
+        long size() {
+            return (long) body.length + gzipped.length;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.logging.RequestEventLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves unchanged responses of the cached endpoints from the {@link ResponseByteCache}, writing the stored bytes
+ * straight to the response without calling the controller or Jackson. A miss is served as usual and its body kept
+ * for the {@link EmployeeCache} version it was built from, provided that version was still current once the
+ * response was complete.
+ * <p>
+ * Only JSON responses to requests without parameters are cached, so requests asking for another representation such as
+ * Smile, or for only some fields, always go through.
+ * Requests served from the cache are recorded in the {@link RequestEventLog} under the name of the controller method
+ * they would otherwise have reached.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * The cached paths and the controller methods serving them.
+     */
+    public static final Map<String, String> ENDPOINTS = Map.of(
+            "/api/v1/employee", "getAllEmployees",
+            "/api/v1/employee/topTenHighestEarningEmployeeNames", "getTopTenHighestEarningEmployeeNames");
+
+    private final EmployeeCache employeeCache;
+
+    private final ResponseByteCache responseByteCache;
+
+    private final RequestEventLog requestEventLog;
+
+    public ResponseCacheFilter(
+            EmployeeCache employeeCache, ResponseByteCache responseByteCache, RequestEventLog requestEventLog) {
+        this.employeeCache = employeeCache;
+        this.responseByteCache = responseByteCache;
+        this.requestEventLog = requestEventLog;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        String endpoint = ENDPOINTS.get(request.getRequestURI().substring(request.getContextPath().length()));
+        Optional<Long> version = currentVersion();
+        if (endpoint == null
+                || !"GET".equals(request.getMethod())
+                || request.getQueryString() != null
+                || !acceptsJson(request)
+                || version.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Optional<ResponseByteCache.CachedResponse> cached = responseByteCache.find(endpoint, version.get());
+        if (cached.isPresent()) {
+            write(cached.get(), acceptsGzip(request), response);
+            requestEventLog.record(endpoint, request.getMethod(), HttpStatus.OK.value(), System.nanoTime() - start);
+            return;
+        }
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpStatus.OK.value()
+                && isJson(wrapper.getContentType())
+                && version.equals(currentVersion())) {
+            responseByteCache.store(
+                    endpoint, version.get(), wrapper.getContentType(), wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private Optional<Long> currentVersion() {
+        return employeeCache.snapshot().map(EmployeeSnapshot::version);
+    }
+
+    private static void write(ResponseByteCache.CachedResponse cached, boolean gzip, HttpServletResponse response)
+            throws IOException {
+        byte[] body = gzip ? cached.gzipped() : cached.body();
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.contentType());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept == null || !accept.contains("smile");
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.timing.RequestPhase;
+import com.reliaquest.api.timing.RequestTiming;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.IOException;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Feign {@link Client} that reports every upstream response to the {@link UpstreamBudget}. Requests are sent in the
+ * order the {@link UpstreamScheduler} grants them; a request it drops is answered with a 429 here instead of
+ * spending budget on it.
+ */
+public class BudgetAwareClient implements Client {
+
+    private final Client delegate;
+
+    private final UpstreamBudget upstreamBudget;
+
+    private final UpstreamScheduler upstreamScheduler;
+
+    public BudgetAwareClient(Client delegate, UpstreamBudget upstreamBudget, UpstreamScheduler upstreamScheduler) {
+        this.delegate = delegate;
+        this.upstreamBudget = upstreamBudget;
+        this.upstreamScheduler = upstreamScheduler;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (!upstreamScheduler.acquire(UpstreamPriority.of(request))) {
+            return Response.builder()
+                    .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                    .reason("Upstream budget exhausted")
+                    .headers(Map.of())
+                    .request(request)
+                    .build();
+        }
+        UpstreamCalls.record();
+        try (RequestTiming.Phase ignored = RequestTiming.start(RequestPhase.UPSTREAM)) {
+            Response response = delegate.execute(request, options);
+            if (response.status() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                upstreamBudget.onThrottled();
+            } else {
+                upstreamBudget.onAccepted();
+            }
+            return response;
+        } catch (IOException e) {
+            upstreamBudget.onFailed();
+            throw e;
+        } finally {
+            upstreamScheduler.release();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.dto.MockEmployeeChangeDTO;
+import com.reliaquest.api.service.EmployeeCacheRefresher;
+import com.reliaquest.api.util.EmployeeTransformer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Subscribes to the upstream employee event stream and applies each pushed change to the {@link EmployeeCache}, so
+ * reads stay current without polling. Scheduled polling is paused while the stream is connected. After a disconnect
+ * the stream is resumed from the cached version, and a {@code resync} event triggers a full snapshot reload.
+ * <p>
+ * The upstream counts each connect against its request limit, so every connect takes a background permit from the
+ * {@link UpstreamScheduler} and reports its response to the {@link UpstreamBudget}, like any other upstream request.
+ */
+@Component
+@ConditionalOnProperty(name = {"employee.cache.enabled", "employee.cache.events.enabled"}, havingValue = "true")
+public class EmployeeEventSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeEventSubscriber.class);
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final EmployeeCache employeeCache;
+
+    private final EmployeeCacheRefresher employeeCacheRefresher;
+
+    private final ObjectMapper objectMapper;
+
+    private final UpstreamBudget upstreamBudget;
+
+    private final UpstreamScheduler upstreamScheduler;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final URI eventsUri;
+
+    private final Duration reconnectBackoff;
+
+    private volatile boolean running;
+
+    private Thread consumer;
+
+    public EmployeeEventSubscriber(
+            EmployeeCache employeeCache,
+            EmployeeCacheRefresher employeeCacheRefresher,
+            ObjectMapper objectMapper,
+            UpstreamBudget upstreamBudget,
+            UpstreamScheduler upstreamScheduler,
+            @Value("${mock.employee.service.url}") String serviceUrl,
+            @Value("${employee.cache.events.reconnect-backoff-ms:5000}") long reconnectBackoffMillis) {
+        this.employeeCache = employeeCache;
+        this.employeeCacheRefresher = employeeCacheRefresher;
+        this.objectMapper = objectMapper;
+        this.upstreamBudget = upstreamBudget;
+        this.upstreamScheduler = upstreamScheduler;
+        this.eventsUri = URI.create(serviceUrl + "/v1/employee/events");
+        this.reconnectBackoff = Duration.ofMillis(reconnectBackoffMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        running = true;
+        consumer = new Thread(this::consume, "employee-event-subscriber");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (consumer != null) {
+            consumer.interrupt();
+        }
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                Optional<EmployeeSnapshot> snapshot = employeeCache.snapshot();
+                if (snapshot.isPresent()) {
+                    stream(snapshot.get().version());
+                } else {
+                    employeeCacheRefresher.refresh();
+                    if (employeeCache.isReady()) {
+                        continue;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("\"Employee event stream disconnected\" errorMessage=\"{}\"", e.getMessage());
+            } finally {
+                employeeCacheRefresher.resumePolling();
+            }
+            try {
+                Thread.sleep(reconnectBackoff.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void stream(long version) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(eventsUri)
+                .header("Accept", "text/event-stream")
+                .header("Last-Event-ID", Long.toString(version))
+                .GET()
+                .build();
+        HttpResponse<Stream<String>> response = connect(request);
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Event stream responded with status " + response.statusCode());
+            }
+            employeeCacheRefresher.pausePolling();
+            log.info("\"Connected to employee event stream\" version=\"{}\"", version);
+            EventReader reader = new EventReader(this::onEvent);
+            lines.takeWhile(line -> running).forEach(reader::accept);
+        }
+    }
+
+    /*
+     * Only the connect is reported to the budget; the stream then stays open without further requests.
+     */
+    private HttpResponse<Stream<String>> connect(HttpRequest request) throws IOException, InterruptedException {
+        if (!upstreamScheduler.acquire(UpstreamPriority.BACKGROUND)) {
+            throw new IOException("Upstream budget exhausted");
+        }
+        try {
+            HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+            if (response.statusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                upstreamBudget.onThrottled();
+            } else {
+                upstreamBudget.onAccepted();
+            }
+            return response;
+        } catch (IOException | InterruptedException e) {
+            upstreamBudget.onFailed();
+            throw e;
+        } finally {
+            upstreamScheduler.release();
+        }
+    }
+
+    /**
+     * Applies a single event. A change that skips past the next expected version means events were missed, so the
+     * stream is dropped and resumed from the cached version.
+     *
+     * @param event the event name.
+     * @param data the event payload.
+     */
+    void onEvent(String event, String data) {
+        if (RESYNC_EVENT.equals(event)) {
+            log.info("\"Employee event stream requested a resync\" version=\"{}\"", data);
+            employeeCacheRefresher.resync();
+            return;
+        }
+        MockEmployeeChangeDTO change = readChange(data);
+        long cachedVersion = employeeCache
+                .snapshot()
+                .map(EmployeeSnapshot::version)
+                .orElseThrow(() -> new IllegalStateException("Employee cache is not populated"));
+        if (change.version() > cachedVersion + 1) {
+            throw new IllegalStateException(
+                    "Missed employee changes between versions %d and %d".formatted(cachedVersion, change.version()));
+        }
+        employeeCache.apply(change.version(), List.of(EmployeeTransformer.toEmployeeChange(change)));
+    }
+
+    private MockEmployeeChangeDTO readChange(String data) {
+        try {
+            return objectMapper.readValue(data, MockEmployeeChangeDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Minimal text/event-stream parser that dispatches an (event, data) pair on each blank line.
+     */
+    static final class EventReader {
+
+        private final BiConsumer<String, String> handler;
+
+        private final StringBuilder data = new StringBuilder();
+
+        private String event;
+
+        EventReader(BiConsumer<String, String> handler) {
+            this.handler = handler;
+        }
+
+        void accept(String line) {
+            if (line.isEmpty()) {
+                if (!data.isEmpty()) {
+                    handler.accept(event == null ? "message" : event, data.toString());
+                }
+                event = null;
+                data.setLength(0);
+                return;
+            }
+            if (line.startsWith(":")) {
+                return;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            if ("event".equals(field)) {
+                event = value;
+            } else if ("data".equals(field)) {
+                if (!data.isEmpty()) {
+                    data.append('\n');
+                }
+                data.append(value);
+            }
+        }
+    }
+}
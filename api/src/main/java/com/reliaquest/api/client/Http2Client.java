@@ -0,0 +1,102 @@
+package com.reliaquest.api.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Feign {@link Client} over the JDK {@link HttpClient}, which speaks HTTP/2. Against a plain {@code http} url the
+ * first request on a connection upgrades it to h2c; later requests are multiplexed over that connection instead of
+ * each holding a connection of its own, as they do with {@link Client.Default}. An upstream without HTTP/2 support
+ * keeps being served over HTTP/1.1.
+ */
+public class Http2Client implements Client {
+
+    /*
+     * Headers the JDK client sets itself and refuses to take from the caller.
+     */
+    private static final Set<String> RESTRICTED_HEADERS =
+            Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient httpClient;
+
+    public Http2Client(Duration connectTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.url()))
+                .timeout(Duration.ofMillis(options.readTimeoutUnit().toMillis(options.readTimeout())))
+                .method(
+                        request.httpMethod().name(),
+                        request.body() == null
+                                ? HttpRequest.BodyPublishers.noBody()
+                                : HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        request.headers().forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + request.url());
+        }
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(response.headers().map());
+        return Response.builder()
+                .status(response.statusCode())
+                .reason("")
+                .headers(headers)
+                .body(decode(response), contentLength(response))
+                .request(request)
+                .protocolVersion(
+                        response.version() == HttpClient.Version.HTTP_2
+                                ? Request.ProtocolVersion.HTTP_2
+                                : Request.ProtocolVersion.HTTP_1_1)
+                .build();
+    }
+
+    /*
+     * Like Client.Default, undoes the compression the upstream applied so decoders see the plain body.
+     */
+    private static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        if ("gzip".equalsIgnoreCase(encoding)) {
+            return new GZIPInputStream(response.body());
+        }
+        if ("deflate".equalsIgnoreCase(encoding)) {
+            return new InflaterInputStream(response.body());
+        }
+        return response.body();
+    }
+
+    private static Integer contentLength(HttpResponse<InputStream> response) {
+        if (response.headers().firstValue("Content-Encoding").isPresent()) {
+            return null;
+        }
+        long length = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        return length >= 0 && length <= Integer.MAX_VALUE ? (int) length : null;
+    }
+}
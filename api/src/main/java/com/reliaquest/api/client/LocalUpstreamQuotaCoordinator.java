@@ -0,0 +1,26 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the quota in this process, for a single api instance.
+ */
+public class LocalUpstreamQuotaCoordinator implements UpstreamQuotaCoordinator {
+
+    private final AtomicReference<UpstreamQuota> quota;
+
+    public LocalUpstreamQuotaCoordinator(UpstreamQuota initial) {
+        this.quota = new AtomicReference<>(initial);
+    }
+
+    @Override
+    public UpstreamQuota read() {
+        return quota.get();
+    }
+
+    @Override
+    public UpstreamQuota update(UnaryOperator<UpstreamQuota> transition) {
+        return quota.updateAndGet(transition);
+    }
+}
@@ -0,0 +1,148 @@
+package com.reliaquest.api.client;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares the quota between the api instances on one host through a small memory-mapped file. Every instance maps the
+ * same file; a lock word updated with compare-and-set guards the quota fields, so reads and transitions are atomic
+ * across processes. A lock held for longer than any transition could take is assumed to belong to a process that died
+ * holding it, and is taken over.
+ * <p>
+ * The file holds native-order longs: a magic number, the lock word, then the fields of {@link UpstreamQuota}. It is
+ * initialized by whichever instance maps it first.
+ */
+public class MappedFileUpstreamQuotaCoordinator implements UpstreamQuotaCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedFileUpstreamQuotaCoordinator.class);
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final long MAGIC = 0x5155_4f54_4101L;
+
+    private static final int MAGIC_OFFSET = 0;
+
+    private static final int LOCK_OFFSET = Long.BYTES;
+
+    private static final int QUOTA_OFFSET = 2 * Long.BYTES;
+
+    private static final int QUOTA_FIELDS = 9;
+
+    private static final int FILE_BYTES = 128;
+
+    private static final long STALE_LOCK_MILLIS = 1_000;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    public MappedFileUpstreamQuotaCoordinator(Path path, UpstreamQuota initial) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_BYTES);
+        long token = lock();
+        try {
+            if ((long) LONGS.getVolatile(buffer, MAGIC_OFFSET) != MAGIC) {
+                write(initial);
+                LONGS.setVolatile(buffer, MAGIC_OFFSET, MAGIC);
+                log.info("\"Initialized shared upstream quota\" path=\"{}\"", path);
+            }
+        } finally {
+            unlock(token);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public UpstreamQuota read() {
+        long token = lock();
+        try {
+            return readQuota();
+        } finally {
+            unlock(token);
+        }
+    }
+
+    @Override
+    public UpstreamQuota update(UnaryOperator<UpstreamQuota> transition) {
+        long token = lock();
+        try {
+            UpstreamQuota next = transition.apply(readQuota());
+            write(next);
+            return next;
+        } finally {
+            unlock(token);
+        }
+    }
+
+    private long lock() {
+        while (true) {
+            long now = System.currentTimeMillis();
+            long held = (long) LONGS.getVolatile(buffer, LOCK_OFFSET);
+            if (held == 0) {
+                if (LONGS.compareAndSet(buffer, LOCK_OFFSET, 0L, now)) {
+                    return now;
+                }
+            } else if (now - held > STALE_LOCK_MILLIS && LONGS.compareAndSet(buffer, LOCK_OFFSET, held, now)) {
+                log.warn("\"Took over stale upstream quota lock\" heldMillis=\"{}\"", now - held);
+                return now;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void unlock(long token) {
+        // Fails only if the lock was taken over, in which case it is no longer ours to release.
+        LONGS.compareAndSet(buffer, LOCK_OFFSET, token, 0L);
+    }
+
+    private UpstreamQuota readQuota() {
+        long[] fields = new long[QUOTA_FIELDS];
+        for (int i = 0; i < QUOTA_FIELDS; i++) {
+            fields[i] = (long) LONGS.getVolatile(buffer, QUOTA_OFFSET + i * Long.BYTES);
+        }
+        return new UpstreamQuota(
+                (int) fields[0],
+                fields[1] != 0,
+                fields[2],
+                (int) fields[3],
+                (int) fields[4],
+                fields[5],
+                fields[6],
+                fields[7],
+                fields[8]);
+    }
+
+    private void write(UpstreamQuota quota) {
+        long[] fields = {
+            quota.limit(),
+            quota.limitObserved() ? 1 : 0,
+            quota.lockoutMillis(),
+            quota.sent(),
+            quota.accepted(),
+            quota.lastAcceptedMillis(),
+            quota.lockedUntilMillis(),
+            quota.lockoutEndedMillis(),
+            quota.probeUntilMillis()
+        };
+        for (int i = 0; i < QUOTA_FIELDS; i++) {
+            LONGS.setVolatile(buffer, QUOTA_OFFSET + i * Long.BYTES, fields[i]);
+        }
+    }
+}
@@ -4,18 +4,47 @@ import com.reliaquest.api.dto.*;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
-@FeignClient(name = "mockEmployeeClient", url = "${mock.employee.service.url}")
+@FeignClient(name = "mockEmployeeClient", url = "${mock.employee.service.url}", primary = false)
 public interface MockEmployeeClient {
 
     @GetMapping("/v1/employee")
     MockEmployeeListResponseDTO getAllMockEmployees();
 
+    @GetMapping("/v1/employee")
+    MockEmployeeListResponseDTO queryMockEmployees(
+            @RequestParam(value = "nameContains", required = false) String nameContains,
+            @RequestParam(value = "minSalary", required = false) Integer minSalary,
+            @RequestParam(value = "maxSalary", required = false) Integer maxSalary,
+            @RequestParam(value = "minAge", required = false) Integer minAge,
+            @RequestParam(value = "maxAge", required = false) Integer maxAge,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "fields", required = false) String fields);
+
+    @GetMapping("/v1/employee/highestSalary")
+    MockEmployeeSalaryResponseDTO getHighestMockSalary();
+
+    @GetMapping("/v1/employee/topEarners")
+    MockEmployeeListResponseDTO getTopMockEarners(
+            @RequestParam("limit") int limit, @RequestParam(value = "fields", required = false) String fields);
+
+    @GetMapping("/v1/employee/snapshot")
+    MockEmployeeSnapshotResponseDTO getMockEmployeeSnapshot();
+
+    @GetMapping("/v1/employee/changes")
+    MockEmployeeChangeSetResponseDTO getMockEmployeeChanges(@RequestParam("since") long since);
+
     @GetMapping("/v1/employee/{id}")
     MockEmployeeResponseDTO getMockEmployeeById(@PathVariable("id") String id);
 
+    @GetMapping("/v1/employee/{id}")
+    MockEmployeeResponseDTO getMockEmployeeById(
+            @PathVariable("id") String id, @RequestParam(value = "fields", required = false) String fields);
+
     @PostMapping("/v1/employee")
     MockEmployeeResponseDTO createMockEmployee(@RequestBody MockEmployeeCreateRequestDTO mockEmployeeCreateRequestDTO);
 
     @DeleteMapping("/v1/employee")
-    void deleteMockEmployeeByName(@RequestBody MockEmployeeDeleteRequestDTO mockEmployeeDeleteRequestDTO);
+    MockEmployeeDeleteResponseDTO deleteMockEmployeeByName(
+            @RequestBody MockEmployeeDeleteRequestDTO mockEmployeeDeleteRequestDTO);
 }
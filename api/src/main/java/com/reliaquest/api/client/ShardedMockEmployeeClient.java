@@ -0,0 +1,335 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.dto.MockEmployeeChangeDTO;
+import com.reliaquest.api.dto.MockEmployeeChangeSetDTO;
+import com.reliaquest.api.dto.MockEmployeeChangeSetResponseDTO;
+import com.reliaquest.api.dto.MockEmployeeCreateRequestDTO;
+import com.reliaquest.api.dto.MockEmployeeDTO;
+import com.reliaquest.api.dto.MockEmployeeDeleteRequestDTO;
+import com.reliaquest.api.dto.MockEmployeeDeleteResponseDTO;
+import com.reliaquest.api.dto.MockEmployeeListResponseDTO;
+import com.reliaquest.api.dto.MockEmployeeResponseDTO;
+import com.reliaquest.api.dto.MockEmployeeSalaryResponseDTO;
+import com.reliaquest.api.dto.MockEmployeeSnapshotDTO;
+import com.reliaquest.api.dto.MockEmployeeSnapshotResponseDTO;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.springframework.http.HttpStatus;
+
+/**
+ * {@link MockEmployeeClient} over several upstream instances that each hold a share of the employees, split by
+ * {@code hash(id) % shards}. Lookups by id go to the owning shard and creates are spread round robin. List, query,
+ * top earner and snapshot requests are sent to every shard concurrently; sorted results are combined with a k-way
+ * merge, so each shard only needs to return its own top {@code limit}.
+ * <p>
+ * Shards keep independent change logs. The version handed out is the sum of the shard versions, which grows by one
+ * with every change to any shard, and the shard versions behind the last {@value #MAX_VERSIONS} versions handed out
+ * are remembered. Changes since one of those are fetched from every shard since its own version and renumbered in
+ * sequence on top of it; changes since any other version, or since one whose shard versions have been forgotten or
+ * were observed differently twice, are answered with a resync.
+ */
+public class ShardedMockEmployeeClient implements MockEmployeeClient {
+
+    private static final String STATUS = "Successfully processed request.";
+
+    private static final Comparator<MockEmployeeDTO> SALARY_ASC =
+            Comparator.comparing(MockEmployeeDTO::salary, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final Comparator<MockEmployeeDTO> SALARY_DESC = SALARY_ASC.reversed();
+
+    private static final int MAX_VERSIONS = 1024;
+
+    /*
+     * Marks a version that summed up different shard versions, which cannot be resumed from.
+     */
+    private static final long[] AMBIGUOUS = new long[0];
+
+    private final List<MockEmployeeClient> shards;
+
+    private final ExecutorService executor;
+
+    private final AtomicInteger nextCreateShard = new AtomicInteger();
+
+    private final Map<Long, long[]> shardVersions = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+            return size() > MAX_VERSIONS;
+        }
+    };
+
+    public ShardedMockEmployeeClient(List<MockEmployeeClient> shards) {
+        this.shards = List.copyOf(shards);
+        this.executor = Executors.newFixedThreadPool(this.shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "mock-employee-shard");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param id an employee id.
+     * @param shardCount the number of shards.
+     * @return the shard owning the id; ids that are not UUIDs go to the first shard, which rejects them.
+     */
+    public static int shardOf(String id, int shardCount) {
+        try {
+            return Math.floorMod(UUID.fromString(id).hashCode(), shardCount);
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public MockEmployeeListResponseDTO getAllMockEmployees() {
+        return new MockEmployeeListResponseDTO(
+                STATUS,
+                gather(MockEmployeeClient::getAllMockEmployees).stream()
+                        .flatMap(response -> response.data().stream())
+                        .toList());
+    }
+
+    @Override
+    public MockEmployeeListResponseDTO queryMockEmployees(
+            String nameContains,
+            Integer minSalary,
+            Integer maxSalary,
+            Integer minAge,
+            Integer maxAge,
+            String sort,
+            Integer limit,
+            String fields) {
+        Comparator<MockEmployeeDTO> order = "SALARY_ASC".equals(sort)
+                ? SALARY_ASC
+                : "SALARY_DESC".equals(sort) ? SALARY_DESC : null;
+        String shardFields = order == null ? fields : withSalary(fields);
+        List<List<MockEmployeeDTO>> results = gather(shard -> shard.queryMockEmployees(
+                        nameContains, minSalary, maxSalary, minAge, maxAge, sort, limit, shardFields)
+                .data());
+        int max = limit != null ? limit : Integer.MAX_VALUE;
+        List<MockEmployeeDTO> merged = order == null
+                ? results.stream().flatMap(List::stream).limit(max).toList()
+                : merge(results, order, max);
+        return new MockEmployeeListResponseDTO(STATUS, withoutSalaryUnlessRequested(merged, shardFields, fields));
+    }
+
+    @Override
+    public MockEmployeeSalaryResponseDTO getHighestMockSalary() {
+        List<Optional<Integer>> highest = gather(shard -> {
+            try {
+                return Optional.ofNullable(shard.getHighestMockSalary().data());
+            } catch (FeignException e) {
+                if (e.status() == HttpStatus.NOT_FOUND.value()) {
+                    return Optional.empty();
+                }
+                throw e;
+            }
+        });
+        Optional<Integer> salary = highest.stream().flatMap(Optional::stream).max(Comparator.naturalOrder());
+        if (salary.isEmpty()) {
+            // Every shard is empty, which a single upstream answers with a 404 as well.
+            return shards.get(0).getHighestMockSalary();
+        }
+        return new MockEmployeeSalaryResponseDTO(STATUS, salary.get());
+    }
+
+    @Override
+    public MockEmployeeListResponseDTO getTopMockEarners(int limit, String fields) {
+        String shardFields = withSalary(fields);
+        List<MockEmployeeDTO> merged = merge(
+                gather(shard -> shard.getTopMockEarners(limit, shardFields).data()), SALARY_DESC, limit);
+        return new MockEmployeeListResponseDTO(STATUS, withoutSalaryUnlessRequested(merged, shardFields, fields));
+    }
+
+    @Override
+    public MockEmployeeSnapshotResponseDTO getMockEmployeeSnapshot() {
+        List<MockEmployeeSnapshotDTO> snapshots = gather(shard -> shard.getMockEmployeeSnapshot().data());
+        long version = remember(snapshots.stream().mapToLong(MockEmployeeSnapshotDTO::version).toArray());
+        return new MockEmployeeSnapshotResponseDTO(
+                STATUS,
+                new MockEmployeeSnapshotDTO(
+                        version,
+                        snapshots.stream()
+                                .flatMap(snapshot -> snapshot.employees().stream())
+                                .toList()));
+    }
+
+    @Override
+    public MockEmployeeChangeSetResponseDTO getMockEmployeeChanges(long since) {
+        long[] sinceByShard = shardVersionsOf(since);
+        if (sinceByShard == null) {
+            return resync(since);
+        }
+        List<MockEmployeeChangeSetDTO> changeSets =
+                gatherByShard(shard -> shards.get(shard).getMockEmployeeChanges(sinceByShard[shard]).data());
+        long[] versions = changeSets.stream().mapToLong(MockEmployeeChangeSetDTO::version).toArray();
+        long version = LongStream.of(versions).sum();
+        if (changeSets.stream().anyMatch(MockEmployeeChangeSetDTO::resyncRequired)) {
+            return resync(version);
+        }
+        List<MockEmployeeChangeDTO> changes = new ArrayList<>();
+        for (MockEmployeeChangeSetDTO changeSet : changeSets) {
+            for (MockEmployeeChangeDTO change : changeSet.changes()) {
+                changes.add(new MockEmployeeChangeDTO(since + changes.size() + 1, change.type(), change.employee()));
+            }
+        }
+        if (since + changes.size() != version) {
+            // A shard skipped versions, so the sum no longer counts changes.
+            return resync(version);
+        }
+        remember(versions);
+        return new MockEmployeeChangeSetResponseDTO(STATUS, new MockEmployeeChangeSetDTO(version, false, changes));
+    }
+
+    @Override
+    public MockEmployeeResponseDTO getMockEmployeeById(String id) {
+        return shards.get(shardOf(id, shards.size())).getMockEmployeeById(id);
+    }
+
+    @Override
+    public MockEmployeeResponseDTO getMockEmployeeById(String id, String fields) {
+        return shards.get(shardOf(id, shards.size())).getMockEmployeeById(id, fields);
+    }
+
+    @Override
+    public MockEmployeeResponseDTO createMockEmployee(MockEmployeeCreateRequestDTO mockEmployeeCreateRequestDTO) {
+        int shard = Math.floorMod(nextCreateShard.getAndIncrement(), shards.size());
+        return shards.get(shard).createMockEmployee(mockEmployeeCreateRequestDTO);
+    }
+
+    /**
+     * Names are not partitioned, so shards are asked in turn until one has deleted the employee.
+     */
+    @Override
+    public MockEmployeeDeleteResponseDTO deleteMockEmployeeByName(
+            MockEmployeeDeleteRequestDTO mockEmployeeDeleteRequestDTO) {
+        MockEmployeeDeleteResponseDTO response = null;
+        for (MockEmployeeClient shard : shards) {
+            response = shard.deleteMockEmployeeByName(mockEmployeeDeleteRequestDTO);
+            if (response != null && Boolean.TRUE.equals(response.data())) {
+                return response;
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Merges lists that are each sorted by {@code order} into the first {@code limit} elements overall.
+     */
+    static <T> List<T> merge(List<List<T>> sorted, Comparator<T> order, int limit) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.element(), b.element()));
+        for (List<T> list : sorted) {
+            Iterator<T> iterator = list.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+        List<T> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            merged.add(head.element());
+            if (head.rest().hasNext()) {
+                heads.add(new Head<>(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+
+    /*
+     * Remembers the shard versions behind their sum, returning the sum.
+     */
+    private long remember(long[] versions) {
+        long version = LongStream.of(versions).sum();
+        synchronized (shardVersions) {
+            long[] known = shardVersions.putIfAbsent(version, versions);
+            if (known != null && !Arrays.equals(known, versions)) {
+                shardVersions.put(version, AMBIGUOUS);
+            }
+        }
+        return version;
+    }
+
+    private long[] shardVersionsOf(long version) {
+        synchronized (shardVersions) {
+            long[] versions = shardVersions.get(version);
+            return versions == null || versions == AMBIGUOUS ? null : versions;
+        }
+    }
+
+    private static MockEmployeeChangeSetResponseDTO resync(long version) {
+        return new MockEmployeeChangeSetResponseDTO(STATUS, new MockEmployeeChangeSetDTO(version, true, List.of()));
+    }
+
+    private <T> List<T> gather(Function<MockEmployeeClient, T> call) {
+        return gatherByShard(shard -> call.apply(shards.get(shard)));
+    }
+
+    private <T> List<T> gatherByShard(IntFunction<T> call) {
+        // The shard calls are made on the executor, for the thread waiting here.
+        UpstreamCalls.record();
+        List<CompletableFuture<T>> futures = IntStream.range(0, shards.size())
+                .mapToObj(shard -> CompletableFuture.supplyAsync(() -> call.apply(shard), executor))
+                .toList();
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    /*
+     * Merging by salary needs the salary, even when the caller only asked for other fields.
+     */
+    private static String withSalary(String fields) {
+        if (fields == null
+                || fields.isBlank()
+                || Arrays.stream(fields.split(",")).map(String::trim).anyMatch("salary"::equals)) {
+            return fields;
+        }
+        return fields + ",salary";
+    }
+
+    private static List<MockEmployeeDTO> withoutSalaryUnlessRequested(
+            List<MockEmployeeDTO> employees, String shardFields, String fields) {
+        if (Objects.equals(shardFields, fields)) {
+            return employees;
+        }
+        return employees.stream()
+                .map(employee -> new MockEmployeeDTO(
+                        employee.id(), employee.name(), null, employee.age(), employee.title(), employee.email()))
+                .toList();
+    }
+
+    private record Head<T>(T element, Iterator<T> rest) {}
+}
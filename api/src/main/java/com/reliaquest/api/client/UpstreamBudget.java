@@ -0,0 +1,228 @@
+package com.reliaquest.api.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Learns the request budget of the upstream service from the responses it sends. The upstream accepts a fixed but
+ * unknown number of requests, then answers 429 until a lockout of unknown length has passed, after which the count
+ * starts again.
+ * <p>
+ * The number of requests accepted before a 429 is taken as the limit, so once it has been observed the next lockout is
+ * predicted rather than provoked. The lockout starts from a configured estimate and grows whenever a request made
+ * right after it ends is still throttled. Before any 429 has been seen, requests beyond the assumed limit are let
+ * through one at a time to find the real one.
+ * <p>
+ * Permits are taken with {@link #tryAcquire()} when a request is sent, not when its response arrives, so instances
+ * sharing one {@link UpstreamQuotaCoordinator} never have more requests out than the limit between them. All state
+ * lives in the coordinator; every change is a pure transition of the {@link UpstreamQuota}.
+ */
+@Component
+public class UpstreamBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamBudget.class);
+
+    /**
+     * How long a probe beyond the assumed limit may go unanswered before another is allowed, so a probe lost with the
+     * instance that sent it does not stop the others probing.
+     */
+    private static final long PROBE_TIMEOUT_MILLIS = 10_000;
+
+    private final Clock clock;
+
+    private final UpstreamQuotaCoordinator coordinator;
+
+    private final long maxLockoutMillis;
+
+    public UpstreamBudget(
+            Clock clock,
+            UpstreamQuotaCoordinator coordinator,
+            @Value("${mock.employee.service.budget.max-lockout-ms:120000}") long maxLockoutMillis) {
+        this.clock = clock;
+        this.coordinator = coordinator;
+        this.maxLockoutMillis = maxLockoutMillis;
+    }
+
+    /**
+     * @param coordinator holds the quota of another upstream.
+     * @return a budget for that upstream, with the same maximum lockout.
+     */
+    public UpstreamBudget forCoordinator(UpstreamQuotaCoordinator coordinator) {
+        return new UpstreamBudget(clock, coordinator, maxLockoutMillis);
+    }
+
+    /**
+     * @return true if a request made now would be throttled.
+     */
+    public boolean isLockedOut() {
+        return clock.millis() < coordinator.read().lockedUntilMillis();
+    }
+
+    /**
+     * @return how long until requests are expected to be accepted again, zero if they are now.
+     */
+    public Duration lockoutRemaining() {
+        long remaining = coordinator.read().lockedUntilMillis() - clock.millis();
+        return remaining > 0 ? Duration.ofMillis(remaining) : Duration.ZERO;
+    }
+
+    /**
+     * @return how many requests can be sent now without expecting a 429.
+     */
+    public int availablePermits() {
+        long now = clock.millis();
+        UpstreamQuota quota = coordinator.read();
+        if (now < quota.lockedUntilMillis()) {
+            return 0;
+        }
+        if (quota.lockedUntilMillis() != 0) {
+            return quota.limit();
+        }
+        if (quota.sent() < quota.limit()) {
+            return quota.limit() - quota.sent();
+        }
+        return !quota.limitObserved() && quota.probeUntilMillis() < now ? 1 : 0;
+    }
+
+    /**
+     * Takes a permit for a request about to be sent. Its response must be reported with {@link #onAccepted()},
+     * {@link #onThrottled()} or {@link #onFailed()}.
+     *
+     * @return false if the request is expected to be throttled and must not be sent.
+     */
+    public boolean tryAcquire() {
+        long now = clock.millis();
+        boolean[] granted = new boolean[1];
+        coordinator.update(quota -> {
+            granted[0] = false;
+            if (now < quota.lockedUntilMillis()) {
+                return quota;
+            }
+            UpstreamQuota current = quota;
+            if (current.lockedUntilMillis() != 0) {
+                current = new UpstreamQuota(
+                        current.limit(),
+                        current.limitObserved(),
+                        current.lockoutMillis(),
+                        0,
+                        0,
+                        current.lastAcceptedMillis(),
+                        0,
+                        current.lockedUntilMillis(),
+                        0);
+            }
+            if (current.sent() < current.limit()) {
+                granted[0] = true;
+                int sent = current.sent() + 1;
+                boolean exhausted = current.limitObserved() && sent >= current.limit();
+                return new UpstreamQuota(
+                        current.limit(),
+                        current.limitObserved(),
+                        current.lockoutMillis(),
+                        sent,
+                        current.accepted(),
+                        current.lastAcceptedMillis(),
+                        exhausted ? now + current.lockoutMillis() : 0,
+                        current.lockoutEndedMillis(),
+                        current.probeUntilMillis());
+            }
+            if (!current.limitObserved() && current.probeUntilMillis() < now) {
+                granted[0] = true;
+                return new UpstreamQuota(
+                        current.limit(),
+                        false,
+                        current.lockoutMillis(),
+                        current.sent() + 1,
+                        current.accepted(),
+                        current.lastAcceptedMillis(),
+                        0,
+                        current.lockoutEndedMillis(),
+                        now + PROBE_TIMEOUT_MILLIS);
+            }
+            return current;
+        });
+        return granted[0];
+    }
+
+    /**
+     * Records a request the upstream accepted.
+     */
+    public void onAccepted() {
+        long now = clock.millis();
+        coordinator.update(quota -> {
+            int accepted = quota.accepted() + 1;
+            int limit = Math.max(quota.limit(), accepted);
+            long lockedUntil = quota.lockedUntilMillis();
+            if (quota.limitObserved() && accepted >= limit) {
+                lockedUntil = Math.max(lockedUntil, now + quota.lockoutMillis());
+            }
+            return new UpstreamQuota(
+                    limit,
+                    quota.limitObserved(),
+                    quota.lockoutMillis(),
+                    Math.max(quota.sent(), accepted),
+                    accepted,
+                    now,
+                    lockedUntil,
+                    0,
+                    0);
+        });
+    }
+
+    /**
+     * Records a 429 from the upstream. The lockout is assumed to run from the last accepted request, as that is the
+     * request which exhausted the budget.
+     */
+    public void onThrottled() {
+        long now = clock.millis();
+        boolean[] exhausted = new boolean[1];
+        UpstreamQuota after = coordinator.update(quota -> {
+            exhausted[0] = false;
+            if (now < quota.lockedUntilMillis()) {
+                return quota;
+            }
+            exhausted[0] = true;
+            int limit = quota.limit();
+            boolean limitObserved = quota.limitObserved();
+            long lockout = quota.lockoutMillis();
+            if (quota.lockedUntilMillis() != 0 || quota.lockoutEndedMillis() != 0) {
+                lockout = Math.min(lockout + lockout / 2, maxLockoutMillis);
+            } else if (quota.accepted() > 0) {
+                limit = quota.accepted();
+                limitObserved = true;
+            }
+            long expected = quota.lastAcceptedMillis() + lockout;
+            long lockedUntil = expected > now ? expected : now + lockout;
+            return new UpstreamQuota(
+                    limit, limitObserved, lockout, 0, 0, quota.lastAcceptedMillis(), lockedUntil, 0, 0);
+        });
+        if (exhausted[0]) {
+            log.info(
+                    "\"Upstream budget exhausted\" limit=\"{}\" lockoutMillis=\"{}\"",
+                    after.limit(),
+                    after.lockoutMillis());
+        }
+    }
+
+    /**
+     * Records a request that got no response, which frees a probe for the next request.
+     */
+    public void onFailed() {
+        coordinator.update(quota -> quota.probeUntilMillis() == 0
+                ? quota
+                : new UpstreamQuota(
+                        quota.limit(),
+                        quota.limitObserved(),
+                        quota.lockoutMillis(),
+                        quota.sent(),
+                        quota.accepted(),
+                        quota.lastAcceptedMillis(),
+                        quota.lockedUntilMillis(),
+                        quota.lockoutEndedMillis(),
+                        0));
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.api.client;
+
+/**
+ * Counts the upstream requests sent by the current thread, so the handling of an api request can tell whether it was
+ * served locally or waited on the upstream. Calls a thread makes on behalf of another, such as those of a sharded
+ * upstream, are also recorded for the thread waiting on them.
+ */
+public final class UpstreamCalls {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private UpstreamCalls() {}
+
+    /**
+     * Records an upstream request made by or for the current thread.
+     */
+    public static void record() {
+        COUNT.get()[0]++;
+    }
+
+    /**
+     * @return the upstream requests recorded on the current thread since the last reset, which starts a new count.
+     */
+    public static int reset() {
+        int[] count = COUNT.get();
+        int calls = count[0];
+        count[0] = 0;
+        return calls;
+    }
+}
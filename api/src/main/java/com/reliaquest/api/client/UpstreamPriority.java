@@ -0,0 +1,31 @@
+package com.reliaquest.api.client;
+
+import feign.Request;
+
+/**
+ * Priority classes of upstream requests, highest first.
+ */
+public enum UpstreamPriority {
+    /** Reads a caller of the api is waiting on. */
+    INTERACTIVE,
+    /** Creates and deletes. */
+    WRITE,
+    /** Cache refreshes nobody is waiting on. */
+    BACKGROUND;
+
+    /**
+     * Classifies a request by what it asks the upstream for.
+     *
+     * @param request an upstream request.
+     * @return the priority of the request.
+     */
+    public static UpstreamPriority of(Request request) {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return WRITE;
+        }
+        String url = request.url();
+        int query = url.indexOf('?');
+        String path = query < 0 ? url : url.substring(0, query);
+        return path.endsWith("/snapshot") || path.endsWith("/changes") ? BACKGROUND : INTERACTIVE;
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.api.client;
+
+/**
+ * State of the upstream request budget, shared by every api instance using the same
+ * {@link UpstreamQuotaCoordinator}. Times are epoch milliseconds, with 0 meaning unset.
+ *
+ * @param limit the number of requests the upstream is believed to accept before throttling.
+ * @param limitObserved whether the limit was learned from a 429 rather than assumed.
+ * @param lockoutMillis how long the upstream is believed to throttle after the limit is reached.
+ * @param sent requests sent since the budget last started over.
+ * @param accepted requests accepted since the budget last started over.
+ * @param lastAcceptedMillis when a request was last accepted.
+ * @param lockedUntilMillis until when requests are expected to be throttled.
+ * @param lockoutEndedMillis when the last lockout ended, until a request is accepted again.
+ * @param probeUntilMillis until when a request beyond an assumed limit is in flight.
+ */
+public record UpstreamQuota(
+        int limit,
+        boolean limitObserved,
+        long lockoutMillis,
+        int sent,
+        int accepted,
+        long lastAcceptedMillis,
+        long lockedUntilMillis,
+        long lockoutEndedMillis,
+        long probeUntilMillis) {
+
+    public static UpstreamQuota initial(int assumedLimit, long lockoutMillis) {
+        return new UpstreamQuota(assumedLimit, false, lockoutMillis, 0, 0, 0, 0, 0, 0);
+    }
+}
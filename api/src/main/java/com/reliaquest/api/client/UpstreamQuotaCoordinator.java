@@ -0,0 +1,23 @@
+package com.reliaquest.api.client;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the {@link UpstreamQuota} the api instances sharing an upstream draw on, so that together they stay within
+ * its limit. Implementations decide how far the quota is shared.
+ */
+public interface UpstreamQuotaCoordinator {
+
+    /**
+     * @return the current quota.
+     */
+    UpstreamQuota read();
+
+    /**
+     * Atomically replaces the quota. The transition may be called more than once and must not have side effects.
+     *
+     * @param transition computes the next quota from the current one.
+     * @return the quota the transition produced.
+     */
+    UpstreamQuota update(UnaryOperator<UpstreamQuota> transition);
+}
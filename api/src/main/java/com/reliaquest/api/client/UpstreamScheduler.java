@@ -0,0 +1,166 @@
+package com.reliaquest.api.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Orders upstream requests by {@link UpstreamPriority} so they share the {@link UpstreamBudget} without background
+ * work starving callers. A request only starts once no request of a higher class, or queued earlier in its own class,
+ * is waiting and it has taken a permit from the budget. Permits can also be taken by other instances sharing the
+ * budget, which do not wake this one, so waiting requests check the budget again at least every
+ * {@value #POLL_MILLIS} ms.
+ * <p>
+ * Each class has a queue depth limit and a deadline. A request is dropped when its queue is full, when its deadline
+ * passes, or as soon as the budget is locked out until after its deadline, so nothing waits for a permit it cannot
+ * get in time.
+ */
+@Component
+public class UpstreamScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamScheduler.class);
+
+    private static final long POLL_MILLIS = 50;
+
+    private final UpstreamBudget upstreamBudget;
+
+    private final Clock clock;
+
+    private final Map<UpstreamPriority, Deque<Ticket>> queues = new EnumMap<>(UpstreamPriority.class);
+
+    private final Map<UpstreamPriority, Integer> maxQueued = new EnumMap<>(UpstreamPriority.class);
+
+    private final Map<UpstreamPriority, Duration> deadlines = new EnumMap<>(UpstreamPriority.class);
+
+    private final Map<UpstreamPriority, Long> dropped = new EnumMap<>(UpstreamPriority.class);
+
+    public UpstreamScheduler(
+            UpstreamBudget upstreamBudget,
+            Clock clock,
+            @Value("${mock.employee.service.scheduler.interactive.max-queued:50}") int interactiveMaxQueued,
+            @Value("${mock.employee.service.scheduler.interactive.deadline-ms:2000}") long interactiveDeadlineMillis,
+            @Value("${mock.employee.service.scheduler.write.max-queued:100}") int writeMaxQueued,
+            @Value("${mock.employee.service.scheduler.write.deadline-ms:10000}") long writeDeadlineMillis,
+            @Value("${mock.employee.service.scheduler.background.max-queued:2}") int backgroundMaxQueued,
+            @Value("${mock.employee.service.scheduler.background.deadline-ms:60000}") long backgroundDeadlineMillis) {
+        this.upstreamBudget = upstreamBudget;
+        this.clock = clock;
+        configure(UpstreamPriority.INTERACTIVE, interactiveMaxQueued, interactiveDeadlineMillis);
+        configure(UpstreamPriority.WRITE, writeMaxQueued, writeDeadlineMillis);
+        configure(UpstreamPriority.BACKGROUND, backgroundMaxQueued, backgroundDeadlineMillis);
+    }
+
+    /**
+     * @param upstreamBudget the budget of another upstream.
+     * @return a scheduler for that budget, with the same queue depth limits and deadlines.
+     */
+    public UpstreamScheduler forBudget(UpstreamBudget upstreamBudget) {
+        return new UpstreamScheduler(
+                upstreamBudget,
+                clock,
+                maxQueued.get(UpstreamPriority.INTERACTIVE),
+                deadlines.get(UpstreamPriority.INTERACTIVE).toMillis(),
+                maxQueued.get(UpstreamPriority.WRITE),
+                deadlines.get(UpstreamPriority.WRITE).toMillis(),
+                maxQueued.get(UpstreamPriority.BACKGROUND),
+                deadlines.get(UpstreamPriority.BACKGROUND).toMillis());
+    }
+
+    /**
+     * Waits until a request of the given class may be sent. Every successful call must be followed by
+     * {@link #release()} once the response has been reported to the {@link UpstreamBudget}.
+     *
+     * @param priority the class of the request.
+     * @return false if the request was dropped and must not be sent.
+     */
+    public synchronized boolean acquire(UpstreamPriority priority) {
+        Deque<Ticket> queue = queues.get(priority);
+        if (queue.size() >= maxQueued.get(priority)) {
+            return drop(priority, "queue full");
+        }
+        Instant deadline = clock.instant().plus(deadlines.get(priority));
+        Ticket ticket = new Ticket();
+        queue.addLast(ticket);
+        try {
+            while (true) {
+                Duration remaining = Duration.between(clock.instant(), deadline);
+                Duration lockout = upstreamBudget.lockoutRemaining();
+                if (remaining.isNegative() || remaining.isZero()) {
+                    return drop(priority, "deadline passed");
+                }
+                if (lockout.compareTo(remaining) > 0) {
+                    return drop(priority, "locked out past deadline");
+                }
+                if (isNext(priority, ticket) && upstreamBudget.tryAcquire()) {
+                    return true;
+                }
+                wait(Math.max(1, lockout.isZero() ? Math.min(POLL_MILLIS, remaining.toMillis()) : lockout.toMillis()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return drop(priority, "interrupted");
+        } finally {
+            queue.remove(ticket);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Wakes the waiting requests once a response has been reported, as it may have freed a permit.
+     */
+    public synchronized void release() {
+        notifyAll();
+    }
+
+    /**
+     * @param priority a request class.
+     * @return the number of requests of the class waiting to be sent.
+     */
+    public synchronized int queued(UpstreamPriority priority) {
+        return queues.get(priority).size();
+    }
+
+    /**
+     * @param priority a request class.
+     * @return the number of requests of the class dropped so far.
+     */
+    public synchronized long dropped(UpstreamPriority priority) {
+        return dropped.get(priority);
+    }
+
+    private void configure(UpstreamPriority priority, int maxQueued, long deadlineMillis) {
+        queues.put(priority, new ArrayDeque<>());
+        this.maxQueued.put(priority, maxQueued);
+        deadlines.put(priority, Duration.ofMillis(deadlineMillis));
+        dropped.put(priority, 0L);
+    }
+
+    private boolean isNext(UpstreamPriority priority, Ticket ticket) {
+        for (UpstreamPriority higher : UpstreamPriority.values()) {
+            Deque<Ticket> queue = queues.get(higher);
+            if (!queue.isEmpty()) {
+                return higher == priority && queue.peekFirst() == ticket;
+            }
+        }
+        return false;
+    }
+
+    private boolean drop(UpstreamPriority priority, String reason) {
+        dropped.merge(priority, 1L, Long::sum);
+        log.debug("\"Dropped upstream request\" priority=\"{}\" reason=\"{}\"", priority, reason);
+        return false;
+    }
+
+    /**
+     * A waiting request, compared by identity.
+     */
+    private static final class Ticket {}
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.bus.EmployeeUpdateBus;
+import com.reliaquest.api.bus.LoopbackEmployeeUpdateBus;
+import com.reliaquest.api.bus.SocketEmployeeUpdateBus;
+import java.net.InetSocketAddress;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link EmployeeUpdateBus} with {@code employee.bus.type}: {@code socket} exchanges updates with the
+ * peers listed in {@code employee.bus.peers} as {@code host:port}; anything else keeps them in this process.
+ */
+@Configuration
+public class EmployeeUpdateBusConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.bus.type", havingValue = "socket")
+    public SocketEmployeeUpdateBus socketEmployeeUpdateBus(
+            ObjectMapper objectMapper,
+            @Value("${employee.bus.host:localhost}") String host,
+            @Value("${employee.bus.port}") int port,
+            @Value("${employee.bus.peers:}") List<String> peers) {
+        return new SocketEmployeeUpdateBus(
+                objectMapper,
+                new InetSocketAddress(host, port),
+                peers.stream().map(EmployeeUpdateBusConfiguration::address).toList());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(EmployeeUpdateBus.class)
+    public LoopbackEmployeeUpdateBus loopbackEmployeeUpdateBus() {
+        return new LoopbackEmployeeUpdateBus();
+    }
+
+    private static InetSocketAddress address(String peer) {
+        int separator = peer.lastIndexOf(':');
+        return new InetSocketAddress(
+                peer.substring(0, separator).trim(), Integer.parseInt(peer.substring(separator + 1).trim()));
+    }
+}
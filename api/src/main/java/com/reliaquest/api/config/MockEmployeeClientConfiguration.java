@@ -0,0 +1,132 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.BudgetAwareClient;
+import com.reliaquest.api.client.Http2Client;
+import com.reliaquest.api.client.LocalUpstreamQuotaCoordinator;
+import com.reliaquest.api.client.MappedFileUpstreamQuotaCoordinator;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.client.ShardedMockEmployeeClient;
+import com.reliaquest.api.client.UpstreamBudget;
+import com.reliaquest.api.client.UpstreamQuota;
+import com.reliaquest.api.client.UpstreamScheduler;
+import com.reliaquest.api.timing.TimedDecoder;
+import feign.Client;
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.FeignClientBuilder;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Wire settings for {@link com.reliaquest.api.client.MockEmployeeClient}.
+ * <p>
+ * With {@code mock.employee.service.transport=http2} requests go through an {@link Http2Client}, which multiplexes
+ * concurrent requests over h2c connections; otherwise each concurrent request uses its own HTTP/1.1 connection.
+ * <p>
+ * With {@code mock.employee.service.wire-format=smile} responses are negotiated as Jackson Smile, which writes each
+ * repeated {@code employee_} property name once per payload and UUIDs and ints in binary. JSON remains acceptable
+ * so an upstream without Smile support keeps working. Request bodies are always sent as JSON.
+ * <p>
+ * Every request goes through a {@link BudgetAwareClient}, so the {@link UpstreamBudget} sees all upstream traffic
+ * and the {@link UpstreamScheduler} decides which request spends it next.
+ * <p>
+ * With {@code mock.employee.service.shards} set to a list of upstream urls, a {@link ShardedMockEmployeeClient} over
+ * one client per url replaces the single client. Every upstream instance throttles on its own, so each shard client
+ * has its own budget and scheduler with the configured settings, and a shared {@code budget.file} gets one file per
+ * shard. The shards have no common event stream, so {@code employee.cache.events} must be disabled with them.
+ */
+@Configuration
+public class MockEmployeeClientConfiguration {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public Client feignClient(
+            UpstreamBudget upstreamBudget,
+            UpstreamScheduler upstreamScheduler,
+            @Value("${mock.employee.service.transport:http1}") String transport,
+            @Value("${mock.employee.service.connect-timeout-ms:10000}") long connectTimeoutMillis) {
+        return new BudgetAwareClient(transport(transport, connectTimeoutMillis), upstreamBudget, upstreamScheduler);
+    }
+
+    /*
+     * The decoder Spring Cloud OpenFeign creates by default, with decoding timed for the request being served.
+     */
+    @Bean
+    public Decoder feignDecoder(
+            ObjectFactory<HttpMessageConverters> messageConverters,
+            ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+        return new TimedDecoder(
+                new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(messageConverters, customizers))));
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "mock.employee.service.shards")
+    public ShardedMockEmployeeClient shardedMockEmployeeClient(
+            ApplicationContext applicationContext,
+            UpstreamBudget upstreamBudget,
+            UpstreamScheduler upstreamScheduler,
+            @Value("${mock.employee.service.shards}") List<String> shards,
+            @Value("${mock.employee.service.transport:http1}") String transport,
+            @Value("${mock.employee.service.connect-timeout-ms:10000}") long connectTimeoutMillis,
+            @Value("${mock.employee.service.budget.coordinator:local}") String coordinator,
+            @Value("${mock.employee.service.budget.file:}") String file,
+            @Value("${mock.employee.service.budget.assumed-limit:5}") int assumedLimit,
+            @Value("${mock.employee.service.budget.lockout-ms:30000}") long lockoutMillis,
+            @Value("${employee.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${employee.cache.events.enabled:false}") boolean eventsEnabled)
+            throws IOException {
+        if (cacheEnabled && eventsEnabled) {
+            throw new IllegalStateException(
+                    "employee.cache.events.enabled must be false with mock.employee.service.shards");
+        }
+        Client delegate = transport(transport, connectTimeoutMillis);
+        FeignClientBuilder builder = new FeignClientBuilder(applicationContext);
+        List<MockEmployeeClient> clients = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            UpstreamQuota initial = UpstreamQuota.initial(assumedLimit, lockoutMillis);
+            UpstreamBudget shardBudget = upstreamBudget.forCoordinator(
+                    "mapped-file".equals(coordinator)
+                            ? new MappedFileUpstreamQuotaCoordinator(Path.of(file + "-shard-" + shard), initial)
+                            : new LocalUpstreamQuotaCoordinator(initial));
+            Client client = new BudgetAwareClient(delegate, shardBudget, upstreamScheduler.forBudget(shardBudget));
+            clients.add(builder.forType(MockEmployeeClient.class, "mockEmployeeClient-shard-" + shard)
+                    .url(shards.get(shard).trim())
+                    .customize(feignBuilder -> feignBuilder.client(client))
+                    .build());
+        }
+        return new ShardedMockEmployeeClient(clients);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mock.employee.service.wire-format", havingValue = "smile")
+    public RequestInterceptor smileAcceptInterceptor() {
+        return template ->
+                template.header(HttpHeaders.ACCEPT, SMILE_VALUE, MediaType.APPLICATION_JSON_VALUE + ";q=0.5");
+    }
+
+    private static Client transport(String transport, long connectTimeoutMillis) {
+        return "http2".equals(transport)
+                ? new Http2Client(Duration.ofMillis(connectTimeoutMillis))
+                : new Client.Default(null, null);
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.LocalUpstreamQuotaCoordinator;
+import com.reliaquest.api.client.MappedFileUpstreamQuotaCoordinator;
+import com.reliaquest.api.client.UpstreamQuota;
+import com.reliaquest.api.client.UpstreamQuotaCoordinator;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link UpstreamQuotaCoordinator} with {@code mock.employee.service.budget.coordinator}:
+ * {@code mapped-file} shares the quota with every instance on the host mapping the same
+ * {@code mock.employee.service.budget.file}; anything else keeps it in this process.
+ */
+@Configuration
+public class UpstreamQuotaConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "mock.employee.service.budget.coordinator", havingValue = "mapped-file")
+    public MappedFileUpstreamQuotaCoordinator mappedFileUpstreamQuotaCoordinator(
+            @Value("${mock.employee.service.budget.file}") Path file,
+            @Value("${mock.employee.service.budget.assumed-limit:5}") int assumedLimit,
+            @Value("${mock.employee.service.budget.lockout-ms:30000}") long lockoutMillis)
+            throws IOException {
+        return new MappedFileUpstreamQuotaCoordinator(file, UpstreamQuota.initial(assumedLimit, lockoutMillis));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(UpstreamQuotaCoordinator.class)
+    public LocalUpstreamQuotaCoordinator localUpstreamQuotaCoordinator(
+            @Value("${mock.employee.service.budget.assumed-limit:5}") int assumedLimit,
+            @Value("${mock.employee.service.budget.lockout-ms:30000}") long lockoutMillis) {
+        return new LocalUpstreamQuotaCoordinator(UpstreamQuota.initial(assumedLimit, lockoutMillis));
+    }
+}
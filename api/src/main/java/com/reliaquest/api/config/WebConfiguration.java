@@ -0,0 +1,82 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.ResponseByteCache;
+import com.reliaquest.api.cache.ResponseCacheFilter;
+import com.reliaquest.api.client.UpstreamBudget;
+import com.reliaquest.api.limit.AdaptiveConcurrencyLimit;
+import com.reliaquest.api.limit.ConcurrencyLimitFilter;
+import com.reliaquest.api.limit.EndpointClass;
+import com.reliaquest.api.logging.RequestEventInterceptor;
+import com.reliaquest.api.logging.RequestEventLog;
+import com.reliaquest.api.timing.ServerTimingFilter;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final RequestEventInterceptor requestEventInterceptor;
+
+    public WebConfiguration(RequestEventInterceptor requestEventInterceptor) {
+        this.requestEventInterceptor = requestEventInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestEventInterceptor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter(
+            EmployeeCache employeeCache, ResponseByteCache responseByteCache, RequestEventLog requestEventLog) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(
+                new ResponseCacheFilter(employeeCache, responseByteCache, requestEventLog));
+        registration.addUrlPatterns(ResponseCacheFilter.ENDPOINTS.keySet().toArray(String[]::new));
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+
+    /*
+     * Runs after the response cache, so requests it answers neither take a permit nor lower the observed latency.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "employee.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            UpstreamBudget upstreamBudget,
+            @Value("${employee.concurrency-limit.read.min:10}") int minReads,
+            @Value("${employee.concurrency-limit.read.max:200}") int maxReads,
+            @Value("${employee.concurrency-limit.write.min:2}") int minWrites,
+            @Value("${employee.concurrency-limit.write.max:20}") int maxWrites) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(
+                        Map.of(
+                                EndpointClass.READ, new AdaptiveConcurrencyLimit(minReads, maxReads),
+                                EndpointClass.WRITE, new AdaptiveConcurrencyLimit(minWrites, maxWrites)),
+                        upstreamBudget));
+        registration.addUrlPatterns("/api/v1/employee", "/api/v1/employee/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+
+    /*
+     * Runs first, so the total covers everything the later filters do.
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${employee.timing.server-timing-header:false}") boolean serverTimingHeader) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(serverTimingHeader));
+        registration.addUrlPatterns("/api/v1/employee", "/api/v1/employee/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return registration;
+    }
+}
@@ -1,16 +1,37 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.client.UpstreamBudget;
 import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.EmployeeDeleteDTO;
+import com.reliaquest.api.dto.EmployeeWriteDTO;
+import com.reliaquest.api.dto.SalaryStatisticsDTO;
+import com.reliaquest.api.exception.IdempotencyKeyReusedException;
+import com.reliaquest.api.exception.InvalidEmployeeFieldsException;
 import com.reliaquest.api.exception.InvalidEmployeeException;
+import com.reliaquest.api.exception.InvalidEmployeeFilterException;
 import com.reliaquest.api.exception.MockEmployeeServiceException;
 import com.reliaquest.api.exception.TooManyMockEmployeeRequestsException;
+import com.reliaquest.api.model.EmployeeFields;
+import com.reliaquest.api.service.EmployeeBulkDeleter;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeWriteQueue;
+import com.reliaquest.api.service.IdempotentEmployeeCreator;
+import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -21,8 +42,25 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
 
     private final EmployeeService employeeService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    private final EmployeeWriteQueue employeeWriteQueue;
+
+    private final EmployeeBulkDeleter employeeBulkDeleter;
+
+    private final UpstreamBudget upstreamBudget;
+
+    private final IdempotentEmployeeCreator idempotentEmployeeCreator;
+
+    public EmployeeController(
+            EmployeeService employeeService,
+            EmployeeWriteQueue employeeWriteQueue,
+            EmployeeBulkDeleter employeeBulkDeleter,
+            UpstreamBudget upstreamBudget,
+            IdempotentEmployeeCreator idempotentEmployeeCreator) {
         this.employeeService = employeeService;
+        this.employeeWriteQueue = employeeWriteQueue;
+        this.employeeBulkDeleter = employeeBulkDeleter;
+        this.upstreamBudget = upstreamBudget;
+        this.idempotentEmployeeCreator = idempotentEmployeeCreator;
     }
 
     /**
@@ -33,7 +71,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         try {
-            log.info("\"Received request for highest salary\"");
+            log.debug("\"Received request for highest salary\"");
             return employeeService
                     .getHighestSalary()
                     .map(ResponseEntity::ok)
@@ -45,6 +83,26 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
         }
     }
 
+    /**
+     * Summarizes salaries among all employees.
+     *
+     * @return the salary statistics or 404 if no employee has a salary
+     */
+    @GetMapping("/salaryStatistics")
+    public ResponseEntity<SalaryStatisticsDTO> getSalaryStatistics() {
+        try {
+            log.debug("\"Received request for salary statistics\"");
+            return employeeService
+                    .getSalaryStatistics()
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (TooManyMockEmployeeRequestsException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (MockEmployeeServiceException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Searches employees by name.
      *
@@ -54,7 +112,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
     @Override
     public ResponseEntity<List<EmployeeDTO>> getEmployeesByNameSearch(String searchString) {
         try {
-            log.info("\"Received request for employee search\" searchString=\"{}\"", searchString);
+            log.debug("\"Received request for employee search\" searchString=\"{}\"", searchString);
             List<EmployeeDTO> employeeDTOS = employeeService.getByNameSearch(searchString);
             return ResponseEntity.ok(employeeDTOS);
         } catch (TooManyMockEmployeeRequestsException e) {
@@ -64,6 +122,54 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
         }
     }
 
+    /**
+     * Searches employees by name, with only the requested fields.
+     *
+     * @param searchString the name to search for
+     * @param fields comma separated fields to include, e.g. {@code id,name,salary}
+     * @return a list of matching employees or 400 if a field is unknown
+     */
+    @GetMapping(value = "/search/{searchString}", params = "fields")
+    public ResponseEntity<List<EmployeeDTO>> getEmployeesByNameSearch(
+            @PathVariable String searchString, @RequestParam String fields) {
+        try {
+            log.debug(
+                    "\"Received request for employee search\" searchString=\"{}\" fields=\"{}\"", searchString, fields);
+            List<EmployeeDTO> employeeDTOS =
+                    employeeService.getByNameSearch(searchString, EmployeeFields.parse(fields));
+            return ResponseEntity.ok(employeeDTOS);
+        } catch (InvalidEmployeeFieldsException e) {
+            log.debug("\"Rejected employee fields\" errorMessage=\"{}\"", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (TooManyMockEmployeeRequestsException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (MockEmployeeServiceException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Finds employees matching a filter expression.
+     *
+     * @param filter the filter expression, e.g. {@code age > 40 and salary > 200000 and title = 'Engineer'}
+     * @return a list of matching employees or 400 if the filter is invalid
+     */
+    @GetMapping("/query")
+    public ResponseEntity<List<EmployeeDTO>> queryEmployees(@RequestParam String filter) {
+        try {
+            log.debug("\"Received request for employee query\" filter=\"{}\"", filter);
+            List<EmployeeDTO> employeeDTOS = employeeService.query(filter);
+            return ResponseEntity.ok(employeeDTOS);
+        } catch (InvalidEmployeeFilterException e) {
+            log.debug("\"Rejected employee query\" errorMessage=\"{}\"", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (TooManyMockEmployeeRequestsException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (MockEmployeeServiceException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Gets the names of the top 10 highest earning employees.
      *
@@ -72,7 +178,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         try {
-            log.info("\"Received request for top 10 earners\"");
+            log.debug("\"Received request for top 10 earners\"");
             List<String> topTenEarningNames = employeeService.getTopTenHighestEarningNames();
             return ResponseEntity.ok(topTenEarningNames);
         } catch (TooManyMockEmployeeRequestsException e) {
@@ -90,7 +196,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
     @Override
     public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
         try {
-            log.info("\"Received request for all employees\"");
+            log.debug("\"Received request for all employees\"");
             List<EmployeeDTO> employeeDTOS = employeeService.getAll();
             return ResponseEntity.ok(employeeDTOS);
         } catch (TooManyMockEmployeeRequestsException e) {
@@ -100,6 +206,28 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
         }
     }
 
+    /**
+     * Retrieves all employees, with only the requested fields.
+     *
+     * @param fields comma separated fields to include, e.g. {@code id,name,salary}
+     * @return a list of all employees or 400 if a field is unknown
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(@RequestParam String fields) {
+        try {
+            log.debug("\"Received request for all employees\" fields=\"{}\"", fields);
+            List<EmployeeDTO> employeeDTOS = employeeService.getAll(EmployeeFields.parse(fields));
+            return ResponseEntity.ok(employeeDTOS);
+        } catch (InvalidEmployeeFieldsException e) {
+            log.debug("\"Rejected employee fields\" errorMessage=\"{}\"", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (TooManyMockEmployeeRequestsException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (MockEmployeeServiceException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Gets an employee by ID.
      *
@@ -109,7 +237,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
     @Override
     public ResponseEntity<EmployeeDTO> getEmployeeById(String id) {
         try {
-            log.info("\"Received request for employee by id\" employeeId=\"{}\"", id);
+            log.debug("\"Received request for employee by id\" employeeId=\"{}\"", id);
             return employeeService
                     .getById(id)
                     .map(ResponseEntity::ok)
@@ -121,6 +249,31 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
         }
     }
 
+    /**
+     * Gets an employee by ID, with only the requested fields.
+     *
+     * @param id the employee ID
+     * @param fields comma separated fields to include, e.g. {@code id,name,salary}
+     * @return the employee details, 404 if not found or 400 if a field is unknown
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable String id, @RequestParam String fields) {
+        try {
+            log.debug("\"Received request for employee by id\" employeeId=\"{}\" fields=\"{}\"", id, fields);
+            return employeeService
+                    .getById(id, EmployeeFields.parse(fields))
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (InvalidEmployeeFieldsException e) {
+            log.debug("\"Rejected employee fields\" errorMessage=\"{}\"", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (TooManyMockEmployeeRequestsException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (MockEmployeeServiceException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Creates a new employee.
      *
@@ -130,7 +283,7 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
     @Override
     public ResponseEntity<EmployeeDTO> createEmployee(EmployeeDTO employeeInput) {
         try {
-            log.info("\"Received request to create employee\"");
+            log.debug("\"Received request to create employee\"");
             return employeeService
                     .create(employeeInput)
                     .map(ResponseEntity.status(HttpStatus.CREATED)::body)
@@ -145,21 +298,136 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Empl
     }
 
     /**
-     * Deletes an employee by name.
+     * Creates a new employee at most once per idempotency key, so that retries return the employee created by the
+     * first attempt. Asynchronous creates are tracked by their write id instead and ignore the key.
+     *
+     * @param idempotencyKey the client's key for this create
+     * @param employeeInput the employee data
+     * @return the created employee, or 422 if the key was used for a different employee
+     */
+    @PostMapping(headers = {"Idempotency-Key", "!Prefer"})
+    public ResponseEntity<EmployeeDTO> createEmployeeIdempotently(
+            @RequestHeader("Idempotency-Key") String idempotencyKey, @RequestBody EmployeeDTO employeeInput) {
+        try {
+            log.debug("\"Received request to create employee\" idempotencyKey=\"{}\"", idempotencyKey);
+            return idempotentEmployeeCreator
+                    .create(idempotencyKey, employeeInput)
+                    .map(ResponseEntity.status(HttpStatus.CREATED)::body)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IdempotencyKeyReusedException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (InvalidEmployeeException ie) {
+            return ResponseEntity.badRequest().build();
+        } catch (TooManyMockEmployeeRequestsException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (MockEmployeeServiceException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Creates a new employee for callers sending a {@code Prefer} header. The create is asynchronous if any of the
+     * preferences is {@code respond-async}, e.g. {@code Prefer: respond-async, wait=10}; otherwise it is synchronous,
+     * and idempotent if an {@code Idempotency-Key} is sent.
+     *
+     * @param preferences the preferences of every Prefer header
+     * @param idempotencyKey the client's key for this create, if any
+     * @param employeeInput the employee data
+     * @return the response of {@link #createEmployeeAsync}, {@link #createEmployeeIdempotently} or
+     *     {@link #createEmployee}
+     */
+    @PostMapping(headers = "Prefer")
+    public ResponseEntity<?> createEmployeeWithPreferences(
+            @RequestHeader("Prefer") List<String> preferences,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody EmployeeDTO employeeInput) {
+        if (prefersRespondAsync(preferences)) {
+            return createEmployeeAsync(employeeInput);
+        }
+        if (idempotencyKey != null) {
+            return createEmployeeIdempotently(idempotencyKey, employeeInput);
+        }
+        return createEmployee(employeeInput);
+    }
+
+    /**
+     * Accepts an employee for creation once the upstream has capacity, for callers preferring
+     * {@code respond-async}.
+     *
+     * @param employeeInput the employee data
+     * @return 202 Accepted with the pending write, whose status is available at the Location header
+     */
+    public ResponseEntity<EmployeeWriteDTO> createEmployeeAsync(EmployeeDTO employeeInput) {
+        log.debug("\"Received request to create employee asynchronously\"");
+        EmployeeWriteDTO write = employeeWriteQueue.submit(employeeInput);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/employee/writes/" + write.id()))
+                .header("Preference-Applied", "respond-async")
+                .body(write);
+    }
+
+    /**
+     * Gets the status of an asynchronous write.
+     *
+     * @param writeId the tracking id returned when the write was accepted
+     * @return the write or 404 if it is unknown or has expired
+     */
+    @GetMapping("/writes/{writeId}")
+    public ResponseEntity<EmployeeWriteDTO> getEmployeeWrite(@PathVariable String writeId) {
+        return employeeWriteQueue
+                .find(writeId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Deletes an employee by id.
      *
-     * @param id the employee name
-     * @return 204 No Content on success
+     * @param id the employee id
+     * @return the name of the deleted employee or 404 if not found
      */
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
         try {
-            log.info("\"Received request to delete employee\" employeeName=\"{}\"", id);
-            employeeService.deleteByName(id);
-            return ResponseEntity.noContent().build();
+            log.debug("\"Received request to delete employee\" employeeId=\"{}\"", id);
+            return employeeService
+                    .deleteById(id)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
         } catch (TooManyMockEmployeeRequestsException e) {
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (MockEmployeeServiceException e) {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    /**
+     * Deletes many employees by id, as far as the upstream budget allows.
+     *
+     * @param ids the employee ids
+     * @return the outcome for each id, with Retry-After set if some were throttled
+     */
+    @DeleteMapping
+    public ResponseEntity<List<EmployeeDeleteDTO>> deleteEmployeesByIds(@RequestBody List<String> ids) {
+        log.debug("\"Received request to delete employees\" count=\"{}\"", ids.size());
+        List<EmployeeDeleteDTO> results = employeeBulkDeleter.deleteByIds(ids);
+        if (results.stream().noneMatch(result -> result.status() == EmployeeDeleteDTO.Status.THROTTLED)) {
+            return ResponseEntity.ok(results);
+        }
+        long retryAfter = Math.max(1, upstreamBudget.lockoutRemaining().toSeconds());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(results);
+    }
+
+    /*
+     * Each preference is a token, optionally followed by a value and parameters (RFC 7240), e.g. "wait=10" or
+     * "handling=lenient; strict". Several may share one header, separated by commas.
+     */
+    private static boolean prefersRespondAsync(List<String> preferences) {
+        return preferences.stream()
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(preference -> preference.split("[=;]", 2)[0].trim())
+                .anyMatch("respond-async"::equalsIgnoreCase);
+    }
 }
@@ -0,0 +1,17 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of deleting one employee in a bulk delete.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeDeleteDTO(String id, Status status, String name) {
+
+    public enum Status {
+        DELETED,
+        NOT_FOUND,
+        THROTTLED,
+        FAILED
+    }
+}
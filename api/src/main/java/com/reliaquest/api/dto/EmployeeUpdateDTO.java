@@ -0,0 +1,24 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+
+/**
+ * Upstream changes one api instance has applied to its cache, sent to its peers. The changes take a cache from
+ * {@code baseVersion} to {@code version}. An update without changes only announces that {@code version} exists, so
+ * peers behind it fetch the changes themselves.
+ */
+public record EmployeeUpdateDTO(
+        String origin, long baseVersion, long version, List<MockEmployeeChangeDTO> changes, long publishedAtMillis) {
+
+    public static EmployeeUpdateDTO announce(long version) {
+        return new EmployeeUpdateDTO(null, version, version, List.of(), 0);
+    }
+
+    public EmployeeUpdateDTO stamped(String origin, long publishedAtMillis) {
+        return new EmployeeUpdateDTO(origin, baseVersion, version, changes, publishedAtMillis);
+    }
+
+    public EmployeeUpdateDTO withoutChanges() {
+        return new EmployeeUpdateDTO(origin, version, version, List.of(), publishedAtMillis);
+    }
+}
@@ -0,0 +1,32 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+
+/**
+ * An employee write accepted for asynchronous processing, and its outcome so far.
+ *
+ * @param id the tracking id of the write.
+ * @param status the outcome so far.
+ * @param employee the employee as submitted, or as created upstream once completed.
+ * @param acceptedAt when the write was accepted.
+ * @param updatedAt when the status last changed.
+ * @param attempts the number of upstream attempts that failed with a retryable error.
+ * @param error why the last attempt failed, if it did.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeWriteDTO(
+        String id,
+        Status status,
+        EmployeeDTO employee,
+        Instant acceptedAt,
+        Instant updatedAt,
+        int attempts,
+        String error) {
+
+    public enum Status {
+        PENDING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,3 @@
+package com.reliaquest.api.dto;
+
+public record MockEmployeeChangeDTO(long version, String type, MockEmployeeDTO employee) {}
@@ -0,0 +1,5 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record MockEmployeeChangeSetResponseDTO(String status, @JsonProperty("data") MockEmployeeChangeSetDTO data) {}
@@ -2,10 +2,12 @@ package com.reliaquest.api.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.reliaquest.api.util.UuidStringDeserializer;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public record MockEmployeeDTO(
-        String id,
+        @JsonDeserialize(using = UuidStringDeserializer.class) String id,
         @JsonProperty("employee_name") String name,
         @JsonProperty("employee_salary") Integer salary,
         @JsonProperty("employee_age") Integer age,
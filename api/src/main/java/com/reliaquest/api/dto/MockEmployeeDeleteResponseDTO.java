@@ -0,0 +1,5 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record MockEmployeeDeleteResponseDTO(String status, @JsonProperty("data") Boolean data) {}
@@ -0,0 +1,5 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+
+public record MockEmployeeSnapshotDTO(long version, List<MockEmployeeDTO> employees) {}
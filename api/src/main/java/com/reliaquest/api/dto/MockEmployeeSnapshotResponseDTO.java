@@ -0,0 +1,5 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record MockEmployeeSnapshotResponseDTO(String status, @JsonProperty("data") MockEmployeeSnapshotDTO data) {}
@@ -0,0 +1,3 @@
+package com.reliaquest.api.dto;
+
+public record SalaryRangeDTO(int lower, int upper, long count) {}
@@ -0,0 +1,6 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+
+public record SalaryStatisticsDTO(
+        long count, int min, int max, double mean, int p50, int p90, int p99, List<SalaryRangeDTO> histogram) {}
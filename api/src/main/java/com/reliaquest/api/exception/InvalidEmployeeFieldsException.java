@@ -0,0 +1,8 @@
+package com.reliaquest.api.exception;
+
+public class InvalidEmployeeFieldsException extends RuntimeException {
+
+    public InvalidEmployeeFieldsException(String fields, String field) {
+        super(String.format("Invalid employee fields '%s': unknown field '%s'", fields, field));
+    }
+}
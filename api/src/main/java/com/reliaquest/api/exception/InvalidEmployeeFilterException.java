@@ -0,0 +1,8 @@
+package com.reliaquest.api.exception;
+
+public class InvalidEmployeeFilterException extends RuntimeException {
+
+    public InvalidEmployeeFilterException(String filter, String reason) {
+        super(String.format("Invalid employee filter '%s': %s", filter, reason));
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.api.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to the latency of the requests it admits. The baseline for an unloaded server is the
+ * lowest round trip time seen, which drifts upwards over a few thousand requests so that a lasting change in
+ * latency is eventually accepted. A baseline is kept per {@link LatencyClass}, so a mix of locally served and
+ * upstream requests is not mistaken for rising latency. Each completed request compares its own time against the
+ * baseline of its class:
+ * <ul>
+ *     <li>Within {@link #TOLERANCE} times the baseline, the limit grows by about the square root of itself, so it
+ *     climbs quickly while latency holds.
+ *     <li>Slower, the limit is scaled down by the ratio, at most halved per sample, which keeps requests from queueing
+ *     in front of a slowed down upstream.
+ *     <li>A request that failed with an overload is a drop, and cuts the limit multiplicatively by {@link #BACKOFF}.
+ * </ul>
+ * Growth is skipped while fewer than half the permits are in use, as latency then says nothing about the limit.
+ * Changes are smoothed and the limit stays within {@code [min, max]}; it starts at {@code max}.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+
+    private static final double BACKOFF = 0.9;
+
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * Weight of a slower sample in the baseline; faster ones replace it.
+     */
+    private static final double BASELINE_DRIFT = 0.001;
+
+    private final int min;
+
+    private final int max;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    private double estimate;
+
+    private final double[] baselineNanos = new double[LatencyClass.values().length];
+
+    public AdaptiveConcurrencyLimit(int min, int max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Invalid concurrency limit range: [%d, %d]".formatted(min, max));
+        }
+        this.min = min;
+        this.max = max;
+        this.limit = max;
+        this.estimate = max;
+    }
+
+    /**
+     * @return true if the request is admitted, in which case {@link #release} must follow once it completes.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the permit of a completed request and adjusts the limit to how it went.
+     *
+     * @param rttNanos how long the request took.
+     * @param latencyClass how the request was served.
+     * @param dropped true if the request failed because something downstream was overloaded.
+     */
+    public void release(long rttNanos, LatencyClass latencyClass, boolean dropped) {
+        int wasInFlight = inFlight.getAndDecrement();
+        update(Math.max(1, rttNanos), latencyClass, wasInFlight, dropped);
+    }
+
+    /**
+     * @return the number of requests currently admitted.
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of admitted requests that have not completed yet.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, LatencyClass latencyClass, int wasInFlight, boolean dropped) {
+        if (dropped) {
+            estimate = estimate * BACKOFF;
+        } else {
+            double baseline = baselineNanos[latencyClass.ordinal()];
+            baseline = baseline == 0 || rttNanos < baseline
+                    ? rttNanos
+                    : baseline * (1 - BASELINE_DRIFT) + rttNanos * BASELINE_DRIFT;
+            baselineNanos[latencyClass.ordinal()] = baseline;
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baseline / rttNanos));
+            if (gradient == 1.0 && wasInFlight < estimate / 2) {
+                return;
+            }
+            double target = estimate * gradient + Math.sqrt(estimate);
+            estimate = estimate * (1 - SMOOTHING) + target * SMOOTHING;
+        }
+        estimate = Math.max(min, Math.min(max, estimate));
+        limit = (int) estimate;
+    }
+}
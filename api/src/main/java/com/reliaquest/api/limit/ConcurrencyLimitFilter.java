@@ -0,0 +1,74 @@
+package com.reliaquest.api.limit;
+
+import com.reliaquest.api.client.UpstreamBudget;
+import com.reliaquest.api.client.UpstreamCalls;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds requests beyond the {@link AdaptiveConcurrencyLimit} of their {@link EndpointClass} with an immediate 503,
+ * instead of letting them wait in the servlet container's queue until the client gives up. The Retry-After of a shed
+ * request is the remaining upstream lockout, or a second if there is none.
+ * <p>
+ * Admitted requests answered with 503, the status the controller uses when the upstream throttles, count as drops
+ * and shrink the limit, as do requests that end in an exception. Requests that made an upstream request, as counted by
+ * {@link UpstreamCalls}, are timed against the {@link LatencyClass#UPSTREAM} baseline, the others against the
+ * {@link LatencyClass#LOCAL} one.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits;
+
+    private final UpstreamBudget upstreamBudget;
+
+    public ConcurrencyLimitFilter(Map<EndpointClass, AdaptiveConcurrencyLimit> limits, UpstreamBudget upstreamBudget) {
+        this.limits = new EnumMap<>(limits);
+        this.upstreamBudget = upstreamBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod());
+        AdaptiveConcurrencyLimit limit = limits.get(endpointClass);
+        if (limit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limit.tryAcquire()) {
+            log.debug(
+                    "\"Shed request over concurrency limit\" endpointClass=\"{}\" limit=\"{}\"",
+                    endpointClass,
+                    limit.limit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds()));
+            return;
+        }
+        long start = System.nanoTime();
+        UpstreamCalls.reset();
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } finally {
+            LatencyClass latencyClass = UpstreamCalls.reset() > 0 ? LatencyClass.UPSTREAM : LatencyClass.LOCAL;
+            limit.release(System.nanoTime() - start, latencyClass, dropped);
+        }
+    }
+
+    private long retryAfterSeconds() {
+        return Math.max(1, upstreamBudget.lockoutRemaining().toSeconds());
+    }
+}
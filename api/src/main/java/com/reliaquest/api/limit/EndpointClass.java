@@ -0,0 +1,26 @@
+package com.reliaquest.api.limit;
+
+/**
+ * Groups endpoints that cost about the same, so each group gets a concurrency limit of its own and slow writes do not
+ * shed reads.
+ */
+public enum EndpointClass {
+
+    /**
+     * Requests answered from the employee cache in all but a few cases.
+     */
+    READ,
+
+    /**
+     * Requests that go to the upstream service.
+     */
+    WRITE;
+
+    /**
+     * @param method the HTTP method of a request.
+     * @return the class of the endpoint the request is for.
+     */
+    public static EndpointClass of(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) ? READ : WRITE;
+    }
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.api.limit;
+
+/**
+ * How a completed request was served, which decides the latency it is expected to have. Within one
+ * {@link EndpointClass} a read answered from the employee cache and one that waited on the upstream differ by orders
+ * of magnitude, so each is compared with its own baseline.
+ */
+public enum LatencyClass {
+
+    /**
+     * Served without an upstream request.
+     */
+    LOCAL,
+
+    /**
+     * Made at least one upstream request.
+     */
+    UPSTREAM
+}
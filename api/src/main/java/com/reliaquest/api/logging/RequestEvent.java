@@ -0,0 +1,28 @@
+package com.reliaquest.api.logging;
+
+/**
+ * A handled request, as recorded by the {@link RequestEventLog}. Events are allocated once per ring slot and
+ * overwritten in place; the sequence is written last so the consumer only reads a slot once it has been filled.
+ */
+final class RequestEvent {
+
+    private volatile long sequence = -1;
+
+    long timestampMillis;
+
+    String endpoint;
+
+    String method;
+
+    int status;
+
+    long durationNanos;
+
+    long sequence() {
+        return sequence;
+    }
+
+    void publish(long sequence) {
+        this.sequence = sequence;
+    }
+}
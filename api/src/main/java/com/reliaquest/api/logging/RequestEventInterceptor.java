@@ -0,0 +1,39 @@
+package com.reliaquest.api.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Records every request served by a controller method in the {@link RequestEventLog}, named after that method.
+ */
+@Component
+public class RequestEventInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RequestEventInterceptor.class.getName() + ".start";
+
+    private final RequestEventLog requestEventLog;
+
+    public RequestEventInterceptor(RequestEventLog requestEventLog) {
+        this.requestEventLog = requestEventLog;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        if (handler instanceof HandlerMethod handlerMethod
+                && request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            int status = exception != null && response.getStatus() < 400 ? 500 : response.getStatus();
+            requestEventLog.record(
+                    handlerMethod.getMethod().getName(), request.getMethod(), status, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.reliaquest.api.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Structured log of handled requests, kept off the request threads. Request threads claim a slot in a pre-sized
+ * ring of reusable {@link RequestEvent}s and fill it in; a single consumer thread formats and writes the events.
+ * Recording never blocks: an event is dropped when the ring is full, and successful requests to an endpoint are only
+ * recorded at that endpoint's sample rate. Both are counted, and the counts are logged once per report interval.
+ */
+@Component
+public class RequestEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestEventLog.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final RequestEvent[] ring;
+
+    private final int mask;
+
+    private final AtomicLong claimed = new AtomicLong();
+
+    private volatile long consumed;
+
+    private final Map<String, Double> sampleRates;
+
+    private final double defaultSampleRate;
+
+    private final long reportIntervalNanos;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder sampledOut = new LongAdder();
+
+    private volatile boolean running;
+
+    private Thread consumer;
+
+    public RequestEventLog(
+            @Value("${employee.logging.ring-size:8192}") int ringSize,
+            @Value("${employee.logging.sample-rates:}") String sampleRates,
+            @Value("${employee.logging.default-sample-rate:1.0}") double defaultSampleRate,
+            @Value("${employee.logging.report-interval-ms:60000}") long reportIntervalMillis) {
+        int capacity = Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1;
+        this.ring = new RequestEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new RequestEvent();
+        }
+        this.mask = capacity - 1;
+        this.sampleRates = parseSampleRates(sampleRates);
+        this.defaultSampleRate = defaultSampleRate;
+        this.reportIntervalNanos = TimeUnit.MILLISECONDS.toNanos(reportIntervalMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        consumer = new Thread(this::consume, "request-event-log");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (consumer != null) {
+            consumer.join(TimeUnit.SECONDS.toMillis(1));
+        }
+    }
+
+    /**
+     * Records a handled request unless it is sampled out or the ring is full. Failed requests are never sampled out.
+     *
+     * @param endpoint the handler that served the request.
+     * @param method the HTTP method.
+     * @param status the response status.
+     * @param durationNanos how long the request took.
+     * @return true if the event was recorded.
+     */
+    public boolean record(String endpoint, String method, int status, long durationNanos) {
+        if (status < 400) {
+            double sampleRate = sampleRates.getOrDefault(endpoint, defaultSampleRate);
+            if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                sampledOut.increment();
+                return false;
+            }
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= ring.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        RequestEvent event = ring[(int) (sequence & mask)];
+        event.timestampMillis = System.currentTimeMillis();
+        event.endpoint = endpoint;
+        event.method = method;
+        event.status = status;
+        event.durationNanos = durationNanos;
+        event.publish(sequence);
+        return true;
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long sampledOut() {
+        return sampledOut.sum();
+    }
+
+    /**
+     * @return the number of recorded events not yet written.
+     */
+    public long backlog() {
+        return claimed.get() - consumed;
+    }
+
+    private void consume() {
+        long cursor = consumed;
+        long reportedDropped = 0;
+        long reportedSampledOut = 0;
+        long nextReport = System.nanoTime() + reportIntervalNanos;
+        while (running || claimed.get() > cursor) {
+            RequestEvent event = ring[(int) (cursor & mask)];
+            if (event.sequence() == cursor) {
+                write(event);
+                consumed = ++cursor;
+            } else if (claimed.get() > cursor) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            if (System.nanoTime() - nextReport >= 0) {
+                long droppedTotal = dropped.sum();
+                long sampledOutTotal = sampledOut.sum();
+                if (droppedTotal != reportedDropped || sampledOutTotal != reportedSampledOut) {
+                    log.info(
+                            "\"Request events not logged\" dropped=\"{}\" sampledOut=\"{}\"",
+                            droppedTotal - reportedDropped,
+                            sampledOutTotal - reportedSampledOut);
+                    reportedDropped = droppedTotal;
+                    reportedSampledOut = sampledOutTotal;
+                }
+                nextReport = System.nanoTime() + reportIntervalNanos;
+            }
+        }
+    }
+
+    private void write(RequestEvent event) {
+        log.info(
+                "\"Handled request\" endpoint=\"{}\" method=\"{}\" status=\"{}\" durationMicros=\"{}\""
+                        + " timestamp=\"{}\"",
+                event.endpoint,
+                event.method,
+                event.status,
+                TimeUnit.NANOSECONDS.toMicros(event.durationNanos),
+                event.timestampMillis);
+    }
+
+    private static Map<String, Double> parseSampleRates(String sampleRates) {
+        Map<String, Double> rates = new HashMap<>();
+        for (String entry : sampleRates.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                rates.put(
+                        entry.substring(0, separator).trim(),
+                        Double.parseDouble(entry.substring(separator + 1).trim()));
+            }
+        }
+        return rates;
+    }
+}
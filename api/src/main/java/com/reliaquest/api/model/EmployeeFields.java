@@ -0,0 +1,85 @@
+package com.reliaquest.api.model;
+
+import com.reliaquest.api.exception.InvalidEmployeeFieldsException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The employee fields a client asked for with a {@code fields} parameter, e.g. {@code id,name,salary}. Fields that are
+ * not selected are left {@code null} in responses and so omitted when serialized, and are not requested from the
+ * upstream either.
+ */
+public final class EmployeeFields {
+
+    /**
+     * Every field, as served when no {@code fields} parameter is given.
+     */
+    public static final EmployeeFields ALL = new EmployeeFields(EnumSet.allOf(Field.class));
+
+    private final Set<Field> selected;
+
+    private EmployeeFields(Set<Field> selected) {
+        this.selected = selected;
+    }
+
+    /**
+     * Parses a comma separated list of field names, ignoring case and blanks.
+     *
+     * @param fields the field names, e.g. {@code id,name,salary}.
+     * @return the selected fields, or {@link #ALL} if none are named.
+     * @throws InvalidEmployeeFieldsException if a name is not a field.
+     */
+    public static EmployeeFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<Field> selected = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                selected.add(Field.valueOf(trimmed.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidEmployeeFieldsException(fields, trimmed);
+            }
+        }
+        return selected.isEmpty() || selected.size() == Field.values().length ? ALL : new EmployeeFields(selected);
+    }
+
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    public boolean contains(Field field) {
+        return selected.contains(field);
+    }
+
+    /**
+     * @return the selected fields in the form the upstream {@code fields} parameter takes, or {@code null} for all.
+     */
+    public String upstreamFields() {
+        if (isAll()) {
+            return null;
+        }
+        return selected.stream().map(Field::paramName).collect(Collectors.joining(","));
+    }
+
+    public enum Field {
+        ID,
+        NAME,
+        SALARY,
+        AGE,
+        TITLE,
+        EMAIL;
+
+        private final String paramName = name().toLowerCase(Locale.ROOT);
+
+        public String paramName() {
+            return paramName;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.model.Employee;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Column-oriented copy of the filterable employee attributes: one {@code int} array per attribute, titles dictionary
+ * coded, and a presence array per attribute holding {@code -1} where the value is set and {@code 0} where it is not.
+ * Employees are addressed by position, in the order of the data the columns were built from.
+ * <p>
+ * Only positive salaries and ages are kept, as the upstream only accepts those; anything else counts as missing. This
+ * keeps every difference computed by the {@link EmployeeFilter.Operator} kernels within {@code int} range.
+ */
+public final class EmployeeColumns {
+
+    private final long version;
+
+    private final int size;
+
+    private final int[][] values;
+
+    private final int[][] present;
+
+    private final Map<String, Integer> titleCodes;
+
+    private final IntFunction<Employee> rows;
+
+    private EmployeeColumns(
+            long version,
+            int size,
+            int[][] values,
+            int[][] present,
+            Map<String, Integer> titleCodes,
+            IntFunction<Employee> rows) {
+        this.version = version;
+        this.size = size;
+        this.values = values;
+        this.present = present;
+        this.titleCodes = titleCodes;
+        this.rows = rows;
+    }
+
+    public static EmployeeColumns of(EmployeeSnapshot snapshot) {
+        return build(snapshot.version(), snapshot.size(), snapshot.stream().iterator(), snapshot.byPosition());
+    }
+
+    /**
+     * Builds columns that are not tied to a snapshot, e.g. from a one-off upstream fetch.
+     */
+    public static EmployeeColumns of(List<Employee> employees) {
+        return build(Long.MIN_VALUE, employees.size(), employees.iterator(), employees::get);
+    }
+
+    private static EmployeeColumns build(
+            long version, int size, Iterator<Employee> employees, IntFunction<Employee> rows) {
+        int columns = EmployeeFilter.Column.values().length;
+        int[][] values = new int[columns][size];
+        int[][] present = new int[columns][size];
+        Map<String, Integer> titleCodes = new HashMap<>();
+        for (int i = 0; employees.hasNext(); i++) {
+            Employee employee = employees.next();
+            setPositive(values, present, EmployeeFilter.Column.SALARY, i, employee.getSalary());
+            setPositive(values, present, EmployeeFilter.Column.AGE, i, employee.getAge());
+            if (employee.getTitle() != null) {
+                int title = EmployeeFilter.Column.TITLE.ordinal();
+                values[title][i] = titleCodes.computeIfAbsent(employee.getTitle(), key -> titleCodes.size());
+                present[title][i] = -1;
+            }
+        }
+        return new EmployeeColumns(version, size, values, present, Map.copyOf(titleCodes), rows);
+    }
+
+    private static void setPositive(
+            int[][] values, int[][] present, EmployeeFilter.Column column, int position, Integer value) {
+        if (value != null && value > 0) {
+            values[column.ordinal()][position] = value;
+            present[column.ordinal()][position] = -1;
+        }
+    }
+
+    /**
+     * @return the version of the snapshot the columns were built from.
+     */
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int[] values(EmployeeFilter.Column column) {
+        return values[column.ordinal()];
+    }
+
+    int[] present(EmployeeFilter.Column column) {
+        return present[column.ordinal()];
+    }
+
+    /**
+     * @return the dictionary code of the title, or {@code -1} if no employee has it.
+     */
+    int titleCode(String title) {
+        return titleCodes.getOrDefault(title, -1);
+    }
+
+    public Employee row(int position) {
+        return rows.apply(position);
+    }
+}
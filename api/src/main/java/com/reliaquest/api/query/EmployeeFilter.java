@@ -0,0 +1,191 @@
+package com.reliaquest.api.query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * A filter compiled from a parsed filter expression, with every clause bound to its column, comparison kernel and
+ * operand, so it can be evaluated again without parsing. See {@link EmployeeFilterParser} for the syntax.
+ * <p>
+ * Evaluation scans {@link EmployeeColumns} one clause at a time, narrowing a mask that holds {@code -1} for every
+ * employee still matching. Each {@link Operator} is a branch-free loop of integer arithmetic over {@code int} arrays,
+ * which the JIT compiles to SIMD instructions where the hardware supports them. Disjunctions are evaluated into
+ * separate masks and or-ed together.
+ */
+public final class EmployeeFilter {
+
+    private final List<List<BoundClause>> disjunction;
+
+    private EmployeeFilter(List<List<BoundClause>> disjunction) {
+        this.disjunction = disjunction;
+    }
+
+    /**
+     * @param parsed the parsed expression.
+     * @return the compiled filter.
+     */
+    public static EmployeeFilter compile(EmployeeFilterParser.Parsed parsed) {
+        return new EmployeeFilter(parsed.disjunction().stream()
+                .map(conjunction -> conjunction.stream()
+                        .map(clause -> new BoundClause(
+                                clause.column(),
+                                clause.operator(),
+                                clause.column().bind(parsed.parameters().get(clause.parameter()))))
+                        .toList())
+                .toList());
+    }
+
+    /**
+     * Finds the employees matching the filter.
+     *
+     * @param columns the employees to scan.
+     * @return the positions of matching employees within the columns, ascending.
+     */
+    public int[] evaluate(EmployeeColumns columns) {
+        int size = columns.size();
+        int[] matches = new int[size];
+        for (List<BoundClause> conjunction : disjunction) {
+            int[] mask = new int[size];
+            Arrays.fill(mask, -1);
+            for (BoundClause clause : conjunction) {
+                Column column = clause.column();
+                int operand = clause.operand().applyAsInt(columns);
+                clause.operator().and(columns.values(column), columns.present(column), operand, mask);
+            }
+            for (int i = 0; i < size; i++) {
+                matches[i] |= mask[i];
+            }
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count -= matches[i];
+        }
+        int[] positions = new int[count];
+        for (int i = 0, next = 0; next < count; i++) {
+            if (matches[i] != 0) {
+                positions[next++] = i;
+            }
+        }
+        return positions;
+    }
+
+    public enum Column {
+        SALARY,
+        AGE,
+        TITLE {
+            /*
+             * Title codes are assigned per columns, so they are looked up on every evaluation.
+             */
+            @Override
+            ToIntFunction<EmployeeColumns> bind(String parameter) {
+                return columns -> columns.titleCode(parameter);
+            }
+
+            @Override
+            boolean supports(Operator operator) {
+                return operator == Operator.EQ || operator == Operator.NE;
+            }
+        };
+
+        /**
+         * Converts a literal to the value stored in the column. Numbers are clamped to {@code [0, Integer.MAX_VALUE]},
+         * which leaves every comparison with a positive value unchanged.
+         */
+        ToIntFunction<EmployeeColumns> bind(String parameter) {
+            int operand = (int) Math.max(0, Math.min(Integer.MAX_VALUE, Long.parseLong(parameter)));
+            return columns -> operand;
+        }
+
+        boolean supports(Operator operator) {
+            return true;
+        }
+
+        boolean numeric() {
+            return this != TITLE;
+        }
+    }
+
+    /**
+     * Comparison kernels. Each one ands its result into the mask; a difference shifted right by 31 bits is {@code -1}
+     * exactly when it is negative, and {@code (x | -x) >> 31} is {@code -1} exactly when {@code x} is not zero.
+     */
+    public enum Operator {
+        EQ("=") {
+            @Override
+            void and(int[] values, int[] present, int operand, int[] mask) {
+                for (int i = 0; i < mask.length; i++) {
+                    int difference = values[i] ^ operand;
+                    mask[i] &= present[i] & ~((difference | -difference) >> 31);
+                }
+            }
+        },
+        NE("!=") {
+            @Override
+            void and(int[] values, int[] present, int operand, int[] mask) {
+                for (int i = 0; i < mask.length; i++) {
+                    int difference = values[i] ^ operand;
+                    mask[i] &= present[i] & ((difference | -difference) >> 31);
+                }
+            }
+        },
+        LT("<") {
+            @Override
+            void and(int[] values, int[] present, int operand, int[] mask) {
+                for (int i = 0; i < mask.length; i++) {
+                    mask[i] &= present[i] & ((values[i] - operand) >> 31);
+                }
+            }
+        },
+        LE("<=") {
+            @Override
+            void and(int[] values, int[] present, int operand, int[] mask) {
+                for (int i = 0; i < mask.length; i++) {
+                    mask[i] &= present[i] & ~((operand - values[i]) >> 31);
+                }
+            }
+        },
+        GT(">") {
+            @Override
+            void and(int[] values, int[] present, int operand, int[] mask) {
+                for (int i = 0; i < mask.length; i++) {
+                    mask[i] &= present[i] & ((operand - values[i]) >> 31);
+                }
+            }
+        },
+        GE(">=") {
+            @Override
+            void and(int[] values, int[] present, int operand, int[] mask) {
+                for (int i = 0; i < mask.length; i++) {
+                    mask[i] &= present[i] & ~((values[i] - operand) >> 31);
+                }
+            }
+        };
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String symbol() {
+            return symbol;
+        }
+
+        abstract void and(int[] values, int[] present, int operand, int[] mask);
+    }
+
+    /**
+     * @param column the column compared.
+     * @param operator the comparison.
+     * @param parameter the index of the literal compared against.
+     */
+    public record Clause(Column column, Operator operator, int parameter) {}
+
+    /**
+     * @param column the column compared.
+     * @param operator the comparison kernel.
+     * @param operand the value compared against, as stored in the columns.
+     */
+    private record BoundClause(Column column, Operator operator, ToIntFunction<EmployeeColumns> operand) {}
+}
@@ -0,0 +1,119 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.exception.InvalidEmployeeFilterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses filter expressions such as {@code age > 40 and salary >= 200000 and title = 'Engineer'}.
+ *
+ * <pre>
+ * expression  : conjunction ('or' conjunction)*
+ * conjunction : clause ('and' clause)*
+ * clause      : ('salary' | 'age') operator integer | 'title' ('=' | '!=') 'quoted string'
+ * operator    : '=' | '!=' | '&lt;' | '&lt;=' | '&gt;' | '&gt;='
+ * </pre>
+ *
+ * Keywords and attribute names are case-insensitive; a quote inside a string is written twice. Clauses on missing
+ * values never match.
+ */
+public final class EmployeeFilterParser {
+
+    public static final int MAX_CLAUSES = 32;
+
+    private static final Pattern TOKEN = Pattern.compile(
+            "\\s*(?:(?<word>[A-Za-z]+)|(?<number>-?\\d+)|(?<string>'(?:[^']|'')*')|(?<symbol>[<>!]?=|[<>]))");
+
+    private EmployeeFilterParser() {}
+
+    /**
+     * @param expression the filter expression.
+     * @return the clauses and literals of the expression.
+     * @throws InvalidEmployeeFilterException if the expression is not valid.
+     */
+    public static Parsed parse(String expression) {
+        List<String> tokens = tokenize(expression);
+        List<List<EmployeeFilter.Clause>> disjunction = new ArrayList<>();
+        List<String> parameters = new ArrayList<>();
+        List<EmployeeFilter.Clause> conjunction = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            if (tokens.size() < position + 3) {
+                throw new InvalidEmployeeFilterException(expression, "expected <attribute> <operator> <value>");
+            }
+            EmployeeFilter.Column column = column(expression, tokens.get(position));
+            EmployeeFilter.Operator operator = operator(expression, column, tokens.get(position + 1));
+            parameters.add(literal(expression, column, tokens.get(position + 2)));
+            conjunction.add(new EmployeeFilter.Clause(column, operator, parameters.size() - 1));
+            position += 3;
+            if (parameters.size() > MAX_CLAUSES) {
+                throw new InvalidEmployeeFilterException(expression, "more than " + MAX_CLAUSES + " clauses");
+            }
+            String keyword = position < tokens.size() ? tokens.get(position).toLowerCase(Locale.ROOT) : null;
+            if (keyword == null || keyword.equals("or")) {
+                disjunction.add(conjunction);
+                conjunction = new ArrayList<>();
+            }
+            if (keyword == null) {
+                return new Parsed(disjunction, parameters);
+            }
+            if (!keyword.equals("and") && !keyword.equals("or")) {
+                throw new InvalidEmployeeFilterException(expression, "expected 'and' or 'or' but found " + keyword);
+            }
+            position++;
+        }
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(expression);
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            tokens.add(matcher.group().strip());
+            end = matcher.end();
+        }
+        if (!expression.substring(end).isBlank()) {
+            throw new InvalidEmployeeFilterException(expression, "unexpected input at position " + end);
+        }
+        return tokens;
+    }
+
+    private static EmployeeFilter.Column column(String expression, String token) {
+        return Arrays.stream(EmployeeFilter.Column.values())
+                .filter(column -> column.name().equalsIgnoreCase(token))
+                .findFirst()
+                .orElseThrow(() -> new InvalidEmployeeFilterException(expression, "unknown attribute " + token));
+    }
+
+    private static EmployeeFilter.Operator operator(String expression, EmployeeFilter.Column column, String token) {
+        EmployeeFilter.Operator operator = Arrays.stream(EmployeeFilter.Operator.values())
+                .filter(candidate -> candidate.symbol().equals(token))
+                .findFirst()
+                .orElseThrow(() -> new InvalidEmployeeFilterException(expression, "unknown operator " + token));
+        if (!column.supports(operator)) {
+            throw new InvalidEmployeeFilterException(expression, token + " is not supported for " + column);
+        }
+        return operator;
+    }
+
+    private static String literal(String expression, EmployeeFilter.Column column, String token) {
+        boolean quoted = token.startsWith("'");
+        if (column.numeric() && (quoted || !token.matches("-?\\d{1,18}"))) {
+            throw new InvalidEmployeeFilterException(expression, column + " must be compared with an integer");
+        }
+        if (!column.numeric() && !quoted) {
+            throw new InvalidEmployeeFilterException(expression, column + " must be compared with a quoted string");
+        }
+        return quoted ? token.substring(1, token.length() - 1).replace("''", "'") : token;
+    }
+
+    /**
+     * @param disjunction conjunctions of clauses, any of which must match.
+     * @param parameters the literals, in order, with quotes removed.
+     */
+    public record Parsed(List<List<EmployeeFilter.Clause>> disjunction, List<String> parameters) {}
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evaluates filter expressions over {@link EmployeeColumns}. Filters are parsed and compiled once per expression and
+ * columns are built once per snapshot version, so repeated queries only pay for the scan.
+ */
+@Component
+public class EmployeeQueryEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeQueryEngine.class);
+
+    static final int MAX_COMPILED_FILTERS = 256;
+
+    private final Map<String, EmployeeFilter> compiledFilters = new ConcurrentHashMap<>();
+
+    private final AtomicReference<EmployeeColumns> columns = new AtomicReference<>();
+
+    /**
+     * Finds the employees of a snapshot matching a filter expression.
+     *
+     * @param expression the filter expression, see {@link EmployeeFilterParser}.
+     * @param snapshot the employees to filter.
+     * @return the matching employees, in snapshot order.
+     */
+    public List<Employee> query(String expression, EmployeeSnapshot snapshot) {
+        return query(expression, columns(snapshot));
+    }
+
+    /**
+     * Finds the employees of a list matching a filter expression, without keeping the columns built for them.
+     *
+     * @param expression the filter expression, see {@link EmployeeFilterParser}.
+     * @param employees the employees to filter.
+     * @return the matching employees, in list order.
+     */
+    public List<Employee> query(String expression, List<Employee> employees) {
+        return query(expression, EmployeeColumns.of(employees));
+    }
+
+    private List<Employee> query(String expression, EmployeeColumns employeeColumns) {
+        int[] positions = compiled(expression).evaluate(employeeColumns);
+        return IntStream.of(positions).mapToObj(employeeColumns::row).toList();
+    }
+
+    private EmployeeFilter compiled(String expression) {
+        EmployeeFilter filter = compiledFilters.get(expression);
+        if (filter != null) {
+            return filter;
+        }
+        // Parsed outside the map, so an invalid expression throws without being cached.
+        EmployeeFilter compiled = EmployeeFilter.compile(EmployeeFilterParser.parse(expression));
+        if (compiledFilters.size() >= MAX_COMPILED_FILTERS) {
+            compiledFilters.clear();
+        }
+        log.debug("\"Compiled employee filter\" expression=\"{}\"", expression);
+        EmployeeFilter previous = compiledFilters.putIfAbsent(expression, compiled);
+        return previous != null ? previous : compiled;
+    }
+
+    private EmployeeColumns columns(EmployeeSnapshot snapshot) {
+        EmployeeColumns current = columns.get();
+        if (current != null && current.version() == snapshot.version()) {
+            return current;
+        }
+        EmployeeColumns built = EmployeeColumns.of(snapshot);
+        columns.set(built);
+        log.debug("\"Built employee columns\" version=\"{}\" size=\"{}\"", built.version(), built.size());
+        return built;
+    }
+}
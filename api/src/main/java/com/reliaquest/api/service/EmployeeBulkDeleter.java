@@ -0,0 +1,123 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.UpstreamBudget;
+import com.reliaquest.api.dto.EmployeeDeleteDTO;
+import com.reliaquest.api.exception.MockEmployeeServiceException;
+import com.reliaquest.api.exception.TooManyMockEmployeeRequestsException;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes many employees by id. Deletes are sent in concurrent waves, each making no more upstream requests than the
+ * permits the {@link UpstreamBudget} has left, so a bulk delete uses the budget without waiting on one round trip per
+ * employee and without provoking a lockout. Deleting an employee whose name is not cached costs two requests, one to
+ * look the name up and one to delete. Ids left once the budget is exhausted are reported as throttled rather than
+ * waited for.
+ */
+@Component
+public class EmployeeBulkDeleter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeBulkDeleter.class);
+
+    private final EmployeeService employeeService;
+
+    private final UpstreamBudget upstreamBudget;
+
+    private final int concurrency;
+
+    private final ExecutorService executor;
+
+    public EmployeeBulkDeleter(
+            EmployeeService employeeService,
+            UpstreamBudget upstreamBudget,
+            @Value("${employee.deletes.concurrency:5}") int concurrency) {
+        this.employeeService = employeeService;
+        this.upstreamBudget = upstreamBudget;
+        this.concurrency = concurrency;
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "employee-bulk-delete");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Deletes employees by id, in order.
+     *
+     * @param ids the ids of the employees to delete.
+     * @return the outcome for each id, in the same order.
+     */
+    public List<EmployeeDeleteDTO> deleteByIds(List<String> ids) {
+        List<EmployeeDeleteDTO> results = new ArrayList<>(ids.size());
+        boolean throttled = false;
+        while (results.size() < ids.size() && !throttled) {
+            int waveSize = waveSize(ids.subList(results.size(), ids.size()), upstreamBudget.availablePermits());
+            if (waveSize == 0) {
+                break;
+            }
+            List<CompletableFuture<EmployeeDeleteDTO>> wave = ids
+                    .subList(results.size(), results.size() + waveSize)
+                    .stream()
+                    .map(id -> CompletableFuture.supplyAsync(() -> delete(id), executor))
+                    .toList();
+            for (CompletableFuture<EmployeeDeleteDTO> delete : wave) {
+                EmployeeDeleteDTO result = delete.join();
+                throttled |= result.status() == EmployeeDeleteDTO.Status.THROTTLED;
+                results.add(result);
+            }
+        }
+        for (String id : ids.subList(results.size(), ids.size())) {
+            results.add(new EmployeeDeleteDTO(id, EmployeeDeleteDTO.Status.THROTTLED, null));
+        }
+        log.info(
+                "\"Bulk deleted employees\" requested=\"{}\" deleted=\"{}\"",
+                ids.size(),
+                results.stream()
+                        .filter(result -> result.status() == EmployeeDeleteDTO.Status.DELETED)
+                        .count());
+        return results;
+    }
+
+    /*
+     * Counts the leading ids whose deletes fit in the permits, at most one per thread.
+     */
+    private int waveSize(List<String> ids, int permits) {
+        int size = 0;
+        for (String id : ids) {
+            permits -= employeeService.isNameCached(id) ? 1 : 2;
+            if (permits < 0 || size == concurrency) {
+                break;
+            }
+            size++;
+        }
+        return size;
+    }
+
+    private EmployeeDeleteDTO delete(String id) {
+        try {
+            return employeeService
+                    .deleteById(id)
+                    .map(name -> new EmployeeDeleteDTO(id, EmployeeDeleteDTO.Status.DELETED, name))
+                    .orElse(new EmployeeDeleteDTO(id, EmployeeDeleteDTO.Status.NOT_FOUND, null));
+        } catch (TooManyMockEmployeeRequestsException e) {
+            return new EmployeeDeleteDTO(id, EmployeeDeleteDTO.Status.THROTTLED, null);
+        } catch (MockEmployeeServiceException | FeignException e) {
+            log.warn("\"Could not delete employee\" employeeId=\"{}\" errorMessage=\"{}\"", id, e.getMessage());
+            return new EmployeeDeleteDTO(id, EmployeeDeleteDTO.Status.FAILED, null);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.dto.EmployeeUpdateDTO;
+import com.reliaquest.api.dto.MockEmployeeChangeSetDTO;
+import com.reliaquest.api.dto.MockEmployeeSnapshotDTO;
+import com.reliaquest.api.util.EmployeeTransformer;
+import feign.FeignException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link EmployeeCache} in step with the upstream service by applying its change feed. A full snapshot is
+ * only downloaded on first use or when the upstream no longer retains the cached version.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.cache.enabled", havingValue = "true")
+public class EmployeeCacheRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeCacheRefresher.class);
+
+    private final MockEmployeeClient mockEmployeeClient;
+
+    private final EmployeeCache employeeCache;
+
+    private final AtomicBoolean pollingPaused = new AtomicBoolean();
+
+    public EmployeeCacheRefresher(MockEmployeeClient mockEmployeeClient, EmployeeCache employeeCache) {
+        this.mockEmployeeClient = mockEmployeeClient;
+        this.employeeCache = employeeCache;
+    }
+
+    /**
+     * Polls the change feed unless changes are currently being pushed to the cache.
+     */
+    @Scheduled(fixedDelayString = "${employee.cache.refresh-interval-ms:30000}")
+    public void poll() {
+        if (!pollingPaused.get()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Pauses scheduled polling, e.g. while an event stream keeps the cache current.
+     */
+    public void pausePolling() {
+        pollingPaused.set(true);
+    }
+
+    public void resumePolling() {
+        pollingPaused.set(false);
+    }
+
+    /**
+     * Brings the cache up to the latest upstream version. Upstream failures are logged and retried on the next run.
+     *
+     * @return what changed, or empty if the cache was already current or could not be refreshed.
+     */
+    public Optional<EmployeeUpdateDTO> refresh() {
+        try {
+            Optional<EmployeeSnapshot> current = employeeCache.snapshot();
+            if (current.isEmpty()) {
+                resync();
+                return announceCurrent();
+            }
+            long baseVersion = current.get().version();
+            MockEmployeeChangeSetDTO changeSet = mockEmployeeClient.getMockEmployeeChanges(baseVersion).data();
+            if (changeSet.resyncRequired()) {
+                log.info("\"Employee cache is too far behind, resyncing\" version=\"{}\"", baseVersion);
+                resync();
+                return announceCurrent();
+            }
+            employeeCache.apply(
+                    changeSet.version(),
+                    changeSet.changes().stream()
+                            .map(EmployeeTransformer::toEmployeeChange)
+                            .toList());
+            if (changeSet.version() <= baseVersion) {
+                return Optional.empty();
+            }
+            return Optional.of(new EmployeeUpdateDTO(null, baseVersion, changeSet.version(), changeSet.changes(), 0));
+        } catch (FeignException e) {
+            log.warn("\"Could not refresh employee cache\" errorMessage=\"{}\"", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replaces the cache with a full upstream snapshot.
+     */
+    public void resync() {
+        MockEmployeeSnapshotDTO snapshot = mockEmployeeClient.getMockEmployeeSnapshot().data();
+        employeeCache.replace(
+                snapshot.version(),
+                snapshot.employees().stream().map(EmployeeTransformer::toEmployee).toList());
+    }
+
+    private Optional<EmployeeUpdateDTO> announceCurrent() {
+        return employeeCache.snapshot().map(snapshot -> EmployeeUpdateDTO.announce(snapshot.version()));
+    }
+}
@@ -0,0 +1,8 @@
+package com.reliaquest.api.service;
+
+/**
+ * Published once this instance has created or deleted an employee upstream.
+ *
+ * @param employeeId the employee created or deleted.
+ */
+public record EmployeeMutatedEvent(String employeeId) {}
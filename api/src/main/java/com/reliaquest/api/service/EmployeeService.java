@@ -1,19 +1,29 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeNameIndex;
+import com.reliaquest.api.cache.EmployeeSnapshot;
 import com.reliaquest.api.client.MockEmployeeClient;
 import com.reliaquest.api.dto.*;
 import com.reliaquest.api.exception.InvalidEmployeeException;
+import com.reliaquest.api.exception.InvalidEmployeeFilterException;
 import com.reliaquest.api.exception.MockEmployeeServiceException;
 import com.reliaquest.api.exception.TooManyMockEmployeeRequestsException;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeFields;
+import com.reliaquest.api.query.EmployeeQueryEngine;
+import com.reliaquest.api.statistics.SalaryStatistics;
+import com.reliaquest.api.timing.RequestPhase;
+import com.reliaquest.api.timing.RequestTiming;
 import com.reliaquest.api.util.EmployeeTransformer;
 import feign.FeignException;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -22,84 +32,229 @@ public class EmployeeService {
 
     private static final Logger log = LoggerFactory.getLogger(EmployeeService.class);
 
+    private static final int HISTOGRAM_RANGES = 10;
+
     private final MockEmployeeClient mockEmployeeClient;
 
-    public EmployeeService(MockEmployeeClient mockEmployeeClient) {
+    private final EmployeeCache employeeCache;
+
+    private final EmployeeQueryEngine employeeQueryEngine;
+
+    private final EmployeeNameIndex employeeNameIndex;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public EmployeeService(
+            MockEmployeeClient mockEmployeeClient,
+            EmployeeCache employeeCache,
+            EmployeeQueryEngine employeeQueryEngine,
+            EmployeeNameIndex employeeNameIndex,
+            ApplicationEventPublisher applicationEventPublisher) {
         this.mockEmployeeClient = mockEmployeeClient;
+        this.employeeCache = employeeCache;
+        this.employeeQueryEngine = employeeQueryEngine;
+        this.employeeNameIndex = employeeNameIndex;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
      * Finds the highest employee Salary.
+     * Served from the {@link EmployeeCache} once it is populated.
      *
      * @return An optional representing the highest employee salary.
      * @throws MockEmployeeServiceException if there are issues with the upstream service.
      */
     public Optional<Integer> getHighestSalary() throws MockEmployeeServiceException {
-        return getEmployeeStream().map(Employee::getSalary).max(Integer::compare);
+        Optional<EmployeeSnapshot> cached = employeeCache.snapshot();
+        if (cached.isPresent()) {
+            return cached.get().highestSalary();
+        }
+        try {
+            return Optional.ofNullable(mockEmployeeClient.getHighestMockSalary())
+                    .map(MockEmployeeSalaryResponseDTO::data);
+        } catch (FeignException e) {
+            if (e.status() == HttpStatus.NOT_FOUND.value()) {
+                return Optional.empty();
+            }
+            throw handleFeignException(e);
+        }
     }
 
     /**
-     * Finds employees using a given search string.
-     * <p>
-     * I recognize that there's more cases to be handled here and that
-     * under normal circumstances .equals is not sufficient...
+     * Summarizes employee salaries: count, min, max, mean, p50/p90/p99 and a histogram over equal width ranges.
+     * Served from the statistics maintained by the {@link EmployeeCache} once it is populated, otherwise computed
+     * from every upstream employee.
+     *
+     * @return the salary statistics, or empty if no employee has a salary.
+     * @throws MockEmployeeServiceException if there are issues with the upstream service.
+     */
+    public Optional<SalaryStatisticsDTO> getSalaryStatistics() throws MockEmployeeServiceException {
+        SalaryStatistics salaryStatistics = employeeCache
+                .snapshot()
+                .map(EmployeeSnapshot::salaryStatistics)
+                .orElseGet(() -> SalaryStatistics.of(getEmployeeStream()
+                        .map(Employee::getSalary)
+                        .filter(Objects::nonNull)
+                        .mapToInt(Integer::intValue)));
+        if (salaryStatistics.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(EmployeeTransformer.toSalaryStatisticsDTO(salaryStatistics, HISTOGRAM_RANGES));
+    }
+
+    /**
+     * Finds employees whose name contains the given search string, ignoring case.
+     * Served from the {@link EmployeeCache} once it is populated, otherwise the filter is applied by the upstream
+     * service.
      *
      * @param searchString used to find employees.
      * @return a list of {@link EmployeeDTO}.
      * @throws MockEmployeeServiceException if there are issues with the upstream service.
      */
     public List<EmployeeDTO> getByNameSearch(String searchString) throws MockEmployeeServiceException {
-        return getEmployeeStream()
-                .filter(employee -> employee.getName().equals(searchString))
+        return getByNameSearch(searchString, EmployeeFields.ALL);
+    }
+
+    /**
+     * Finds employees whose name contains the given search string, ignoring case, with only the given fields.
+     * Served from the {@link EmployeeCache} once it is populated, otherwise the filter and the projection are applied
+     * by the upstream service.
+     *
+     * @param searchString used to find employees.
+     * @param fields the fields to include.
+     * @return a list of {@link EmployeeDTO}.
+     * @throws MockEmployeeServiceException if there are issues with the upstream service.
+     */
+    public List<EmployeeDTO> getByNameSearch(String searchString, EmployeeFields fields)
+            throws MockEmployeeServiceException {
+        Optional<EmployeeSnapshot> cached = employeeCache.snapshot();
+        if (cached.isPresent()) {
+            List<Employee> matches = cached.get().searchByName(searchString.toLowerCase());
+            return RequestTiming.time(RequestPhase.TRANSFORM, () -> matches.stream()
+                    .map(employee -> EmployeeTransformer.toEmployeeDTO(employee, fields))
+                    .toList());
+        }
+        Stream<Employee> matches = queryEmployeeStream(searchString, fields.upstreamFields());
+        return RequestTiming.time(
+                RequestPhase.TRANSFORM,
+                () -> matches.map(EmployeeTransformer::toEmployeeDTO).toList());
+    }
+
+    /**
+     * Finds employees matching a filter expression, e.g. {@code age > 40 and salary > 200000 and title = 'Engineer'}.
+     * Evaluated over the {@link EmployeeCache} once it is populated, otherwise over every upstream employee.
+     *
+     * @param filter the filter expression.
+     * @return a list of {@link EmployeeDTO}.
+     * @throws InvalidEmployeeFilterException if the filter expression is not valid.
+     * @throws MockEmployeeServiceException if there are issues with the upstream service.
+     */
+    public List<EmployeeDTO> query(String filter) throws MockEmployeeServiceException {
+        Optional<EmployeeSnapshot> cached = employeeCache.snapshot();
+        List<Employee> matches = cached.isPresent()
+                ? employeeQueryEngine.query(filter, cached.get())
+                : employeeQueryEngine.query(filter, getEmployeeStream().toList());
+        return RequestTiming.time(RequestPhase.TRANSFORM, () -> matches.stream()
                 .map(EmployeeTransformer::toEmployeeDTO)
-                .toList();
+                .toList());
     }
 
     /**
      * Finds the top 10 highest earning employees.
+     * Served from the {@link EmployeeCache} once it is populated.
      *
      * @return a list of 10 employee names representing the top earners.
      * @throws MockEmployeeServiceException if there are issues with the upstream service.
      */
     public List<String> getTopTenHighestEarningNames() throws MockEmployeeServiceException {
-        return getEmployeeStream()
-                .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
-                .limit(10)
-                .map(Employee::getName)
-                .toList();
+        Optional<EmployeeSnapshot> cached = employeeCache.snapshot();
+        if (cached.isPresent()) {
+            return RequestTiming.time(RequestPhase.SORT, () -> cached.get().topEarnerNames(10));
+        }
+        try {
+            return mockEmployeeClient.getTopMockEarners(10, "name").data().stream().map(MockEmployeeDTO::name).toList();
+        } catch (FeignException e) {
+            throw handleFeignException(e);
+        }
     }
 
     /**
      * Retrieves a list of all employees.
+     * Served from the {@link EmployeeCache} once it is populated.
      *
      * @return a list of {@link EmployeeDTO}
      * @throws MockEmployeeServiceException if there are issues with the upstream service.
      */
     public List<EmployeeDTO> getAll() throws MockEmployeeServiceException {
+        return getAll(EmployeeFields.ALL);
+    }
+
+    /**
+     * Retrieves a list of all employees with only the given fields.
+     * Served from the {@link EmployeeCache} once it is populated, otherwise the upstream service only sends the
+     * given fields.
+     *
+     * @param fields the fields to include.
+     * @return a list of {@link EmployeeDTO}
+     * @throws MockEmployeeServiceException if there are issues with the upstream service.
+     */
+    public List<EmployeeDTO> getAll(EmployeeFields fields) throws MockEmployeeServiceException {
+        Optional<EmployeeSnapshot> cached = employeeCache.snapshot();
+        if (cached.isPresent()) {
+            return RequestTiming.time(RequestPhase.TRANSFORM, () -> cached.get().stream()
+                    .map(employee -> EmployeeTransformer.toEmployeeDTO(employee, fields))
+                    .toList());
+        }
         try {
-            return getEmployeeStream().map(EmployeeTransformer::toEmployeeDTO).toList();
+            Stream<Employee> employees =
+                    fields.isAll() ? getEmployeeStream() : queryEmployeeStream(null, fields.upstreamFields());
+            return RequestTiming.time(
+                    RequestPhase.TRANSFORM,
+                    () -> employees.map(EmployeeTransformer::toEmployeeDTO).toList());
         } catch (FeignException e) {
-            log.error("\"There was an issue retrieving employees\" errorMessage=\"{}\"", e.getMessage());
+            log.error("\"There was an issue retrieving employees\" status=\"{}\"", e.status());
             throw handleFeignException(e);
         }
     }
 
     /**
      * Finds employees by their associated id.
+     * Ids missing from the {@link EmployeeCache} are looked up upstream, as they may have been created since the
+     * last refresh.
      *
      * @param id in which to find an employee by.
      * @return an optional of the corresponding {@link EmployeeDTO}.
      * @throws MockEmployeeServiceException if there are issues with the upstream service.
      */
     public Optional<EmployeeDTO> getById(String id) throws MockEmployeeServiceException {
+        return getById(id, EmployeeFields.ALL);
+    }
+
+    /**
+     * Finds employees by their associated id, with only the given fields.
+     * Ids missing from the {@link EmployeeCache} are looked up upstream, which only sends the given fields.
+     *
+     * @param id in which to find an employee by.
+     * @param fields the fields to include.
+     * @return an optional of the corresponding {@link EmployeeDTO}.
+     * @throws MockEmployeeServiceException if there are issues with the upstream service.
+     */
+    public Optional<EmployeeDTO> getById(String id, EmployeeFields fields) throws MockEmployeeServiceException {
+        Optional<Employee> cached = employeeCache.snapshot().flatMap(snapshot -> snapshot.findById(id));
+        if (cached.isPresent()) {
+            return cached.map(employee -> EmployeeTransformer.toEmployeeDTO(employee, fields));
+        }
         try {
-            return Optional.ofNullable(mockEmployeeClient.getMockEmployeeById(id))
+            MockEmployeeResponseDTO response = fields.isAll()
+                    ? mockEmployeeClient.getMockEmployeeById(id)
+                    : mockEmployeeClient.getMockEmployeeById(id, fields.upstreamFields());
+            return Optional.ofNullable(response)
                     .map(MockEmployeeResponseDTO::data)
                     .map(EmployeeTransformer::toEmployee)
+                    .map(employeeNameIndex::record)
                     .map(EmployeeTransformer::toEmployeeDTO);
         } catch (FeignException e) {
-            log.error(
-                    "\"Could not retrieve employee by id\" employeeId=\"{}\": errorMessage=\"{}\"", id, e.getMessage());
+            log.error("\"Could not retrieve employee by id\" employeeId=\"{}\" status=\"{}\"", id, e.status());
             throw handleFeignException(e);
         }
     }
@@ -119,31 +274,115 @@ public class EmployeeService {
                             mockEmployeeClient.createMockEmployee(MockEmployeeCreateRequestDTO.from(mockEmployeeDTO)))
                     .map(MockEmployeeResponseDTO::data)
                     .map(EmployeeTransformer::toEmployee)
-                    .map(EmployeeTransformer::toEmployeeDTO);
+                    .map(employeeNameIndex::record)
+                    .map(created -> {
+                        applicationEventPublisher.publishEvent(new EmployeeMutatedEvent(created.getId()));
+                        return EmployeeTransformer.toEmployeeDTO(created);
+                    });
         } catch (FeignException e) {
-            log.error("\"Could not create employee\" errorMessage=\"{}\"", e.getMessage());
+            log.error("\"Could not create employee\" status=\"{}\"", e.status());
             throw handleFeignException(e);
         }
     }
 
+    /**
+     * Deletes an employee by id. The upstream only deletes by name, so the name is resolved from the
+     * {@link EmployeeCache} or the {@link EmployeeNameIndex} and only looked up upstream for ids seen in neither.
+     * <p>
+     * The upstream deletes the first employee with a matching name, ignoring case, so with duplicate names it may
+     * delete another employee than the one identified.
+     *
+     * @param id the id of the employee to delete.
+     * @return the name of the deleted employee, or empty if there is no employee with the id.
+     * @throws MockEmployeeServiceException if there are issues with the upstream service.
+     */
+    public Optional<String> deleteById(String id) throws MockEmployeeServiceException {
+        Optional<String> name = resolveName(id);
+        if (name.isEmpty()) {
+            return Optional.empty();
+        }
+        boolean deleted = deleteByName(name.get());
+        employeeNameIndex.remove(id);
+        if (!deleted) {
+            return Optional.empty();
+        }
+        applicationEventPublisher.publishEvent(new EmployeeMutatedEvent(id));
+        return name;
+    }
+
     /**
      * Deletes an employee by their corresponding name.
      *
      * @param name the name of the employee to delete.
+     * @return true if an employee was deleted.
      * @throws MockEmployeeServiceException if there are issues with the upstream service.
      */
-    public void deleteByName(String name) throws MockEmployeeServiceException {
+    public boolean deleteByName(String name) throws MockEmployeeServiceException {
+        try {
+            return Optional.ofNullable(
+                            mockEmployeeClient.deleteMockEmployeeByName(new MockEmployeeDeleteRequestDTO(name)))
+                    .map(MockEmployeeDeleteResponseDTO::data)
+                    .orElse(false);
+        } catch (FeignException e) {
+            log.error("\"Could not delete employee\" employeeName=\"{}\" status=\"{}\"", name, e.status());
+            throw handleFeignException(e);
+        }
+    }
+
+    /**
+     * @param id an employee id.
+     * @return true if the name of the employee is known without asking the upstream, so {@link #deleteById} costs one
+     *     upstream request rather than two.
+     */
+    public boolean isNameCached(String id) {
+        return cachedName(id).isPresent();
+    }
+
+    private Optional<String> cachedName(String id) {
+        return employeeCache
+                .snapshot()
+                .flatMap(snapshot -> snapshot.findById(id))
+                .map(Employee::getName)
+                .or(() -> employeeNameIndex.find(id));
+    }
+
+    private Optional<String> resolveName(String id) {
+        Optional<String> name = cachedName(id);
+        if (name.isPresent()) {
+            return name;
+        }
         try {
-            mockEmployeeClient.deleteMockEmployeeByName(new MockEmployeeDeleteRequestDTO(name));
+            return Optional.ofNullable(mockEmployeeClient.getMockEmployeeById(id))
+                    .map(MockEmployeeResponseDTO::data)
+                    .map(MockEmployeeDTO::name);
         } catch (FeignException e) {
-            log.error("\"Could not delete employee\" employeeName=\"{}\" errorMessage=\"{}\"", name, e.getMessage());
+            // The upstream rejects ids that are not UUIDs, which cannot identify an employee either.
+            if (e.status() == HttpStatus.NOT_FOUND.value() || e.status() == HttpStatus.BAD_REQUEST.value()) {
+                return Optional.empty();
+            }
+            log.error("\"Could not resolve employee name\" employeeId=\"{}\" status=\"{}\"", id, e.status());
             throw handleFeignException(e);
         }
     }
 
     private Stream<Employee> getEmployeeStream() {
         try {
-            return mockEmployeeClient.getAllMockEmployees().data().stream().map(EmployeeTransformer::toEmployee);
+            return mockEmployeeClient.getAllMockEmployees().data().stream()
+                    .map(EmployeeTransformer::toEmployee)
+                    .map(employeeNameIndex::record);
+        } catch (FeignException e) {
+            throw handleFeignException(e);
+        }
+    }
+
+    private Stream<Employee> queryEmployeeStream(String nameContains, String fields) {
+        try {
+            return mockEmployeeClient
+                    .queryMockEmployees(nameContains, null, null, null, null, null, null, fields)
+                    .data()
+                    .stream()
+                    .map(EmployeeTransformer::toEmployee)
+                    .map(employeeNameIndex::record);
         } catch (FeignException e) {
             throw handleFeignException(e);
         }
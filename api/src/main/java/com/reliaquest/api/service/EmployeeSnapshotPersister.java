@@ -0,0 +1,82 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotFile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists the {@link EmployeeCache} to a local {@link EmployeeSnapshotFile} and restores it on startup, so a
+ * restarted instance serves reads immediately and catches up through the change feed instead of every instance
+ * downloading the full dataset at once. With {@code OFF_HEAP} storage the restored snapshot is served straight from
+ * the mapped file.
+ */
+@Component
+@ConditionalOnProperty(name = {"employee.cache.enabled", "employee.cache.snapshot.enabled"}, havingValue = "true")
+public class EmployeeSnapshotPersister {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotPersister.class);
+
+    private final EmployeeCache employeeCache;
+
+    private final Path path;
+
+    private final AtomicLong persistedVersion = new AtomicLong(Long.MIN_VALUE);
+
+    public EmployeeSnapshotPersister(EmployeeCache employeeCache, @Value("${employee.cache.snapshot.path}") Path path) {
+        this.employeeCache = employeeCache;
+        this.path = path;
+    }
+
+    /**
+     * Loads the persisted snapshot, if any, before the first refresh is scheduled.
+     */
+    @PostConstruct
+    public void restore() {
+        if (!Files.exists(path)) {
+            log.info("\"No persisted employee snapshot\" path=\"{}\"", path);
+            return;
+        }
+        try {
+            EmployeeSnapshot snapshot = employeeCache.storage().load(path);
+            if (employeeCache.initialize(snapshot)) {
+                persistedVersion.set(snapshot.version());
+            }
+        } catch (IOException e) {
+            log.warn("\"Could not restore employee snapshot\" path=\"{}\" errorMessage=\"{}\"", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the cache to disk if it has changed since the last write.
+     */
+    @Scheduled(
+            fixedDelayString = "${employee.cache.snapshot.persist-interval-ms:60000}",
+            initialDelayString = "${employee.cache.snapshot.persist-interval-ms:60000}")
+    @PreDestroy
+    public void persist() {
+        Optional<EmployeeSnapshot> snapshot = employeeCache.snapshot();
+        if (snapshot.isEmpty() || snapshot.get().version() == persistedVersion.get()) {
+            return;
+        }
+        try {
+            EmployeeSnapshotFile.write(path, snapshot.get());
+            persistedVersion.set(snapshot.get().version());
+            log.debug("\"Persisted employee snapshot\" version=\"{}\" path=\"{}\"", snapshot.get().version(), path);
+        } catch (IOException e) {
+            log.warn("\"Could not persist employee snapshot\" path=\"{}\" errorMessage=\"{}\"", path, e.getMessage());
+        }
+    }
+}
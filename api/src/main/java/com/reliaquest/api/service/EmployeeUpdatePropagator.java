@@ -0,0 +1,177 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.bus.EmployeeUpdateBus;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.dto.EmployeeUpdateDTO;
+import com.reliaquest.api.util.EmployeeTransformer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the caches of api instances converging after one of them changes the upstream. The instance that made the
+ * change refreshes its own cache and publishes the changes it applied on the {@link EmployeeUpdateBus}; peers apply
+ * them without asking the upstream, unless they are missing earlier changes, in which case they refresh themselves.
+ * <p>
+ * Refreshes after local changes, and those of peers missing changes, run on one background thread and are coalesced,
+ * so a burst of writes costs one upstream request and the bus receiver never waits for the upstream. The time from
+ * publishing an update to a peer's cache reaching its version is recorded in the {@code employee.bus.convergence}
+ * timer.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.cache.enabled", havingValue = "true")
+public class EmployeeUpdatePropagator {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeUpdatePropagator.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final EmployeeCacheRefresher employeeCacheRefresher;
+
+    private final EmployeeCache employeeCache;
+
+    private final EmployeeUpdateBus employeeUpdateBus;
+
+    private final Clock clock;
+
+    private final Timer convergence;
+
+    private final AtomicBoolean propagationPending = new AtomicBoolean();
+
+    /*
+     * The newest update from a peer that is waiting for a refresh, or null if none is.
+     */
+    private final AtomicReference<EmployeeUpdateDTO> catchUpPending = new AtomicReference<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-update-propagator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmployeeUpdatePropagator(
+            EmployeeCacheRefresher employeeCacheRefresher,
+            EmployeeCache employeeCache,
+            EmployeeUpdateBus employeeUpdateBus,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        this.employeeCacheRefresher = employeeCacheRefresher;
+        this.employeeCache = employeeCache;
+        this.employeeUpdateBus = employeeUpdateBus;
+        this.clock = clock;
+        this.convergence = Timer.builder("employee.bus.convergence")
+                .description("Time from an instance publishing an employee update to a peer applying it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        employeeUpdateBus.subscribe(this::onUpdate);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @EventListener
+    public void onMutation(EmployeeMutatedEvent event) {
+        if (propagationPending.compareAndSet(false, true)) {
+            executor.execute(this::propagate);
+        }
+    }
+
+    /**
+     * Refreshes the local cache and publishes what changed.
+     */
+    public void propagate() {
+        propagationPending.set(false);
+        employeeCacheRefresher.refresh().ifPresent(update -> {
+            log.debug("\"Publishing employee update\" version=\"{}\"", update.version());
+            employeeUpdateBus.publish(update.stamped(instanceId, clock.millis()));
+        });
+    }
+
+    /**
+     * Brings the local cache up to the version of an update from a peer, applying its changes directly or, when
+     * earlier changes are missing, scheduling a refresh. Convergence is only recorded once the cache has reached the
+     * update's version through this update, not when it was already there or a refresh fell short.
+     *
+     * @param update the update.
+     */
+    public void onUpdate(EmployeeUpdateDTO update) {
+        if (instanceId.equals(update.origin())) {
+            return;
+        }
+        Optional<EmployeeSnapshot> current = employeeCache.snapshot();
+        if (current.isEmpty()) {
+            return;
+        }
+        long version = current.get().version();
+        if (version >= update.version()) {
+            return;
+        }
+        if (update.baseVersion() > version || update.changes().isEmpty()) {
+            EmployeeUpdateDTO previous = catchUpPending.getAndAccumulate(
+                    update, (pending, next) -> pending == null || next.version() > pending.version() ? next : pending);
+            if (previous == null) {
+                executor.execute(this::catchUp);
+            }
+            return;
+        }
+        employeeCache.apply(
+                update.version(),
+                update.changes().stream()
+                        .map(EmployeeTransformer::toEmployeeChange)
+                        .toList());
+        recordConvergence(update);
+    }
+
+    /*
+     * Refreshes the cache for the newest update from a peer that it could not apply.
+     */
+    private void catchUp() {
+        EmployeeUpdateDTO update = catchUpPending.getAndSet(null);
+        long version = employeeCache.snapshot().map(EmployeeSnapshot::version).orElse(Long.MAX_VALUE);
+        if (version >= update.version()) {
+            return;
+        }
+        employeeCacheRefresher.refresh();
+        recordConvergence(update);
+    }
+
+    private void recordConvergence(EmployeeUpdateDTO update) {
+        long reached = employeeCache.snapshot().map(EmployeeSnapshot::version).orElse(Long.MIN_VALUE);
+        if (reached < update.version()) {
+            log.debug(
+                    "\"Employee update not reached\" origin=\"{}\" version=\"{}\" cachedVersion=\"{}\"",
+                    update.origin(),
+                    update.version(),
+                    reached);
+            return;
+        }
+        convergence.record(Duration.ofMillis(Math.max(0, clock.millis() - update.publishedAtMillis())));
+        log.debug(
+                "\"Applied employee update\" origin=\"{}\" version=\"{}\"", update.origin(), update.version());
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.UpstreamBudget;
+import com.reliaquest.api.dto.EmployeeWriteDTO;
+import com.reliaquest.api.exception.InvalidEmployeeException;
+import com.reliaquest.api.exception.MockEmployeeServiceException;
+import com.reliaquest.api.exception.TooManyMockEmployeeRequestsException;
+import feign.FeignException;
+import feign.RetryableException;
+import java.net.ConnectException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the {@link EmployeeWriteQueue} into the upstream service. Each run sends at most one batch, sized to what the
+ * {@link UpstreamBudget} expects the upstream to accept, and stops at the first throttled or failing request so a
+ * struggling upstream is not hammered.
+ * <p>
+ * Only failures that prove the upstream never applied the write are retried: throttling and refused connections. After
+ * a server error or a timeout the employee may already have been created, so the write fails instead of risking a
+ * duplicate.
+ */
+@Component
+public class EmployeeWriteDrainer {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteDrainer.class);
+
+    private final EmployeeWriteQueue employeeWriteQueue;
+
+    private final EmployeeService employeeService;
+
+    private final UpstreamBudget upstreamBudget;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    public EmployeeWriteDrainer(
+            EmployeeWriteQueue employeeWriteQueue,
+            EmployeeService employeeService,
+            UpstreamBudget upstreamBudget,
+            @Value("${employee.writes.batch-size:5}") int batchSize,
+            @Value("${employee.writes.max-attempts:5}") int maxAttempts) {
+        this.employeeWriteQueue = employeeWriteQueue;
+        this.employeeService = employeeService;
+        this.upstreamBudget = upstreamBudget;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.writes.drain-interval-ms:1000}")
+    public void drain() {
+        int permits = Math.min(batchSize, upstreamBudget.availablePermits());
+        List<EmployeeWriteDTO> batch = employeeWriteQueue.nextBatch(permits);
+        for (EmployeeWriteDTO write : batch) {
+            try {
+                employeeWriteQueue.complete(write.id(), employeeService.create(write.employee()).orElse(null));
+            } catch (InvalidEmployeeException e) {
+                employeeWriteQueue.fail(write.id(), e.getMessage());
+            } catch (TooManyMockEmployeeRequestsException e) {
+                log.debug(
+                        "\"Upstream is throttling, pausing writes\" pending=\"{}\"", employeeWriteQueue.pendingCount());
+                return;
+            } catch (MockEmployeeServiceException | FeignException e) {
+                if (isNotApplied(e)) {
+                    log.warn(
+                            "\"Employee write failed\" writeId=\"{}\" errorMessage=\"{}\"", write.id(), e.getMessage());
+                    employeeWriteQueue.retry(write.id(), e.getMessage(), maxAttempts);
+                } else {
+                    log.warn(
+                            "\"Employee write outcome unknown\" writeId=\"{}\" errorMessage=\"{}\"",
+                            write.id(),
+                            e.getMessage());
+                    employeeWriteQueue.fail(write.id(), "Outcome unknown: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private static boolean isNotApplied(RuntimeException e) {
+        return e instanceof RetryableException && e.getCause() instanceof ConnectException;
+    }
+}
@@ -0,0 +1,257 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.EmployeeWriteDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local queue of employee writes accepted while the upstream may be unable to take them. Every state change is
+ * appended to a journal and forced to disk before it is acknowledged, so pending writes survive a restart and are
+ * recovered in the order they were accepted.
+ * <p>
+ * Finished writes stay queryable for the configured retention. The journal is rewritten with only the retained writes
+ * once it holds mostly superseded entries.
+ */
+@Component
+public class EmployeeWriteQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteQueue.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final Clock clock;
+
+    private final Path journal;
+
+    private final Duration retention;
+
+    private final Map<String, EmployeeWriteDTO> writes = new LinkedHashMap<>();
+
+    private final Deque<String> pending = new ArrayDeque<>();
+
+    private FileChannel channel;
+
+    private int journalEntries;
+
+    public EmployeeWriteQueue(
+            ObjectMapper objectMapper,
+            Clock clock,
+            @Value("${employee.writes.journal}") Path journal,
+            @Value("${employee.writes.retention-ms:3600000}") long retentionMillis) {
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.journal = journal;
+        this.retention = Duration.ofMillis(retentionMillis);
+    }
+
+    /**
+     * Replays the journal, then compacts it. Entries that cannot be parsed, e.g. one half written when the process
+     * died, are skipped and counted, and the journal is copied aside before it is compacted so they can be inspected.
+     *
+     * @throws IOException if the journal cannot be read or rewritten.
+     */
+    @PostConstruct
+    public synchronized void recover() throws IOException {
+        Files.createDirectories(journal.toAbsolutePath().getParent());
+        int skipped = 0;
+        if (Files.exists(journal)) {
+            try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+                String line;
+                for (int lineNumber = 1; (line = reader.readLine()) != null; lineNumber++) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        EmployeeWriteDTO write = objectMapper.readValue(line, EmployeeWriteDTO.class);
+                        writes.put(write.id(), write);
+                    } catch (JsonProcessingException e) {
+                        skipped++;
+                        log.warn(
+                                "\"Skipped unreadable journal entry\" path=\"{}\" line=\"{}\" errorMessage=\"{}\"",
+                                journal,
+                                lineNumber,
+                                e.getOriginalMessage());
+                    }
+                }
+            }
+        }
+        if (skipped > 0) {
+            Path copy = journal.resolveSibling(journal.getFileName() + "." + clock.millis() + ".corrupt");
+            Files.copy(journal, copy, StandardCopyOption.REPLACE_EXISTING);
+            log.warn("\"Kept copy of corrupt write journal\" path=\"{}\" skipped=\"{}\"", copy, skipped);
+        }
+        writes.values().stream()
+                .filter(write -> write.status() == EmployeeWriteDTO.Status.PENDING)
+                .forEach(write -> pending.add(write.id()));
+        compact();
+        log.info(
+                "\"Recovered employee writes\" pending=\"{}\" retained=\"{}\" skipped=\"{}\"",
+                pending.size(),
+                writes.size(),
+                skipped);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Accepts a write. It is on disk when this returns.
+     *
+     * @param employee the employee to create.
+     * @return the pending write.
+     */
+    public synchronized EmployeeWriteDTO submit(EmployeeDTO employee) {
+        Instant now = clock.instant();
+        expireFinished(now);
+        EmployeeWriteDTO write = new EmployeeWriteDTO(
+                UUID.randomUUID().toString(), EmployeeWriteDTO.Status.PENDING, employee, now, now, 0, null);
+        record(write);
+        pending.add(write.id());
+        return write;
+    }
+
+    public synchronized Optional<EmployeeWriteDTO> find(String id) {
+        return Optional.ofNullable(writes.get(id));
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @param max the maximum number of writes to return.
+     * @return the oldest pending writes, which stay pending until completed or failed.
+     */
+    public synchronized List<EmployeeWriteDTO> nextBatch(int max) {
+        return pending.stream().limit(max).map(writes::get).toList();
+    }
+
+    public synchronized void complete(String id, EmployeeDTO created) {
+        EmployeeWriteDTO write = writes.get(id);
+        record(new EmployeeWriteDTO(
+                id,
+                EmployeeWriteDTO.Status.COMPLETED,
+                created != null ? created : write.employee(),
+                write.acceptedAt(),
+                clock.instant(),
+                write.attempts(),
+                null));
+        pending.remove(id);
+    }
+
+    public synchronized void fail(String id, String error) {
+        EmployeeWriteDTO write = writes.get(id);
+        record(new EmployeeWriteDTO(
+                id,
+                EmployeeWriteDTO.Status.FAILED,
+                write.employee(),
+                write.acceptedAt(),
+                clock.instant(),
+                write.attempts(),
+                error));
+        pending.remove(id);
+    }
+
+    /**
+     * Records a retryable failure; the write stays at the head of the queue until it has failed too often.
+     *
+     * @param id the write.
+     * @param error why the attempt failed.
+     * @param maxAttempts the number of failed attempts after which the write fails.
+     */
+    public synchronized void retry(String id, String error, int maxAttempts) {
+        EmployeeWriteDTO write = writes.get(id);
+        int attempts = write.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            fail(id, error);
+            return;
+        }
+        record(new EmployeeWriteDTO(
+                id, write.status(), write.employee(), write.acceptedAt(), clock.instant(), attempts, error));
+    }
+
+    private void expireFinished(Instant now) {
+        Instant expiry = now.minus(retention);
+        Iterator<EmployeeWriteDTO> iterator = writes.values().iterator();
+        while (iterator.hasNext()) {
+            EmployeeWriteDTO oldest = iterator.next();
+            if (oldest.status() == EmployeeWriteDTO.Status.PENDING || !oldest.updatedAt().isBefore(expiry)) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    private void record(EmployeeWriteDTO write) {
+        try {
+            writes.put(write.id(), write);
+            append(write);
+            channel.force(false);
+            if (journalEntries > 2 * writes.size() + 1000) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal employee write " + write.id(), e);
+        }
+    }
+
+    private void append(EmployeeWriteDTO write) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(write) + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        journalEntries++;
+    }
+
+    private void compact() throws IOException {
+        Instant expiry = clock.instant().minus(retention);
+        writes.values()
+                .removeIf(write ->
+                        write.status() != EmployeeWriteDTO.Status.PENDING && write.updatedAt().isBefore(expiry));
+        close();
+        Path directory = journal.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, journal.getFileName().toString(), ".tmp");
+        channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        journalEntries = 0;
+        for (EmployeeWriteDTO write : writes.values()) {
+            append(write);
+        }
+        channel.force(true);
+        channel.close();
+        Files.move(temporary, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,168 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.IdempotencyKeyReusedException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates employees at most once per {@code Idempotency-Key}, so a client retrying a create after a timeout gets the
+ * employee its first attempt created rather than another one. A retry arriving while the first attempt is still in
+ * flight waits for it instead of sending its own.
+ * <p>
+ * Results are kept for the configured time to live and at most {@code max-entries} keys, oldest evicted first. Keys
+ * whose create is still in flight are never evicted. Failed attempts are not kept, so their retries run again. A key
+ * is bound to a hash of the request it was first used with; reusing it for a different employee is rejected.
+ */
+@Component
+public class IdempotentEmployeeCreator {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotentEmployeeCreator.class);
+
+    private final EmployeeService employeeService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Clock clock;
+
+    private final int maxEntries;
+
+    private final Duration timeToLive;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotentEmployeeCreator(
+            EmployeeService employeeService,
+            ObjectMapper objectMapper,
+            Clock clock,
+            @Value("${employee.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${employee.idempotency.ttl-ms:86400000}") long timeToLiveMillis) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.timeToLive = Duration.ofMillis(timeToLiveMillis);
+    }
+
+    /**
+     * Creates the employee, unless the key was already used for the same employee, in which case the result of that
+     * create is returned once it is complete.
+     *
+     * @param idempotencyKey the client's key for this create.
+     * @param employeeDTO the employee to create.
+     * @return the created employee, as from {@link EmployeeService#create(EmployeeDTO)}.
+     * @throws IdempotencyKeyReusedException if the key was used for a different employee.
+     */
+    public Optional<EmployeeDTO> create(String idempotencyKey, EmployeeDTO employeeDTO) {
+        String requestHash = hash(employeeDTO);
+        Entry entry;
+        boolean first = false;
+        synchronized (this) {
+            Instant now = clock.instant();
+            expire(now);
+            entry = entries.get(idempotencyKey);
+            if (entry == null) {
+                entry = new Entry(requestHash, new CompletableFuture<>(), now);
+                entries.put(idempotencyKey, entry);
+                evictOverflow();
+                first = true;
+            } else if (!entry.requestHash().equals(requestHash)) {
+                throw new IdempotencyKeyReusedException(idempotencyKey);
+            }
+        }
+        if (first) {
+            return createFirst(idempotencyKey, employeeDTO, entry);
+        }
+        log.debug("\"Replaying idempotent create\" idempotencyKey=\"{}\"", idempotencyKey);
+        try {
+            return entry.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Optional<EmployeeDTO> createFirst(String idempotencyKey, EmployeeDTO employeeDTO, Entry entry) {
+        try {
+            Optional<EmployeeDTO> created = employeeService.create(employeeDTO);
+            entry.result().complete(created);
+            return created;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                entries.remove(idempotencyKey, entry);
+            }
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /*
+     * Entries are in insertion order, which is also creation order, so expired ones are at the head. Entries still in
+     * flight are kept, as are the callers waiting on them, until their create completes.
+     */
+    private void expire(Instant now) {
+        Instant cutoff = now.minus(timeToLive);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!entry.created().isBefore(cutoff)) {
+                return;
+            }
+            if (entry.result().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /*
+     * Evicting an entry in flight would let a retry of it create the employee again, so only completed entries are
+     * evicted, and the map may briefly hold more than the maximum while that many creates are in flight.
+     */
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            if (iterator.next().result().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private String hash(EmployeeDTO employeeDTO) {
+        try {
+            byte[] json = objectMapper.writeValueAsString(employeeDTO).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash employee request", e);
+        }
+    }
+
+    /**
+     * @param requestHash the hash of the request the key was first used with.
+     * @param result the outcome of the first create, pending while it is in flight.
+     * @param created when the key was first used.
+     */
+    private record Entry(String requestHash, CompletableFuture<Optional<EmployeeDTO>> result, Instant created) {}
+}
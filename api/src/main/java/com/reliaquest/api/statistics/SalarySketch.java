@@ -0,0 +1,132 @@
+package com.reliaquest.api.statistics;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch over positive salaries, after DDSketch: values are counted in logarithmically sized
+ * buckets, so any quantile is reported within {@link #RELATIVE_ACCURACY} of the true value. Buckets cover the whole
+ * {@code int} range, so the sketch has a fixed size and every operation costs the same however many salaries it holds.
+ * <p>
+ * Counts can be decremented as well as incremented, which lets the sketch follow deletes. Instances are mutable and
+ * not thread safe; {@link SalaryStatistics} only publishes copies.
+ */
+public final class SalarySketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private static final int BUCKETS = index(Integer.MAX_VALUE) + 1;
+
+    private final long[] counts;
+
+    private long zeroCount;
+
+    private long count;
+
+    public SalarySketch() {
+        this.counts = new long[BUCKETS];
+    }
+
+    private SalarySketch(SalarySketch other) {
+        this.counts = Arrays.copyOf(other.counts, BUCKETS);
+        this.zeroCount = other.zeroCount;
+        this.count = other.count;
+    }
+
+    public SalarySketch copy() {
+        return new SalarySketch(this);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public void add(int salary) {
+        update(salary, 1);
+    }
+
+    /**
+     * Removes a salary previously {@link #add added}.
+     */
+    public void remove(int salary) {
+        update(salary, -1);
+    }
+
+    /**
+     * Adds every salary counted by another sketch.
+     */
+    public void merge(SalarySketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * @param quantile between 0 and 1.
+     * @return an estimate of the salary at the given quantile, or {@link Double#NaN} if the sketch is empty.
+     */
+    public double quantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return value(i);
+            }
+        }
+        return value(BUCKETS - 1);
+    }
+
+    /**
+     * Counts salaries per range of equal width. Each bucket of the sketch is attributed to the range holding its
+     * representative value, so counts near range boundaries are as accurate as the sketch.
+     *
+     * @param lower the lower bound of the first range, inclusive.
+     * @param upper the upper bound of the last range, inclusive.
+     * @param ranges the number of ranges.
+     * @return the count of each range.
+     */
+    public long[] histogram(int lower, int upper, int ranges) {
+        long[] histogram = new long[ranges];
+        double width = Math.max(1, ((double) upper - lower + 1) / ranges);
+        histogram[range(0, lower, width, ranges)] += zeroCount;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                histogram[range(value(i), lower, width, ranges)] += counts[i];
+            }
+        }
+        return histogram;
+    }
+
+    private void update(int salary, int delta) {
+        if (salary <= 0) {
+            zeroCount += delta;
+        } else {
+            counts[index(salary)] += delta;
+        }
+        count += delta;
+    }
+
+    private static int range(double value, int lower, double width, int ranges) {
+        return (int) Math.max(0, Math.min(ranges - 1, Math.floor((value - lower) / width)));
+    }
+
+    private static int index(int salary) {
+        return (int) Math.ceil(Math.log(salary) / LOG_GAMMA);
+    }
+
+    private static double value(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+}
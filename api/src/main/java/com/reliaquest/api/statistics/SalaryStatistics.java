@@ -0,0 +1,134 @@
+package com.reliaquest.api.statistics;
+
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Running salary aggregates and a {@link SalarySketch}, kept alongside each employee snapshot. Instances are
+ * immutable; {@link #apply} derives the statistics of the next snapshot from the salaries that changed, so reading them
+ * never depends on the number of employees.
+ */
+public final class SalaryStatistics {
+
+    private final long count;
+
+    private final long sum;
+
+    private final int min;
+
+    private final int max;
+
+    private final SalarySketch sketch;
+
+    private SalaryStatistics(long count, long sum, int min, int max, SalarySketch sketch) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.sketch = sketch;
+    }
+
+    public static SalaryStatistics of(IntStream salaries) {
+        IntSummaryStatistics summary = new IntSummaryStatistics();
+        SalarySketch sketch = new SalarySketch();
+        salaries.forEach(salary -> {
+            summary.accept(salary);
+            sketch.add(salary);
+        });
+        return new SalaryStatistics(summary.getCount(), summary.getSum(), summary.getMin(), summary.getMax(), sketch);
+    }
+
+    /**
+     * Derives the statistics after some salaries were removed and others added.
+     *
+     * @param removed salaries that are no longer present.
+     * @param added salaries that are now present.
+     * @param remaining every salary after the change; only read when the minimum or maximum was removed.
+     * @return the updated statistics.
+     */
+    public SalaryStatistics apply(int[] removed, int[] added, Supplier<IntStream> remaining) {
+        SalarySketch nextSketch = sketch.copy();
+        long nextCount = count + added.length - removed.length;
+        long nextSum = sum;
+        int nextMin = min;
+        int nextMax = max;
+        for (int salary : added) {
+            nextSketch.add(salary);
+            nextSum += salary;
+            nextMin = Math.min(nextMin, salary);
+            nextMax = Math.max(nextMax, salary);
+        }
+        boolean extremumRemoved = false;
+        for (int salary : removed) {
+            nextSketch.remove(salary);
+            nextSum -= salary;
+            extremumRemoved |= salary == nextMin || salary == nextMax;
+        }
+        if (extremumRemoved) {
+            IntSummaryStatistics summary = remaining.get().summaryStatistics();
+            nextMin = summary.getMin();
+            nextMax = summary.getMax();
+        }
+        return new SalaryStatistics(nextCount, nextSum, nextMin, nextMax, nextSketch);
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public int min() {
+        return min;
+    }
+
+    public int max() {
+        return max;
+    }
+
+    public double mean() {
+        return isEmpty() ? Double.NaN : (double) sum / count;
+    }
+
+    /**
+     * @param quantile between 0 and 1.
+     * @return the estimated salary at the given quantile, within the observed minimum and maximum.
+     */
+    public int quantile(double quantile) {
+        return (int) Math.max(min, Math.min(max, Math.round(sketch.quantile(quantile))));
+    }
+
+    /**
+     * Splits the observed salary range into ranges of equal width.
+     *
+     * @param ranges the maximum number of ranges.
+     * @return the ranges, lowest first, or none if there are no salaries.
+     */
+    public List<Range> histogram(int ranges) {
+        if (isEmpty()) {
+            return List.of();
+        }
+        int size = (int) Math.min(ranges, (long) max - min + 1);
+        long[] counts = sketch.histogram(min, max, size);
+        double width = ((double) max - min + 1) / size;
+        List<Range> histogram = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int lower = (int) (min + Math.floor(i * width));
+            int upper = i == size - 1 ? max : (int) (min + Math.floor((i + 1) * width)) - 1;
+            histogram.add(new Range(lower, upper, counts[i]));
+        }
+        return histogram;
+    }
+
+    /**
+     * @param lower the lowest salary of the range, inclusive.
+     * @param upper the highest salary of the range, inclusive.
+     * @param count the estimated number of salaries within the range.
+     */
+    public record Range(int lower, int upper, long count) {}
+}
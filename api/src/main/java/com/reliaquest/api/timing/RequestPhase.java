@@ -0,0 +1,43 @@
+package com.reliaquest.api.timing;
+
+import java.util.Locale;
+
+/**
+ * The parts of the request path timed by {@link RequestTiming}.
+ */
+public enum RequestPhase {
+
+    /**
+     * Sending an upstream request until its response headers arrive.
+     */
+    UPSTREAM,
+
+    /**
+     * Reading and decoding an upstream response body.
+     */
+    DECODE,
+
+    /**
+     * Mapping between upstream, cached and response models with {@link com.reliaquest.api.util.EmployeeTransformer}.
+     */
+    TRANSFORM,
+
+    /**
+     * Ordering employees, e.g. to find the top earners.
+     */
+    SORT,
+
+    /**
+     * Writing the response body.
+     */
+    SERIALIZE;
+
+    private final String metricName = name().toLowerCase(Locale.ROOT);
+
+    /**
+     * @return the name used for the phase in the Server-Timing header.
+     */
+    public String metricName() {
+        return metricName;
+    }
+}
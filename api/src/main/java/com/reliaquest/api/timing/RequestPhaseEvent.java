@@ -0,0 +1,29 @@
+package com.reliaquest.api.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one {@link RequestPhase} of a request, spanning the time the phase took. Recorded while
+ * any recording is running, e.g. one started with {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start}.
+ */
+@Name("com.reliaquest.api.RequestPhase")
+@Label("Request Phase")
+@Category({"Employee API", "Requests"})
+@Description("A timed phase of an api request")
+@StackTrace(false)
+class RequestPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+}
@@ -0,0 +1,179 @@
+package com.reliaquest.api.timing;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Phase timings of the request handled by the current thread. The {@link ServerTimingFilter} opens one per request
+ * while the Server-Timing header or {@link RequestPhaseEvent}s are enabled; code on the request path marks its
+ * phases with {@link #start(RequestPhase)} or {@link #time(RequestPhase, Supplier)}.
+ * <p>
+ * Without an open timing, marking a phase costs a thread local lookup. Work handed to other threads, such as the
+ * calls of a sharded upstream, is not timed.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private static final Phase UNTIMED = new Phase(null, null, 0, null);
+
+    private final String method;
+
+    private final String path;
+
+    private final boolean recordEvents;
+
+    private final long startNanos = System.nanoTime();
+
+    private final long[] phaseNanos = new long[RequestPhase.values().length];
+
+    private final int[] phaseCounts = new int[RequestPhase.values().length];
+
+    private Phase untilEnd;
+
+    private long totalNanos;
+
+    private RequestTiming(String method, String path, boolean recordEvents) {
+        this.method = method;
+        this.path = path;
+        this.recordEvents = recordEvents;
+    }
+
+    /**
+     * Opens the timing of a request on the current thread, to be ended with {@link #end()} on the same thread.
+     *
+     * @param method the request method.
+     * @param path the request path.
+     * @param recordEvents whether to commit a {@link RequestPhaseEvent} per phase.
+     * @return the timing.
+     */
+    static RequestTiming begin(String method, String path, boolean recordEvents) {
+        RequestTiming timing = new RequestTiming(method, path, recordEvents);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Marks the start of a phase on the current thread.
+     *
+     * @param phase the phase.
+     * @return the phase, which ends when closed.
+     */
+    public static Phase start(RequestPhase phase) {
+        RequestTiming timing = CURRENT.get();
+        return timing == null ? UNTIMED : timing.startPhase(phase);
+    }
+
+    /**
+     * Times an action as a phase of the request on the current thread.
+     *
+     * @param phase the phase.
+     * @param action the work the phase consists of.
+     * @return the result of the action.
+     */
+    public static <T> T time(RequestPhase phase, Supplier<T> action) {
+        try (Phase ignored = start(phase)) {
+            return action.get();
+        }
+    }
+
+    /**
+     * Marks the start of a phase that lasts until the request ends, for phases whose end cannot be observed by the
+     * code starting them, such as writing the response body.
+     *
+     * @param phase the phase.
+     */
+    public static void startUntilEnd(RequestPhase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.untilEnd == null) {
+            timing.untilEnd = timing.startPhase(phase);
+        }
+    }
+
+    /**
+     * Ends the request: closes a phase started by {@link #startUntilEnd(RequestPhase)} and detaches the timing from
+     * the current thread.
+     */
+    void end() {
+        if (untilEnd != null) {
+            untilEnd.close();
+            untilEnd = null;
+        }
+        totalNanos = System.nanoTime() - startNanos;
+        CURRENT.remove();
+    }
+
+    /**
+     * @param phase a phase.
+     * @return the time spent in the phase so far, summed over all its occurrences.
+     */
+    long nanos(RequestPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return the Server-Timing header value: each phase that occurred, then the total, in milliseconds.
+     */
+    String serverTiming() {
+        StringJoiner header = new StringJoiner(", ");
+        for (RequestPhase phase : RequestPhase.values()) {
+            if (phaseCounts[phase.ordinal()] > 0) {
+                header.add(metric(phase.metricName(), phaseNanos[phase.ordinal()]));
+            }
+        }
+        return header.add(metric("total", totalNanos)).toString();
+    }
+
+    private Phase startPhase(RequestPhase phase) {
+        RequestPhaseEvent event = null;
+        if (recordEvents) {
+            event = new RequestPhaseEvent();
+            event.begin();
+        }
+        return new Phase(this, phase, System.nanoTime(), event);
+    }
+
+    private void record(RequestPhase phase, long nanos, RequestPhaseEvent event) {
+        phaseNanos[phase.ordinal()] += nanos;
+        phaseCounts[phase.ordinal()]++;
+        if (event != null && event.shouldCommit()) {
+            event.phase = phase.metricName();
+            event.method = method;
+            event.path = path;
+            event.commit();
+        }
+    }
+
+    private static String metric(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.3f", name, nanos / 1_000_000.0);
+    }
+
+    /**
+     * A started phase. Closing it records the time since it started.
+     */
+    public static final class Phase implements AutoCloseable {
+
+        private final RequestTiming timing;
+
+        private final RequestPhase phase;
+
+        private final long startNanos;
+
+        private final RequestPhaseEvent event;
+
+        private Phase(RequestTiming timing, RequestPhase phase, long startNanos, RequestPhaseEvent event) {
+            this.timing = timing;
+            this.phase = phase;
+            this.startNanos = startNanos;
+            this.event = event;
+        }
+
+        @Override
+        public void close() {
+            if (timing != null) {
+                timing.record(phase, System.nanoTime() - startNanos, event);
+            }
+        }
+    }
+}
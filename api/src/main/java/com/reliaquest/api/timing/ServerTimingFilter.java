@@ -0,0 +1,58 @@
+package com.reliaquest.api.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import jdk.jfr.EventType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Times the phases of each request with a {@link RequestTiming}, reported as a Server-Timing header when
+ * {@code serverTimingHeader} is set and as {@link RequestPhaseEvent}s while Flight Recorder is recording them. With
+ * neither, requests pass through untimed.
+ * <p>
+ * Headers cannot follow the body, so for the header to include the time spent writing the body, responses are
+ * buffered while it is enabled.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private static final EventType PHASE_EVENT_TYPE = EventType.getEventType(RequestPhaseEvent.class);
+
+    private final boolean serverTimingHeader;
+
+    public ServerTimingFilter(boolean serverTimingHeader) {
+        this.serverTimingHeader = serverTimingHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean recordEvents = PHASE_EVENT_TYPE.isEnabled();
+        if (!serverTimingHeader && !recordEvents) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RequestTiming timing = RequestTiming.begin(request.getMethod(), request.getRequestURI(), recordEvents);
+        if (!serverTimingHeader) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                timing.end();
+            }
+            return;
+        }
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            timing.end();
+        }
+        wrapper.setHeader(SERVER_TIMING, timing.serverTiming());
+        wrapper.copyBodyToResponse();
+    }
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.api.timing;
+
+import feign.Response;
+import feign.codec.Decoder;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Feign {@link Decoder} timing the decoding of upstream responses as {@link RequestPhase#DECODE}. The body streams
+ * from the connection while it is decoded, so the phase includes receiving it.
+ */
+public class TimedDecoder implements Decoder {
+
+    private final Decoder delegate;
+
+    public TimedDecoder(Decoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        try (RequestTiming.Phase ignored = RequestTiming.start(RequestPhase.DECODE)) {
+            return delegate.decode(response, type);
+        }
+    }
+}
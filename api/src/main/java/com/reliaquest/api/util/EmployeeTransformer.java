@@ -1,8 +1,14 @@
 package com.reliaquest.api.util;
 
 import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.MockEmployeeChangeDTO;
 import com.reliaquest.api.dto.MockEmployeeDTO;
+import com.reliaquest.api.dto.SalaryRangeDTO;
+import com.reliaquest.api.dto.SalaryStatisticsDTO;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeFields;
+import com.reliaquest.api.statistics.SalaryStatistics;
 
 public class EmployeeTransformer {
 
@@ -38,6 +44,22 @@ public class EmployeeTransformer {
                 employee.getEmail());
     }
 
+    /**
+     * Copies only the selected fields, leaving the others {@code null}.
+     */
+    public static EmployeeDTO toEmployeeDTO(Employee employee, EmployeeFields fields) {
+        if (fields.isAll()) {
+            return toEmployeeDTO(employee);
+        }
+        return new EmployeeDTO(
+                fields.contains(EmployeeFields.Field.ID) ? employee.getId() : null,
+                fields.contains(EmployeeFields.Field.NAME) ? employee.getName() : null,
+                fields.contains(EmployeeFields.Field.SALARY) ? employee.getSalary() : null,
+                fields.contains(EmployeeFields.Field.AGE) ? employee.getAge() : null,
+                fields.contains(EmployeeFields.Field.TITLE) ? employee.getTitle() : null,
+                fields.contains(EmployeeFields.Field.EMAIL) ? employee.getEmail() : null);
+    }
+
     public static MockEmployeeDTO toMockEmployeeDTO(Employee employee) {
         return new MockEmployeeDTO(
                 employee.getId(),
@@ -47,4 +69,25 @@ public class EmployeeTransformer {
                 employee.getTitle(),
                 employee.getEmail());
     }
+
+    public static EmployeeChange toEmployeeChange(MockEmployeeChangeDTO mockEmployeeChangeDTO) {
+        return new EmployeeChange(
+                mockEmployeeChangeDTO.version(),
+                EmployeeChange.Type.valueOf(mockEmployeeChangeDTO.type()),
+                toEmployee(mockEmployeeChangeDTO.employee()));
+    }
+
+    public static SalaryStatisticsDTO toSalaryStatisticsDTO(SalaryStatistics salaryStatistics, int histogramRanges) {
+        return new SalaryStatisticsDTO(
+                salaryStatistics.count(),
+                salaryStatistics.min(),
+                salaryStatistics.max(),
+                salaryStatistics.mean(),
+                salaryStatistics.quantile(0.5),
+                salaryStatistics.quantile(0.9),
+                salaryStatistics.quantile(0.99),
+                salaryStatistics.histogram(histogramRanges).stream()
+                        .map(range -> new SalaryRangeDTO(range.lower(), range.upper(), range.count()))
+                        .toList());
+    }
 }
@@ -0,0 +1,33 @@
+package com.reliaquest.api.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Reads a UUID into its canonical string form. Binary formats such as Smile carry UUIDs as 16 raw bytes rather than
+ * text; those are converted back here, and any other token is read as a plain string.
+ */
+public class UuidStringDeserializer extends StdScalarDeserializer<String> {
+
+    private static final int UUID_BYTES = 16;
+
+    public UuidStringDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT
+                && parser.getEmbeddedObject() instanceof byte[] bytes
+                && bytes.length == UUID_BYTES) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong()).toString();
+        }
+        return parser.getValueAsString();
+    }
+}
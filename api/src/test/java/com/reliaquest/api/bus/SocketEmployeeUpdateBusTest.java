@@ -0,0 +1,76 @@
+package com.reliaquest.api.bus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeUpdateDTO;
+import com.reliaquest.api.dto.MockEmployeeChangeDTO;
+import com.reliaquest.api.dto.MockEmployeeDTO;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SocketEmployeeUpdateBusTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BlockingQueue<EmployeeUpdateDTO> received = new ArrayBlockingQueue<>(10);
+
+    private SocketEmployeeUpdateBus sender;
+
+    private SocketEmployeeUpdateBus receiver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        receiver = new SocketEmployeeUpdateBus(objectMapper, new InetSocketAddress("localhost", 0), List.of());
+        receiver.start();
+        receiver.subscribe(received::add);
+        sender = new SocketEmployeeUpdateBus(
+                objectMapper, new InetSocketAddress("localhost", 0), List.of(receiver.localAddress()));
+        sender.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sender.close();
+        receiver.close();
+    }
+
+    @Test
+    void testPublish_deliversToPeers() throws InterruptedException {
+        EmployeeUpdateDTO update = new EmployeeUpdateDTO(
+                        null, 1L, 2L, List.of(new MockEmployeeChangeDTO(2L, "CREATED", employee("a"))), 0)
+                .stamped("sender", 1234L);
+
+        sender.publish(update);
+
+        assertEquals(update, received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testPublish_oversizedUpdateIsSentWithoutChanges() throws InterruptedException {
+        List<MockEmployeeChangeDTO> changes =
+                Collections.nCopies(1_000, new MockEmployeeChangeDTO(2L, "CREATED", employee("a")));
+        EmployeeUpdateDTO update = new EmployeeUpdateDTO("sender", 1L, 2L, changes, 0);
+
+        sender.publish(update);
+
+        EmployeeUpdateDTO delivered = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(delivered);
+        assertEquals(2L, delivered.baseVersion());
+        assertEquals(2L, delivered.version());
+        assertTrue(delivered.changes().isEmpty());
+    }
+
+    private static MockEmployeeDTO employee(String id) {
+        return new MockEmployeeDTO(
+                id, "Employee " + id, 100, 30, "A rather long title to make the datagram grow", id + "@company.com");
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeSnapshotFileTest {
+
+    private static final String ID = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testWriteAndRead_roundTrip() throws IOException {
+        Path path = directory.resolve("employees.snapshot");
+        Employee complete = employee(ID, "Zo\u00eb Nixon", 320800, 61, "Chief", "znixon@company.com");
+        Employee partial = employee("5255f1a5", "Bill Bob", null, null, null, null);
+
+        EmployeeSnapshotFile.write(path, HeapEmployeeSnapshot.of(42L, List.of(complete, partial)));
+        EmployeeSnapshot result = EmployeeSnapshotFile.read(path);
+
+        assertEquals(42L, result.version());
+        assertEquals(List.of(complete, partial), result.stream().toList());
+    }
+
+    @Test
+    void testWrite_replacesExistingFile() throws IOException {
+        Path path = directory.resolve("employees.snapshot");
+        EmployeeSnapshotFile.write(path, HeapEmployeeSnapshot.of(1L, List.of(employee("a", "A", 1, 20, "t", "e"))));
+
+        EmployeeSnapshotFile.write(path, HeapEmployeeSnapshot.of(2L, List.of()));
+
+        EmployeeSnapshot result = EmployeeSnapshotFile.read(path);
+        assertEquals(2L, result.version());
+        assertEquals(0, result.size());
+    }
+
+    @Test
+    void testRead_rejectsOtherFiles() throws IOException {
+        Path path = Files.writeString(directory.resolve("employees.snapshot"), "not a snapshot, but long enough");
+
+        assertThrows(IOException.class, () -> EmployeeSnapshotFile.read(path));
+    }
+
+    private static Employee employee(String id, String name, Integer salary, Integer age, String title, String email) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setSalary(salary);
+        employee.setAge(age);
+        employee.setTitle(title);
+        employee.setEmail(email);
+        return employee;
+    }
+}
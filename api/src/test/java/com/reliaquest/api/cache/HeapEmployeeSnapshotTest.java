@@ -0,0 +1,80 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class HeapEmployeeSnapshotTest {
+
+    @Test
+    void testApply_oneChangeAtATimeMatchesRebuiltSnapshot() {
+        Random random = new Random(11);
+        Map<String, Employee> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            Employee employee = employee(Integer.toString(i), "Employee " + i, salary(random));
+            expected.put(employee.getId(), employee);
+        }
+        EmployeeSnapshot snapshot = HeapEmployeeSnapshot.of(0L, new ArrayList<>(expected.values()));
+
+        for (long version = 1; version <= 2000; version++) {
+            Employee employee = employee(Integer.toString(random.nextInt(600)), "Name " + version, salary(random));
+            boolean delete = random.nextInt(3) == 0;
+            if (delete) {
+                expected.remove(employee.getId());
+            } else {
+                expected.put(employee.getId(), employee);
+            }
+            EmployeeChange.Type type = delete ? EmployeeChange.Type.DELETED : EmployeeChange.Type.CREATED;
+            snapshot = snapshot.apply(version, List.of(new EmployeeChange(version, type, employee)));
+
+            if (version % 100 == 0) {
+                EmployeeSnapshot rebuilt = HeapEmployeeSnapshot.of(version, new ArrayList<>(expected.values()));
+                assertEquals(rebuilt.size(), snapshot.size());
+                assertEquals(rebuilt.stream().toList(), snapshot.stream().toList());
+                assertEquals(
+                        rebuilt.stream().toList(),
+                        IntStream.range(0, snapshot.size())
+                                .mapToObj(snapshot.byPosition())
+                                .toList());
+                assertEquals(Optional.ofNullable(expected.get(employee.getId())), snapshot.findById(employee.getId()));
+                assertEquals(rebuilt.highestSalary(), snapshot.highestSalary());
+                assertEquals(
+                        expected.values().stream()
+                                .filter(row -> row.getSalary() != null)
+                                .sorted(Comparator.comparingInt(Employee::getSalary)
+                                        .reversed())
+                                .limit(20)
+                                .map(Employee::getName)
+                                .toList(),
+                        snapshot.topEarnerNames(20));
+                assertEquals(rebuilt.searchByName("name 1"), snapshot.searchByName("name 1"));
+                assertEquals(rebuilt.salaryStatistics().count(), snapshot.salaryStatistics().count());
+                assertEquals(rebuilt.salaryStatistics().min(), snapshot.salaryStatistics().min());
+                assertEquals(rebuilt.encode(), snapshot.encode());
+            }
+        }
+    }
+
+    private static Integer salary(Random random) {
+        return random.nextInt(10) == 0 ? null : random.nextInt(100, 200);
+    }
+
+    private static Employee employee(String id, String name, Integer salary) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setSalary(salary);
+        employee.setAge(30);
+        return employee;
+    }
+}
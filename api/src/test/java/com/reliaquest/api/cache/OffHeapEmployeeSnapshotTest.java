@@ -0,0 +1,173 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OffHeapEmployeeSnapshotTest {
+
+    private static final Employee EMPLOYEE_A = employee("a", "Zo\u00eb Nixon", 320800, 61);
+
+    private static final Employee EMPLOYEE_B = employee("b", "Bill Bob", 89750, 24);
+
+    private static final Employee EMPLOYEE_C = employee("c", "Jill Jenkins", 139082, 48);
+
+    private static final Employee EMPLOYEE_D = employee("d", "Nobody Paid", null, null);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testAggregations_matchHeapSnapshot() {
+        List<Employee> employees = List.of(EMPLOYEE_A, EMPLOYEE_B, EMPLOYEE_C, EMPLOYEE_D);
+        EmployeeSnapshot heap = HeapEmployeeSnapshot.of(7L, employees);
+        EmployeeSnapshot offHeap = OffHeapEmployeeSnapshot.of(7L, employees);
+
+        assertEquals(heap.version(), offHeap.version());
+        assertEquals(heap.size(), offHeap.size());
+        assertEquals(heap.highestSalary(), offHeap.highestSalary());
+        assertEquals(heap.topEarnerNames(2), offHeap.topEarnerNames(2));
+        assertEquals(heap.topEarnerNames(10), offHeap.topEarnerNames(10));
+        assertEquals(heap.searchByName("ill"), offHeap.searchByName("ill"));
+        assertEquals(heap.stream().toList(), offHeap.stream().toList());
+    }
+
+    @Test
+    void testFindById() {
+        EmployeeSnapshot snapshot = OffHeapEmployeeSnapshot.of(7L, List.of(EMPLOYEE_A, EMPLOYEE_B));
+
+        assertEquals(Optional.of(EMPLOYEE_B), snapshot.findById("b"));
+        assertEquals(Optional.empty(), snapshot.findById("x"));
+    }
+
+    @Test
+    void testHighestSalary_emptyWithoutSalaries() {
+        EmployeeSnapshot snapshot = OffHeapEmployeeSnapshot.of(7L, List.of(EMPLOYEE_D));
+
+        assertEquals(Optional.empty(), snapshot.highestSalary());
+        assertEquals(List.of(), snapshot.topEarnerNames(10));
+    }
+
+    @Test
+    void testApply_createsAndDeletes() {
+        EmployeeSnapshot snapshot = OffHeapEmployeeSnapshot.of(10L, List.of(EMPLOYEE_A, EMPLOYEE_B));
+
+        EmployeeSnapshot result = snapshot.apply(
+                12L,
+                List.of(
+                        new EmployeeChange(11L, EmployeeChange.Type.CREATED, EMPLOYEE_C),
+                        new EmployeeChange(12L, EmployeeChange.Type.DELETED, EMPLOYEE_A)));
+
+        assertEquals(12L, result.version());
+        assertEquals(List.of(EMPLOYEE_B, EMPLOYEE_C), result.stream().toList());
+        assertEquals(Optional.of(EMPLOYEE_C), result.findById("c"));
+        assertEquals(Optional.empty(), result.findById("a"));
+        assertEquals(Optional.of(139082), result.highestSalary());
+        assertEquals(2, snapshot.size());
+    }
+
+    @Test
+    void testApply_oneChangeAtATimeMatchesHeapSnapshot() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            employees.add(employee(Integer.toString(i), "Employee " + i, salary(random), 30));
+        }
+        EmployeeSnapshot heap = HeapEmployeeSnapshot.of(0L, employees);
+        EmployeeSnapshot offHeap = OffHeapEmployeeSnapshot.of(0L, employees);
+
+        for (long version = 1; version <= 2000; version++) {
+            String id = Integer.toString(random.nextInt(600));
+            EmployeeChange.Type type =
+                    random.nextInt(3) == 0 ? EmployeeChange.Type.DELETED : EmployeeChange.Type.CREATED;
+            List<EmployeeChange> changes =
+                    List.of(new EmployeeChange(version, type, employee(id, "Name " + version, salary(random), 40)));
+            heap = heap.apply(version, changes);
+            offHeap = offHeap.apply(version, changes);
+
+            if (version % 250 == 0) {
+                assertEquals(heap.size(), offHeap.size());
+                assertEquals(heap.stream().toList(), offHeap.stream().toList());
+                assertEquals(
+                        offHeap.stream().toList(),
+                        IntStream.range(0, offHeap.size())
+                                .mapToObj(offHeap.byPosition())
+                                .toList());
+                assertEquals(heap.findById(id), offHeap.findById(id));
+                assertEquals(heap.highestSalary(), offHeap.highestSalary());
+                assertEquals(heap.topEarnerNames(20), offHeap.topEarnerNames(20));
+                assertEquals(heap.searchByName("name 1"), offHeap.searchByName("name 1"));
+                assertEquals(heap.salaryStatistics().min(), offHeap.salaryStatistics().min());
+                assertEquals(heap.salaryStatistics().count(), offHeap.salaryStatistics().count());
+                assertEquals(heap.stream().toList(), OffHeapEmployeeSnapshot.wrap(offHeap.encode()).stream().toList());
+            }
+        }
+    }
+
+    @Test
+    void testApply_compactsStringsOfReplacedEmployees() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            employees.add(employee(Integer.toString(i), "Employee " + i, 1000, 30));
+        }
+        int freshBytes = OffHeapEmployeeSnapshot.of(0L, employees).encode().capacity();
+        EmployeeSnapshot snapshot = OffHeapEmployeeSnapshot.of(0L, employees);
+
+        for (long version = 1; version <= 10; version++) {
+            long changeVersion = version;
+            snapshot = snapshot.apply(
+                    version,
+                    employees.stream()
+                            .map(employee -> new EmployeeChange(changeVersion, EmployeeChange.Type.CREATED, employee))
+                            .toList());
+
+            assertTrue(snapshot.encode().capacity() <= 2 * freshBytes);
+        }
+        assertEquals(employees, snapshot.stream().toList());
+    }
+
+    @Test
+    void testForEach_visitsRecordsInPlace() {
+        OffHeapEmployeeSnapshot snapshot = OffHeapEmployeeSnapshot.of(7L, List.of(EMPLOYEE_A, EMPLOYEE_D));
+        List<String> visited = new ArrayList<>();
+
+        snapshot.forEach(view -> visited.add(view.name() + ":" + view.salary()));
+
+        assertEquals(List.of("Zo\u00eb Nixon:320800", "Nobody Paid:" + EmployeeSnapshotFile.NULL_INT), visited);
+    }
+
+    @Test
+    void testLoad_servesMappedFile() throws IOException {
+        Path path = directory.resolve("employees.snapshot");
+        EmployeeSnapshotFile.write(path, OffHeapEmployeeSnapshot.of(42L, List.of(EMPLOYEE_A, EMPLOYEE_B)));
+
+        EmployeeSnapshot result = EmployeeStorage.OFF_HEAP.load(path);
+
+        assertInstanceOf(OffHeapEmployeeSnapshot.class, result);
+        assertEquals(42L, result.version());
+        assertEquals(Optional.of(EMPLOYEE_A), result.findById("a"));
+    }
+
+    private static Integer salary(Random random) {
+        return random.nextInt(10) == 0 ? null : random.nextInt(100, 200);
+    }
+
+    private static Employee employee(String id, String name, Integer salary, Integer age) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setSalary(salary);
+        employee.setAge(age);
+        return employee;
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class ResponseByteCacheTest {
+
+    private static final byte[] BODY = "[\"Alice\",\"Bob\"]".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testFind_storedResponseWithGzipCopy() throws IOException {
+        ResponseByteCache responseByteCache = new ResponseByteCache(1_000_000);
+        responseByteCache.store("topTen", 1, "application/json", BODY);
+
+        ResponseByteCache.CachedResponse cached = responseByteCache.find("topTen", 1).orElseThrow();
+
+        assertArrayEquals(BODY, cached.body());
+        assertArrayEquals(BODY, new GZIPInputStream(new ByteArrayInputStream(cached.gzipped())).readAllBytes());
+        assertEquals("application/json", cached.contentType());
+    }
+
+    @Test
+    void testFind_otherVersionMisses() {
+        ResponseByteCache responseByteCache = new ResponseByteCache(1_000_000);
+        responseByteCache.store("topTen", 1, "application/json", BODY);
+
+        assertTrue(responseByteCache.find("topTen", 2).isEmpty());
+        assertTrue(responseByteCache.find("topTen", 1).isEmpty());
+        assertEquals(0, responseByteCache.bytes());
+    }
+
+    @Test
+    void testStore_newVersionEvictsOlderResponses() {
+        ResponseByteCache responseByteCache = new ResponseByteCache(1_000_000);
+        responseByteCache.store("topTen", 1, "application/json", BODY);
+        long oneEntry = responseByteCache.bytes();
+
+        responseByteCache.store("all", 2, "application/json", BODY);
+
+        assertTrue(responseByteCache.find("topTen", 1).isEmpty());
+        assertTrue(responseByteCache.find("all", 2).isPresent());
+        assertEquals(oneEntry, responseByteCache.bytes());
+    }
+
+    @Test
+    void testStore_skipsResponsesOverByteLimit() {
+        ResponseByteCache responseByteCache = new ResponseByteCache(BODY.length);
+
+        responseByteCache.store("topTen", 1, "application/json", BODY);
+
+        assertTrue(responseByteCache.find("topTen", 1).isEmpty());
+        assertEquals(0, responseByteCache.bytes());
+    }
+}
@@ -0,0 +1,123 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.logging.RequestEventLog;
+import com.reliaquest.api.model.Employee;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "[\"Alice\",\"Bob\"]";
+
+    private final AtomicInteger served = new AtomicInteger();
+
+    private EmployeeCache employeeCache;
+
+    private ResponseCacheFilter responseCacheFilter;
+
+    @BeforeEach
+    void setUp() {
+        employeeCache = new EmployeeCache(EmployeeStorage.HEAP);
+        employeeCache.replace(1, List.of(employee("Alice")));
+        responseCacheFilter = new ResponseCacheFilter(
+                employeeCache, new ResponseByteCache(1_000_000), new RequestEventLog(16, "", 1.0, 60_000));
+    }
+
+    @Test
+    void testDoFilter_unchangedDataServedFromCache() throws Exception {
+        MockHttpServletResponse first = get(null);
+        MockHttpServletResponse second = get(null);
+
+        assertEquals(1, served.get());
+        assertEquals(BODY, first.getContentAsString());
+        assertEquals(BODY, second.getContentAsString());
+        assertEquals("application/json", second.getContentType());
+    }
+
+    @Test
+    void testDoFilter_gzipWhenAccepted() throws Exception {
+        get(null);
+
+        MockHttpServletResponse response = get("gzip, deflate");
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())).readAllBytes();
+        assertEquals(BODY, new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testDoFilter_changedDataServedAgain() throws Exception {
+        get(null);
+        employeeCache.replace(2, List.of(employee("Bob")));
+
+        get(null);
+
+        assertEquals(2, served.get());
+    }
+
+    @Test
+    void testDoFilter_notCachedBeforeCacheIsPopulated() throws Exception {
+        employeeCache = new EmployeeCache(EmployeeStorage.HEAP);
+        responseCacheFilter = new ResponseCacheFilter(
+                employeeCache, new ResponseByteCache(1_000_000), new RequestEventLog(16, "", 1.0, 60_000));
+
+        get(null);
+        get(null);
+
+        assertEquals(2, served.get());
+    }
+
+    @Test
+    void testDoFilter_requestsWithParametersNotCached() throws Exception {
+        get(null);
+
+        get(null, "fields=name");
+
+        assertEquals(2, served.get());
+    }
+
+    private MockHttpServletResponse get(String acceptEncoding) throws Exception {
+        return get(acceptEncoding, null);
+    }
+
+    private MockHttpServletResponse get(String acceptEncoding, String queryString) throws Exception {
+        MockHttpServletRequest request =
+                new MockHttpServletRequest("GET", "/api/v1/employee/topTenHighestEarningEmployeeNames");
+        request.setQueryString(queryString);
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseCacheFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                served.incrementAndGet();
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+
+    private static Employee employee(String name) {
+        Employee employee = new Employee();
+        employee.setId(name.toLowerCase());
+        employee.setName(name);
+        employee.setSalary(100);
+        return employee;
+    }
+}
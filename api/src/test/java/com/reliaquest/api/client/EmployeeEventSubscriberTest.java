@@ -0,0 +1,130 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeStorage;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeCacheRefresher;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class EmployeeEventSubscriberTest {
+
+    private static final String CREATED =
+            """
+            {"version":11,"type":"CREATED","employee":{"id":"b","employee_name":"B","employee_salary":200}}""";
+    private static final String DELETED =
+            """
+            {"version":12,"type":"DELETED","employee":{"id":"a","employee_name":"A"}}""";
+
+    @Mock
+    private EmployeeCacheRefresher employeeCacheRefresher;
+
+    private EmployeeCache employeeCache;
+
+    private UpstreamBudget upstreamBudget;
+
+    private HttpServer server;
+
+    private EmployeeEventSubscriber employeeEventSubscriber;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        employeeCache = new EmployeeCache(EmployeeStorage.HEAP);
+        Employee employee = new Employee();
+        employee.setId("a");
+        employee.setName("A");
+        employeeCache.replace(10L, List.of(employee));
+        upstreamBudget = new UpstreamBudget(
+                Clock.systemUTC(), new LocalUpstreamQuotaCoordinator(UpstreamQuota.initial(5, 30_000)), 120_000);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/employee/events", exchange -> {
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        });
+        server.start();
+        employeeEventSubscriber = new EmployeeEventSubscriber(
+                employeeCache,
+                employeeCacheRefresher,
+                new ObjectMapper(),
+                upstreamBudget,
+                new UpstreamScheduler(upstreamBudget, Clock.systemUTC(), 5, 2_000, 5, 2_000, 1, 2_000),
+                "http://localhost:" + server.getAddress().getPort(),
+                1000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testOnEvent_appliesChangesInOrder() {
+        employeeEventSubscriber.onEvent("CREATED", CREATED);
+        employeeEventSubscriber.onEvent("DELETED", DELETED);
+
+        assertEquals(12L, employeeCache.snapshot().orElseThrow().version());
+        assertTrue(employeeCache.snapshot().orElseThrow().findById("a").isEmpty());
+        assertEquals(200, employeeCache.snapshot().orElseThrow().findById("b").orElseThrow().getSalary());
+    }
+
+    @Test
+    void testOnEvent_gapInVersionsFails() {
+        assertThrows(IllegalStateException.class, () -> employeeEventSubscriber.onEvent("DELETED", DELETED));
+        assertEquals(10L, employeeCache.snapshot().orElseThrow().version());
+    }
+
+    @Test
+    void testOnEvent_resync() {
+        employeeEventSubscriber.onEvent(EmployeeEventSubscriber.RESYNC_EVENT, "5000");
+
+        verify(employeeCacheRefresher).resync();
+    }
+
+    @Test
+    void testEventReader_dispatchesOnBlankLine() {
+        List<String> received = new ArrayList<>();
+        EmployeeEventSubscriber.EventReader reader =
+                new EmployeeEventSubscriber.EventReader((event, data) -> received.add(event + "=" + data));
+
+        List.of(":comment", "id:11", "event:CREATED", "data:{\"a\":1}", "", "data: line1", "data: line2", "")
+                .forEach(reader::accept);
+
+        assertEquals(List.of("CREATED={\"a\":1}", "message=line1\nline2"), received);
+    }
+
+    @Test
+    void testStream_throttledConnectLocksOutBudget() {
+        assertThrows(IOException.class, () -> employeeEventSubscriber.stream(10L));
+
+        assertTrue(upstreamBudget.isLockedOut());
+        verify(employeeCacheRefresher, never()).pausePolling();
+    }
+
+    @Test
+    void testStream_lockedOutBudgetSkipsConnect() {
+        server.removeContext("/v1/employee/events");
+        server.createContext("/v1/employee/events", exchange -> {
+            throw new AssertionError("Connected while locked out");
+        });
+        upstreamBudget.tryAcquire();
+        upstreamBudget.onThrottled();
+
+        IOException e = assertThrows(IOException.class, () -> employeeEventSubscriber.stream(10L));
+
+        assertEquals("Upstream budget exhausted", e.getMessage());
+    }
+}
@@ -0,0 +1,99 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class Http2ClientTest {
+
+    private HttpServer server;
+
+    private Http2Client http2Client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body = (exchange.getRequestMethod() + " " + exchange.getRequestURI().getQuery() + " "
+                            + exchange.getRequestHeaders().getFirst("Accept") + " "
+                            + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("X-Echo", "yes");
+            exchange.sendResponseHeaders(201, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/gzip", exchange -> {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write("compressed".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                compressed.writeTo(out);
+            }
+        });
+        server.start();
+        http2Client = new Http2Client(Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testExecute_sendsMethodHeadersAndBody() throws IOException {
+        Request request = Request.create(
+                Request.HttpMethod.DELETE,
+                url("/echo?name=a"),
+                Map.of("Accept", List.of("application/json"), "Content-Length", List.of("4")),
+                "body".getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.UTF_8,
+                null);
+
+        Response response = http2Client.execute(request, new Request.Options());
+
+        assertEquals(201, response.status());
+        assertEquals(List.of("yes"), List.copyOf(response.headers().get("x-echo")));
+        assertEquals("DELETE name=a application/json body", read(response));
+    }
+
+    @Test
+    void testExecute_decompressesGzip() throws IOException {
+        Request request =
+                Request.create(Request.HttpMethod.GET, url("/gzip"), Map.of(), null, StandardCharsets.UTF_8, null);
+
+        Response response = http2Client.execute(request, new Request.Options());
+
+        assertEquals(200, response.status());
+        assertEquals("compressed", read(response));
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private static String read(Response response) throws IOException {
+        try (InputStream body = response.body().asInputStream()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileUpstreamQuotaCoordinatorTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedFileUpstreamQuotaCoordinator first;
+
+    private MappedFileUpstreamQuotaCoordinator second;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        first = new MappedFileUpstreamQuotaCoordinator(directory.resolve("quota"), UpstreamQuota.initial(5, 30_000));
+        second = new MappedFileUpstreamQuotaCoordinator(directory.resolve("quota"), UpstreamQuota.initial(9, 60_000));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void testRead_initializedByFirstInstance() {
+        assertEquals(UpstreamQuota.initial(5, 30_000), second.read());
+    }
+
+    @Test
+    void testUpdate_visibleToOtherInstance() {
+        first.update(quota -> new UpstreamQuota(7, true, 45_000, 3, 2, 100, 200, 0, 300));
+
+        assertEquals(new UpstreamQuota(7, true, 45_000, 3, 2, 100, 200, 0, 300), second.read());
+    }
+
+    @Test
+    void testUpdate_concurrentTransitionsAreNotLost() {
+        CompletableFuture<Void> a = CompletableFuture.runAsync(() -> increment(first, 10_000));
+        CompletableFuture<Void> b = CompletableFuture.runAsync(() -> increment(second, 10_000));
+        a.join();
+        b.join();
+
+        assertEquals(20_000, first.read().sent());
+    }
+
+    private static void increment(UpstreamQuotaCoordinator coordinator, int times) {
+        for (int i = 0; i < times; i++) {
+            coordinator.update(quota -> new UpstreamQuota(
+                    quota.limit(),
+                    quota.limitObserved(),
+                    quota.lockoutMillis(),
+                    quota.sent() + 1,
+                    quota.accepted(),
+                    quota.lastAcceptedMillis(),
+                    quota.lockedUntilMillis(),
+                    quota.lockoutEndedMillis(),
+                    quota.probeUntilMillis()));
+        }
+    }
+}
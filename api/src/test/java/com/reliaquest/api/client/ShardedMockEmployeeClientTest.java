@@ -0,0 +1,193 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.dto.*;
+import feign.FeignException;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class ShardedMockEmployeeClientTest {
+
+    @Mock
+    private MockEmployeeClient first;
+
+    @Mock
+    private MockEmployeeClient second;
+
+    private ShardedMockEmployeeClient shardedClient;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        shardedClient = new ShardedMockEmployeeClient(List.of(first, second));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardedClient.close();
+    }
+
+    @Test
+    void testGetTopMockEarners_mergesShardsAndDropsSalaryNotAskedFor() {
+        when(first.getTopMockEarners(3, "name,salary"))
+                .thenReturn(list(employee("a", 900), employee("b", 500), employee("c", 100)));
+        when(second.getTopMockEarners(3, "name,salary"))
+                .thenReturn(list(employee("d", 700), employee("e", 600), employee("f", 50)));
+
+        List<MockEmployeeDTO> result = shardedClient.getTopMockEarners(3, "name").data();
+
+        assertEquals(List.of("a", "d", "e"), result.stream().map(MockEmployeeDTO::name).toList());
+        assertTrue(result.stream().allMatch(employee -> employee.salary() == null));
+    }
+
+    @Test
+    void testQueryMockEmployees_sortedIsMergedAndLimited() {
+        when(first.queryMockEmployees(null, 100, null, null, null, "SALARY_ASC", 2, null))
+                .thenReturn(list(employee("a", 150), employee("b", 400)));
+        when(second.queryMockEmployees(null, 100, null, null, null, "SALARY_ASC", 2, null))
+                .thenReturn(list(employee("c", 200), employee("d", 300)));
+
+        List<MockEmployeeDTO> result = shardedClient
+                .queryMockEmployees(null, 100, null, null, null, "SALARY_ASC", 2, null)
+                .data();
+
+        assertEquals(List.of("a", "c"), result.stream().map(MockEmployeeDTO::name).toList());
+    }
+
+    @Test
+    void testGetAllMockEmployees_concatenatesShards() {
+        when(first.getAllMockEmployees()).thenReturn(list(employee("a", 1)));
+        when(second.getAllMockEmployees()).thenReturn(list(employee("b", 2), employee("c", 3)));
+
+        assertEquals(3, shardedClient.getAllMockEmployees().data().size());
+    }
+
+    @Test
+    void testGetMockEmployeeById_routedToOwningShard() {
+        String id = IntStream.range(0, 100)
+                .mapToObj(ignored -> UUID.randomUUID().toString())
+                .filter(candidate -> ShardedMockEmployeeClient.shardOf(candidate, 2) == 1)
+                .findFirst()
+                .orElseThrow();
+        MockEmployeeResponseDTO response = new MockEmployeeResponseDTO(null, employee("a", 1));
+        when(second.getMockEmployeeById(id)).thenReturn(response);
+
+        assertSame(response, shardedClient.getMockEmployeeById(id));
+        verifyNoInteractions(first);
+    }
+
+    @Test
+    void testGetHighestMockSalary_skipsEmptyShards() {
+        FeignException fe = FeignException.errorStatus(
+                "GET",
+                feign.Response.builder()
+                        .status(404)
+                        .reason("")
+                        .request(mock(feign.Request.class))
+                        .build());
+        when(first.getHighestMockSalary()).thenThrow(fe);
+        when(second.getHighestMockSalary()).thenReturn(new MockEmployeeSalaryResponseDTO(null, 300));
+
+        assertEquals(300, shardedClient.getHighestMockSalary().data());
+    }
+
+    @Test
+    void testDeleteMockEmployeeByName_stopsAtShardThatDeleted() {
+        MockEmployeeDeleteRequestDTO request = new MockEmployeeDeleteRequestDTO("a");
+        when(first.deleteMockEmployeeByName(request)).thenReturn(new MockEmployeeDeleteResponseDTO(null, true));
+
+        assertTrue(shardedClient.deleteMockEmployeeByName(request).data());
+        verifyNoInteractions(second);
+    }
+
+    @Test
+    void testGetMockEmployeeSnapshot_sumsVersions() {
+        when(first.getMockEmployeeSnapshot())
+                .thenReturn(new MockEmployeeSnapshotResponseDTO(
+                        null, new MockEmployeeSnapshotDTO(10, List.of(employee("a", 1)))));
+        when(second.getMockEmployeeSnapshot())
+                .thenReturn(new MockEmployeeSnapshotResponseDTO(
+                        null, new MockEmployeeSnapshotDTO(20, List.of(employee("b", 2)))));
+
+        MockEmployeeSnapshotDTO snapshot = shardedClient.getMockEmployeeSnapshot().data();
+
+        assertEquals(30, snapshot.version());
+        assertEquals(2, snapshot.employees().size());
+    }
+
+    @Test
+    void testGetMockEmployeeChanges_fetchesEachShardSinceItsVersion() {
+        snapshot(10, 20);
+        MockEmployeeChangeDTO created = new MockEmployeeChangeDTO(11, "CREATED", employee("a", 1));
+        MockEmployeeChangeDTO deleted = new MockEmployeeChangeDTO(21, "DELETED", employee("b", 2));
+        MockEmployeeChangeDTO recreated = new MockEmployeeChangeDTO(22, "CREATED", employee("c", 3));
+        when(first.getMockEmployeeChanges(10)).thenReturn(changes(11, created));
+        when(second.getMockEmployeeChanges(20)).thenReturn(changes(22, deleted, recreated));
+        when(first.getMockEmployeeChanges(11)).thenReturn(changes(11));
+        when(second.getMockEmployeeChanges(22)).thenReturn(changes(22));
+
+        MockEmployeeChangeSetDTO changeSet = shardedClient.getMockEmployeeChanges(30).data();
+
+        assertFalse(changeSet.resyncRequired());
+        assertEquals(33, changeSet.version());
+        assertEquals(
+                List.of(31L, 32L, 33L),
+                changeSet.changes().stream().map(MockEmployeeChangeDTO::version).toList());
+        assertEquals(
+                List.of("a", "b", "c"),
+                changeSet.changes().stream().map(change -> change.employee().name()).toList());
+        // The version handed out is remembered, so the next poll resumes from it.
+        MockEmployeeChangeSetDTO next = shardedClient.getMockEmployeeChanges(33).data();
+        assertFalse(next.resyncRequired());
+        assertEquals(33, next.version());
+        assertTrue(next.changes().isEmpty());
+    }
+
+    @Test
+    void testGetMockEmployeeChanges_resyncsUnknownVersionOrShard() {
+        assertTrue(shardedClient.getMockEmployeeChanges(30).data().resyncRequired());
+        verifyNoInteractions(first, second);
+
+        snapshot(10, 20);
+        when(first.getMockEmployeeChanges(10)).thenReturn(changes(10));
+        when(second.getMockEmployeeChanges(20))
+                .thenReturn(new MockEmployeeChangeSetResponseDTO(
+                        null, new MockEmployeeChangeSetDTO(25, true, List.of())));
+
+        MockEmployeeChangeSetDTO changeSet = shardedClient.getMockEmployeeChanges(30).data();
+
+        assertTrue(changeSet.resyncRequired());
+        assertEquals(35, changeSet.version());
+    }
+
+    private void snapshot(long firstVersion, long secondVersion) {
+        when(first.getMockEmployeeSnapshot())
+                .thenReturn(new MockEmployeeSnapshotResponseDTO(
+                        null, new MockEmployeeSnapshotDTO(firstVersion, List.of())));
+        when(second.getMockEmployeeSnapshot())
+                .thenReturn(new MockEmployeeSnapshotResponseDTO(
+                        null, new MockEmployeeSnapshotDTO(secondVersion, List.of())));
+        shardedClient.getMockEmployeeSnapshot();
+    }
+
+    private static MockEmployeeChangeSetResponseDTO changes(long version, MockEmployeeChangeDTO... changes) {
+        return new MockEmployeeChangeSetResponseDTO(
+                null, new MockEmployeeChangeSetDTO(version, false, List.of(changes)));
+    }
+
+    private static MockEmployeeListResponseDTO list(MockEmployeeDTO... employees) {
+        return new MockEmployeeListResponseDTO(null, List.of(employees));
+    }
+
+    private static MockEmployeeDTO employee(String name, int salary) {
+        return new MockEmployeeDTO(UUID.randomUUID().toString(), name, salary, 30, "title", "email@email.com");
+    }
+}
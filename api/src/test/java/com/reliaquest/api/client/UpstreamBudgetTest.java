@@ -0,0 +1,155 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.util.MutableClock;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamBudgetTest {
+
+    private MutableClock clock;
+
+    private UpstreamQuotaCoordinator coordinator;
+
+    private UpstreamBudget upstreamBudget;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        coordinator = new LocalUpstreamQuotaCoordinator(UpstreamQuota.initial(5, 30_000));
+        upstreamBudget = new UpstreamBudget(clock, coordinator, 120_000);
+    }
+
+    @Test
+    void testAvailablePermits_assumedLimitThenProbesOneAtATime() {
+        assertEquals(5, upstreamBudget.availablePermits());
+        accept(5);
+
+        assertEquals(1, upstreamBudget.availablePermits());
+        accept(2);
+        assertEquals(1, upstreamBudget.availablePermits());
+        assertFalse(upstreamBudget.isLockedOut());
+    }
+
+    @Test
+    void testOnThrottled_learnsLimitAndLocksOutFromLastAcceptedRequest() {
+        accept(7);
+        clock.advance(Duration.ofSeconds(5));
+
+        throttle();
+
+        assertTrue(upstreamBudget.isLockedOut());
+        assertEquals(0, upstreamBudget.availablePermits());
+        assertEquals(Duration.ofSeconds(25), upstreamBudget.lockoutRemaining());
+
+        clock.advance(Duration.ofSeconds(25));
+        assertFalse(upstreamBudget.isLockedOut());
+        assertEquals(7, upstreamBudget.availablePermits());
+    }
+
+    @Test
+    void testOnAccepted_predictsLockoutOnceLimitIsKnown() {
+        accept(6);
+        throttle();
+        clock.advance(Duration.ofSeconds(30));
+
+        accept(6);
+
+        assertTrue(upstreamBudget.isLockedOut());
+        assertEquals(Duration.ofSeconds(30), upstreamBudget.lockoutRemaining());
+    }
+
+    @Test
+    void testOnThrottled_growsLockoutWhenStillThrottledAfterIt() {
+        accept(5);
+        throttle();
+        clock.advance(Duration.ofSeconds(30));
+
+        throttle();
+
+        // The lockout grows to 45s, still counted from the last accepted request.
+        assertEquals(Duration.ofSeconds(15), upstreamBudget.lockoutRemaining());
+        assertEquals(0, upstreamBudget.availablePermits());
+    }
+
+    @Test
+    void testOnThrottled_lockoutIsCapped() {
+        accept(5);
+        throttle();
+        for (int i = 0; i < 10; i++) {
+            clock.advance(upstreamBudget.lockoutRemaining());
+            throttle();
+        }
+
+        assertEquals(Duration.ofSeconds(120), upstreamBudget.lockoutRemaining());
+    }
+
+    @Test
+    void testOnThrottled_ignoredWhileLockedOut() {
+        accept(5);
+        throttle();
+        clock.advance(Duration.ofSeconds(10));
+
+        throttle();
+
+        assertEquals(Duration.ofSeconds(20), upstreamBudget.lockoutRemaining());
+    }
+
+    private void accept(int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertTrue(upstreamBudget.tryAcquire());
+            upstreamBudget.onAccepted();
+        }
+    }
+
+    private void throttle() {
+        upstreamBudget.tryAcquire();
+        upstreamBudget.onThrottled();
+    }
+
+    @Test
+    void testTryAcquire_takesPermitsWhenSent() {
+        accept(5);
+        throttle();
+        clock.advance(Duration.ofSeconds(30));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(upstreamBudget.tryAcquire());
+        }
+
+        assertFalse(upstreamBudget.tryAcquire());
+        assertTrue(upstreamBudget.isLockedOut());
+    }
+
+    @Test
+    void testTryAcquire_onlyOneProbeInFlight() {
+        accept(5);
+
+        assertTrue(upstreamBudget.tryAcquire());
+        assertFalse(upstreamBudget.tryAcquire());
+        assertEquals(0, upstreamBudget.availablePermits());
+
+        upstreamBudget.onFailed();
+        assertTrue(upstreamBudget.tryAcquire());
+    }
+
+    @Test
+    void testTryAcquire_sharedBetweenBudgetsOnOneCoordinator() {
+        UpstreamBudget other = new UpstreamBudget(clock, coordinator, 120_000);
+        accept(5);
+        throttle();
+        clock.advance(Duration.ofSeconds(30));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(upstreamBudget.tryAcquire());
+        }
+
+        assertEquals(2, other.availablePermits());
+        assertTrue(other.tryAcquire());
+        assertTrue(other.tryAcquire());
+        assertFalse(upstreamBudget.tryAcquire());
+        assertTrue(upstreamBudget.isLockedOut());
+    }
+}
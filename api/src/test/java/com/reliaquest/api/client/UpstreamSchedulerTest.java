@@ -0,0 +1,136 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import feign.Request;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamSchedulerTest {
+
+    private UpstreamBudget upstreamBudget;
+
+    private UpstreamScheduler upstreamScheduler;
+
+    @BeforeEach
+    void setUp() {
+        upstreamBudget = new UpstreamBudget(
+                Clock.systemUTC(), new LocalUpstreamQuotaCoordinator(UpstreamQuota.initial(1, 30_000)), 120_000);
+        upstreamScheduler = new UpstreamScheduler(upstreamBudget, Clock.systemUTC(), 5, 2_000, 5, 2_000, 1, 2_000);
+    }
+
+    @Test
+    void testAcquire_withinBudget() {
+        assertTrue(upstreamScheduler.acquire(UpstreamPriority.BACKGROUND));
+        upstreamBudget.onAccepted();
+        upstreamScheduler.release();
+
+        assertTrue(upstreamScheduler.acquire(UpstreamPriority.INTERACTIVE));
+        upstreamBudget.onAccepted();
+        upstreamScheduler.release();
+        assertEquals(0, upstreamScheduler.queued(UpstreamPriority.INTERACTIVE));
+    }
+
+    @Test
+    void testAcquire_higherPriorityGoesFirst() throws Exception {
+        exhaust();
+        List<UpstreamPriority> granted = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> background = acquireAsync(UpstreamPriority.BACKGROUND, granted);
+        awaitQueued(UpstreamPriority.BACKGROUND);
+        CompletableFuture<Void> interactive = acquireAsync(UpstreamPriority.INTERACTIVE, granted);
+        awaitQueued(UpstreamPriority.INTERACTIVE);
+
+        complete();
+        interactive.get(1, TimeUnit.SECONDS);
+        background.get(1, TimeUnit.SECONDS);
+
+        assertEquals(List.of(UpstreamPriority.INTERACTIVE, UpstreamPriority.BACKGROUND), granted);
+    }
+
+    @Test
+    void testAcquire_fullQueueIsDropped() throws Exception {
+        exhaust();
+        CompletableFuture<Void> queued = acquireAsync(UpstreamPriority.BACKGROUND, new CopyOnWriteArrayList<>());
+        awaitQueued(UpstreamPriority.BACKGROUND);
+
+        assertFalse(upstreamScheduler.acquire(UpstreamPriority.BACKGROUND));
+        assertEquals(1, upstreamScheduler.dropped(UpstreamPriority.BACKGROUND));
+
+        complete();
+        queued.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testAcquire_droppedWhenDeadlinePasses() {
+        upstreamScheduler = new UpstreamScheduler(upstreamBudget, Clock.systemUTC(), 5, 50, 5, 2_000, 1, 2_000);
+        exhaust();
+
+        assertFalse(upstreamScheduler.acquire(UpstreamPriority.INTERACTIVE));
+        assertEquals(1, upstreamScheduler.dropped(UpstreamPriority.INTERACTIVE));
+        assertEquals(0, upstreamScheduler.queued(UpstreamPriority.INTERACTIVE));
+    }
+
+    @Test
+    void testAcquire_droppedWhenLockedOutPastDeadline() {
+        assertTrue(upstreamBudget.tryAcquire());
+        upstreamBudget.onAccepted();
+        upstreamBudget.tryAcquire();
+        upstreamBudget.onThrottled();
+
+        long start = System.nanoTime();
+        assertFalse(upstreamScheduler.acquire(UpstreamPriority.INTERACTIVE));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+    }
+
+    @Test
+    void testPriorityOf_classifiesRequests() {
+        assertEquals(UpstreamPriority.INTERACTIVE, UpstreamPriority.of(request(Request.HttpMethod.GET, "/1")));
+        assertEquals(
+                UpstreamPriority.BACKGROUND, UpstreamPriority.of(request(Request.HttpMethod.GET, "/changes?since=1")));
+        assertEquals(UpstreamPriority.BACKGROUND, UpstreamPriority.of(request(Request.HttpMethod.GET, "/snapshot")));
+        assertEquals(UpstreamPriority.WRITE, UpstreamPriority.of(request(Request.HttpMethod.POST, "")));
+        assertEquals(UpstreamPriority.WRITE, UpstreamPriority.of(request(Request.HttpMethod.DELETE, "")));
+    }
+
+    private CompletableFuture<Void> acquireAsync(UpstreamPriority priority, List<UpstreamPriority> granted) {
+        return CompletableFuture.runAsync(() -> {
+            if (upstreamScheduler.acquire(priority)) {
+                granted.add(priority);
+                upstreamBudget.onAccepted();
+                upstreamScheduler.release();
+            }
+        });
+    }
+
+    /**
+     * Takes the only permit and the probe beyond it, so further requests wait until {@link #complete()}.
+     */
+    private void exhaust() {
+        assertTrue(upstreamScheduler.acquire(UpstreamPriority.WRITE));
+        assertTrue(upstreamBudget.tryAcquire());
+    }
+
+    private void complete() {
+        upstreamBudget.onAccepted();
+        upstreamScheduler.release();
+    }
+
+    private void awaitQueued(UpstreamPriority priority) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (upstreamScheduler.queued(priority) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static Request request(Request.HttpMethod method, String path) {
+        String url = "http://localhost:8112/api/v1/employee" + path;
+        return Request.create(method, url, Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
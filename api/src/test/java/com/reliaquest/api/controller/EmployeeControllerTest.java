@@ -4,10 +4,21 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
+import com.reliaquest.api.client.UpstreamBudget;
 import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.EmployeeDeleteDTO;
+import com.reliaquest.api.dto.EmployeeWriteDTO;
+import com.reliaquest.api.dto.SalaryStatisticsDTO;
+import com.reliaquest.api.exception.IdempotencyKeyReusedException;
 import com.reliaquest.api.exception.InvalidEmployeeException;
+import com.reliaquest.api.exception.InvalidEmployeeFilterException;
 import com.reliaquest.api.exception.MockEmployeeServiceException;
+import com.reliaquest.api.service.EmployeeBulkDeleter;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeWriteQueue;
+import com.reliaquest.api.service.IdempotentEmployeeCreator;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,12 +39,25 @@ class EmployeeControllerTest {
     @Mock
     private EmployeeService employeeService;
 
+    @Mock
+    private EmployeeWriteQueue employeeWriteQueue;
+
+    @Mock
+    private EmployeeBulkDeleter employeeBulkDeleter;
+
+    @Mock
+    private UpstreamBudget upstreamBudget;
+
+    @Mock
+    private IdempotentEmployeeCreator idempotentEmployeeCreator;
+
     private EmployeeController employeeController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        employeeController = new EmployeeController(employeeService);
+        employeeController = new EmployeeController(
+                employeeService, employeeWriteQueue, employeeBulkDeleter, upstreamBudget, idempotentEmployeeCreator);
     }
 
     @Test
@@ -61,6 +85,25 @@ class EmployeeControllerTest {
         assertEquals(500, response.getStatusCode().value());
     }
 
+    @Test
+    void testGetSalaryStatistics_found() {
+        SalaryStatisticsDTO statistics =
+                new SalaryStatisticsDTO(1, SALARY, SALARY, SALARY, SALARY, SALARY, SALARY, List.of());
+        when(employeeService.getSalaryStatistics()).thenReturn(Optional.of(statistics));
+
+        ResponseEntity<SalaryStatisticsDTO> response = employeeController.getSalaryStatistics();
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(statistics, response.getBody());
+    }
+
+    @Test
+    void testGetSalaryStatistics_notFound() {
+        when(employeeService.getSalaryStatistics()).thenReturn(Optional.empty());
+
+        ResponseEntity<SalaryStatisticsDTO> response = employeeController.getSalaryStatistics();
+        assertEquals(404, response.getStatusCode().value());
+    }
+
     @Test
     void testGetEmployeesByNameSearch_success() {
         EmployeeDTO employeeDTO = new EmployeeDTO(ID, NAME, SALARY, AGE, TITLE, EMAIL);
@@ -80,6 +123,24 @@ class EmployeeControllerTest {
         assertEquals(500, response.getStatusCode().value());
     }
 
+    @Test
+    void testQueryEmployees_success() {
+        EmployeeDTO employeeDTO = new EmployeeDTO(ID, NAME, SALARY, AGE, TITLE, EMAIL);
+        when(employeeService.query("salary > 1")).thenReturn(List.of(employeeDTO));
+
+        ResponseEntity<List<EmployeeDTO>> response = employeeController.queryEmployees("salary > 1");
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of(employeeDTO), response.getBody());
+    }
+
+    @Test
+    void testQueryEmployees_invalidFilter() {
+        when(employeeService.query("salary")).thenThrow(new InvalidEmployeeFilterException("salary", "incomplete"));
+
+        ResponseEntity<List<EmployeeDTO>> response = employeeController.queryEmployees("salary");
+        assertEquals(400, response.getStatusCode().value());
+    }
+
     @Test
     void testGetTopTenHighestEarningEmployeeNames() {
         when(employeeService.getTopTenHighestEarningNames()).thenReturn(List.of("A", "B", "C"));
@@ -132,6 +193,23 @@ class EmployeeControllerTest {
         assertEquals(404, response.getStatusCode().value());
     }
 
+    @Test
+    void testGetEmployeeById_withFields() {
+        EmployeeDTO employee = new EmployeeDTO(ID, NAME, null, null, null, null);
+        when(employeeService.getById(eq(ID), any())).thenReturn(Optional.of(employee));
+
+        ResponseEntity<EmployeeDTO> response = employeeController.getEmployeeById(ID, "id,name");
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(employee, response.getBody());
+    }
+
+    @Test
+    void testGetAllEmployees_unknownField() {
+        ResponseEntity<List<EmployeeDTO>> response = employeeController.getAllEmployees("name,password");
+        assertEquals(400, response.getStatusCode().value());
+        verifyNoInteractions(employeeService);
+    }
+
     @Test
     void testGetEmployeeById_internalServerError() {
         when(employeeService.getById(NAME)).thenThrow(new MockEmployeeServiceException("", 500));
@@ -169,18 +247,134 @@ class EmployeeControllerTest {
         assertEquals(500, response.getStatusCode().value());
     }
 
+    @Test
+    void testCreateEmployeeIdempotently_success() {
+        EmployeeDTO employeeDTO = new EmployeeDTO(ID, NAME, SALARY, AGE, TITLE, EMAIL);
+        when(idempotentEmployeeCreator.create("key", employeeDTO)).thenReturn(Optional.of(employeeDTO));
+
+        ResponseEntity<EmployeeDTO> response = employeeController.createEmployeeIdempotently("key", employeeDTO);
+        assertEquals(201, response.getStatusCode().value());
+        assertEquals(employeeDTO, response.getBody());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testCreateEmployeeIdempotently_keyReused() {
+        EmployeeDTO employeeDTO = new EmployeeDTO(ID, NAME, SALARY, AGE, TITLE, EMAIL);
+        doThrow(new IdempotencyKeyReusedException("key"))
+                .when(idempotentEmployeeCreator)
+                .create("key", employeeDTO);
+
+        ResponseEntity<EmployeeDTO> response = employeeController.createEmployeeIdempotently("key", employeeDTO);
+        assertEquals(422, response.getStatusCode().value());
+    }
+
+    @Test
+    void testCreateEmployeeAsync_accepted() {
+        EmployeeDTO employeeDTO = new EmployeeDTO(null, NAME, SALARY, AGE, TITLE, null);
+        EmployeeWriteDTO write = new EmployeeWriteDTO(
+                "write", EmployeeWriteDTO.Status.PENDING, employeeDTO, Instant.EPOCH, Instant.EPOCH, 0, null);
+        when(employeeWriteQueue.submit(employeeDTO)).thenReturn(write);
+
+        ResponseEntity<EmployeeWriteDTO> response = employeeController.createEmployeeAsync(employeeDTO);
+        assertEquals(202, response.getStatusCode().value());
+        assertEquals(write, response.getBody());
+        assertEquals("/api/v1/employee/writes/write", response.getHeaders().getLocation().toString());
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testCreateEmployeeWithPreferences_respondAsyncAmongOthers() {
+        EmployeeDTO employeeDTO = new EmployeeDTO(null, NAME, SALARY, AGE, TITLE, null);
+        EmployeeWriteDTO write = new EmployeeWriteDTO(
+                "write", EmployeeWriteDTO.Status.PENDING, employeeDTO, Instant.EPOCH, Instant.EPOCH, 0, null);
+        when(employeeWriteQueue.submit(employeeDTO)).thenReturn(write);
+
+        ResponseEntity<?> response = employeeController.createEmployeeWithPreferences(
+                List.of("return=minimal", "Respond-Async; foo, wait=10"), "key", employeeDTO);
+        assertEquals(202, response.getStatusCode().value());
+        assertEquals(write, response.getBody());
+        verifyNoInteractions(employeeService, idempotentEmployeeCreator);
+    }
+
+    @Test
+    void testCreateEmployeeWithPreferences_otherPreferencesCreateIdempotently() {
+        EmployeeDTO employeeDTO = new EmployeeDTO(ID, NAME, SALARY, AGE, TITLE, EMAIL);
+        when(idempotentEmployeeCreator.create("key", employeeDTO)).thenReturn(Optional.of(employeeDTO));
+
+        ResponseEntity<?> response =
+                employeeController.createEmployeeWithPreferences(List.of("wait=10"), "key", employeeDTO);
+        assertEquals(201, response.getStatusCode().value());
+        verifyNoInteractions(employeeService, employeeWriteQueue);
+    }
+
+    @Test
+    void testCreateEmployeeWithPreferences_otherPreferencesCreate() {
+        EmployeeDTO employeeDTO = new EmployeeDTO(ID, NAME, SALARY, AGE, TITLE, EMAIL);
+        when(employeeService.create(employeeDTO)).thenReturn(Optional.of(employeeDTO));
+
+        ResponseEntity<?> response =
+                employeeController.createEmployeeWithPreferences(List.of("respond-asynchronously"), null, employeeDTO);
+        assertEquals(201, response.getStatusCode().value());
+        verifyNoInteractions(idempotentEmployeeCreator, employeeWriteQueue);
+    }
+
+    @Test
+    void testGetEmployeeWrite_found() {
+        EmployeeWriteDTO write = new EmployeeWriteDTO(
+                "write", EmployeeWriteDTO.Status.COMPLETED, null, Instant.EPOCH, Instant.EPOCH, 1, null);
+        when(employeeWriteQueue.find("write")).thenReturn(Optional.of(write));
+
+        ResponseEntity<EmployeeWriteDTO> response = employeeController.getEmployeeWrite("write");
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(write, response.getBody());
+    }
+
+    @Test
+    void testGetEmployeeWrite_notFound() {
+        when(employeeWriteQueue.find("write")).thenReturn(Optional.empty());
+
+        ResponseEntity<EmployeeWriteDTO> response = employeeController.getEmployeeWrite("write");
+        assertEquals(404, response.getStatusCode().value());
+    }
+
     @Test
     void testDeleteEmployeeById_success() {
-        ResponseEntity<String> response = employeeController.deleteEmployeeById(NAME);
-        assertEquals(204, response.getStatusCode().value());
-        verify(employeeService).deleteByName(NAME);
+        when(employeeService.deleteById(ID)).thenReturn(Optional.of(NAME));
+
+        ResponseEntity<String> response = employeeController.deleteEmployeeById(ID);
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(NAME, response.getBody());
+    }
+
+    @Test
+    void testDeleteEmployeeById_notFound() {
+        when(employeeService.deleteById(ID)).thenReturn(Optional.empty());
+
+        ResponseEntity<String> response = employeeController.deleteEmployeeById(ID);
+        assertEquals(404, response.getStatusCode().value());
     }
 
     @Test
     void testDeleteEmployeeById_internalServerError() {
-        doThrow(new MockEmployeeServiceException("", 500)).when(employeeService).deleteByName(NAME);
+        when(employeeService.deleteById(ID)).thenThrow(new MockEmployeeServiceException("", 500));
 
-        ResponseEntity<String> response = employeeController.deleteEmployeeById(NAME);
+        ResponseEntity<String> response = employeeController.deleteEmployeeById(ID);
         assertEquals(500, response.getStatusCode().value());
     }
+
+    @Test
+    void testDeleteEmployeesByIds_throttledSetsRetryAfter() {
+        List<EmployeeDeleteDTO> results = List.of(
+                new EmployeeDeleteDTO(ID, EmployeeDeleteDTO.Status.DELETED, NAME),
+                new EmployeeDeleteDTO("other", EmployeeDeleteDTO.Status.THROTTLED, null));
+        when(employeeBulkDeleter.deleteByIds(List.of(ID, "other"))).thenReturn(results);
+        when(upstreamBudget.lockoutRemaining()).thenReturn(Duration.ofSeconds(20));
+
+        ResponseEntity<List<EmployeeDeleteDTO>> response =
+                employeeController.deleteEmployeesByIds(List.of(ID, "other"));
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(results, response.getBody());
+        assertEquals("20", response.getHeaders().getFirst("Retry-After"));
+    }
 }
@@ -0,0 +1,125 @@
+package com.reliaquest.api.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void testTryAcquire_rejectsBeyondLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 2);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release(MILLIS, LatencyClass.LOCAL, false);
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.inFlight());
+    }
+
+    @Test
+    void testRelease_risingLatencyShrinksLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+        for (int i = 0; i < 50; i++) {
+            complete(limit, 100, 10 * MILLIS);
+        }
+        assertEquals(100, limit.limit());
+
+        for (int i = 0; i < 20; i++) {
+            complete(limit, 100, 100 * MILLIS);
+        }
+
+        assertTrue(limit.limit() < 50, "limit " + limit.limit());
+    }
+
+    @Test
+    void testRelease_recoversOnceLatencyReturns() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+        complete(limit, 100, 10 * MILLIS);
+        for (int i = 0; i < 30; i++) {
+            complete(limit, 100, 100 * MILLIS);
+        }
+        int shrunk = limit.limit();
+
+        for (int i = 0; i < 30; i++) {
+            complete(limit, shrunk, 10 * MILLIS);
+        }
+
+        assertTrue(limit.limit() > shrunk, "limit " + limit.limit() + " after " + shrunk);
+    }
+
+    @Test
+    void testRelease_upstreamRequestsKeepTheirOwnBaseline() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+        for (int i = 0; i < 50; i++) {
+            complete(limit, 100, MILLIS, LatencyClass.LOCAL);
+            complete(limit, 100, 50 * MILLIS, LatencyClass.UPSTREAM);
+        }
+        assertEquals(100, limit.limit());
+
+        for (int i = 0; i < 20; i++) {
+            complete(limit, 100, 500 * MILLIS, LatencyClass.UPSTREAM);
+        }
+
+        assertTrue(limit.limit() < 50, "limit " + limit.limit());
+    }
+
+    @Test
+    void testRelease_dropBacksOffWithinMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(5, 10);
+
+        assertTrue(limit.tryAcquire());
+        limit.release(MILLIS, LatencyClass.LOCAL, true);
+        assertEquals(9, limit.limit());
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(MILLIS, LatencyClass.LOCAL, true);
+        }
+        assertEquals(5, limit.limit());
+    }
+
+    @Test
+    void testRelease_idlePermitsDoNotGrowLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(MILLIS, LatencyClass.LOCAL, true);
+        }
+        int backedOff = limit.limit();
+
+        for (int i = 0; i < 20; i++) {
+            complete(limit, 1, MILLIS);
+        }
+
+        assertEquals(backedOff, limit.limit());
+    }
+
+    @Test
+    void testConstructor_rejectsInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(5, 4));
+    }
+
+    /*
+     * Admits up to the given number of requests at once and completes them all with the same latency.
+     */
+    private static void complete(AdaptiveConcurrencyLimit limit, int concurrency, long rttNanos) {
+        complete(limit, concurrency, rttNanos, LatencyClass.LOCAL);
+    }
+
+    private static void complete(
+            AdaptiveConcurrencyLimit limit, int concurrency, long rttNanos, LatencyClass latencyClass) {
+        int admitted = 0;
+        while (admitted < concurrency && limit.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limit.release(rttNanos, latencyClass, false);
+        }
+    }
+}
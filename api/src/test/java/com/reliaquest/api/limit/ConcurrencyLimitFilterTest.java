@@ -0,0 +1,96 @@
+package com.reliaquest.api.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.LocalUpstreamQuotaCoordinator;
+import com.reliaquest.api.client.UpstreamBudget;
+import com.reliaquest.api.client.UpstreamQuota;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ConcurrencyLimitFilterTest {
+
+    private AdaptiveConcurrencyLimit readLimit;
+
+    private AdaptiveConcurrencyLimit writeLimit;
+
+    private UpstreamBudget upstreamBudget;
+
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        readLimit = new AdaptiveConcurrencyLimit(1, 1);
+        writeLimit = new AdaptiveConcurrencyLimit(1, 1);
+        upstreamBudget = new UpstreamBudget(
+                Clock.fixed(Instant.ofEpochMilli(1_000_000), ZoneOffset.UTC),
+                new LocalUpstreamQuotaCoordinator(UpstreamQuota.initial(5, 30_000)),
+                120_000);
+        concurrencyLimitFilter = new ConcurrencyLimitFilter(
+                Map.of(EndpointClass.READ, readLimit, EndpointClass.WRITE, writeLimit), upstreamBudget);
+    }
+
+    @Test
+    void testDoFilter_admittedRequestReleasesPermit() throws Exception {
+        MockHttpServletResponse response = request("GET", 200);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, readLimit.inFlight());
+    }
+
+    @Test
+    void testDoFilter_shedsOverLimitWithRetryAfter() throws Exception {
+        assertTrue(readLimit.tryAcquire());
+
+        MockHttpServletResponse response = request("GET", 200);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testDoFilter_retryAfterFollowsUpstreamLockout() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(upstreamBudget.tryAcquire());
+            upstreamBudget.onAccepted();
+        }
+        assertTrue(upstreamBudget.tryAcquire());
+        upstreamBudget.onThrottled();
+        assertTrue(writeLimit.tryAcquire());
+
+        MockHttpServletResponse response = request("POST", 200);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("30", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testDoFilter_classesLimitedSeparately() throws Exception {
+        assertTrue(writeLimit.tryAcquire());
+
+        assertEquals(200, request("GET", 200).getStatus());
+        assertEquals(503, request("DELETE", 200).getStatus());
+    }
+
+    private MockHttpServletResponse request(String method, int status) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/employee");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        concurrencyLimitFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setStatus(status);
+            }
+        }));
+        return response;
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.api.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class RequestEventLogTest {
+
+    @Test
+    void testRecord_consumerDrainsEvents() throws InterruptedException {
+        RequestEventLog requestEventLog = new RequestEventLog(16, "", 1.0, 60_000);
+        requestEventLog.start();
+        int recorded = 0;
+        for (int i = 0; i < 100; i++) {
+            recorded += requestEventLog.record("getAllEmployees", "GET", 200, 1_000) ? 1 : 0;
+        }
+        requestEventLog.stop();
+
+        assertEquals(0, requestEventLog.backlog());
+        assertEquals(100, recorded + requestEventLog.dropped());
+    }
+
+    @Test
+    void testRecord_dropsWhenRingIsFull() {
+        RequestEventLog requestEventLog = new RequestEventLog(4, "", 1.0, 60_000);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(requestEventLog.record("getAllEmployees", "GET", 200, 1_000));
+        }
+        assertFalse(requestEventLog.record("getAllEmployees", "GET", 200, 1_000));
+        assertEquals(1, requestEventLog.dropped());
+        assertEquals(4, requestEventLog.backlog());
+    }
+
+    @Test
+    void testRecord_sampledPerEndpoint() {
+        RequestEventLog requestEventLog =
+                new RequestEventLog(16, "getAllEmployees=0, getEmployeeById = 1", 0.0, 60_000);
+
+        assertFalse(requestEventLog.record("getAllEmployees", "GET", 200, 1_000));
+        assertFalse(requestEventLog.record("getHighestSalaryOfEmployees", "GET", 200, 1_000));
+        assertTrue(requestEventLog.record("getEmployeeById", "GET", 200, 1_000));
+        assertEquals(2, requestEventLog.sampledOut());
+    }
+
+    @Test
+    void testRecord_failuresAreNotSampled() {
+        RequestEventLog requestEventLog = new RequestEventLog(16, "getAllEmployees=0", 1.0, 60_000);
+
+        assertTrue(requestEventLog.record("getAllEmployees", "GET", 503, 1_000));
+        assertEquals(0, requestEventLog.sampledOut());
+    }
+}
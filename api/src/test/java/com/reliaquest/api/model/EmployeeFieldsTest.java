@@ -0,0 +1,34 @@
+package com.reliaquest.api.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.InvalidEmployeeFieldsException;
+import org.junit.jupiter.api.Test;
+
+class EmployeeFieldsTest {
+
+    @Test
+    void testParse_selectedFields() {
+        EmployeeFields fields = EmployeeFields.parse(" Name,id, salary,");
+
+        assertFalse(fields.isAll());
+        assertTrue(fields.contains(EmployeeFields.Field.ID));
+        assertTrue(fields.contains(EmployeeFields.Field.NAME));
+        assertTrue(fields.contains(EmployeeFields.Field.SALARY));
+        assertFalse(fields.contains(EmployeeFields.Field.EMAIL));
+        assertEquals("id,name,salary", fields.upstreamFields());
+    }
+
+    @Test
+    void testParse_noFieldsMeansAll() {
+        assertTrue(EmployeeFields.parse(null).isAll());
+        assertTrue(EmployeeFields.parse(" , ").isAll());
+        assertTrue(EmployeeFields.parse("id,name,salary,age,title,email").isAll());
+        assertNull(EmployeeFields.ALL.upstreamFields());
+    }
+
+    @Test
+    void testParse_unknownField() {
+        assertThrows(InvalidEmployeeFieldsException.class, () -> EmployeeFields.parse("name,password"));
+    }
+}
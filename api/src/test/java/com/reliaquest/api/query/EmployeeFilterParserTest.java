@@ -0,0 +1,41 @@
+package com.reliaquest.api.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.InvalidEmployeeFilterException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmployeeFilterParserTest {
+
+    @Test
+    void testParse_ignoresCaseAndSpacing() {
+        EmployeeFilterParser.Parsed first = EmployeeFilterParser.parse("age > 40 AND title = 'Engineer'");
+        EmployeeFilterParser.Parsed second = EmployeeFilterParser.parse("Age>41 and title='Manager'");
+
+        assertEquals(
+                List.of(List.of(
+                        new EmployeeFilter.Clause(EmployeeFilter.Column.AGE, EmployeeFilter.Operator.GT, 0),
+                        new EmployeeFilter.Clause(EmployeeFilter.Column.TITLE, EmployeeFilter.Operator.EQ, 1))),
+                first.disjunction());
+        assertEquals(first.disjunction(), second.disjunction());
+        assertEquals(List.of("41", "Manager"), second.parameters());
+    }
+
+    @Test
+    void testParse_disjunction() {
+        EmployeeFilterParser.Parsed parsed = EmployeeFilterParser.parse("age < 20 or age > 60 and salary > 1000");
+
+        assertEquals(2, parsed.disjunction().size());
+        assertEquals(1, parsed.disjunction().get(0).size());
+        assertEquals(2, parsed.disjunction().get(1).size());
+    }
+
+    @Test
+    void testParse_rejectsInvalidExpressions() {
+        for (String filter : List.of("", "name = 'a'", "age >> 1", "age > 1 xor age < 3", "title < 'a'", "age = 'a'",
+                "title = a", "age > 1 and", "age > 1 ;")) {
+            assertThrows(InvalidEmployeeFilterException.class, () -> EmployeeFilterParser.parse(filter), filter);
+        }
+    }
+}
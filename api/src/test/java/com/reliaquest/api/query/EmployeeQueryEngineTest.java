@@ -0,0 +1,86 @@
+package com.reliaquest.api.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.cache.HeapEmployeeSnapshot;
+import com.reliaquest.api.cache.OffHeapEmployeeSnapshot;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class EmployeeQueryEngineTest {
+
+    private static final List<String> TITLES = List.of("Engineer", "Manager", "O'Brien's Assistant");
+
+    private final EmployeeQueryEngine employeeQueryEngine = new EmployeeQueryEngine();
+
+    @Test
+    void testQuery_matchesStreamFilter() {
+        List<Employee> employees = employees(2000);
+
+        assertQuery(employees, "salary > 200000", employee -> salary(employee) > 200000);
+        assertQuery(employees, "salary <= 50000", employee -> salary(employee) > 0 && salary(employee) <= 50000);
+        assertQuery(employees, "age >= 60 and age < 65", employee -> age(employee) >= 60 && age(employee) < 65);
+        assertQuery(employees, "age = 40", employee -> age(employee) == 40);
+        assertQuery(employees, "age != 40", employee -> age(employee) > 0 && age(employee) != 40);
+        assertQuery(
+                employees,
+                "AGE > 40 AND salary > 200000 and title = 'Engineer' or title = 'O''Brien''s Assistant'",
+                employee -> (age(employee) > 40 && salary(employee) > 200000 && "Engineer".equals(employee.getTitle()))
+                        || TITLES.get(2).equals(employee.getTitle()));
+        assertQuery(
+                employees,
+                "title != 'Manager'",
+                employee -> employee.getTitle() != null && !employee.getTitle().equals("Manager"));
+        assertQuery(employees, "title = 'Unknown'", employee -> false);
+        assertQuery(employees, "salary > -1 and salary < 99999999999", employee -> salary(employee) > 0);
+    }
+
+    @Test
+    void testQuery_sameClausesDifferentLiterals() {
+        List<Employee> employees = employees(100);
+
+        assertQuery(employees, "age > 30", employee -> age(employee) > 30);
+        assertQuery(employees, "age>50", employee -> age(employee) > 50);
+    }
+
+    @Test
+    void testQuery_snapshotStorages() {
+        List<Employee> employees = employees(500);
+        List<Employee> expected = employees.stream().filter(employee -> age(employee) > 40).toList();
+
+        assertEquals(expected, employeeQueryEngine.query("age > 40", HeapEmployeeSnapshot.of(1L, employees)));
+        assertEquals(expected, employeeQueryEngine.query("age > 40", OffHeapEmployeeSnapshot.of(2L, employees)));
+    }
+
+    private void assertQuery(List<Employee> employees, String filter, Predicate<Employee> predicate) {
+        List<Employee> expected = employees.stream().filter(predicate).toList();
+        assertEquals(expected, employeeQueryEngine.query(filter, employees), filter);
+    }
+
+    private static List<Employee> employees(int count) {
+        Random random = new Random(42);
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Employee employee = new Employee();
+                    employee.setId(String.valueOf(i));
+                    employee.setName("Employee " + i);
+                    employee.setSalary(random.nextInt(20) == 0 ? null : 1 + random.nextInt(300000));
+                    employee.setAge(random.nextInt(20) == 0 ? null : 16 + random.nextInt(60));
+                    employee.setTitle(random.nextInt(10) == 0 ? null : TITLES.get(random.nextInt(TITLES.size())));
+                    return employee;
+                })
+                .toList();
+    }
+
+    private static int salary(Employee employee) {
+        return employee.getSalary() == null ? 0 : employee.getSalary();
+    }
+
+    private static int age(Employee employee) {
+        return employee.getAge() == null ? 0 : employee.getAge();
+    }
+}
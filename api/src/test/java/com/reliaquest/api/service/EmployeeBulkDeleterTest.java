@@ -0,0 +1,103 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.UpstreamBudget;
+import com.reliaquest.api.dto.EmployeeDeleteDTO;
+import com.reliaquest.api.exception.MockEmployeeServiceException;
+import com.reliaquest.api.exception.TooManyMockEmployeeRequestsException;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class EmployeeBulkDeleterTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private UpstreamBudget upstreamBudget;
+
+    private EmployeeBulkDeleter employeeBulkDeleter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeBulkDeleter = new EmployeeBulkDeleter(employeeService, upstreamBudget, 2);
+        when(employeeService.deleteById(anyString())).thenAnswer(invocation -> Optional.of("name"));
+        when(employeeService.isNameCached(anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeBulkDeleter.close();
+    }
+
+    @Test
+    void testDeleteByIds_sendsWavesWithinBudget() {
+        when(upstreamBudget.availablePermits()).thenReturn(5, 1, 0);
+
+        List<EmployeeDeleteDTO> results = employeeBulkDeleter.deleteByIds(List.of("a", "b", "c", "d"));
+
+        assertEquals(List.of("a", "b", "c", "d"), results.stream().map(EmployeeDeleteDTO::id).toList());
+        assertEquals(
+                List.of(
+                        EmployeeDeleteDTO.Status.DELETED,
+                        EmployeeDeleteDTO.Status.DELETED,
+                        EmployeeDeleteDTO.Status.DELETED,
+                        EmployeeDeleteDTO.Status.THROTTLED),
+                results.stream().map(EmployeeDeleteDTO::status).toList());
+        verify(employeeService, times(3)).deleteById(anyString());
+    }
+
+    @Test
+    void testDeleteByIds_countsNameLookupsAgainstBudget() {
+        when(upstreamBudget.availablePermits()).thenReturn(3, 1);
+        when(employeeService.isNameCached("a")).thenReturn(false);
+        when(employeeService.isNameCached("b")).thenReturn(false);
+
+        List<EmployeeDeleteDTO> results = employeeBulkDeleter.deleteByIds(List.of("a", "b", "c"));
+
+        assertEquals(
+                List.of(
+                        EmployeeDeleteDTO.Status.DELETED,
+                        EmployeeDeleteDTO.Status.THROTTLED,
+                        EmployeeDeleteDTO.Status.THROTTLED),
+                results.stream().map(EmployeeDeleteDTO::status).toList());
+        verify(employeeService, times(1)).deleteById(anyString());
+    }
+
+    @Test
+    void testDeleteByIds_stopsAfterThrottledWave() {
+        when(upstreamBudget.availablePermits()).thenReturn(2);
+        when(employeeService.deleteById("b")).thenThrow(new TooManyMockEmployeeRequestsException(429));
+
+        List<EmployeeDeleteDTO> results = employeeBulkDeleter.deleteByIds(List.of("a", "b", "c"));
+
+        assertEquals(
+                List.of(
+                        EmployeeDeleteDTO.Status.DELETED,
+                        EmployeeDeleteDTO.Status.THROTTLED,
+                        EmployeeDeleteDTO.Status.THROTTLED),
+                results.stream().map(EmployeeDeleteDTO::status).toList());
+        verify(employeeService, never()).deleteById("c");
+    }
+
+    @Test
+    void testDeleteByIds_reportsMissingAndFailed() {
+        when(upstreamBudget.availablePermits()).thenReturn(5);
+        when(employeeService.deleteById("a")).thenReturn(Optional.empty());
+        when(employeeService.deleteById("b")).thenThrow(new MockEmployeeServiceException(500));
+
+        List<EmployeeDeleteDTO> results = employeeBulkDeleter.deleteByIds(List.of("a", "b"));
+
+        assertEquals(
+                List.of(EmployeeDeleteDTO.Status.NOT_FOUND, EmployeeDeleteDTO.Status.FAILED),
+                results.stream().map(EmployeeDeleteDTO::status).toList());
+    }
+}
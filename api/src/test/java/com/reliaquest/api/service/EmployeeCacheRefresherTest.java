@@ -0,0 +1,115 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeStorage;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.dto.*;
+import feign.FeignException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class EmployeeCacheRefresherTest {
+
+    private static final MockEmployeeDTO EMPLOYEE_A = new MockEmployeeDTO("a", "A", 100, 20, "title", "a@email.com");
+    private static final MockEmployeeDTO EMPLOYEE_B = new MockEmployeeDTO("b", "B", 200, 30, "title", "b@email.com");
+
+    @Mock
+    private MockEmployeeClient mockEmployeeClient;
+
+    private EmployeeCache employeeCache;
+
+    private EmployeeCacheRefresher employeeCacheRefresher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeCache = new EmployeeCache(EmployeeStorage.HEAP);
+        employeeCacheRefresher = new EmployeeCacheRefresher(mockEmployeeClient, employeeCache);
+    }
+
+    @Test
+    void testRefresh_emptyCacheLoadsSnapshot() {
+        stubSnapshot(10L, EMPLOYEE_A);
+
+        employeeCacheRefresher.refresh();
+
+        EmployeeSnapshot snapshot = employeeCache.snapshot().orElseThrow();
+        assertEquals(10L, snapshot.version());
+        assertTrue(snapshot.findById("a").isPresent());
+        verify(mockEmployeeClient, never()).getMockEmployeeChanges(anyLong());
+    }
+
+    @Test
+    void testRefresh_appliesChanges() {
+        stubSnapshot(10L, EMPLOYEE_A);
+        employeeCacheRefresher.refresh();
+        when(mockEmployeeClient.getMockEmployeeChanges(10L))
+                .thenReturn(changeSet(new MockEmployeeChangeSetDTO(
+                        12L,
+                        false,
+                        List.of(
+                                new MockEmployeeChangeDTO(11L, "CREATED", EMPLOYEE_B),
+                                new MockEmployeeChangeDTO(12L, "DELETED", EMPLOYEE_A)))));
+
+        EmployeeUpdateDTO update = employeeCacheRefresher.refresh().orElseThrow();
+
+        assertEquals(10L, update.baseVersion());
+        assertEquals(12L, update.version());
+        assertEquals(2, update.changes().size());
+        EmployeeSnapshot snapshot = employeeCache.snapshot().orElseThrow();
+        assertEquals(12L, snapshot.version());
+        assertTrue(snapshot.findById("a").isEmpty());
+        assertTrue(snapshot.findById("b").isPresent());
+        verify(mockEmployeeClient, times(1)).getMockEmployeeSnapshot();
+    }
+
+    @Test
+    void testRefresh_resyncRequiredLoadsSnapshot() {
+        stubSnapshot(10L, EMPLOYEE_A);
+        employeeCacheRefresher.refresh();
+        when(mockEmployeeClient.getMockEmployeeChanges(10L))
+                .thenReturn(changeSet(new MockEmployeeChangeSetDTO(5000L, true, List.of())));
+        stubSnapshot(5000L, EMPLOYEE_B);
+
+        employeeCacheRefresher.refresh();
+
+        EmployeeSnapshot snapshot = employeeCache.snapshot().orElseThrow();
+        assertEquals(5000L, snapshot.version());
+        assertTrue(snapshot.findById("b").isPresent());
+        assertEquals(1, snapshot.size());
+    }
+
+    @Test
+    void testRefresh_upstreamErrorKeepsCache() {
+        stubSnapshot(10L, EMPLOYEE_A);
+        employeeCacheRefresher.refresh();
+        FeignException fe = FeignException.errorStatus(
+                "GET",
+                feign.Response.builder()
+                        .status(429)
+                        .reason("")
+                        .request(mock(feign.Request.class))
+                        .build());
+        when(mockEmployeeClient.getMockEmployeeChanges(10L)).thenThrow(fe);
+
+        assertDoesNotThrow(() -> employeeCacheRefresher.refresh());
+        assertEquals(10L, employeeCache.snapshot().orElseThrow().version());
+    }
+
+    private void stubSnapshot(long version, MockEmployeeDTO... mockEmployees) {
+        when(mockEmployeeClient.getMockEmployeeSnapshot())
+                .thenReturn(new MockEmployeeSnapshotResponseDTO(
+                        null, new MockEmployeeSnapshotDTO(version, List.of(mockEmployees))));
+    }
+
+    private static MockEmployeeChangeSetResponseDTO changeSet(MockEmployeeChangeSetDTO changeSet) {
+        return new MockEmployeeChangeSetResponseDTO(null, changeSet);
+    }
+}
@@ -3,16 +3,26 @@ package com.reliaquest.api.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeNameIndex;
+import com.reliaquest.api.cache.EmployeeStorage;
 import com.reliaquest.api.client.MockEmployeeClient;
 import com.reliaquest.api.dto.*;
+import com.reliaquest.api.exception.InvalidEmployeeFilterException;
 import com.reliaquest.api.exception.MockEmployeeServiceException;
+import com.reliaquest.api.exception.TooManyMockEmployeeRequestsException;
+import com.reliaquest.api.model.EmployeeFields;
+import com.reliaquest.api.query.EmployeeQueryEngine;
+import com.reliaquest.api.util.EmployeeTransformer;
 import feign.FeignException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 class EmployeeServiceTest {
 
@@ -24,34 +34,56 @@ class EmployeeServiceTest {
     @Mock
     private MockEmployeeClient mockEmployeeClient;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private EmployeeCache employeeCache;
+
     private EmployeeService employeeService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        employeeService = new EmployeeService(mockEmployeeClient);
+        employeeCache = new EmployeeCache(EmployeeStorage.HEAP);
+        employeeService = new EmployeeService(
+                mockEmployeeClient,
+                employeeCache,
+                new EmployeeQueryEngine(),
+                new EmployeeNameIndex(100),
+                applicationEventPublisher);
     }
 
     @Test
     void testGetHighestSalary() {
-        MockEmployeeDTO mockEmployeeA = new MockEmployeeDTO(ID, "A", 100, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployeeB = new MockEmployeeDTO(ID, "B", 200, AGE, TITLE, EMAIL);
-
-        List<MockEmployeeDTO> mockEmployees = List.of(mockEmployeeA, mockEmployeeB);
-        when(mockEmployeeClient.getAllMockEmployees()).thenReturn(new MockEmployeeListResponseDTO(null, mockEmployees));
+        when(mockEmployeeClient.getHighestMockSalary()).thenReturn(new MockEmployeeSalaryResponseDTO(null, 200));
 
         Optional<Integer> result = employeeService.getHighestSalary();
         assertTrue(result.isPresent());
         assertEquals(200, result.get());
+        verify(mockEmployeeClient, never()).getAllMockEmployees();
     }
 
     @Test
-    void testGetByNameSearch_exactMatch() {
-        MockEmployeeDTO mockEmployeeA = new MockEmployeeDTO(ID, "A", 100, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployeeB = new MockEmployeeDTO(ID, "B", 200, AGE, TITLE, EMAIL);
+    void testGetHighestSalary_noEmployees() {
+        FeignException fe = FeignException.errorStatus(
+                "GET",
+                feign.Response.builder()
+                        .status(404)
+                        .reason("")
+                        .request(mock(feign.Request.class))
+                        .build());
+        when(mockEmployeeClient.getHighestMockSalary()).thenThrow(fe);
 
-        List<MockEmployeeDTO> mockEmployees = List.of(mockEmployeeA, mockEmployeeB);
-        when(mockEmployeeClient.getAllMockEmployees()).thenReturn(new MockEmployeeListResponseDTO(null, mockEmployees));
+        Optional<Integer> result = employeeService.getHighestSalary();
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testGetByNameSearch_match() {
+        MockEmployeeDTO mockEmployeeA = new MockEmployeeDTO(ID, "A", 100, AGE, TITLE, EMAIL);
+        when(mockEmployeeClient.queryMockEmployees(
+                        eq("A"), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(new MockEmployeeListResponseDTO(null, List.of(mockEmployeeA)));
 
         List<EmployeeDTO> result = employeeService.getByNameSearch("A");
         assertEquals(1, result.size());
@@ -60,11 +92,7 @@ class EmployeeServiceTest {
 
     @Test
     void testGetByNameSearch_noMatch() {
-        MockEmployeeDTO mockEmployeeA = new MockEmployeeDTO(ID, "A", 100, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployeeB = new MockEmployeeDTO(ID, "B", 200, AGE, TITLE, EMAIL);
-
-        List<MockEmployeeDTO> mockEmployees = List.of(mockEmployeeA, mockEmployeeB);
-        when(mockEmployeeClient.getAllMockEmployees()).thenReturn(new MockEmployeeListResponseDTO(null, mockEmployees));
+        stubQuery(List.of());
 
         List<EmployeeDTO> result = employeeService.getByNameSearch("C");
         assertTrue(result.isEmpty());
@@ -72,50 +100,42 @@ class EmployeeServiceTest {
 
     @Test
     void testGetTopTenHighestEarningNames() {
-        MockEmployeeDTO mockEmployee1 = new MockEmployeeDTO(ID, "1", 100, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployee2 = new MockEmployeeDTO(ID, "2", 200, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployee3 = new MockEmployeeDTO(ID, "3", 300, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployee4 = new MockEmployeeDTO(ID, "4", 400, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployee5 = new MockEmployeeDTO(ID, "5", 500, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployee6 = new MockEmployeeDTO(ID, "6", 600, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployee7 = new MockEmployeeDTO(ID, "7", 700, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployee8 = new MockEmployeeDTO(ID, "8", 800, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployee9 = new MockEmployeeDTO(ID, "9", 900, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployee10 = new MockEmployeeDTO(ID, "10", 1000, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployee0 = new MockEmployeeDTO(ID, "0", 5, AGE, TITLE, EMAIL);
-
-        List<MockEmployeeDTO> mockEmployees = List.of(
-                mockEmployee1,
-                mockEmployee2,
-                mockEmployee3,
-                mockEmployee4,
-                mockEmployee5,
-                mockEmployee6,
-                mockEmployee7,
-                mockEmployee8,
-                mockEmployee9,
-                mockEmployee10,
-                mockEmployee0);
-
-        when(mockEmployeeClient.getAllMockEmployees()).thenReturn(new MockEmployeeListResponseDTO(null, mockEmployees));
+        when(mockEmployeeClient.getTopMockEarners(10, "name"))
+                .thenReturn(new MockEmployeeListResponseDTO(
+                        null, List.of(new MockEmployeeDTO(null, "10", null, null, null, null))));
 
         List<String> result = employeeService.getTopTenHighestEarningNames();
-        assertFalse(result.contains("0"));
+        assertEquals(List.of("10"), result);
+        verify(mockEmployeeClient, never()).getAllMockEmployees();
     }
 
     @Test
     void testGetTopTenHighestEarningNames_order() {
-        MockEmployeeDTO mockEmployeeA = new MockEmployeeDTO(ID, "A", 100, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployeeB = new MockEmployeeDTO(ID, "B", 200, AGE, TITLE, EMAIL);
-        MockEmployeeDTO mockEmployeeC = new MockEmployeeDTO(ID, "C", 300, AGE, TITLE, EMAIL);
-
-        List<MockEmployeeDTO> mockEmployees = List.of(mockEmployeeA, mockEmployeeB, mockEmployeeC);
-        when(mockEmployeeClient.getAllMockEmployees()).thenReturn(new MockEmployeeListResponseDTO(null, mockEmployees));
+        MockEmployeeDTO mockEmployeeC = new MockEmployeeDTO(null, "C", null, null, null, null);
+        MockEmployeeDTO mockEmployeeB = new MockEmployeeDTO(null, "B", null, null, null, null);
+        MockEmployeeDTO mockEmployeeA = new MockEmployeeDTO(null, "A", null, null, null, null);
+        when(mockEmployeeClient.getTopMockEarners(10, "name"))
+                .thenReturn(
+                        new MockEmployeeListResponseDTO(null, List.of(mockEmployeeC, mockEmployeeB, mockEmployeeA)));
 
         List<String> result = employeeService.getTopTenHighestEarningNames();
         assertEquals(List.of("C", "B", "A"), result);
     }
 
+    @Test
+    void testGetTopTenHighestEarningNames_mockServiceError() {
+        FeignException fe = FeignException.errorStatus(
+                "GET",
+                feign.Response.builder()
+                        .status(429)
+                        .reason("")
+                        .request(mock(feign.Request.class))
+                        .build());
+
+        when(mockEmployeeClient.getTopMockEarners(anyInt(), any())).thenThrow(fe);
+        assertThrows(TooManyMockEmployeeRequestsException.class, () -> employeeService.getTopTenHighestEarningNames());
+    }
+
     @Test
     void testGetById_found() {
         MockEmployeeDTO mockEmployee = new MockEmployeeDTO(ID, "A", 100, AGE, TITLE, EMAIL);
@@ -202,6 +222,63 @@ class EmployeeServiceTest {
         verify(mockEmployeeClient).deleteMockEmployeeByName(any(MockEmployeeDeleteRequestDTO.class));
     }
 
+    @Test
+    void testDeleteById_resolvesNameFromCache() {
+        populateCache(new MockEmployeeDTO("1", "Anna", 100, AGE, TITLE, EMAIL));
+        when(mockEmployeeClient.deleteMockEmployeeByName(new MockEmployeeDeleteRequestDTO("Anna")))
+                .thenReturn(new MockEmployeeDeleteResponseDTO(null, true));
+
+        assertEquals(Optional.of("Anna"), employeeService.deleteById("1"));
+        verify(mockEmployeeClient, never()).getMockEmployeeById(any());
+        verify(mockEmployeeClient, never()).getAllMockEmployees();
+        verify(applicationEventPublisher).publishEvent(new EmployeeMutatedEvent("1"));
+    }
+
+    @Test
+    void testDeleteById_resolvesNameFromIndex() {
+        stubQuery(List.of(new MockEmployeeDTO("1", "Anna", 100, AGE, TITLE, EMAIL)));
+        employeeService.getByNameSearch("Ann");
+        when(mockEmployeeClient.deleteMockEmployeeByName(new MockEmployeeDeleteRequestDTO("Anna")))
+                .thenReturn(new MockEmployeeDeleteResponseDTO(null, true));
+
+        assertEquals(Optional.of("Anna"), employeeService.deleteById("1"));
+        verify(mockEmployeeClient, never()).getMockEmployeeById(any());
+    }
+
+    @Test
+    void testDeleteById_resolvesUnknownIdUpstream() {
+        MockEmployeeDTO anna = new MockEmployeeDTO("1", "Anna", 100, AGE, TITLE, EMAIL);
+        when(mockEmployeeClient.getMockEmployeeById("1")).thenReturn(new MockEmployeeResponseDTO(null, anna));
+        when(mockEmployeeClient.deleteMockEmployeeByName(new MockEmployeeDeleteRequestDTO("Anna")))
+                .thenReturn(new MockEmployeeDeleteResponseDTO(null, true));
+
+        assertEquals(Optional.of("Anna"), employeeService.deleteById("1"));
+    }
+
+    @Test
+    void testDeleteById_notFound() {
+        FeignException fe = FeignException.errorStatus(
+                "GET",
+                feign.Response.builder()
+                        .status(404)
+                        .request(mock(feign.Request.class))
+                        .build());
+        when(mockEmployeeClient.getMockEmployeeById("1")).thenThrow(fe);
+
+        assertTrue(employeeService.deleteById("1").isEmpty());
+        verify(mockEmployeeClient, never()).deleteMockEmployeeByName(any());
+    }
+
+    @Test
+    void testDeleteById_alreadyDeletedUpstream() {
+        populateCache(new MockEmployeeDTO("1", "Anna", 100, AGE, TITLE, EMAIL));
+        when(mockEmployeeClient.deleteMockEmployeeByName(new MockEmployeeDeleteRequestDTO("Anna")))
+                .thenReturn(new MockEmployeeDeleteResponseDTO(null, false));
+
+        assertTrue(employeeService.deleteById("1").isEmpty());
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
     @Test
     void testDeleteByName_mockServiceError() {
         FeignException fe = FeignException.errorStatus(
@@ -215,4 +292,102 @@ class EmployeeServiceTest {
         doThrow(fe).when(mockEmployeeClient).deleteMockEmployeeByName(any(MockEmployeeDeleteRequestDTO.class));
         assertThrows(MockEmployeeServiceException.class, () -> employeeService.deleteByName("A"));
     }
+
+    @Test
+    void testCachedReads_doNotCallUpstream() {
+        populateCache(
+                new MockEmployeeDTO("1", "Anna", 100, AGE, TITLE, EMAIL),
+                new MockEmployeeDTO("2", "Hannah", 300, AGE, TITLE, EMAIL),
+                new MockEmployeeDTO("3", "Bob", 200, AGE, TITLE, EMAIL));
+
+        assertEquals(Optional.of(300), employeeService.getHighestSalary());
+        assertEquals(List.of("Hannah", "Bob", "Anna"), employeeService.getTopTenHighestEarningNames());
+        assertEquals(2, employeeService.getByNameSearch("ANN").size());
+        assertEquals(3, employeeService.getAll().size());
+        assertEquals("Bob", employeeService.getById("3").orElseThrow().name());
+        verifyNoInteractions(mockEmployeeClient);
+    }
+
+    @Test
+    void testGetById_cacheMissFallsBackToUpstream() {
+        populateCache(new MockEmployeeDTO("1", "A", 100, AGE, TITLE, EMAIL));
+        MockEmployeeDTO mockEmployee = new MockEmployeeDTO("2", "B", 200, AGE, TITLE, EMAIL);
+        when(mockEmployeeClient.getMockEmployeeById("2")).thenReturn(new MockEmployeeResponseDTO(null, mockEmployee));
+
+        Optional<EmployeeDTO> result = employeeService.getById("2");
+        assertEquals("B", result.orElseThrow().name());
+    }
+
+    @Test
+    void testCachedReads_projectFields() {
+        populateCache(new MockEmployeeDTO("1", "Anna", 100, AGE, TITLE, EMAIL));
+        EmployeeFields fields = EmployeeFields.parse("name,salary");
+
+        EmployeeDTO expected = new EmployeeDTO(null, "Anna", 100, null, null, null);
+        assertEquals(List.of(expected), employeeService.getAll(fields));
+        assertEquals(List.of(expected), employeeService.getByNameSearch("ann", fields));
+        assertEquals(Optional.of(expected), employeeService.getById("1", fields));
+        verifyNoInteractions(mockEmployeeClient);
+    }
+
+    @Test
+    void testUpstreamReads_pushDownFields() {
+        EmployeeFields fields = EmployeeFields.parse("id,name");
+        MockEmployeeDTO mockEmployee = new MockEmployeeDTO("2", "B", null, null, null, null);
+        when(mockEmployeeClient.getMockEmployeeById("2", "id,name"))
+                .thenReturn(new MockEmployeeResponseDTO(null, mockEmployee));
+        when(mockEmployeeClient.queryMockEmployees(
+                        isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq("id,name")))
+                .thenReturn(new MockEmployeeListResponseDTO(null, List.of(mockEmployee)));
+
+        EmployeeDTO expected = new EmployeeDTO("2", "B", null, null, null, null);
+        assertEquals(Optional.of(expected), employeeService.getById("2", fields));
+        assertEquals(List.of(expected), employeeService.getAll(fields));
+        verify(mockEmployeeClient, never()).getAllMockEmployees();
+    }
+
+    @Test
+    void testQuery_cached() {
+        populateCache(
+                new MockEmployeeDTO("1", "Anna", 100, 45, "Engineer", EMAIL),
+                new MockEmployeeDTO("2", "Hannah", 300, 45, "Engineer", EMAIL),
+                new MockEmployeeDTO("3", "Bob", 300, 30, "Engineer", EMAIL),
+                new MockEmployeeDTO("4", "Carl", 300, 50, "Manager", EMAIL));
+
+        List<EmployeeDTO> result =
+                employeeService.query("age > 40 and salary >= 200 and title = 'Engineer' or age < 31");
+        assertEquals(List.of("Hannah", "Bob"), result.stream().map(EmployeeDTO::name).toList());
+        verifyNoInteractions(mockEmployeeClient);
+    }
+
+    @Test
+    void testQuery_fallsBackToUpstream() {
+        when(mockEmployeeClient.getAllMockEmployees())
+                .thenReturn(new MockEmployeeListResponseDTO(
+                        null,
+                        List.of(
+                                new MockEmployeeDTO("1", "A", 100, AGE, TITLE, EMAIL),
+                                new MockEmployeeDTO("2", "B", 200, AGE, null, EMAIL))));
+
+        List<EmployeeDTO> result = employeeService.query("title != 'other'");
+        assertEquals(List.of("A"), result.stream().map(EmployeeDTO::name).toList());
+    }
+
+    @Test
+    void testQuery_invalidFilter() {
+        populateCache(new MockEmployeeDTO("1", "A", 100, AGE, TITLE, EMAIL));
+
+        assertThrows(InvalidEmployeeFilterException.class, () -> employeeService.query("title > 'a'"));
+        assertThrows(InvalidEmployeeFilterException.class, () -> employeeService.query("salary = 'a'"));
+        assertThrows(InvalidEmployeeFilterException.class, () -> employeeService.query("salary = 1 and"));
+    }
+
+    private void populateCache(MockEmployeeDTO... mockEmployees) {
+        employeeCache.replace(1L, Arrays.stream(mockEmployees).map(EmployeeTransformer::toEmployee).toList());
+    }
+
+    private void stubQuery(List<MockEmployeeDTO> mockEmployees) {
+        when(mockEmployeeClient.queryMockEmployees(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new MockEmployeeListResponseDTO(null, mockEmployees));
+    }
 }
@@ -0,0 +1,156 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.bus.LoopbackEmployeeUpdateBus;
+import com.reliaquest.api.cache.EmployeeCache;
+import com.reliaquest.api.cache.EmployeeStorage;
+import com.reliaquest.api.dto.EmployeeUpdateDTO;
+import com.reliaquest.api.dto.MockEmployeeChangeDTO;
+import com.reliaquest.api.dto.MockEmployeeDTO;
+import com.reliaquest.api.util.EmployeeTransformer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class EmployeeUpdatePropagatorTest {
+
+    private static final MockEmployeeDTO EMPLOYEE_A = new MockEmployeeDTO("a", "A", 100, 20, "title", "a@email.com");
+    private static final MockEmployeeDTO EMPLOYEE_B = new MockEmployeeDTO("b", "B", 200, 30, "title", "b@email.com");
+
+    @Mock
+    private EmployeeCacheRefresher originRefresher;
+
+    @Mock
+    private EmployeeCacheRefresher peerRefresher;
+
+    private final LoopbackEmployeeUpdateBus employeeUpdateBus = new LoopbackEmployeeUpdateBus();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmployeeCache peerCache;
+
+    private EmployeeUpdatePropagator origin;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        EmployeeCache originCache = new EmployeeCache(EmployeeStorage.HEAP);
+        peerCache = new EmployeeCache(EmployeeStorage.HEAP);
+        peerCache.replace(10L, List.of(EmployeeTransformer.toEmployee(EMPLOYEE_A)));
+        origin = propagator(originRefresher, originCache);
+        propagator(peerRefresher, peerCache).subscribe();
+        origin.subscribe();
+    }
+
+    @Test
+    void testPropagate_peerAppliesChangesWithoutUpstream() {
+        when(originRefresher.refresh())
+                .thenReturn(Optional.of(new EmployeeUpdateDTO(
+                        null,
+                        10L,
+                        12L,
+                        List.of(
+                                new MockEmployeeChangeDTO(11L, "CREATED", EMPLOYEE_B),
+                                new MockEmployeeChangeDTO(12L, "DELETED", EMPLOYEE_A)),
+                        0)));
+
+        origin.propagate();
+
+        assertEquals(12L, peerCache.snapshot().orElseThrow().version());
+        assertTrue(peerCache.snapshot().orElseThrow().findById("b").isPresent());
+        assertTrue(peerCache.snapshot().orElseThrow().findById("a").isEmpty());
+        verifyNoInteractions(peerRefresher);
+        assertEquals(1, meterRegistry.timer("employee.bus.convergence").count());
+    }
+
+    @Test
+    void testPropagate_peerMissingChangesRefreshes() {
+        when(originRefresher.refresh())
+                .thenReturn(Optional.of(new EmployeeUpdateDTO(
+                        null, 11L, 12L, List.of(new MockEmployeeChangeDTO(12L, "DELETED", EMPLOYEE_A)), 0)));
+
+        origin.propagate();
+
+        assertEquals(10L, peerCache.snapshot().orElseThrow().version());
+        verify(peerRefresher, timeout(1_000)).refresh();
+        assertEquals(0, meterRegistry.timer("employee.bus.convergence").count());
+    }
+
+    @Test
+    void testPropagate_peerAlreadyAtVersionRecordsNothing() {
+        when(originRefresher.refresh())
+                .thenReturn(Optional.of(new EmployeeUpdateDTO(
+                        null, 9L, 10L, List.of(new MockEmployeeChangeDTO(10L, "CREATED", EMPLOYEE_A)), 0)));
+
+        origin.propagate();
+
+        assertEquals(10L, peerCache.snapshot().orElseThrow().version());
+        verifyNoInteractions(peerRefresher);
+        assertEquals(0, meterRegistry.timer("employee.bus.convergence").count());
+    }
+
+    @Test
+    void testPropagate_announcementMakesPeerRefresh() {
+        when(originRefresher.refresh()).thenReturn(Optional.of(EmployeeUpdateDTO.announce(50L)));
+
+        origin.propagate();
+
+        verify(peerRefresher, timeout(1_000)).refresh();
+    }
+
+    @Test
+    void testPropagate_nothingChanged() {
+        when(originRefresher.refresh()).thenReturn(Optional.empty());
+
+        origin.propagate();
+
+        verifyNoInteractions(peerRefresher);
+        assertEquals(0, meterRegistry.timer("employee.bus.convergence").count());
+    }
+
+    @Test
+    void testOnUpdate_refreshesOffReceiverThreadCoalescingUpdates() throws InterruptedException {
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> refreshThreads = new CopyOnWriteArrayList<>();
+        when(peerRefresher.refresh()).thenAnswer(invocation -> {
+            refreshThreads.add(Thread.currentThread());
+            refreshing.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return Optional.empty();
+        });
+
+        employeeUpdateBus.publish(EmployeeUpdateDTO.announce(50L).stamped("other", 0));
+        assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+        // Arrive while the first refresh is running, and share the next one.
+        employeeUpdateBus.publish(EmployeeUpdateDTO.announce(51L).stamped("other", 0));
+        employeeUpdateBus.publish(EmployeeUpdateDTO.announce(52L).stamped("other", 0));
+        release.countDown();
+
+        verify(peerRefresher, after(200).times(2)).refresh();
+        assertFalse(refreshThreads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    void testOnUpdate_ignoresOwnUpdates() {
+        EmployeeUpdateDTO own = EmployeeUpdateDTO.announce(50L).stamped(origin.instanceId(), 0);
+
+        origin.onUpdate(own);
+
+        verify(originRefresher, never()).refresh();
+    }
+
+    private EmployeeUpdatePropagator propagator(EmployeeCacheRefresher refresher, EmployeeCache cache) {
+        return new EmployeeUpdatePropagator(refresher, cache, employeeUpdateBus, Clock.systemUTC(), meterRegistry);
+    }
+}
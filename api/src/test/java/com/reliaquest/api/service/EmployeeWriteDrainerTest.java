@@ -0,0 +1,126 @@
+package com.reliaquest.api.service;
+
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.UpstreamBudget;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.EmployeeWriteDTO;
+import com.reliaquest.api.exception.InvalidEmployeeException;
+import com.reliaquest.api.exception.MockEmployeeServiceException;
+import com.reliaquest.api.exception.TooManyMockEmployeeRequestsException;
+import feign.Request;
+import feign.RetryableException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class EmployeeWriteDrainerTest {
+
+    private static final EmployeeDTO EMPLOYEE = new EmployeeDTO(null, "Chris", 1000, 30, "title", null);
+    private static final EmployeeWriteDTO FIRST = write("first");
+    private static final EmployeeWriteDTO SECOND = write("second");
+
+    @Mock
+    private EmployeeWriteQueue employeeWriteQueue;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private UpstreamBudget upstreamBudget;
+
+    private EmployeeWriteDrainer employeeWriteDrainer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeWriteDrainer = new EmployeeWriteDrainer(employeeWriteQueue, employeeService, upstreamBudget, 5, 3);
+        when(employeeWriteQueue.nextBatch(anyInt())).thenReturn(List.of(FIRST, SECOND));
+    }
+
+    @Test
+    void testDrain_batchIsLimitedByBudget() {
+        when(upstreamBudget.availablePermits()).thenReturn(2);
+        when(employeeService.create(EMPLOYEE)).thenReturn(Optional.of(EMPLOYEE));
+
+        employeeWriteDrainer.drain();
+
+        verify(employeeWriteQueue).nextBatch(2);
+        verify(employeeWriteQueue).complete("first", EMPLOYEE);
+        verify(employeeWriteQueue).complete("second", EMPLOYEE);
+    }
+
+    @Test
+    void testDrain_invalidWriteFailsAndContinues() {
+        when(upstreamBudget.availablePermits()).thenReturn(5);
+        when(employeeService.create(EMPLOYEE))
+                .thenThrow(new InvalidEmployeeException("invalid", 400))
+                .thenReturn(Optional.of(EMPLOYEE));
+
+        employeeWriteDrainer.drain();
+
+        verify(employeeWriteQueue).fail("first", "Invalid employee data: invalid");
+        verify(employeeWriteQueue).complete("second", EMPLOYEE);
+    }
+
+    @Test
+    void testDrain_throttledStopsWithoutCountingAttempt() {
+        when(upstreamBudget.availablePermits()).thenReturn(5);
+        when(employeeService.create(EMPLOYEE)).thenThrow(new TooManyMockEmployeeRequestsException(429));
+
+        employeeWriteDrainer.drain();
+
+        verify(employeeService, times(1)).create(EMPLOYEE);
+        verify(employeeWriteQueue, never()).retry(anyString(), anyString(), anyInt());
+        verify(employeeWriteQueue, never()).complete(anyString(), any());
+    }
+
+    @Test
+    void testDrain_refusedConnectionRetriesAndStops() {
+        when(upstreamBudget.availablePermits()).thenReturn(5);
+        when(employeeService.create(EMPLOYEE))
+                .thenThrow(new RetryableException(
+                        -1,
+                        "Connection refused",
+                        Request.HttpMethod.POST,
+                        new ConnectException("Connection refused"),
+                        (Long) null,
+                        Request.create(
+                                Request.HttpMethod.POST,
+                                "http://localhost/api/v1/employee",
+                                Map.of(),
+                                null,
+                                StandardCharsets.UTF_8,
+                                null)));
+
+        employeeWriteDrainer.drain();
+
+        verify(employeeService, times(1)).create(EMPLOYEE);
+        verify(employeeWriteQueue).retry("first", "Connection refused", 3);
+        verify(employeeWriteQueue, never()).fail(anyString(), anyString());
+    }
+
+    @Test
+    void testDrain_upstreamErrorFailsWithoutRetryAndStops() {
+        when(upstreamBudget.availablePermits()).thenReturn(5);
+        when(employeeService.create(EMPLOYEE)).thenThrow(new MockEmployeeServiceException("unavailable", 500));
+
+        employeeWriteDrainer.drain();
+
+        verify(employeeService, times(1)).create(EMPLOYEE);
+        verify(employeeWriteQueue).fail("first", "Outcome unknown: unavailable");
+        verify(employeeWriteQueue, never()).retry(anyString(), anyString(), anyInt());
+    }
+
+    private static EmployeeWriteDTO write(String id) {
+        return new EmployeeWriteDTO(
+                id, EmployeeWriteDTO.Status.PENDING, EMPLOYEE, Instant.EPOCH, Instant.EPOCH, 0, null);
+    }
+}
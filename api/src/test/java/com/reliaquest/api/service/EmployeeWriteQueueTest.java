@@ -0,0 +1,132 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.dto.EmployeeWriteDTO;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeWriteQueueTest {
+
+    private static final EmployeeDTO EMPLOYEE = new EmployeeDTO(null, "Chris", 1000, 30, "title", null);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    private EmployeeWriteQueue employeeWriteQueue;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        employeeWriteQueue = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        employeeWriteQueue.close();
+    }
+
+    @Test
+    void testSubmit_isPendingInOrder() {
+        EmployeeWriteDTO first = employeeWriteQueue.submit(EMPLOYEE);
+        EmployeeWriteDTO second = employeeWriteQueue.submit(EMPLOYEE);
+
+        assertEquals(EmployeeWriteDTO.Status.PENDING, first.status());
+        assertEquals(2, employeeWriteQueue.pendingCount());
+        assertEquals(
+                List.of(first.id(), second.id()),
+                employeeWriteQueue.nextBatch(5).stream().map(EmployeeWriteDTO::id).toList());
+        assertEquals(1, employeeWriteQueue.nextBatch(1).size());
+    }
+
+    @Test
+    void testComplete_removesFromQueueAndKeepsResult() {
+        EmployeeWriteDTO write = employeeWriteQueue.submit(EMPLOYEE);
+        EmployeeDTO created = new EmployeeDTO("id", "Chris", 1000, 30, "title", "chris@company.com");
+
+        employeeWriteQueue.complete(write.id(), created);
+
+        assertEquals(0, employeeWriteQueue.pendingCount());
+        EmployeeWriteDTO completed = employeeWriteQueue.find(write.id()).orElseThrow();
+        assertEquals(EmployeeWriteDTO.Status.COMPLETED, completed.status());
+        assertEquals(created, completed.employee());
+    }
+
+    @Test
+    void testRetry_failsAfterMaxAttempts() {
+        EmployeeWriteDTO write = employeeWriteQueue.submit(EMPLOYEE);
+
+        employeeWriteQueue.retry(write.id(), "unavailable", 2);
+        assertEquals(1, employeeWriteQueue.find(write.id()).orElseThrow().attempts());
+        assertEquals(1, employeeWriteQueue.pendingCount());
+
+        employeeWriteQueue.retry(write.id(), "unavailable", 2);
+        EmployeeWriteDTO failed = employeeWriteQueue.find(write.id()).orElseThrow();
+        assertEquals(EmployeeWriteDTO.Status.FAILED, failed.status());
+        assertEquals("unavailable", failed.error());
+        assertEquals(0, employeeWriteQueue.pendingCount());
+    }
+
+    @Test
+    void testRecover_restoresWritesFromJournal() throws IOException {
+        EmployeeWriteDTO completed = employeeWriteQueue.submit(EMPLOYEE);
+        EmployeeWriteDTO pending = employeeWriteQueue.submit(EMPLOYEE);
+        employeeWriteQueue.complete(completed.id(), null);
+        employeeWriteQueue.close();
+
+        employeeWriteQueue = open();
+
+        assertEquals(1, employeeWriteQueue.pendingCount());
+        assertEquals(pending.id(), employeeWriteQueue.nextBatch(5).get(0).id());
+        assertEquals(
+                EmployeeWriteDTO.Status.COMPLETED,
+                employeeWriteQueue.find(completed.id()).orElseThrow().status());
+    }
+
+    @Test
+    void testRecover_skipsCorruptEntryAndKeepsTheRest() throws IOException {
+        EmployeeWriteDTO first = employeeWriteQueue.submit(EMPLOYEE);
+        EmployeeWriteDTO second = employeeWriteQueue.submit(EMPLOYEE);
+        employeeWriteQueue.close();
+        Path journal = directory.resolve("writes.journal");
+        List<String> lines = new ArrayList<>(Files.readAllLines(journal));
+        lines.add(1, "{\"id\":\"half-writ");
+        Files.write(journal, lines);
+
+        employeeWriteQueue = open();
+
+        assertEquals(
+                List.of(first.id(), second.id()),
+                employeeWriteQueue.nextBatch(5).stream().map(EmployeeWriteDTO::id).toList());
+        try (Stream<Path> files = Files.list(directory)) {
+            Path copy = files.filter(path -> path.getFileName().toString().endsWith(".corrupt"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(lines, Files.readAllLines(copy));
+        }
+        assertEquals(2, Files.readAllLines(journal).size());
+    }
+
+    private EmployeeWriteQueue open() throws IOException {
+        EmployeeWriteQueue queue =
+                new EmployeeWriteQueue(objectMapper, clock, directory.resolve("writes.journal"), 3_600_000);
+        queue.recover();
+        return queue;
+    }
+}
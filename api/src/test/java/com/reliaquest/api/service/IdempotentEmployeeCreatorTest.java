@@ -0,0 +1,148 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.IdempotencyKeyReusedException;
+import com.reliaquest.api.exception.TooManyMockEmployeeRequestsException;
+import com.reliaquest.api.util.MutableClock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class IdempotentEmployeeCreatorTest {
+
+    private static final EmployeeDTO INPUT = new EmployeeDTO(null, "Chris", 1000, 30, "title", null);
+
+    private static final EmployeeDTO CREATED = new EmployeeDTO("id", "Chris", 1000, 30, "title", "chris@company.com");
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private MutableClock clock;
+
+    private IdempotentEmployeeCreator idempotentEmployeeCreator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        clock = new MutableClock();
+        idempotentEmployeeCreator =
+                new IdempotentEmployeeCreator(employeeService, new ObjectMapper(), clock, 2, 60_000);
+    }
+
+    @Test
+    void testCreate_retryReturnsFirstResult() {
+        when(employeeService.create(INPUT)).thenReturn(Optional.of(CREATED));
+
+        assertEquals(Optional.of(CREATED), idempotentEmployeeCreator.create("key", INPUT));
+        assertEquals(Optional.of(CREATED), idempotentEmployeeCreator.create("key", INPUT));
+
+        verify(employeeService, times(1)).create(INPUT);
+    }
+
+    @Test
+    void testCreate_keyReusedForDifferentEmployee() {
+        when(employeeService.create(INPUT)).thenReturn(Optional.of(CREATED));
+        idempotentEmployeeCreator.create("key", INPUT);
+
+        EmployeeDTO other = new EmployeeDTO(null, "Alex", 1000, 30, "title", null);
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> idempotentEmployeeCreator.create("key", other));
+        verify(employeeService, never()).create(other);
+    }
+
+    @Test
+    void testCreate_failureIsRetried() {
+        when(employeeService.create(INPUT))
+                .thenThrow(new TooManyMockEmployeeRequestsException(429))
+                .thenReturn(Optional.of(CREATED));
+
+        assertThrows(TooManyMockEmployeeRequestsException.class, () -> idempotentEmployeeCreator.create("key", INPUT));
+        assertEquals(Optional.of(CREATED), idempotentEmployeeCreator.create("key", INPUT));
+        assertEquals(1, idempotentEmployeeCreator.size());
+    }
+
+    @Test
+    void testCreate_expiredAndOverflowingKeysEvicted() {
+        when(employeeService.create(INPUT)).thenReturn(Optional.of(CREATED));
+        idempotentEmployeeCreator.create("first", INPUT);
+        idempotentEmployeeCreator.create("second", INPUT);
+        idempotentEmployeeCreator.create("third", INPUT);
+        assertEquals(2, idempotentEmployeeCreator.size());
+
+        clock.advance(Duration.ofMinutes(2));
+        idempotentEmployeeCreator.create("fourth", INPUT);
+
+        assertEquals(1, idempotentEmployeeCreator.size());
+        verify(employeeService, times(4)).create(INPUT);
+    }
+
+    @Test
+    void testCreate_concurrentDuplicateWaitsForFirst() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeService.create(INPUT)).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return Optional.of(CREATED);
+        });
+
+        CompletableFuture<Optional<EmployeeDTO>> first =
+                CompletableFuture.supplyAsync(() -> idempotentEmployeeCreator.create("key", INPUT));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<EmployeeDTO>> duplicate = new CompletableFuture<>();
+        Thread duplicateThread =
+                new Thread(() -> duplicate.complete(idempotentEmployeeCreator.create("key", INPUT)));
+        duplicateThread.start();
+        awaitWaiting(duplicateThread);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        assertEquals(Optional.of(CREATED), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of(CREATED), duplicate.get(5, TimeUnit.SECONDS));
+        verify(employeeService, times(1)).create(INPUT);
+    }
+
+    @Test
+    void testCreate_inFlightKeyNotEvicted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeService.create(INPUT))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                    return Optional.of(CREATED);
+                })
+                .thenReturn(Optional.of(CREATED));
+
+        CompletableFuture<Optional<EmployeeDTO>> first =
+                CompletableFuture.supplyAsync(() -> idempotentEmployeeCreator.create("first", INPUT));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        idempotentEmployeeCreator.create("second", INPUT);
+        idempotentEmployeeCreator.create("third", INPUT);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        idempotentEmployeeCreator.create("first", INPUT);
+        verify(employeeService, times(3)).create(INPUT);
+    }
+
+    /*
+     * The duplicate parks in the wait for the first create's result; until then it is runnable or blocked.
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.api.statistics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SalaryStatisticsTest {
+
+    @Test
+    void testOf_aggregatesAndQuantiles() {
+        SalaryStatistics statistics = SalaryStatistics.of(IntStream.rangeClosed(1, 1000).map(i -> i * 100));
+
+        assertEquals(1000, statistics.count());
+        assertEquals(100, statistics.min());
+        assertEquals(100000, statistics.max());
+        assertEquals(50050.0, statistics.mean());
+        assertEquals(50000, statistics.quantile(0.5), 50000 * 2 * SalarySketch.RELATIVE_ACCURACY);
+        assertEquals(90000, statistics.quantile(0.9), 90000 * 2 * SalarySketch.RELATIVE_ACCURACY);
+        assertEquals(99000, statistics.quantile(0.99), 99000 * 2 * SalarySketch.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    void testHistogram_coversObservedRange() {
+        SalaryStatistics statistics = SalaryStatistics.of(IntStream.of(10, 10, 20, 30, 40));
+
+        List<SalaryStatistics.Range> histogram = statistics.histogram(3);
+
+        assertEquals(3, histogram.size());
+        assertEquals(10, histogram.get(0).lower());
+        assertEquals(40, histogram.get(2).upper());
+        assertEquals(5, histogram.stream().mapToLong(SalaryStatistics.Range::count).sum());
+    }
+
+    @Test
+    void testApply_matchesRebuild() {
+        SalaryStatistics statistics = SalaryStatistics.of(IntStream.of(100, 200, 300));
+
+        SalaryStatistics result = statistics.apply(new int[] {300}, new int[] {50}, () -> IntStream.of(100, 200, 50));
+
+        SalaryStatistics rebuilt = SalaryStatistics.of(IntStream.of(100, 200, 50));
+        assertEquals(rebuilt.count(), result.count());
+        assertEquals(rebuilt.min(), result.min());
+        assertEquals(rebuilt.max(), result.max());
+        assertEquals(rebuilt.mean(), result.mean());
+        assertEquals(rebuilt.quantile(0.5), result.quantile(0.5));
+    }
+
+    @Test
+    void testApply_keepsExtremesWithoutRescan() {
+        SalaryStatistics statistics = SalaryStatistics.of(IntStream.of(100, 200, 300));
+
+        SalaryStatistics result = statistics.apply(new int[] {200}, new int[] {}, () -> {
+            throw new AssertionError("unexpected rescan");
+        });
+
+        assertEquals(100, result.min());
+        assertEquals(300, result.max());
+        assertEquals(2, result.count());
+    }
+
+    @Test
+    void testSketch_merge() {
+        SalarySketch left = new SalarySketch();
+        SalarySketch right = new SalarySketch();
+        IntStream.rangeClosed(1, 500).forEach(left::add);
+        IntStream.rangeClosed(501, 1000).forEach(right::add);
+
+        left.merge(right);
+
+        assertEquals(1000, left.count());
+        assertEquals(500, left.quantile(0.5), 500 * 2 * SalarySketch.RELATIVE_ACCURACY);
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api.timing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class RequestTimingTest {
+
+    @Test
+    void testTime_recordedOnlyWhileTimingIsOpen() {
+        assertEquals("untimed", RequestTiming.time(RequestPhase.TRANSFORM, () -> "untimed"));
+
+        RequestTiming timing = RequestTiming.begin("GET", "/api/v1/employee", false);
+        RequestTiming.time(RequestPhase.TRANSFORM, () -> sleep(1));
+        RequestTiming.time(RequestPhase.TRANSFORM, () -> sleep(1));
+        timing.end();
+        RequestTiming.time(RequestPhase.TRANSFORM, () -> sleep(1));
+
+        assertTrue(timing.nanos(RequestPhase.TRANSFORM) >= 2_000_000);
+        assertTrue(timing.nanos(RequestPhase.TRANSFORM) < 1_000_000_000);
+        assertEquals(0, timing.nanos(RequestPhase.UPSTREAM));
+    }
+
+    @Test
+    void testStartUntilEnd_closedByEnd() {
+        RequestTiming timing = RequestTiming.begin("GET", "/api/v1/employee", false);
+        RequestTiming.startUntilEnd(RequestPhase.SERIALIZE);
+        sleep(1);
+        timing.end();
+
+        assertTrue(timing.nanos(RequestPhase.SERIALIZE) >= 1_000_000);
+    }
+
+    @Test
+    void testServerTiming_listsOccurredPhasesThenTotal() {
+        RequestTiming timing = RequestTiming.begin("GET", "/api/v1/employee", false);
+        try (RequestTiming.Phase ignored = RequestTiming.start(RequestPhase.UPSTREAM)) {
+            sleep(1);
+        }
+        RequestTiming.time(RequestPhase.SORT, () -> null);
+        timing.end();
+
+        String metric = ";dur=\\d+\\.\\d{3}";
+        assertTrue(
+                timing.serverTiming().matches("upstream" + metric + ", sort" + metric + ", total" + metric),
+                timing.serverTiming());
+    }
+
+    @Test
+    void testTime_recordsFlightRecorderEvents() throws IOException {
+        Path file = Files.createTempFile("request-timing", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.reliaquest.api.RequestPhase");
+            recording.start();
+            RequestTiming timing = RequestTiming.begin("POST", "/api/v1/employee", true);
+            RequestTiming.time(RequestPhase.DECODE, () -> sleep(1));
+            timing.end();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        assertEquals(1, events.size());
+        assertEquals("decode", events.get(0).getString("phase"));
+        assertEquals("POST", events.get(0).getString("method"));
+        assertEquals("/api/v1/employee", events.get(0).getString("path"));
+        assertTrue(events.get(0).getDuration().toNanos() >= 1_000_000);
+    }
+
+    private static Void sleep(long millis) {
+        long until = System.nanoTime() + millis * 1_000_000;
+        while (System.nanoTime() < until) {
+            LockSupport.parkNanos(until - System.nanoTime());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.timing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ServerTimingFilterTest {
+
+    @Test
+    void testDoFilter_headerCoversPhasesAndBody() throws Exception {
+        MockHttpServletResponse response = request(new ServerTimingFilter(true));
+
+        assertEquals("[\"Alice\"]", response.getContentAsString());
+        String serverTiming = response.getHeader(ServerTimingFilter.SERVER_TIMING);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.startsWith("sort;dur="), serverTiming);
+        assertTrue(serverTiming.contains("serialize;dur="), serverTiming);
+        assertTrue(serverTiming.contains("total;dur="), serverTiming);
+    }
+
+    @Test
+    void testDoFilter_noHeaderWhenDisabled() throws Exception {
+        MockHttpServletResponse response = request(new ServerTimingFilter(false));
+
+        assertEquals("[\"Alice\"]", response.getContentAsString());
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING));
+    }
+
+    private static MockHttpServletResponse request(ServerTimingFilter serverTimingFilter) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        serverTimingFilter.doFilter(
+                new MockHttpServletRequest("GET", "/api/v1/employee/topTenHighestEarningEmployeeNames"),
+                response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest request, HttpServletResponse response)
+                            throws IOException {
+                        String body = RequestTiming.time(RequestPhase.SORT, () -> "[\"Alice\"]");
+                        RequestTiming.startUntilEnd(RequestPhase.SERIALIZE);
+                        response.setContentType("application/json");
+                        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+                    }
+                }));
+        return response;
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.api.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.reliaquest.api.dto.MockEmployeeDTO;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidStringDeserializerTest {
+
+    private static final UUID ID = UUID.fromString("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507");
+
+    @Test
+    void testDeserialize_smileBinaryUuid() throws Exception {
+        ObjectMapper smileMapper = new SmileMapper();
+        byte[] payload = smileMapper.writeValueAsBytes(Map.of("id", ID, "employee_name", "Tiger Nixon"));
+
+        MockEmployeeDTO result = smileMapper.readValue(payload, MockEmployeeDTO.class);
+        assertEquals(ID.toString(), result.id());
+        assertEquals("Tiger Nixon", result.name());
+    }
+
+    @Test
+    void testDeserialize_jsonString() throws Exception {
+        MockEmployeeDTO result = new ObjectMapper().readValue("{\"id\":\"%s\"}".formatted(ID), MockEmployeeDTO.class);
+        assertEquals(ID.toString(), result.id());
+    }
+}
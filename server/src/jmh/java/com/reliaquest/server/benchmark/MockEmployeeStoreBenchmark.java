@@ -0,0 +1,145 @@
+package com.reliaquest.server.benchmark;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeePartitioner;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStorage;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Mixes readers and writers against one {@link MockEmployeeService} per group:
+ * <ul>
+ *     <li>{@code lookups}: {@code findById} of random existing ids while a writer creates and deletes employees.
+ *     <li>{@code listing}: {@code getMockEmployees}, the unfiltered query behind the list endpoint, against the same
+ *     writer.
+ * </ul>
+ * The writer deletes every employee it creates, so the dataset stays at {@code employees} for the whole run. The
+ * default split is three readers to one writer; other splits are passed as reader,writer counts, e.g.
+ * {@code ./gradlew server:jmh -PjmhThreadGroups=7,1}. Allocation rates come from the gc profiler the jmh task enables;
+ * the {@code COMPACT} storage trades them, and scans for salary reads, for a smaller resident dataset. Passing
+ * {@code -PjmhThreadGroups} runs this benchmark alone.
+ * <p>
+ * The service is started in an application context so its partitions are built the way the server builds them.
+ * <p>
+ * Run with {@code ./gradlew server:jmh}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MockEmployeeStoreBenchmark {
+
+    @Param({"1000", "100000"})
+    private int employees;
+
+    @Param({"1", "8"})
+    private int partitions;
+
+    @Param({"HEAP", "COMPACT"})
+    private MockEmployeeStorage storage;
+
+    private AnnotationConfigApplicationContext context;
+    private MockEmployeeService mockEmployeeService;
+    private UUID[] ids;
+    private final MockEmployeeQuery listQuery = new MockEmployeeQuery();
+    private final AtomicLong created = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        final var faker = new Faker(Locale.ENGLISH, new Random(42));
+        final var partitioner = new MockEmployeePartitioner(partitions, 0, 1, storage);
+        final var random = new Random(42);
+        final var mockEmployees = IntStream.range(0, employees)
+                .mapToObj(i -> MockEmployee.builder()
+                        .id(new UUID(random.nextLong(), random.nextLong()))
+                        .name("Employee " + i)
+                        .salary(random.nextInt(30000, 500000))
+                        .age(random.nextInt(16, 70))
+                        .title("Title " + random.nextInt(500))
+                        .email("employee" + i + "@company.com")
+                        .build())
+                .toList();
+        ids = mockEmployees.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(
+                MockEmployeeService.class,
+                () -> new MockEmployeeService(faker, mockEmployees, new MockEmployeeChangeLog(1000), partitioner));
+        context.refresh();
+        mockEmployeeService = context.getBean(MockEmployeeService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("lookups")
+    @GroupThreads(3)
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    @Group("lookups")
+    @GroupThreads(1)
+    public boolean createAndDeleteDuringLookups() {
+        return createAndDelete();
+    }
+
+    @Benchmark
+    @Group("listing")
+    @GroupThreads(3)
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeService.query(listQuery);
+    }
+
+    @Benchmark
+    @Group("listing")
+    @GroupThreads(1)
+    public boolean createAndDeleteDuringListing() {
+        return createAndDelete();
+    }
+
+    private boolean createAndDelete() {
+        final var input = new CreateMockEmployeeInput();
+        input.setName("Benchmark " + created.incrementAndGet());
+        input.setSalary(100000);
+        input.setAge(40);
+        input.setTitle("Engineer");
+        final var mockEmployee = mockEmployeeService.create(input);
+        final var delete = new DeleteMockEmployeeInput();
+        delete.setName(mockEmployee.getName());
+        return mockEmployeeService.delete(delete);
+    }
+}
@@ -0,0 +1,110 @@
+package com.reliaquest.server.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Measures the per-request work around the store, each group sharing one instance between its threads:
+ * <ul>
+ *     <li>{@code interceptor}: {@link RandomRequestLimitInterceptor#preHandle} from every thread. The limit is reached
+ *     within the first few calls, so this mostly measures the rejecting path and contention on its shared state.
+ *     <li>{@code serialization}: a single {@link MockEmployee} and a page of {@code employees} written through the
+ *     mapper Spring MVC uses, exercising the prefix naming strategy.
+ * </ul>
+ * Thread counts per group are fixed; {@code -PjmhThreadGroups} only applies to {@link MockEmployeeStoreBenchmark}.
+ * Allocation rates come from the gc profiler.
+ * <p>
+ * Run with {@code ./gradlew server:jmh}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RequestPathBenchmark {
+
+    @Param({"20", "1000"})
+    private int employees;
+
+    private RandomRequestLimitInterceptor interceptor;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private ObjectMapper objectMapper;
+    private MockEmployee mockEmployee;
+    private Response<List<MockEmployee>> page;
+
+    @Setup
+    public void setUp() {
+        interceptor = new RandomRequestLimitInterceptor();
+        request = stub(HttpServletRequest.class);
+        response = stub(HttpServletResponse.class);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        final var random = new Random(42);
+        page = Response.handledWith(IntStream.range(0, employees)
+                .mapToObj(i -> MockEmployee.builder()
+                        .id(new UUID(random.nextLong(), random.nextLong()))
+                        .name("Employee " + i)
+                        .salary(random.nextInt(30000, 500000))
+                        .age(random.nextInt(16, 70))
+                        .title("Title " + random.nextInt(500))
+                        .email("employee" + i + "@company.com")
+                        .build())
+                .toList());
+        mockEmployee = page.data().get(0);
+    }
+
+    @Benchmark
+    @Group("interceptor")
+    @GroupThreads(4)
+    public boolean preHandle() {
+        return interceptor.preHandle(request, response, null);
+    }
+
+    @Benchmark
+    @Group("serialization")
+    @GroupThreads(2)
+    public byte[] serializeEmployee() throws IOException {
+        return objectMapper.writeValueAsBytes(mockEmployee);
+    }
+
+    @Benchmark
+    @Group("serialization")
+    @GroupThreads(2)
+    public byte[] serializePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    /*
+     * The interceptor only sets the status, so a proxy answering every call with null stands in for the servlet API.
+     */
+    private static <T> T stub(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> null));
+    }
+}
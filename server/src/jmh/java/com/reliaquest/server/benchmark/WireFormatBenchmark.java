@@ -0,0 +1,123 @@
+package com.reliaquest.server.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compares JSON with Smile for the employee list payload, using the same object mappers Spring MVC negotiates.
+ * Encoded and gzip-compressed payload sizes are reported next to each result as the {@code bytes} and
+ * {@code gzippedBytes} counters.
+ * <p>
+ * Run with {@code ./gradlew server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"100000"})
+    private int employees;
+
+    @Param({"json", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private Response<List<MockEmployee>> response;
+    private byte[] payload;
+    private int gzippedBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = "smile".equals(format)
+                ? Jackson2ObjectMapperBuilder.smile().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        final var random = new Random(42);
+        response = Response.handledWith(IntStream.range(0, employees)
+                .mapToObj(i -> MockEmployee.builder()
+                        .id(new UUID(random.nextLong(), random.nextLong()))
+                        .name("Employee " + i)
+                        .salary(random.nextInt(30000, 500000))
+                        .age(random.nextInt(16, 70))
+                        .title("Title " + random.nextInt(500))
+                        .email("employee" + i + "@company.com")
+                        .build())
+                .toList());
+        payload = objectMapper.writeValueAsBytes(response);
+        gzippedBytes = gzip(payload);
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize size) throws IOException {
+        size.record(payload.length, gzippedBytes);
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public DecodedResponse decode(PayloadSize size) throws IOException {
+        size.record(payload.length, gzippedBytes);
+        return objectMapper.readValue(payload, DecodedResponse.class);
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        final var compressed = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.size();
+    }
+
+    /*
+     * Counters are read at the end of each iteration; they hold the sizes rather than accumulating per invocation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long bytes;
+        public long gzippedBytes;
+
+        void record(int bytes, int gzippedBytes) {
+            this.bytes = bytes;
+            this.gzippedBytes = gzippedBytes;
+        }
+    }
+
+    /*
+     * Mirrors the shape the api decodes into.
+     */
+    public record DecodedResponse(List<DecodedEmployee> data, String status) {}
+
+    public record DecodedEmployee(
+            UUID id,
+            @JsonProperty("employee_name") String name,
+            @JsonProperty("employee_salary") Integer salary,
+            @JsonProperty("employee_age") Integer age,
+            @JsonProperty("employee_title") String title,
+            @JsonProperty("employee_email") String email) {}
+}
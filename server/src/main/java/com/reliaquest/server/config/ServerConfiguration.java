@@ -1,12 +1,12 @@
 package com.reliaquest.server.config;
 
+import com.reliaquest.server.controller.FaultInjectionController;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeePartitioner;
+import com.reliaquest.server.web.FaultInjectionInterceptor;
+import com.reliaquest.server.web.FaultInjector;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
@@ -25,19 +25,33 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final FaultInjector faultInjector;
+    private final boolean requestLimitEnabled;
+
+    public ServerConfiguration(
+            FaultInjector faultInjector, @Value("${mock.request-limit.enabled:true}") boolean requestLimitEnabled) {
+        this.faultInjector = faultInjector;
+        this.requestLimitEnabled = requestLimitEnabled;
+    }
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * The initial dataset, generated while the service loads it into its partitions so that large datasets are never
+     * held twice; each iteration generates different employees. Ids are drawn so this instance owns them when several
+     * instances split the dataset.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public Iterable<MockEmployee> mockEmployees(
+            Faker faker,
+            MockEmployeePartitioner partitioner,
+            @Value("${mock.employees.max:20}") int maxEmployees) {
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
+                Field.field("id", partitioner::newId),
                 Field.field("name", () -> faker.name().fullName()),
                 Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
                 Field.field("age", () -> faker.number().numberBetween(16, 70)),
@@ -46,14 +60,23 @@ public class ServerConfiguration implements WebMvcConfigurer {
                         "email",
                         () -> EMAIL_TEMPLATE.formatted(
                                 faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
+        return () -> IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+                .iterator();
     }
 
+    /*
+     * Injected faults come first, so requests they reject are not counted by the request limit. The admin endpoint is
+     * exempt from both, so a benchmark can always reconfigure the server.
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        registry.addInterceptor(new FaultInjectionInterceptor(faultInjector))
+                .excludePathPatterns(FaultInjectionController.PATH);
+        if (requestLimitEnabled) {
+            registry.addInterceptor(new RandomRequestLimitInterceptor())
+                    .excludePathPatterns(FaultInjectionController.PATH);
+        }
     }
 }
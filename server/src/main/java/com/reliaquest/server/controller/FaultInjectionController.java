@@ -0,0 +1,50 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.FaultProfile;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.web.FaultInjector;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Reads and replaces the {@link FaultProfile} at runtime. Requests to this endpoint are never delayed, failed or
+ * throttled themselves.
+ */
+@Validated
+@RestController
+@RequestMapping(FaultInjectionController.PATH)
+@RequiredArgsConstructor
+public class FaultInjectionController {
+
+    public static final String PATH = "/api/v1/admin/faults";
+
+    private final FaultInjector faultInjector;
+
+    @GetMapping()
+    public Response<FaultProfile> getFaultProfile() {
+        return Response.handledWith(faultInjector.profile());
+    }
+
+    /*
+     * Also restarts the request numbering, so putting the same profile again replays the same faults.
+     */
+    @PutMapping()
+    public Response<FaultProfile> putFaultProfile(@Valid @RequestBody FaultProfile profile) {
+        faultInjector.install(profile);
+        return Response.handledWith(profile);
+    }
+
+    @DeleteMapping()
+    public Response<FaultProfile> deleteFaultProfile() {
+        final var profile = new FaultProfile();
+        faultInjector.install(profile);
+        return Response.handledWith(profile);
+    }
+}
@@ -3,39 +3,98 @@ package com.reliaquest.server.controller;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChangeSet;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import com.reliaquest.server.model.MockEmployeeSnapshot;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.MockEmployeeEventBroadcaster;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+@Validated
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
+    private final MockEmployeeEventBroadcaster eventBroadcaster;
 
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public Response<List<MockEmployee>> getEmployees(@Valid MockEmployeeQuery query) {
+        return Response.handledWith(mockEmployeeService.query(query));
+    }
+
+    @GetMapping("/highestSalary")
+    public ResponseEntity<Response<Integer>> getHighestSalary() {
+        return mockEmployeeService
+                .highestSalary()
+                .map(salary -> ResponseEntity.ok(Response.handledWith(salary)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    @GetMapping("/topEarners")
+    public Response<List<MockEmployee>> getTopEarners(
+            @RequestParam(value = "limit", defaultValue = "10") @Positive int limit,
+            @RequestParam(value = "fields", required = false)
+                    Set<@Pattern(regexp = MockEmployee.FIELD_PATTERN, message = "is not a field") String> fields) {
+        return Response.handledWith(mockEmployeeService.topEarners(limit).stream()
+                .map(mockEmployee -> mockEmployee.project(fields))
+                .toList());
+    }
+
+    @GetMapping("/snapshot")
+    public Response<MockEmployeeSnapshot> getSnapshot() {
+        return Response.handledWith(mockEmployeeService.snapshot());
+    }
+
+    @GetMapping("/changes")
+    public Response<MockEmployeeChangeSet> getChanges(@RequestParam("since") long since) {
+        return Response.handledWith(mockEmployeeService.changesSince(since));
+    }
+
+    /*
+     * Resumes from Last-Event-ID when reconnecting, then from the since parameter, otherwise streams new changes only.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        if (Objects.nonNull(lastEventId)) {
+            return eventBroadcaster.subscribe(lastEventId);
+        }
+        return eventBroadcaster.subscribe(Objects.nonNull(since) ? since : mockEmployeeService.version());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+    public ResponseEntity<Response<MockEmployee>> getEmployee(
+            @PathVariable("id") UUID uuid,
+            @RequestParam(value = "fields", required = false)
+                    Set<@Pattern(regexp = MockEmployee.FIELD_PATTERN, message = "is not a field") String> fields) {
         return mockEmployeeService
                 .findById(uuid)
-                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee.project(fields))))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
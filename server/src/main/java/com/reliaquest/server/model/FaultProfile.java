@@ -0,0 +1,133 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Map;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import lombok.Data;
+
+/**
+ * Faults the server injects into employee requests, set at runtime through the admin endpoint. Every random decision
+ * is drawn from {@code seed} and the request's position since the profile was set, so a client that sends the same
+ * requests in the same order after setting the same profile sees the same faults. The default profile injects
+ * nothing.
+ */
+@Data
+public class FaultProfile {
+
+    private long seed;
+
+    @Valid @NotNull private Latency latency = new Latency();
+
+    /*
+     * Chance of failing a request with errorStatus, keyed by method and mapped path pattern, e.g.
+     * "GET /api/v1/employee/{id}", with "*" for endpoints without a rate of their own.
+     */
+    @NotNull private Map<String, @NotNull @DecimalMin("0.0") @DecimalMax("1.0") Double> errorRates = Map.of();
+
+    @Min(400)
+    @Max(599)
+    private int errorStatus = 500;
+
+    @Valid @NotNull private Throttle throttle = new Throttle();
+
+    /*
+     * Caps the rate response bodies are written at, before compression; unlimited when null.
+     */
+    @Positive private Integer bytesPerSecond;
+
+    public double errorRate(String endpoint) {
+        return errorRates.getOrDefault(endpoint, errorRates.getOrDefault("*", 0.0));
+    }
+
+    /**
+     * Delay added before each request is handled. {@code millis} is the fixed delay, the lower bound of a uniform
+     * delay, the mean of an exponential one and the median of a log-normal one; {@code maxMillis} is the upper bound
+     * of a uniform delay and caps the others when set.
+     */
+    @Data
+    public static class Latency {
+
+        @NotNull private Distribution distribution = Distribution.NONE;
+
+        @PositiveOrZero private long millis;
+
+        @PositiveOrZero private long maxMillis;
+
+        @PositiveOrZero private double sigma = 1.0;
+
+        public long sample(RandomGenerator random) {
+            final var sampled =
+                    switch (distribution) {
+                        case NONE -> 0;
+                        case FIXED -> millis;
+                        case UNIFORM -> millis + random.nextLong(Math.max(maxMillis - millis, 0) + 1);
+                        case EXPONENTIAL -> Math.round(-millis * Math.log(1 - random.nextDouble()));
+                        case LOG_NORMAL -> Math.round(millis * Math.exp(sigma * random.nextGaussian()));
+                    };
+            return maxMillis > 0 ? Math.min(sampled, Math.max(maxMillis, millis)) : sampled;
+        }
+    }
+
+    public enum Distribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        EXPONENTIAL,
+        LOG_NORMAL
+    }
+
+    /**
+     * Deterministic 429s: of every {@code period} requests, the last {@code rejected} are rejected with a Retry-After
+     * of {@code retryAfterSeconds}. A period of 0 rejects nothing, and no more than {@code period} can be rejected.
+     */
+    @Data
+    @RejectedWithinPeriod
+    public static class Throttle {
+
+        @PositiveOrZero private int period;
+
+        @PositiveOrZero private int rejected;
+
+        @PositiveOrZero private int retryAfterSeconds = 1;
+
+        public boolean rejects(long sequence) {
+            return period > 0 && sequence % period >= period - rejected;
+        }
+    }
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = RejectedWithinPeriod.Validator.class)
+    public @interface RejectedWithinPeriod {
+
+        String message() default "rejects more requests than its period";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+
+        class Validator implements ConstraintValidator<RejectedWithinPeriod, Throttle> {
+
+            @Override
+            public boolean isValid(Throttle throttle, ConstraintValidatorContext context) {
+                return Objects.isNull(throttle) || throttle.getRejected() <= throttle.getPeriod();
+            }
+        }
+    }
+}
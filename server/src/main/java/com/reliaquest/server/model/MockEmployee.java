@@ -1,7 +1,10 @@
 package com.reliaquest.server.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,9 +14,15 @@ import lombok.NonNull;
 @Data
 @AllArgsConstructor
 @Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonNaming(MockEmployee.PrefixNamingStrategy.class)
 public class MockEmployee {
 
+    /**
+     * The names {@link #project(Set)} accepts, as a pattern for validating requested fields.
+     */
+    public static final String FIELD_PATTERN = "id|name|salary|age|title|email";
+
     private UUID id;
     private String name;
     private Integer salary;
@@ -21,9 +30,9 @@ public class MockEmployee {
     private String title;
     private String email;
 
-    public static MockEmployee from(@NonNull String email, @NonNull CreateMockEmployeeInput input) {
+    public static MockEmployee from(@NonNull UUID id, @NonNull String email, @NonNull CreateMockEmployeeInput input) {
         return MockEmployee.builder()
-                .id(UUID.randomUUID())
+                .id(id)
                 .email(email)
                 .name(input.getName())
                 .salary(input.getSalary())
@@ -32,6 +41,24 @@ public class MockEmployee {
                 .build();
     }
 
+    /**
+     * Copies only the requested properties; the remaining ones are left {@code null} and omitted when serialized.
+     * A {@code null} or empty set of fields returns this employee unchanged.
+     */
+    public MockEmployee project(Set<String> fields) {
+        if (Objects.isNull(fields) || fields.isEmpty()) {
+            return this;
+        }
+        return MockEmployee.builder()
+                .id(fields.contains("id") ? id : null)
+                .name(fields.contains("name") ? name : null)
+                .salary(fields.contains("salary") ? salary : null)
+                .age(fields.contains("age") ? age : null)
+                .title(fields.contains("title") ? title : null)
+                .email(fields.contains("email") ? email : null)
+                .build();
+    }
+
     static class PrefixNamingStrategy extends PropertyNamingStrategies.NamingBase {
 
         @Override
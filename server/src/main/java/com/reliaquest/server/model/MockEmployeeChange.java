@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+public record MockEmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
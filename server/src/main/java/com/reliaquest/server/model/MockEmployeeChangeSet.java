@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes recorded after a client's version, up to and including {@code version}. When the requested version is no
+ * longer retained, {@code resyncRequired} is set and the client must fetch a new snapshot.
+ */
+public record MockEmployeeChangeSet(long version, boolean resyncRequired, List<MockEmployeeChange> changes) {
+
+    public static MockEmployeeChangeSet of(long version, List<MockEmployeeChange> changes) {
+        return new MockEmployeeChangeSet(version, false, changes);
+    }
+
+    public static MockEmployeeChangeSet resync(long version) {
+        return new MockEmployeeChangeSet(version, true, List.of());
+    }
+}
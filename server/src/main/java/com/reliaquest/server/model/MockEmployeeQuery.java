@@ -0,0 +1,75 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Set;
+import lombok.Data;
+
+/**
+ * Optional query parameters for the employee list endpoint. Every criterion is optional; an empty query matches
+ * every employee in insertion order with all fields populated.
+ */
+@Data
+public class MockEmployeeQuery {
+
+    private String nameContains;
+
+    private Integer minSalary;
+
+    private Integer maxSalary;
+
+    private Integer minAge;
+
+    private Integer maxAge;
+
+    private Sort sort;
+
+    @Positive private Integer limit;
+
+    private Set<@Pattern(regexp = MockEmployee.FIELD_PATTERN, message = "is not a field") String> fields;
+
+    public boolean hasFilters() {
+        return Objects.nonNull(nameContains)
+                || Objects.nonNull(minSalary)
+                || Objects.nonNull(maxSalary)
+                || Objects.nonNull(minAge)
+                || Objects.nonNull(maxAge);
+    }
+
+    public boolean matches(MockEmployee mockEmployee) {
+        return matchesName(mockEmployee.getName())
+                && inRange(mockEmployee.getSalary(), minSalary, maxSalary)
+                && inRange(mockEmployee.getAge(), minAge, maxAge);
+    }
+
+    private boolean matchesName(String name) {
+        if (Objects.isNull(nameContains)) {
+            return true;
+        }
+        return Objects.nonNull(name) && name.toLowerCase().contains(nameContains.toLowerCase());
+    }
+
+    private static boolean inRange(Integer value, Integer min, Integer max) {
+        if (Objects.isNull(min) && Objects.isNull(max)) {
+            return true;
+        }
+        return Objects.nonNull(value) && (Objects.isNull(min) || value >= min) && (Objects.isNull(max) || value <= max);
+    }
+
+    public enum Sort {
+        SALARY_ASC(Comparator.comparing(MockEmployee::getSalary, Comparator.nullsFirst(Comparator.naturalOrder()))),
+        SALARY_DESC(SALARY_ASC.comparator.reversed());
+
+        private final Comparator<MockEmployee> comparator;
+
+        Sort(Comparator<MockEmployee> comparator) {
+            this.comparator = comparator;
+        }
+
+        public Comparator<MockEmployee> comparator() {
+            return comparator;
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+
+/**
+ * Partition keeping its employees in primitive columns, for datasets too large to hold as objects: ids as pairs of
+ * longs, numbers as ints, titles as codes into a dictionary of distinct titles, names as UTF-8 bytes and emails as
+ * the username the server's email template was filled with. Ids are found through an open addressing hash table of
+ * row numbers. {@link MockEmployee} objects are only built for the employees a read returns.
+ * <p>
+ * The columns cost well under half the memory of {@link HeapMockEmployeePartition}, but there is no salary index,
+ * so the highest salary and the top earners are found by scanning the partition, and every read holds the lock.
+ * Deleted rows are marked and only reclaimed once they make up half the partition, so that rows keep their insertion
+ * order without shifting the columns on every delete.
+ */
+class CompactMockEmployeePartition extends MockEmployeePartition {
+
+    /*
+     * Marks a null salary, age or title. Valid inputs never have such a salary or age, and the nil UUID stands for a
+     * null id, which issued ids never are.
+     */
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private static final String EMAIL_SUFFIX = ServerConfiguration.EMAIL_TEMPLATE.formatted("");
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] idMost = new long[INITIAL_CAPACITY];
+    private long[] idLeast = new long[INITIAL_CAPACITY];
+    private int[] salaries = new int[INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private int[] titles = new int[INITIAL_CAPACITY];
+    private byte[][] names = new byte[INITIAL_CAPACITY][];
+    private byte[][] emails = new byte[INITIAL_CAPACITY][];
+
+    /* Rows whose email does not follow the template, so the full address is stored instead of the username. */
+    private final BitSet literalEmails = new BitSet();
+    private final BitSet deleted = new BitSet();
+    private int rows;
+    private int size;
+
+    private final Map<String, Integer> titleCodes = new HashMap<>();
+    private final List<String> titleValues = new ArrayList<>();
+
+    /* Row number plus one for each indexed id, zero for an empty slot; at most half full. */
+    private int[] slots = new int[2 * INITIAL_CAPACITY];
+    private int indexed;
+
+    @Override
+    void add(@NonNull MockEmployee mockEmployee) {
+        if (rows == idMost.length) {
+            grow();
+        }
+        final var row = rows++;
+        final var id = mockEmployee.getId();
+        idMost[row] = Objects.nonNull(id) ? id.getMostSignificantBits() : 0;
+        idLeast[row] = Objects.nonNull(id) ? id.getLeastSignificantBits() : 0;
+        salaries[row] = Objects.nonNull(mockEmployee.getSalary()) ? mockEmployee.getSalary() : NONE;
+        ages[row] = Objects.nonNull(mockEmployee.getAge()) ? mockEmployee.getAge() : NONE;
+        titles[row] = encodeTitle(mockEmployee.getTitle());
+        names[row] = encode(mockEmployee.getName());
+        emails[row] = encodeEmail(row, mockEmployee.getEmail());
+        size++;
+        if (hasId(row)) {
+            index(row);
+        }
+    }
+
+    /**
+     * Compares names as bytes, decoding only names that are not ASCII, since those may equal the name in other ways.
+     */
+    @Override
+    Optional<MockEmployee> removeByName(@NonNull String name) {
+        final var target = encode(name);
+        final var asciiTarget = isAscii(target);
+        for (int row = 0; row < rows; row++) {
+            if (deleted.get(row) || Objects.isNull(names[row])) {
+                continue;
+            }
+            final var matches = asciiTarget && isAscii(names[row])
+                    ? equalsIgnoreCase(names[row], target)
+                    : name.equalsIgnoreCase(decode(names[row]));
+            if (matches) {
+                final var mockEmployee = materialize(row);
+                remove(row);
+                return Optional.of(mockEmployee);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return locked(() -> {
+            final var slot = slotOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            return slot < 0 ? Optional.empty() : Optional.of(materialize(slots[slot] - 1));
+        });
+    }
+
+    @Override
+    Optional<Integer> highestSalary() {
+        return locked(() -> IntStream.range(0, rows)
+                .filter(this::isEarner)
+                .map(row -> salaries[row])
+                .max()
+                .stream()
+                .boxed()
+                .findFirst());
+    }
+
+    /**
+     * Scans the partition keeping the best {@code limit} rows in a heap, in O(n log limit).
+     */
+    @Override
+    List<MockEmployee> topEarners(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return locked(() -> {
+            final var kept = new PriorityQueue<Integer>(
+                    Math.max(1, Math.min(limit, size)), (a, b) -> compareEarners(b, a));
+            for (int row = 0; row < rows; row++) {
+                if (!isEarner(row)) {
+                    continue;
+                }
+                if (kept.size() < limit) {
+                    kept.add(row);
+                } else if (compareEarners(row, kept.peek()) < 0) {
+                    kept.poll();
+                    kept.add(row);
+                }
+            }
+            return kept.stream()
+                    .sorted(this::compareEarners)
+                    .map(this::materialize)
+                    .toList();
+        });
+    }
+
+    /**
+     * Tests the salary and age columns and the name bytes, building only the matching employees. Names are decoded
+     * only when they or the lowercased search term are not ASCII.
+     */
+    @Override
+    List<MockEmployee> matching(@NonNull MockEmployeeQuery query, Comparator<MockEmployee> order) {
+        final var nameContains = Objects.nonNull(query.getNameContains())
+                ? query.getNameContains().toLowerCase()
+                : null;
+        final var needle = encode(nameContains);
+        final var asciiNeedle = Objects.nonNull(needle) && isAscii(needle);
+        final var results = new ArrayList<MockEmployee>();
+        for (int row = 0; row < rows; row++) {
+            if (deleted.get(row)
+                    || !inRange(salaries[row], query.getMinSalary(), query.getMaxSalary())
+                    || !inRange(ages[row], query.getMinAge(), query.getMaxAge())) {
+                continue;
+            }
+            if (Objects.nonNull(nameContains) && !nameContains(row, nameContains, asciiNeedle ? needle : null)) {
+                continue;
+            }
+            results.add(materialize(row));
+        }
+        if (Objects.nonNull(order)) {
+            results.sort(order);
+        }
+        return results;
+    }
+
+    @Override
+    List<MockEmployee> mockEmployees() {
+        return matching(new MockEmployeeQuery(), null);
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    /**
+     * Counts the columns at their allocated capacity, the name and email bytes, the id table and the dictionary.
+     */
+    @Override
+    long estimatedBytes() {
+        return locked(() -> {
+            var bytes = 2 * arrayBytes(8L * idMost.length)
+                    + 3 * arrayBytes(4L * salaries.length)
+                    + 2 * arrayBytes((long) REFERENCE_BYTES * names.length)
+                    + arrayBytes(4L * slots.length)
+                    + (literalEmails.size() + deleted.size()) / 8;
+            for (int row = 0; row < rows; row++) {
+                bytes += Objects.nonNull(names[row]) ? arrayBytes(names[row].length) : 0;
+                bytes += Objects.nonNull(emails[row]) ? arrayBytes(emails[row].length) : 0;
+            }
+            return bytes
+                    + titleValues.stream()
+                            .mapToLong(title -> 2 * stringBytes(title) + INDEX_ENTRY_BYTES + INTEGER_BYTES)
+                            .sum();
+        });
+    }
+
+    private MockEmployee materialize(int row) {
+        return MockEmployee.builder()
+                .id(hasId(row) ? new UUID(idMost[row], idLeast[row]) : null)
+                .name(decode(names[row]))
+                .salary(salaries[row] != NONE ? salaries[row] : null)
+                .age(ages[row] != NONE ? ages[row] : null)
+                .title(titles[row] != NONE ? titleValues.get(titles[row]) : null)
+                .email(decodeEmail(row))
+                .build();
+    }
+
+    private void remove(int row) {
+        if (hasId(row)) {
+            final var slot = slotOf(idMost[row], idLeast[row]);
+            if (slot >= 0 && slots[slot] - 1 == row) {
+                unindex(slot);
+            }
+        }
+        deleted.set(row);
+        names[row] = null;
+        emails[row] = null;
+        size--;
+        if (rows > INITIAL_CAPACITY && size < rows / 2) {
+            compact();
+        }
+    }
+
+    /*
+     * Moves the remaining rows down over the deleted ones, keeping their order, and rebuilds the id table.
+     */
+    private void compact() {
+        var live = 0;
+        for (int row = 0; row < rows; row++) {
+            if (deleted.get(row)) {
+                continue;
+            }
+            if (row != live) {
+                idMost[live] = idMost[row];
+                idLeast[live] = idLeast[row];
+                salaries[live] = salaries[row];
+                ages[live] = ages[row];
+                titles[live] = titles[row];
+                names[live] = names[row];
+                emails[live] = emails[row];
+                literalEmails.set(live, literalEmails.get(row));
+            }
+            live++;
+        }
+        Arrays.fill(names, live, rows, null);
+        Arrays.fill(emails, live, rows, null);
+        literalEmails.clear(live, rows);
+        deleted.clear();
+        rows = live;
+        rebuildIndex(slots.length);
+    }
+
+    private void grow() {
+        final var capacity = idMost.length + (idMost.length >> 1);
+        idMost = Arrays.copyOf(idMost, capacity);
+        idLeast = Arrays.copyOf(idLeast, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        names = Arrays.copyOf(names, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+    }
+
+    private boolean hasId(int row) {
+        return idMost[row] != 0 || idLeast[row] != 0;
+    }
+
+    private boolean isEarner(int row) {
+        return !deleted.get(row) && hasId(row) && salaries[row] != NONE;
+    }
+
+    /*
+     * The order of the heap partition's salary index: highest salary first, then by id. Ids are only built for ties.
+     */
+    private int compareEarners(int a, int b) {
+        final var bySalary = Integer.compare(salaries[b], salaries[a]);
+        if (bySalary != 0) {
+            return bySalary;
+        }
+        return new UUID(idMost[a], idLeast[a]).compareTo(new UUID(idMost[b], idLeast[b]));
+    }
+
+    /*
+     * Mirrors MockEmployeeQuery: a null column only matches when the range is unbounded.
+     */
+    private static boolean inRange(int value, Integer min, Integer max) {
+        if (Objects.isNull(min) && Objects.isNull(max)) {
+            return true;
+        }
+        return value != NONE && (Objects.isNull(min) || value >= min) && (Objects.isNull(max) || value <= max);
+    }
+
+    /*
+     * The term is lowercased already; asciiNeedle is its bytes when those are ASCII, and null otherwise.
+     */
+    private boolean nameContains(int row, String term, byte[] asciiNeedle) {
+        final var name = names[row];
+        if (Objects.isNull(name)) {
+            return false;
+        }
+        if (Objects.nonNull(asciiNeedle) && isAscii(name)) {
+            return containsIgnoreCase(name, asciiNeedle);
+        }
+        return decode(name).toLowerCase().contains(term);
+    }
+
+    private static boolean isAscii(byte[] value) {
+        for (final var b : value) {
+            if (b < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalsIgnoreCase(byte[] a, byte[] b) {
+        if (a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; i++) {
+            if (toLowerCase(a[i]) != toLowerCase(b[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(byte[] value, byte[] lowercaseNeedle) {
+        for (int start = 0; start <= value.length - lowercaseNeedle.length; start++) {
+            if (regionMatches(value, start, lowercaseNeedle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionMatches(byte[] value, int start, byte[] lowercaseNeedle) {
+        for (int i = 0; i < lowercaseNeedle.length; i++) {
+            if (toLowerCase(value[start + i]) != lowercaseNeedle[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte toLowerCase(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private int encodeTitle(String title) {
+        if (Objects.isNull(title)) {
+            return NONE;
+        }
+        return titleCodes.computeIfAbsent(title, value -> {
+            titleValues.add(value);
+            return titleValues.size() - 1;
+        });
+    }
+
+    private byte[] encodeEmail(int row, String email) {
+        if (Objects.nonNull(email) && email.endsWith(EMAIL_SUFFIX)) {
+            literalEmails.clear(row);
+            return encode(email.substring(0, email.length() - EMAIL_SUFFIX.length()));
+        }
+        literalEmails.set(row);
+        return encode(email);
+    }
+
+    private String decodeEmail(int row) {
+        final var email = decode(emails[row]);
+        if (Objects.isNull(email) || literalEmails.get(row)) {
+            return email;
+        }
+        return ServerConfiguration.EMAIL_TEMPLATE.formatted(email);
+    }
+
+    private static byte[] encode(String value) {
+        return Objects.nonNull(value) ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String decode(byte[] value) {
+        return Objects.nonNull(value) ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+
+    private int home(long most, long least) {
+        return (int) (((most ^ least) * 0x9E3779B97F4A7C15L) >>> 32) & (slots.length - 1);
+    }
+
+    private int slotOf(long most, long least) {
+        if (most == 0 && least == 0) {
+            return -1;
+        }
+        final var mask = slots.length - 1;
+        for (int slot = home(most, least); slots[slot] != 0; slot = (slot + 1) & mask) {
+            final var row = slots[slot] - 1;
+            if (idMost[row] == most && idLeast[row] == least) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * A later employee with the same id replaces the earlier one in the table, as a later put would in a map.
+     */
+    private void index(int row) {
+        if (2 * (indexed + 1) > slots.length) {
+            rebuildIndex(2 * slots.length);
+        }
+        final var mask = slots.length - 1;
+        var slot = home(idMost[row], idLeast[row]);
+        while (slots[slot] != 0) {
+            final var other = slots[slot] - 1;
+            if (idMost[other] == idMost[row] && idLeast[other] == idLeast[row]) {
+                slots[slot] = row + 1;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = row + 1;
+        indexed++;
+    }
+
+    /*
+     * Empties a slot by moving later entries of the probe run back into it where their home slot allows, so lookups
+     * never stop early at a gap.
+     */
+    private void unindex(int slot) {
+        final var mask = slots.length - 1;
+        var hole = slot;
+        for (int next = (hole + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+            final var row = slots[next] - 1;
+            final var home = home(idMost[row], idLeast[row]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slots[hole] = slots[next];
+                hole = next;
+            }
+        }
+        slots[hole] = 0;
+        indexed--;
+    }
+
+    private void rebuildIndex(int capacity) {
+        slots = new int[capacity];
+        indexed = 0;
+        for (int row = 0; row < rows; row++) {
+            if (!deleted.get(row) && hasId(row)) {
+                index(row);
+            }
+        }
+    }
+
+    private <T> T locked(Supplier<T> action) {
+        getLock().lock();
+        try {
+            return action.get();
+        } finally {
+            getLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.NonNull;
+
+/**
+ * Partition keeping its employees as {@link MockEmployee} objects, indexed by id in a concurrent map and by salary in a
+ * concurrent skip list. Lookups by id and by salary read the indexes without locking.
+ */
+class HeapMockEmployeePartition extends MockEmployeePartition {
+
+    private final List<MockEmployee> mockEmployees = new ArrayList<>();
+
+    /*
+     * The salary index is keyed by (salary, id) so employees sharing a salary remain distinct entries, and is kept
+     * highest first because skip lists only iterate forwards in constant time per element.
+     */
+    private final Map<UUID, MockEmployee> employeesById = new ConcurrentHashMap<>();
+    private final NavigableSet<SalaryKey> salaryIndex = new ConcurrentSkipListSet<>();
+
+    @Override
+    void add(@NonNull MockEmployee mockEmployee) {
+        mockEmployees.add(mockEmployee);
+        if (Objects.isNull(mockEmployee.getId())) {
+            return;
+        }
+        employeesById.put(mockEmployee.getId(), mockEmployee);
+        if (Objects.nonNull(mockEmployee.getSalary())) {
+            salaryIndex.add(new SalaryKey(mockEmployee.getSalary(), mockEmployee.getId()));
+        }
+    }
+
+    @Override
+    Optional<MockEmployee> removeByName(@NonNull String name) {
+        final var mockEmployee = mockEmployees.stream()
+                .filter(employee -> Objects.nonNull(employee.getName()) && employee.getName().equalsIgnoreCase(name))
+                .findFirst();
+        mockEmployee.ifPresent(this::remove);
+        return mockEmployee;
+    }
+
+    @Override
+    Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return Optional.ofNullable(employeesById.get(uuid));
+    }
+
+    @Override
+    Optional<Integer> highestSalary() {
+        return salaryIndex.stream().findFirst().map(SalaryKey::salary);
+    }
+
+    /**
+     * Reads the salary index in O(log n) plus constant time per employee.
+     */
+    @Override
+    List<MockEmployee> topEarners(int limit) {
+        return salaryIndex.stream()
+                .map(key -> employeesById.get(key.id()))
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    List<MockEmployee> matching(@NonNull MockEmployeeQuery query, Comparator<MockEmployee> order) {
+        var results = mockEmployees.stream().filter(query::matches);
+        if (Objects.nonNull(order)) {
+            results = results.sorted(order);
+        }
+        return results.toList();
+    }
+
+    @Override
+    List<MockEmployee> mockEmployees() {
+        return List.copyOf(mockEmployees);
+    }
+
+    @Override
+    int size() {
+        return mockEmployees.size();
+    }
+
+    /**
+     * Counts each employee object with its id, boxed numbers and strings, and its list slot and index entries.
+     */
+    @Override
+    long estimatedBytes() {
+        return mockEmployees.stream()
+                .mapToLong(mockEmployee -> REFERENCE_BYTES
+                        + MOCK_EMPLOYEE_BYTES
+                        + (Objects.nonNull(mockEmployee.getId()) ? UUID_BYTES + INDEX_ENTRY_BYTES : 0)
+                        + (Objects.nonNull(mockEmployee.getSalary()) ? INTEGER_BYTES + SALARY_ENTRY_BYTES : 0)
+                        + (Objects.nonNull(mockEmployee.getAge()) && mockEmployee.getAge() > 127 ? INTEGER_BYTES : 0)
+                        + stringBytes(mockEmployee.getName())
+                        + stringBytes(mockEmployee.getTitle())
+                        + stringBytes(mockEmployee.getEmail()))
+                .sum();
+    }
+
+    private void remove(MockEmployee mockEmployee) {
+        mockEmployees.remove(mockEmployee);
+        if (Objects.isNull(mockEmployee.getId())) {
+            return;
+        }
+        employeesById.remove(mockEmployee.getId());
+        if (Objects.nonNull(mockEmployee.getSalary())) {
+            salaryIndex.remove(new SalaryKey(mockEmployee.getSalary(), mockEmployee.getId()));
+        }
+    }
+
+    record SalaryKey(int salary, UUID id) implements Comparable<SalaryKey> {
+
+        static final Comparator<SalaryKey> HIGHEST_FIRST =
+                Comparator.comparingInt(SalaryKey::salary).reversed().thenComparing(SalaryKey::id);
+
+        @Override
+        public int compareTo(SalaryKey other) {
+            return HIGHEST_FIRST.compare(this, other);
+        }
+    }
+}
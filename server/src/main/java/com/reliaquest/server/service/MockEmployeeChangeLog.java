@@ -0,0 +1,90 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChangeSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, versioned log of employee mutations. Only the latest {@code capacity} changes are retained; clients that
+ * fall further behind are told to resync from a snapshot.
+ * <p>
+ * Versions are seeded from the clock so that a restarted server, which generates a fresh dataset, never reuses a
+ * version that a client may still hold.
+ * <p>
+ * {@link Listener}s are notified while the log is locked, in version order, and must hand changes off rather than
+ * block.
+ */
+@Slf4j
+@Component
+public class MockEmployeeChangeLog {
+
+    private final int capacity;
+    private final Deque<MockEmployeeChange> changes;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private long version;
+    private long oldestRetainedVersion;
+
+    public MockEmployeeChangeLog(@Value("${mock.employees.change-log.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+        this.changes = new ArrayDeque<>(capacity);
+        this.version = System.currentTimeMillis();
+        this.oldestRetainedVersion = version;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized MockEmployeeChange record(
+            @NonNull MockEmployeeChange.Type type, @NonNull MockEmployee mockEmployee) {
+        final var change = new MockEmployeeChange(++version, type, mockEmployee);
+        if (changes.size() == capacity) {
+            oldestRetainedVersion = changes.removeFirst().version();
+        }
+        changes.addLast(change);
+        listeners.forEach(listener -> listener.onChange(change));
+        return change;
+    }
+
+    public synchronized MockEmployeeChangeSet changesSince(long since) {
+        if (since < oldestRetainedVersion || since > version) {
+            log.debug("Resync required for version {}, retaining {} to {}", since, oldestRetainedVersion, version);
+            return MockEmployeeChangeSet.resync(version);
+        }
+        return MockEmployeeChangeSet.of(version, changes.stream().filter(change -> change.version() > since).toList());
+    }
+
+    /**
+     * Replays the changes after {@code since} to the listener, or tells it to resync, then registers it for every
+     * subsequent change. No change is missed or delivered twice between the replay and live notifications.
+     */
+    public synchronized void subscribe(long since, @NonNull Listener listener) {
+        final var changeSet = changesSince(since);
+        if (changeSet.resyncRequired()) {
+            listener.onResyncRequired(changeSet.version());
+        } else {
+            changeSet.changes().forEach(listener::onChange);
+        }
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(@NonNull Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public interface Listener {
+
+        void onChange(MockEmployeeChange change);
+
+        void onResyncRequired(long version);
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * One hash partition of the mock employee store: its employees, the indexes over them and the lock guarding them.
+ * Partitions share nothing, so changes to different partitions do not contend. Changes, queries and copies must hold
+ * {@link #getLock()}; lookups by id and by salary lock as much as the storage needs by themselves.
+ */
+abstract class MockEmployeePartition {
+
+    /*
+     * Rough sizes on a 64-bit JVM with compressed references, for estimating the footprint of a partition.
+     */
+    static final int REFERENCE_BYTES = 4;
+    static final int MOCK_EMPLOYEE_BYTES = 40;
+    static final int UUID_BYTES = 32;
+    static final int INTEGER_BYTES = 16;
+    static final int INDEX_ENTRY_BYTES = 40;
+    static final int SALARY_ENTRY_BYTES = 64;
+
+    @Getter
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Merges lists that are each sorted by {@code order} into the first {@code limit} elements overall, taking one
+     * element at a time from whichever list has the next one.
+     */
+    static <T> List<T> merge(@NonNull List<Iterator<T>> sources, @NonNull Comparator<T> order, int limit) {
+        final var heads = new PriorityQueue<Head<T>>((a, b) -> order.compare(a.element(), b.element()));
+        sources.stream().filter(Iterator::hasNext).forEach(source -> heads.add(new Head<>(source.next(), source)));
+        final var merged = new ArrayList<T>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            final var head = heads.poll();
+            merged.add(head.element());
+            if (head.source().hasNext()) {
+                heads.add(new Head<>(head.source().next(), head.source()));
+            }
+        }
+        return merged;
+    }
+
+    abstract void add(@NonNull MockEmployee mockEmployee);
+
+    abstract Optional<MockEmployee> removeByName(@NonNull String name);
+
+    abstract Optional<MockEmployee> findById(@NonNull UUID uuid);
+
+    abstract Optional<Integer> highestSalary();
+
+    /**
+     * Reads the {@code limit} highest earners with both an id and a salary, highest salary first and then by id.
+     */
+    abstract List<MockEmployee> topEarners(int limit);
+
+    /**
+     * Copies the employees matching the query's filters in insertion order, or sorted if an order is given.
+     */
+    abstract List<MockEmployee> matching(@NonNull MockEmployeeQuery query, Comparator<MockEmployee> order);
+
+    abstract List<MockEmployee> mockEmployees();
+
+    abstract int size();
+
+    /**
+     * Estimates the heap the partition's employees and indexes occupy, in bytes.
+     */
+    abstract long estimatedBytes();
+
+    static long stringBytes(String value) {
+        if (Objects.isNull(value)) {
+            return 0;
+        }
+        /* The string object, then its Latin-1 or UTF-16 value array. */
+        final var latin1 = value.chars().allMatch(c -> c < 256);
+        return 24 + arrayBytes((long) value.length() * (latin1 ? 1 : 2));
+    }
+
+    static long arrayBytes(long dataBytes) {
+        return (16 + dataBytes + 7) & ~7L;
+    }
+
+    private record Head<T>(T element, Iterator<T> source) {}
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.server.service;
+
+import java.util.Objects;
+import java.util.UUID;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Places employees by id hash. Several server instances can split the dataset between them: instance {@code index} of
+ * {@code count} only ever issues ids whose {@link UUID#hashCode()} is congruent to its index, so a client that knows
+ * the instances can route a lookup by id alone. Within an instance, employees are spread over {@code partitions}
+ * independent stores by a second hash of the id, each keeping its employees as {@code storage} says.
+ */
+@Getter
+@Component
+public class MockEmployeePartitioner {
+
+    private final int partitions;
+    private final int shardIndex;
+    private final int shardCount;
+    private final MockEmployeeStorage storage;
+
+    public MockEmployeePartitioner(
+            @Value("${mock.employees.partitions:1}") int partitions,
+            @Value("${mock.employees.shard.index:0}") int shardIndex,
+            @Value("${mock.employees.shard.count:1}") int shardCount,
+            @Value("${mock.employees.storage:HEAP}") MockEmployeeStorage storage) {
+        if (partitions < 1 || shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Invalid partitioning: partitions=%d shard=%d/%d"
+                    .formatted(partitions, shardIndex, shardCount));
+        }
+        this.partitions = partitions;
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        this.storage = storage;
+    }
+
+    public static int shardOf(UUID id, int shardCount) {
+        return Math.floorMod(id.hashCode(), shardCount);
+    }
+
+    /**
+     * Issues a random id owned by this instance.
+     */
+    public UUID newId() {
+        while (true) {
+            final var id = UUID.randomUUID();
+            if (shardOf(id, shardCount) == shardIndex) {
+                return id;
+            }
+        }
+    }
+
+    /*
+     * Uses only the low bits of the id, so that the partition is independent of the shard, which is chosen by a hash
+     * of all of them.
+     */
+    public int partitionOf(UUID id) {
+        if (Objects.isNull(id)) {
+            return 0;
+        }
+        return Math.floorMod(Long.hashCode(id.getLeastSignificantBits()), partitions);
+    }
+}
@@ -4,55 +4,186 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChangeSet;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import com.reliaquest.server.model.MockEmployeeSnapshot;
+import jakarta.annotation.PostConstruct;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import org.springframework.stereotype.Service;
 
+/**
+ * The mock employee store, split into {@link MockEmployeePartition}s by id hash. Reads by id or salary go to the
+ * owning partition or merge the partitions' salary indexes; queries scan every partition and merge sorted results.
+ * Each change locks only its partition, and is recorded in the change log while that lock is held so versions follow
+ * the order changes were made in. Partitions keep their employees in the configured {@link MockEmployeeStorage}.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
+    /*
+     * The order of each partition's top earners, which only include employees with both an id and a salary.
+     */
+    private static final Comparator<MockEmployee> HIGHEST_SALARY_FIRST = Comparator.comparing(
+                    MockEmployee::getSalary, Comparator.<Integer>reverseOrder())
+            .thenComparing(MockEmployee::getId);
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final Iterable<MockEmployee> mockEmployees;
+
+    private final MockEmployeeChangeLog changeLog;
+
+    private final MockEmployeePartitioner partitioner;
+
+    private List<MockEmployeePartition> partitions;
+
+    @PostConstruct
+    void buildPartitions() {
+        partitions = IntStream.range(0, partitioner.getPartitions())
+                .mapToObj(ignored -> partitioner.getStorage().newPartition())
+                .toList();
+        mockEmployees.forEach(mockEmployee -> partitionOf(mockEmployee.getId()).add(mockEmployee));
+        final var count = partitions.stream().mapToLong(MockEmployeePartition::size).sum();
+        final var bytes = partitions.stream()
+                .mapToLong(MockEmployeePartition::estimatedBytes)
+                .sum();
+        log.info(
+                "Loaded {} employees into {} {} partitions, about {} bytes per employee",
+                count,
+                partitions.size(),
+                partitioner.getStorage(),
+                count > 0 ? bytes / count : 0);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return partitionOf(uuid).findById(uuid);
+    }
+
+    public Optional<Integer> highestSalary() {
+        return partitions.stream()
+                .map(MockEmployeePartition::highestSalary)
+                .flatMap(Optional::stream)
+                .max(Comparator.naturalOrder());
+    }
+
+    /**
+     * Reads the {@code limit} highest earners, highest first, merging each partition's top earners in
+     * O(p log p + limit log p) for p partitions.
+     */
+    public List<MockEmployee> topEarners(int limit) {
+        return MockEmployeePartition.merge(
+                partitions.stream()
+                        .map(partition -> partition.topEarners(limit).iterator())
+                        .toList(),
+                HIGHEST_SALARY_FIRST,
+                limit);
+    }
+
+    /**
+     * Unsorted results list each partition's matches in insertion order, one partition after another.
+     */
+    public List<MockEmployee> query(@NonNull MockEmployeeQuery query) {
+        if (!query.hasFilters()
+                && query.getSort() == MockEmployeeQuery.Sort.SALARY_DESC
+                && Objects.nonNull(query.getLimit())) {
+            return topEarners(query.getLimit()).stream()
+                    .map(mockEmployee -> mockEmployee.project(query.getFields()))
+                    .toList();
+        }
+        final var comparator = Objects.nonNull(query.getSort()) ? query.getSort().comparator() : null;
+        final var matches = partitions.stream()
+                .map(partition -> locked(partition, () -> partition.matching(query, comparator)))
+                .toList();
+        final var limit = Objects.nonNull(query.getLimit()) ? query.getLimit() : Integer.MAX_VALUE;
+        final var results = Objects.nonNull(comparator)
+                ? MockEmployeePartition.merge(matches.stream().map(List::iterator).toList(), comparator, limit)
+                : matches.stream().flatMap(List::stream).limit(limit).toList();
+        return results.stream()
+                .map(mockEmployee -> mockEmployee.project(query.getFields()))
+                .toList();
+    }
+
+    /**
+     * Holds every partition lock, taken in partition order, so the snapshot matches the change log version exactly.
+     */
+    public MockEmployeeSnapshot snapshot() {
+        partitions.forEach(partition -> partition.getLock().lock());
+        try {
+            return new MockEmployeeSnapshot(
+                    changeLog.version(),
+                    partitions.stream()
+                            .flatMap(partition -> partition.mockEmployees().stream())
+                            .toList());
+        } finally {
+            partitions.forEach(partition -> partition.getLock().unlock());
+        }
+    }
+
+    public long version() {
+        return changeLog.version();
+    }
+
+    public MockEmployeeChangeSet changesSince(long version) {
+        return changeLog.changesSince(version);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
         final var mockEmployee = MockEmployee.from(
+                partitioner.newId(),
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        final var partition = partitionOf(mockEmployee.getId());
+        locked(partition, () -> {
+            partition.add(mockEmployee);
+            return changeLog.record(MockEmployeeChange.Type.CREATED, mockEmployee);
+        });
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Deletes the first employee with the name, searching the partitions in order.
+     */
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        for (final var partition : partitions) {
+            final var mockEmployee = locked(partition, () -> {
+                final var removed = partition.removeByName(input.getName());
+                removed.ifPresent(employee -> changeLog.record(MockEmployeeChange.Type.DELETED, employee));
+                return removed;
+            });
+            if (mockEmployee.isPresent()) {
+                log.debug("Removed employee: {}", mockEmployee.get());
+                return true;
+            }
         }
 
         return false;
     }
+
+    private MockEmployeePartition partitionOf(UUID id) {
+        return partitions.get(partitioner.partitionOf(id));
+    }
+
+    private static <T> T locked(MockEmployeePartition partition, Supplier<T> action) {
+        partition.getLock().lock();
+        try {
+            return action.get();
+        } finally {
+            partition.getLock().unlock();
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package com.reliaquest.server.service;
+
+/**
+ * How each partition of the mock employee store keeps its employees.
+ */
+public enum MockEmployeeStorage {
+
+    /**
+     * {@link com.reliaquest.server.model.MockEmployee} objects under concurrent indexes by id and salary: the fastest
+     * reads, at several hundred bytes per employee.
+     */
+    HEAP {
+        @Override
+        MockEmployeePartition newPartition() {
+            return new HeapMockEmployeePartition();
+        }
+    },
+
+    /**
+     * Primitive columns with a dictionary of titles, for datasets of millions of employees: well under half the
+     * memory, while salary reads scan the partition and every read builds the employees it returns.
+     */
+    COMPACT {
+        @Override
+        MockEmployeePartition newPartition() {
+            return new CompactMockEmployeePartition();
+        }
+    };
+
+    abstract MockEmployeePartition newPartition();
+}
@@ -0,0 +1,146 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.controller.FaultInjectionController;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Paces response bodies to the {@link com.reliaquest.server.model.FaultProfile}'s {@code bytesPerSecond}, sleeping
+ * after each write until the bytes written so far are due. This happens above the container's compression, so the
+ * limit applies to uncompressed bytes.
+ */
+@Component
+@RequiredArgsConstructor
+public class BandwidthThrottlingFilter extends OncePerRequestFilter {
+
+    private final FaultInjector faultInjector;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(FaultInjectionController.PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var bytesPerSecond = faultInjector.profile().getBytesPerSecond();
+        if (Objects.isNull(bytesPerSecond)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final var throttled = new ThrottledResponse(response, bytesPerSecond);
+        chain.doFilter(request, throttled);
+        throttled.flushWriter();
+    }
+
+    private static class ThrottledResponse extends HttpServletResponseWrapper {
+
+        private final int bytesPerSecond;
+        private ThrottledOutputStream outputStream;
+        private PrintWriter writer;
+
+        ThrottledResponse(HttpServletResponse response, int bytesPerSecond) {
+            super(response);
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (Objects.isNull(outputStream)) {
+                outputStream = new ThrottledOutputStream(super.getOutputStream(), bytesPerSecond);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (Objects.isNull(writer)) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        void flushWriter() {
+            if (Objects.nonNull(writer)) {
+                writer.flush();
+            }
+        }
+    }
+
+    private static class ThrottledOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final int bytesPerSecond;
+        private final long startNanos = System.nanoTime();
+        private long written;
+
+        ThrottledOutputStream(ServletOutputStream delegate, int bytesPerSecond) {
+            this.delegate = delegate;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            pace(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            pace(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+
+        private void pace(int bytes) throws IOException {
+            written += bytes;
+            final var due = startNanos + written * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+            final var wait = due - System.nanoTime();
+            if (wait <= 0) {
+                return;
+            }
+            /* Flush first, so the client receives the bytes at the paced rate rather than in one burst at the end. */
+            delegate.flush();
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while throttling the response");
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Applies the {@link FaultInjector}'s faults to each request before it is handled: sleeps for the drawn latency, then
+ * rejects the request if it is to fail. Endpoints are told apart by method and mapped path pattern.
+ */
+@RequiredArgsConstructor
+public class FaultInjectionInterceptor implements HandlerInterceptor {
+
+    private final FaultInjector faultInjector;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        final var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        final var fault = faultInjector.next(request.getMethod(), Objects.toString(pattern, request.getRequestURI()));
+        if (fault.delayMillis() > 0) {
+            Thread.sleep(fault.delayMillis());
+        }
+        if (Objects.isNull(fault.status())) {
+            return true;
+        }
+        response.setStatus(fault.status());
+        if (Objects.nonNull(fault.retryAfterSeconds())) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(fault.retryAfterSeconds()));
+        }
+        return false;
+    }
+}
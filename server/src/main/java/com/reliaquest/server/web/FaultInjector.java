@@ -0,0 +1,61 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.FaultProfile;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link FaultProfile} and decides the faults of each request. Requests are numbered from the
+ * moment the profile was set, and each request's random draws come from a generator seeded with the profile's seed and
+ * that number, so the faults of a request do not depend on which thread handles it or what other requests drew.
+ */
+@Slf4j
+@Component
+public class FaultInjector {
+
+    private final AtomicReference<Installed> installed =
+            new AtomicReference<>(new Installed(new FaultProfile(), new AtomicLong()));
+
+    public FaultProfile profile() {
+        return installed.get().profile();
+    }
+
+    /**
+     * Replaces the profile and restarts the request numbering.
+     */
+    public void install(@NonNull FaultProfile profile) {
+        installed.set(new Installed(profile, new AtomicLong()));
+        log.info("Installed fault profile: {}", profile);
+    }
+
+    /**
+     * Draws the faults of the next request to an endpoint, given by method and mapped path pattern.
+     */
+    public Fault next(@NonNull String method, @NonNull String pattern) {
+        final var current = installed.get();
+        final var profile = current.profile();
+        final var sequence = current.requests().getAndIncrement();
+        final var random = new SplittableRandom(profile.getSeed() ^ (sequence * 0x9E3779B97F4A7C15L));
+        final var delayMillis = profile.getLatency().sample(random);
+        final var failed = random.nextDouble() < profile.errorRate(method + " " + pattern);
+        if (profile.getThrottle().rejects(sequence)) {
+            return new Fault(
+                    delayMillis,
+                    HttpStatus.TOO_MANY_REQUESTS.value(),
+                    profile.getThrottle().getRetryAfterSeconds());
+        }
+        return new Fault(delayMillis, failed ? profile.getErrorStatus() : null, null);
+    }
+
+    /**
+     * What to do to one request: delay it, then fail it with {@code status} if set.
+     */
+    public record Fault(long delayMillis, Integer status, Integer retryAfterSeconds) {}
+
+    private record Installed(FaultProfile profile, AtomicLong requests) {}
+}
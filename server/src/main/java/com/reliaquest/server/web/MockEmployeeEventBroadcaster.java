@@ -0,0 +1,92 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams employee changes to subscribers as Server-Sent Events. Each event's id is the change version, so a
+ * reconnecting client resumes by sending it back as {@code Last-Event-ID}. A {@code resync} event is sent instead of
+ * a replay when the requested version is no longer retained.
+ * <p>
+ * Sends happen on a single dispatcher thread so the change log never waits on a slow subscriber and every
+ * subscriber observes changes in version order.
+ */
+@Slf4j
+@Component
+public class MockEmployeeEventBroadcaster {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private final MockEmployeeChangeLog changeLog;
+    private final long timeoutMillis;
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        final var thread = new Thread(runnable, "employee-event-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MockEmployeeEventBroadcaster(
+            MockEmployeeChangeLog changeLog, @Value("${mock.employees.events.timeout-ms:600000}") long timeoutMillis) {
+        this.changeLog = changeLog;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter subscribe(long since) {
+        final var emitter = new SseEmitter(timeoutMillis);
+        final var listener = new EmitterListener(emitter);
+        emitter.onCompletion(() -> changeLog.unsubscribe(listener));
+        emitter.onTimeout(() -> changeLog.unsubscribe(listener));
+        emitter.onError(ex -> changeLog.unsubscribe(listener));
+        changeLog.subscribe(since, listener);
+        log.debug("Subscribed to employee events from version {}", since);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private class EmitterListener implements MockEmployeeChangeLog.Listener {
+
+        private final SseEmitter emitter;
+
+        private EmitterListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onChange(MockEmployeeChange change) {
+            send(SseEmitter.event()
+                    .id(Long.toString(change.version()))
+                    .name(change.type().name())
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void onResyncRequired(long version) {
+            send(SseEmitter.event().id(Long.toString(version)).name(RESYNC_EVENT).data(version));
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            dispatcher.execute(() -> {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping employee event subscriber: {}", e.getMessage());
+                    changeLog.unsubscribe(this);
+                    emitter.completeWithError(e);
+                }
+            });
+        }
+    }
+}
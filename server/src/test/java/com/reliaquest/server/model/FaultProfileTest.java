@@ -0,0 +1,108 @@
+package com.reliaquest.server.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class FaultProfileTest {
+
+    private static final int SAMPLES = 10_000;
+
+    @Test
+    void testRejects_lastRequestsOfEachPeriod() {
+        FaultProfile.Throttle throttle = throttle(5, 2);
+
+        List<Boolean> rejected = LongStream.range(0, 10).mapToObj(throttle::rejects).toList();
+
+        assertEquals(List.of(false, false, false, true, true, false, false, false, true, true), rejected);
+    }
+
+    @Test
+    void testRejects_noneOrAll() {
+        assertFalse(LongStream.range(0, 20).anyMatch(throttle(0, 0)::rejects));
+        assertFalse(LongStream.range(0, 20).anyMatch(throttle(4, 0)::rejects));
+        assertTrue(LongStream.range(0, 20).allMatch(throttle(4, 4)::rejects));
+    }
+
+    @Test
+    void testValidate_rejectedWithinPeriod() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        FaultProfile profile = new FaultProfile();
+
+        profile.setThrottle(throttle(4, 4));
+        assertTrue(validator.validate(profile).isEmpty());
+
+        profile.setThrottle(throttle(4, 5));
+        Set<ConstraintViolation<FaultProfile>> violations = validator.validate(profile);
+        assertEquals(1, violations.size());
+        assertEquals("throttle", violations.iterator().next().getPropertyPath().toString());
+    }
+
+    @Test
+    void testSample_noneAndFixed() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        assertEquals(0, latency(FaultProfile.Distribution.NONE, 50, 0).sample(random));
+        assertEquals(50, latency(FaultProfile.Distribution.FIXED, 50, 0).sample(random));
+        // A cap below the fixed delay does not shorten it.
+        assertEquals(50, latency(FaultProfile.Distribution.FIXED, 50, 20).sample(random));
+    }
+
+    @Test
+    void testSample_uniformCoversBounds() {
+        long[] samples = samples(latency(FaultProfile.Distribution.UNIFORM, 10, 20));
+
+        assertEquals(10, LongStream.of(samples).min().orElseThrow());
+        assertEquals(20, LongStream.of(samples).max().orElseThrow());
+    }
+
+    @Test
+    void testSample_exponentialHasMeanAndCap() {
+        long[] uncapped = samples(latency(FaultProfile.Distribution.EXPONENTIAL, 100, 0));
+        long[] capped = samples(latency(FaultProfile.Distribution.EXPONENTIAL, 100, 150));
+
+        assertEquals(100, LongStream.of(uncapped).average().orElseThrow(), 5);
+        assertTrue(LongStream.of(uncapped).allMatch(sample -> sample >= 0));
+        assertEquals(150, LongStream.of(capped).max().orElseThrow());
+    }
+
+    @Test
+    void testSample_logNormalHasMedianAndCap() {
+        FaultProfile.Latency latency = latency(FaultProfile.Distribution.LOG_NORMAL, 100, 0);
+        latency.setSigma(0.5);
+        long[] uncapped = samples(latency);
+        latency.setMaxMillis(150);
+        long[] capped = samples(latency);
+
+        assertEquals(100, LongStream.of(uncapped).sorted().skip(SAMPLES / 2).findFirst().orElseThrow(), 5);
+        assertTrue(LongStream.of(uncapped).allMatch(sample -> sample >= 0));
+        assertEquals(150, LongStream.of(capped).max().orElseThrow());
+    }
+
+    private static long[] samples(FaultProfile.Latency latency) {
+        SplittableRandom random = new SplittableRandom(42);
+        return LongStream.range(0, SAMPLES).map(ignored -> latency.sample(random)).toArray();
+    }
+
+    private static FaultProfile.Latency latency(FaultProfile.Distribution distribution, long millis, long maxMillis) {
+        FaultProfile.Latency latency = new FaultProfile.Latency();
+        latency.setDistribution(distribution);
+        latency.setMillis(millis);
+        latency.setMaxMillis(maxMillis);
+        return latency;
+    }
+
+    private static FaultProfile.Throttle throttle(int period, int rejected) {
+        FaultProfile.Throttle throttle = new FaultProfile.Throttle();
+        throttle.setPeriod(period);
+        throttle.setRejected(rejected);
+        return throttle;
+    }
+}
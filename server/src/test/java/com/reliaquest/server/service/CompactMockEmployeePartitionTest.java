@@ -0,0 +1,139 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CompactMockEmployeePartitionTest {
+
+    private static final String ZOE = "Zo\u00EB \u00CDvarsd\u00F3ttir";
+
+    /* Starts with a Kelvin sign, which lowercases to an ASCII k. */
+    private static final String KELVIN = "\u212Aelvin K";
+
+    private static final List<String> NAMES =
+            List.of("Chris Adams", "chris adams", "Alex Stone", ZOE, ZOE.toUpperCase(), KELVIN);
+
+    private static final List<String> NAME_TERMS =
+            List.of("chris", "ADAMS", "s a", "zo\u00EB", "\u00CDVAR", "kelvin", "\u212Aelvin", "x");
+
+    @Test
+    void testRandomOperations_matchHeapPartition() {
+        for (long seed = 0; seed < 20; seed++) {
+            compare(new Random(seed));
+        }
+    }
+
+    @Test
+    void testRemoveByName_comparesNamesIgnoringCase() {
+        MockEmployeePartition partition = MockEmployeeStorage.COMPACT.newPartition();
+        partition.add(employee(UUID.randomUUID(), ZOE, 1000, "zoe@company.com"));
+        partition.add(employee(UUID.randomUUID(), "Chris Adams", 2000, "chris@other.org"));
+        partition.add(employee(null, null, null, null));
+
+        assertEquals("Chris Adams", partition.removeByName("CHRIS ADAMS").orElseThrow().getName());
+        assertEquals(ZOE, partition.removeByName(ZOE.toUpperCase()).orElseThrow().getName());
+        assertTrue(partition.removeByName("Chris Adam").isEmpty());
+        assertEquals(1, partition.size());
+    }
+
+    /*
+     * Applies the same random changes to a heap and a compact partition, comparing every read along the way. Names
+     * repeat in different cases, and ids, salaries, titles and names are sometimes null.
+     */
+    private static void compare(Random random) {
+        MockEmployeePartition heap = MockEmployeeStorage.HEAP.newPartition();
+        MockEmployeePartition compact = MockEmployeeStorage.COMPACT.newPartition();
+        List<UUID> ids = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            switch (random.nextInt(6)) {
+                case 0, 1 -> {
+                    MockEmployee mockEmployee = randomEmployee(random);
+                    ids.add(mockEmployee.getId());
+                    heap.add(mockEmployee);
+                    compact.add(mockEmployee);
+                }
+                case 2 -> {
+                    String name = NAMES.get(random.nextInt(NAMES.size()));
+                    String cased = random.nextBoolean() ? name.toUpperCase() : name;
+                    assertEquals(heap.removeByName(cased), compact.removeByName(cased));
+                }
+                case 3 -> {
+                    UUID id = ids.isEmpty() ? UUID.randomUUID() : ids.get(random.nextInt(ids.size()));
+                    if (id != null) {
+                        assertEquals(heap.findById(id), compact.findById(id));
+                    }
+                }
+                case 4 -> {
+                    int limit = random.nextInt(1, 20);
+                    assertEquals(heap.topEarners(limit), compact.topEarners(limit));
+                    assertEquals(heap.highestSalary(), compact.highestSalary());
+                }
+                default -> {
+                    MockEmployeeQuery query = randomQuery(random);
+                    var order = query.getSort() != null ? query.getSort().comparator() : null;
+                    assertEquals(heap.matching(query, order), compact.matching(query, order));
+                }
+            }
+            assertEquals(heap.size(), compact.size());
+        }
+        assertEquals(heap.mockEmployees(), compact.mockEmployees());
+    }
+
+    private static MockEmployee randomEmployee(Random random) {
+        return MockEmployee.builder()
+                .id(random.nextInt(10) > 0 ? new UUID(random.nextLong(), random.nextLong()) : null)
+                .name(random.nextInt(10) > 0 ? NAMES.get(random.nextInt(NAMES.size())) : null)
+                .salary(random.nextInt(5) > 0 ? random.nextInt(1000, 1100) : null)
+                .age(random.nextInt(10) > 0 ? random.nextInt(16, 76) : null)
+                .title(random.nextInt(5) > 0 ? "Title " + random.nextInt(3) : null)
+                .email(
+                        switch (random.nextInt(3)) {
+                            case 0 -> ServerConfiguration.EMAIL_TEMPLATE.formatted("user" + random.nextInt(100));
+                            case 1 -> "user" + random.nextInt(100) + "@other.org";
+                            default -> null;
+                        })
+                .build();
+    }
+
+    private static MockEmployeeQuery randomQuery(Random random) {
+        MockEmployeeQuery query = new MockEmployeeQuery();
+        if (random.nextBoolean()) {
+            query.setNameContains(NAME_TERMS.get(random.nextInt(NAME_TERMS.size())));
+        }
+        if (random.nextBoolean()) {
+            query.setMinSalary(random.nextInt(1000, 1100));
+        }
+        if (random.nextBoolean()) {
+            query.setMaxSalary(random.nextInt(1000, 1100));
+        }
+        if (random.nextBoolean()) {
+            query.setMinAge(random.nextInt(16, 76));
+        }
+        if (random.nextBoolean()) {
+            query.setMaxAge(random.nextInt(16, 76));
+        }
+        MockEmployeeQuery.Sort[] sorts = MockEmployeeQuery.Sort.values();
+        int sort = random.nextInt(sorts.length + 1);
+        query.setSort(sort < sorts.length ? sorts[sort] : null);
+        return query;
+    }
+
+    private static MockEmployee employee(UUID id, String name, Integer salary, String email) {
+        return MockEmployee.builder()
+                .id(id)
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Engineer")
+                .email(email)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeePartitionTest {
+
+    @Test
+    void testMerge_interleavesSortedSources() {
+        List<Integer> merged = MockEmployeePartition.merge(
+                List.of(List.of(1, 4, 7).iterator(), List.of(2, 5).iterator(), List.of(3, 6, 8, 9).iterator()),
+                Comparator.naturalOrder(),
+                100);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), merged);
+    }
+
+    @Test
+    void testMerge_stopsAtLimitReadingOneAheadPerSource() {
+        Iterator<Integer> first = List.of(1, 3, 5, 7).iterator();
+        Iterator<Integer> second = List.of(2, 4, 6, 8).iterator();
+
+        List<Integer> merged = MockEmployeePartition.merge(List.of(first, second), Comparator.naturalOrder(), 3);
+
+        assertEquals(List.of(1, 2, 3), merged);
+        assertEquals(7, (int) first.next());
+        assertEquals(6, (int) second.next());
+    }
+
+    @Test
+    void testMerge_followsGivenOrder() {
+        List<Integer> merged = MockEmployeePartition.merge(
+                List.of(List.of(9, 5, 1).iterator(), List.of(8, 2).iterator()), Comparator.reverseOrder(), 4);
+
+        assertEquals(List.of(9, 8, 5, 2), merged);
+    }
+
+    @Test
+    void testMerge_skipsEmptySources() {
+        List<Integer> merged = MockEmployeePartition.merge(
+                List.of(List.<Integer>of().iterator(), List.of(1, 2).iterator(), List.<Integer>of().iterator()),
+                Comparator.naturalOrder(),
+                10);
+
+        assertEquals(List.of(1, 2), merged);
+        assertEquals(List.of(), MockEmployeePartition.merge(List.of(), Comparator.<Integer>naturalOrder(), 10));
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeePartitionerTest {
+
+    @Test
+    void testNewId_ownedByShard() {
+        MockEmployeePartitioner partitioner = partitioner(4, 2, 3);
+
+        IntStream.range(0, 1000)
+                .mapToObj(ignored -> partitioner.newId())
+                .forEach(id -> assertEquals(2, MockEmployeePartitioner.shardOf(id, 3)));
+    }
+
+    @Test
+    void testShardOf_spreadsIdsOverEveryShard() {
+        Set<Integer> shards = new HashSet<>();
+
+        IntStream.range(0, 1000).forEach(ignored -> shards.add(MockEmployeePartitioner.shardOf(UUID.randomUUID(), 5)));
+
+        assertEquals(Set.of(0, 1, 2, 3, 4), shards);
+    }
+
+    @Test
+    void testPartitionOf_usesEveryPartitionWithinOneShard() {
+        MockEmployeePartitioner partitioner = partitioner(4, 1, 2);
+        Set<Integer> partitions = new HashSet<>();
+
+        IntStream.range(0, 1000).forEach(ignored -> partitions.add(partitioner.partitionOf(partitioner.newId())));
+
+        assertEquals(Set.of(0, 1, 2, 3), partitions);
+        assertEquals(0, partitioner.partitionOf(null));
+    }
+
+    @Test
+    void testConstructor_rejectsInvalidPartitioning() {
+        assertThrows(IllegalArgumentException.class, () -> partitioner(0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> partitioner(1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> partitioner(1, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> partitioner(1, 0, 0));
+    }
+
+    private static MockEmployeePartitioner partitioner(int partitions, int shardIndex, int shardCount) {
+        return new MockEmployeePartitioner(partitions, shardIndex, shardCount, MockEmployeeStorage.HEAP);
+    }
+}
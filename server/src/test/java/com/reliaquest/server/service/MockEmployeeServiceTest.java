@@ -0,0 +1,148 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeQuery;
+import com.reliaquest.server.model.MockEmployeeSnapshot;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    private static final List<MockEmployee> EMPLOYEES = employees(500);
+
+    @Test
+    void testTopEarners_sameForOneAndManyPartitions() {
+        List<MockEmployee> expected = EMPLOYEES.stream()
+                .filter(employee -> Objects.nonNull(employee.getSalary()))
+                .sorted(Comparator.comparing(MockEmployee::getSalary, Comparator.<Integer>reverseOrder())
+                        .thenComparing(MockEmployee::getId))
+                .limit(25)
+                .toList();
+
+        assertEquals(expected, service(1).topEarners(25));
+        assertEquals(expected, service(4).topEarners(25));
+        assertEquals(expected.get(0).getSalary(), service(4).highestSalary().orElseThrow());
+    }
+
+    @Test
+    void testQuery_sortedSameForOneAndManyPartitions() {
+        MockEmployeeQuery query = new MockEmployeeQuery();
+        query.setMinSalary(2000);
+        query.setMaxAge(50);
+        query.setSort(MockEmployeeQuery.Sort.SALARY_ASC);
+        query.setLimit(40);
+
+        List<MockEmployee> single = service(1).query(query);
+        List<MockEmployee> partitioned = service(4).query(query);
+
+        assertEquals(40, partitioned.size());
+        assertEquals(salaries(single), salaries(partitioned));
+        assertTrue(partitioned.stream().allMatch(query::matches));
+    }
+
+    @Test
+    void testQuery_unsortedSameEmployeesForOneAndManyPartitions() {
+        MockEmployeeQuery query = new MockEmployeeQuery();
+        query.setNameContains("EMPLOYEE 1");
+
+        List<MockEmployee> single = service(1).query(query);
+        List<MockEmployee> partitioned = service(4).query(query);
+
+        assertEquals(EMPLOYEES.stream().filter(query::matches).toList(), single);
+        assertEquals(new HashSet<>(single), new HashSet<>(partitioned));
+        assertEquals(single.size(), partitioned.size());
+    }
+
+    @Test
+    void testFindById_inOwningPartition() {
+        MockEmployeeService service = service(4);
+
+        EMPLOYEES.forEach(employee -> assertEquals(employee, service.findById(employee.getId()).orElseThrow()));
+        assertTrue(service.findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testDelete_searchesEveryPartition() {
+        MockEmployeeService service = service(4);
+        long version = service.version();
+
+        EMPLOYEES.forEach(employee -> assertTrue(service.delete(delete(employee.getName().toUpperCase()))));
+
+        assertFalse(service.delete(delete("Employee 0")));
+        assertEquals(List.of(), service.snapshot().employees());
+        assertEquals(version + EMPLOYEES.size(), service.version());
+        assertEquals(EMPLOYEES.size(), service.changesSince(version).changes().size());
+    }
+
+    @Test
+    void testSnapshot_matchesVersionWhileCreating() {
+        MockEmployeeService service = service(4);
+        long version = service.version();
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName("New Employee");
+        input.setSalary(1000);
+        input.setAge(30);
+        input.setTitle("Title");
+
+        CompletableFuture<Void> creates = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 2000; i++) {
+                service.create(input);
+            }
+        });
+        while (!creates.isDone()) {
+            MockEmployeeSnapshot snapshot = service.snapshot();
+            assertEquals(EMPLOYEES.size() + snapshot.version() - version, snapshot.employees().size());
+        }
+        creates.join();
+
+        assertEquals(EMPLOYEES.size() + 2000, service.snapshot().employees().size());
+    }
+
+    private static MockEmployeeService service(int partitions) {
+        MockEmployeeService service = new MockEmployeeService(
+                new Faker(),
+                EMPLOYEES,
+                new MockEmployeeChangeLog(10_000),
+                new MockEmployeePartitioner(partitions, 0, 1, MockEmployeeStorage.HEAP));
+        service.buildPartitions();
+        return service;
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        Random random = new Random(41);
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name("Employee " + i)
+                    .salary(random.nextInt(20) == 0 ? null : random.nextInt(100) * 50)
+                    .age(random.nextInt(16, 76))
+                    .title("Title " + random.nextInt(5))
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return employees;
+    }
+
+    private static List<Integer> salaries(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getSalary).toList();
+    }
+
+    private static DeleteMockEmployeeInput delete(String name) {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+}
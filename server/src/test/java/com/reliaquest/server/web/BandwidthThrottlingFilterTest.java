@@ -0,0 +1,85 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.controller.FaultInjectionController;
+import com.reliaquest.server.model.FaultProfile;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class BandwidthThrottlingFilterTest {
+
+    private static final int CHUNKS = 5;
+
+    private static final int CHUNK_BYTES = 100;
+
+    private final FaultInjector faultInjector = new FaultInjector();
+
+    private final BandwidthThrottlingFilter filter = new BandwidthThrottlingFilter(faultInjector);
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testDoFilter_pacesWritesToBytesPerSecond() throws Exception {
+        install(1000);
+
+        long elapsed = filter("/api/v1/employee");
+
+        assertEquals(CHUNKS * CHUNK_BYTES, response.getContentAsByteArray().length);
+        // The last byte is due after 500ms at 1000 bytes per second.
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(500), "took " + elapsed + "ns");
+        // Written bytes are flushed to the client before waiting, which commits the response.
+        assertTrue(response.isCommitted());
+    }
+
+    @Test
+    void testDoFilter_unlimitedWithoutBytesPerSecond() throws Exception {
+        filter("/api/v1/employee");
+
+        assertEquals(CHUNKS * CHUNK_BYTES, response.getContentAsByteArray().length);
+        assertFalse(response.isCommitted());
+    }
+
+    @Test
+    void testDoFilter_adminEndpointNotThrottled() throws Exception {
+        install(10);
+
+        long elapsed = filter(FaultInjectionController.PATH);
+
+        assertEquals(CHUNKS * CHUNK_BYTES, response.getContentAsByteArray().length);
+        // Paced, the body would take 50s.
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(1), "took " + elapsed + "ns");
+        assertFalse(response.isCommitted());
+    }
+
+    private void install(int bytesPerSecond) {
+        FaultProfile profile = new FaultProfile();
+        profile.setBytesPerSecond(bytesPerSecond);
+        faultInjector.install(profile);
+    }
+
+    /*
+     * Writes the body through the filter in chunks, returning how long the filter took in nanoseconds.
+     */
+    private long filter(String uri) throws Exception {
+        FilterChain chain = (request, servletResponse) -> {
+            ServletOutputStream outputStream = servletResponse.getOutputStream();
+            for (int i = 0; i < CHUNKS; i++) {
+                outputStream.write(new byte[CHUNK_BYTES]);
+            }
+        };
+        long start = System.nanoTime();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.FaultProfile;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class FaultInjectorTest {
+
+    private static final String BY_ID = "/api/v1/employee/{id}";
+
+    private final FaultInjector faultInjector = new FaultInjector();
+
+    @Test
+    void testNext_defaultProfileInjectsNothing() {
+        assertEquals(new FaultInjector.Fault(0, null, null), faultInjector.next("GET", BY_ID));
+    }
+
+    @Test
+    void testNext_sameSeedAndProfileReplaysFaults() {
+        faultInjector.install(profile(7));
+        List<FaultInjector.Fault> first = faults(200);
+        faultInjector.install(profile(7));
+        List<FaultInjector.Fault> second = faults(200);
+        faultInjector.install(profile(8));
+        List<FaultInjector.Fault> otherSeed = faults(200);
+
+        assertEquals(first, second);
+        assertNotEquals(first, otherSeed);
+        assertTrue(first.stream().anyMatch(fault -> Objects.equals(fault.status(), 503)));
+        assertTrue(first.stream().anyMatch(fault -> Objects.isNull(fault.status())));
+    }
+
+    @Test
+    void testNext_throttleScheduleOverridesErrors() {
+        FaultProfile profile = profile(7);
+        profile.setErrorRates(Map.of("*", 1.0));
+        faultInjector.install(profile);
+
+        List<FaultInjector.Fault> faults = faults(8);
+
+        for (int i = 0; i < faults.size(); i++) {
+            boolean throttled = i % 4 == 3;
+            assertEquals(throttled ? 429 : 503, (int) faults.get(i).status());
+            assertEquals(throttled ? 2 : null, faults.get(i).retryAfterSeconds());
+        }
+    }
+
+    @Test
+    void testNext_errorRatePerEndpoint() {
+        FaultProfile profile = new FaultProfile();
+        profile.setErrorRates(Map.of("GET " + BY_ID, 1.0, "*", 0.0));
+        faultInjector.install(profile);
+
+        assertEquals(500, (int) faultInjector.next("GET", BY_ID).status());
+        assertNull(faultInjector.next("DELETE", "/api/v1/employee").status());
+    }
+
+    private List<FaultInjector.Fault> faults(int requests) {
+        return IntStream.range(0, requests)
+                .mapToObj(ignored -> faultInjector.next("GET", BY_ID))
+                .toList();
+    }
+
+    private static FaultProfile profile(long seed) {
+        FaultProfile profile = new FaultProfile();
+        profile.setSeed(seed);
+        profile.getLatency().setDistribution(FaultProfile.Distribution.EXPONENTIAL);
+        profile.getLatency().setMillis(20);
+        profile.setErrorRates(Map.of("*", 0.3));
+        profile.setErrorStatus(503);
+        profile.getThrottle().setPeriod(4);
+        profile.getThrottle().setRejected(1);
+        profile.getThrottle().setRetryAfterSeconds(2);
+        return profile;
+    }
+}